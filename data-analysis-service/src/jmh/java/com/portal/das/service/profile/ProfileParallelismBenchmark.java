@@ -0,0 +1,211 @@
+package com.portal.das.service.profile;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portal.das.domain.model.RowOffsetIndex;
+import com.portal.das.domain.model.UploadedFile;
+import com.portal.das.domain.model.profile.ProfileState;
+import com.portal.das.domain.ports.out.file.RowIndexPort;
+import com.portal.das.domain.ports.out.file.StoredContentPort;
+import com.portal.das.service.ingest.CsvIngestInspector;
+import com.portal.das.service.ingest.IngestStats;
+import com.portal.das.service.ingest.StoredCsvOpener;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exact profile of one fixed file at different das.profile.parallelism values
+ * The file is generated once per fork with a fixed seed and indexed by the
+ * ingest inspector, so the parallel path splits it at its row offset index
+ * exactly as for a stored upload. Parallelism 1 takes the sequential pass
+ * and is the baseline for the speedup.
+ *
+ * Run: mvn -Pjmh test-compile exec:exec -Djmh.args="ProfileParallelismBenchmark -p parallelism=1,4"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProfileParallelismBenchmark {
+
+    private static final String STORED_FILENAME = "benchmark.csv";
+    private static final String[] CATEGORIES = {"north", "south", "east", "west", "central", "unknown"};
+
+    @Param({"1", "2", "4", "8"})
+    private int parallelism;
+
+    @Param({"1000000"})
+    private int rows;
+
+    @Param({"65536"})
+    private long splitRows;
+
+    private Path directory;
+    private UploadedFile file;
+    private DatasetProfileService profileService;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("das-profile-benchmark");
+        Path csv = directory.resolve(STORED_FILENAME);
+        IngestStats stats = writeCsv(csv);
+
+        file = UploadedFile.builder()
+                .fileId(UUID.nameUUIDFromBytes(STORED_FILENAME.getBytes(StandardCharsets.UTF_8)))
+                .storedFilename(STORED_FILENAME)
+                .storagePath(csv.toString())
+                .rowCount(stats.getRowCount())
+                .columnCount(stats.getColumnCount())
+                .build();
+
+        profileService = new DatasetProfileService(
+                new StoredCsvOpener(new FileContent(directory)),
+                new FixedRowIndex(stats.getRowIndex()),
+                new TypeInferenceService(),
+                new ObjectMapper(),
+                new SimpleMeterRegistry(),
+                parallelism,
+                splitRows,
+                10000);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(directory.resolve(STORED_FILENAME));
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public ProfileState computeState() {
+        return profileService.computeState(file, 0, read -> { });
+    }
+
+    /**
+     * Write the CSV and inspect it on the way, as ingest does
+     * Every hundredth comment is quoted with an embedded newline, so ranges
+     * must start at real record boundaries.
+     */
+    private IngestStats writeCsv(Path csv) throws IOException {
+        SplittableRandom random = new SplittableRandom(42);
+        CsvIngestInspector inspector = new CsvIngestInspector();
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(csv))) {
+            write("id,category,amount,quantity,date,active,comment\n", out, inspector);
+            StringBuilder line = new StringBuilder(128);
+            for (int row = 0; row < rows; row++) {
+                line.setLength(0);
+                line.append(row).append(',')
+                        .append(CATEGORIES[random.nextInt(CATEGORIES.length)]).append(',')
+                        .append(random.nextInt(1000000) / 100.0).append(',')
+                        .append(random.nextInt(50) == 0 ? "" : Integer.toString(random.nextInt(1000))).append(',')
+                        .append(String.format(Locale.ROOT, "2024-%02d-%02d", 1 + random.nextInt(12), 1 + random.nextInt(28)))
+                        .append(',')
+                        .append(random.nextBoolean()).append(',')
+                        .append(row % 100 == 0 ? "\"first line\nsecond, line\"" : "comment " + random.nextInt(100000))
+                        .append('\n');
+                write(line.toString(), out, inspector);
+            }
+        }
+        return inspector.finish();
+    }
+
+    private static void write(String text, OutputStream out, CsvIngestInspector inspector) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        out.write(bytes);
+        inspector.update(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Stored content read straight from the benchmark directory
+     */
+    private static final class FileContent implements StoredContentPort {
+        private final Path directory;
+
+        FileContent(Path directory) {
+            this.directory = directory;
+        }
+
+        @Override
+        public InputStream retrieve(String storedFilename) throws IOException {
+            return Files.newInputStream(directory.resolve(storedFilename));
+        }
+
+        @Override
+        public InputStream retrieve(String storedFilename, long offset) throws IOException {
+            FileChannel channel = FileChannel.open(directory.resolve(storedFilename), StandardOpenOption.READ);
+            channel.position(offset);
+            return Channels.newInputStream(channel);
+        }
+
+        @Override
+        public boolean compress(String storedFilename) {
+            return false;
+        }
+
+        @Override
+        public void publish(String storedFilename) {
+        }
+
+        @Override
+        public boolean delete(String storedFilename) throws IOException {
+            return Files.deleteIfExists(directory.resolve(storedFilename));
+        }
+    }
+
+    /**
+     * Row index of the benchmark file, held in memory
+     */
+    private static final class FixedRowIndex implements RowIndexPort {
+        private final RowOffsetIndex index;
+
+        FixedRowIndex(RowOffsetIndex index) {
+            this.index = index;
+        }
+
+        @Override
+        public boolean exists(String storedFilename) {
+            return true;
+        }
+
+        @Override
+        public void save(String storedFilename, RowOffsetIndex index) {
+            throw new UnsupportedOperationException("Benchmark index is fixed");
+        }
+
+        @Override
+        public Optional<RowOffsetIndex> load(String storedFilename) {
+            return Optional.of(index);
+        }
+
+        @Override
+        public void delete(String storedFilename) {
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.portal.das.service.profile;
+
+import com.portal.das.domain.model.InferredType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-type cost of classifying one cell
+ * inferSingleValue (scanners, DatePattern) against the parse-and-catch checks
+ * it replaced, plus each scanner against the parser it stands in for.
+ *
+ * - inferSingleValue / inferWithExceptions: whole classification of the value
+ * - isInteger / parseLong, isDecimal / parseDouble: numeric checks alone
+ * - datePattern / parseDate: the ISO date format alone
+ *
+ * Run: mvn -Pjmh test-compile exec:exec -Djmh.args="TypeInferenceBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TypeInferenceBenchmark {
+
+    private static final Map<String, String> VALUES = Map.of(
+            "text", "hello world",
+            "integer", "12345",
+            "decimal", "3.14159",
+            "date", "2024-01-31",
+            "datetime", "31/01/2024 13:45:00");
+
+    /**
+     * Formats tried by the previous implementation, in its order
+     */
+    private static final List<DateTimeFormatter> LEGACY_DATETIME_FORMATS = List.of(
+            DateTimeFormatter.ISO_LOCAL_DATE_TIME,
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"),
+            DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss"),
+            DateTimeFormatter.ofPattern("MM/dd/yyyy HH:mm:ss"),
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"),
+            DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm"));
+
+    private static final List<DateTimeFormatter> LEGACY_DATE_FORMATS = List.of(
+            DateTimeFormatter.ISO_LOCAL_DATE,
+            DateTimeFormatter.ofPattern("dd/MM/yyyy"),
+            DateTimeFormatter.ofPattern("MM/dd/yyyy"),
+            DateTimeFormatter.ofPattern("dd-MM-yyyy"),
+            DateTimeFormatter.ofPattern("yyyy/MM/dd"),
+            DateTimeFormatter.ofPattern("d/M/yyyy"),
+            DateTimeFormatter.ofPattern("d-M-yyyy"));
+
+    private static final Set<String> BOOLEANS = Set.of("true", "yes", "1", "t", "y", "false", "no", "0", "f", "n");
+
+    @Param({"text", "integer", "decimal", "date", "datetime"})
+    private String type;
+
+    private String value;
+    private TypeInferenceService typeInferenceService;
+    private DatePattern isoDate;
+
+    @Setup
+    public void setUp() {
+        value = VALUES.get(type);
+        typeInferenceService = new TypeInferenceService();
+        isoDate = DatePattern.date("yyyy-MM-dd", DateTimeFormatter.ISO_LOCAL_DATE, "yMd", '-', true);
+    }
+
+    @Benchmark
+    public InferredType inferSingleValue() {
+        return typeInferenceService.inferSingleValue(value);
+    }
+
+    @Benchmark
+    public InferredType inferWithExceptions() {
+        String trimmed = value.trim();
+        if (BOOLEANS.contains(trimmed.toLowerCase())) {
+            return InferredType.BOOLEAN;
+        }
+        try {
+            Long.parseLong(trimmed);
+            return InferredType.INTEGER;
+        } catch (NumberFormatException e) {
+            // Not an integer
+        }
+        try {
+            Double.parseDouble(trimmed);
+            return InferredType.DECIMAL;
+        } catch (NumberFormatException e) {
+            // Not a decimal
+        }
+        for (DateTimeFormatter format : LEGACY_DATETIME_FORMATS) {
+            try {
+                LocalDateTime.parse(trimmed, format);
+                return InferredType.DATETIME;
+            } catch (DateTimeParseException e) {
+                // Try the next format
+            }
+        }
+        for (DateTimeFormatter format : LEGACY_DATE_FORMATS) {
+            try {
+                LocalDate.parse(trimmed, format);
+                return InferredType.DATE;
+            } catch (DateTimeParseException e) {
+                // Try the next format
+            }
+        }
+        return InferredType.STRING;
+    }
+
+    @Benchmark
+    public boolean isInteger() {
+        return ValueScanner.isInteger(value);
+    }
+
+    @Benchmark
+    public boolean parseLong() {
+        try {
+            Long.parseLong(value);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    @Benchmark
+    public boolean isDecimal() {
+        return ValueScanner.isDecimal(value);
+    }
+
+    @Benchmark
+    public boolean parseDouble() {
+        try {
+            Double.parseDouble(value);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    @Benchmark
+    public boolean datePattern() {
+        return isoDate.matches(value);
+    }
+
+    @Benchmark
+    public boolean parseDate() {
+        try {
+            LocalDate.parse(value, DateTimeFormatter.ISO_LOCAL_DATE);
+            return true;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.portal.das.util;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CsvTokenizer against the commons-csv CSVParser it replaced
+ * Both read the same in-memory CSV through an InputStreamReader, as readers of
+ * stored files do, and hand every field to a Blackhole.
+ *
+ * - commonsCsv: CSVParser with a skipped header record, as the readers used before
+ * - tokenizerFields: CsvTokenizer creating a String per field (field())
+ * - tokenizerCursor: CsvTokenizer touching fields without creating Strings (fieldLength())
+ *
+ * "quoted" rows have a quoted text field with an escaped quote, an embedded
+ * delimiter and, on every tenth row, an embedded newline.
+ *
+ * Run: mvn -Pjmh test-compile exec:exec -Djmh.args="CsvTokenizerBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CsvTokenizerBenchmark {
+
+    private static final String[] CITIES = {"Amman", "Beirut", "Cairo", "Damascus", "Riyadh", "Dubai"};
+
+    @Param({"100000"})
+    private int rows;
+
+    @Param({"plain", "quoted"})
+    private String shape;
+
+    private byte[] csv;
+
+    @Setup
+    public void generate() {
+        SplittableRandom random = new SplittableRandom(42);
+        StringBuilder builder = new StringBuilder(rows * 80);
+        builder.append("id,name,city,amount,quantity,date,active,comment\n");
+        for (int row = 0; row < rows; row++) {
+            builder.append(row).append(',')
+                    .append("name_").append(random.nextInt(5000)).append(',')
+                    .append(CITIES[random.nextInt(CITIES.length)]).append(',')
+                    .append(random.nextInt(100000) / 100.0).append(',')
+                    .append(random.nextInt(1000)).append(',')
+                    .append(String.format(Locale.ROOT, "2024-%02d-%02d", 1 + random.nextInt(12), 1 + random.nextInt(28)))
+                    .append(',')
+                    .append(random.nextBoolean()).append(',');
+            if ("quoted".equals(shape)) {
+                builder.append("\"said \"\"hello\"\", then left")
+                        .append(row % 10 == 0 ? "\nsecond line" : "")
+                        .append('"');
+            } else {
+                builder.append("plain comment ").append(row);
+            }
+            builder.append('\n');
+        }
+        csv = builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public void commonsCsv(Blackhole blackhole) throws IOException {
+        try (CSVParser parser = CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true).build()
+                .parse(newReader())) {
+            for (CSVRecord record : parser) {
+                for (int i = 0; i < record.size(); i++) {
+                    blackhole.consume(record.get(i));
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void tokenizerFields(Blackhole blackhole) throws IOException {
+        try (CsvTokenizer tokenizer = new CsvTokenizer(newReader())) {
+            tokenizer.next();
+            while (tokenizer.next()) {
+                for (int i = 0; i < tokenizer.fieldCount(); i++) {
+                    blackhole.consume(tokenizer.field(i));
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void tokenizerCursor(Blackhole blackhole) throws IOException {
+        try (CsvTokenizer tokenizer = new CsvTokenizer(newReader())) {
+            tokenizer.next();
+            while (tokenizer.next()) {
+                for (int i = 0; i < tokenizer.fieldCount(); i++) {
+                    blackhole.consume(tokenizer.fieldLength(i));
+                }
+            }
+        }
+    }
+
+    private Reader newReader() {
+        return new InputStreamReader(new ByteArrayInputStream(csv), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,27 @@
+package com.portal.das.application.dataset.command;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Command for appending the rows of an uploaded file to a dataset
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppendDatasetCommand {
+    /**
+     * Dataset receiving the rows
+     */
+    private UUID datasetId;
+
+    /**
+     * Uploaded file holding the new rows (same columns as the dataset, in any order)
+     */
+    private UUID fileId;
+}
@@ -2,6 +2,7 @@ package com.portal.das.application.dataset.service;
 
 import com.portal.das.domain.model.ChartData;
 import com.portal.das.domain.model.ColumnSummary;
+import com.portal.das.domain.model.RangeFilter;
 import com.portal.das.domain.ports.in.dataset.GetColumnSummaryUseCase;
 import com.portal.das.service.profile.ColumnSummaryService;
 import lombok.RequiredArgsConstructor;
@@ -20,8 +21,8 @@ public class ColumnSummaryServiceAdapter implements GetColumnSummaryUseCase {
     private final ColumnSummaryService columnSummaryService;
 
     @Override
-    public ColumnSummary getColumnSummary(UUID datasetId, String columnName) {
-        return columnSummaryService.summary(datasetId, columnName);
+    public ColumnSummary getColumnSummary(UUID datasetId, String columnName, RangeFilter filter, boolean exact) {
+        return columnSummaryService.summary(datasetId, columnName, filter, exact);
     }
 
     @Override
@@ -0,0 +1,27 @@
+package com.portal.das.application.dataset.service;
+
+import com.portal.das.domain.model.RangeFilter;
+import com.portal.das.domain.model.RowPage;
+import com.portal.das.domain.ports.in.dataset.GetDatasetRowsUseCase;
+import com.portal.das.service.rows.RowPageService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Adapter service for row page reads
+ * Implements use cases by delegating to RowPageService
+ */
+@Service
+@RequiredArgsConstructor
+public class DatasetRowsServiceAdapter implements GetDatasetRowsUseCase {
+
+    private final RowPageService rowPageService;
+
+    @Override
+    public RowPage getRows(UUID datasetId, long offset, int limit, List<String> columns, RangeFilter filter) {
+        return rowPageService.getRows(datasetId, offset, limit, columns, filter);
+    }
+}
@@ -2,49 +2,98 @@ package com.portal.das.application.dataset.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portal.das.application.dataset.command.AppendDatasetCommand;
 import com.portal.das.application.dataset.command.RegisterDatasetCommand;
 import com.portal.das.application.dataset.validation.RegisterDatasetValidator;
 import com.portal.das.domain.model.Dataset;
+import com.portal.das.domain.model.Job;
+import com.portal.das.domain.model.StoredBlob;
 import com.portal.das.domain.model.UploadedFile;
 import com.portal.das.domain.model.profile.DatasetProfile;
+import com.portal.das.domain.model.profile.ProfileState;
+import com.portal.das.domain.ports.in.dataset.AppendDatasetUseCase;
 import com.portal.das.domain.ports.in.dataset.GetDatasetProfileUseCase;
 import com.portal.das.domain.ports.in.dataset.LoadDatasetUseCase;
 import com.portal.das.domain.ports.in.dataset.RegisterDatasetUseCase;
 import com.portal.das.domain.ports.out.dataset.DatasetCrudPort;
+import com.portal.das.domain.ports.out.dataset.DatasetProfilingPort;
 import com.portal.das.domain.ports.out.file.FileCrudPort;
+import com.portal.das.domain.ports.out.file.StoredBlobPort;
+import com.portal.das.service.ingest.ColumnarStoreBuilder;
+import com.portal.das.service.ingest.IngestResult;
+import com.portal.das.service.ingest.IngestedEntry;
+import com.portal.das.service.ingest.StoredCsvAppender;
+import com.portal.das.service.ingest.StoredContentReleaser;
+import com.portal.das.service.ingest.StoredCsvOpener;
+import com.portal.das.service.job.JobService;
 import com.portal.das.service.profile.DatasetProfileService;
-import com.portal.das.util.CsvUtils;
 import com.sharedlib.core.context.CurrentUserContext;
+import com.sharedlib.core.exception.BadRequestException;
 import com.sharedlib.core.exception.NotFoundException;
 import com.sharedlib.core.i18n.MessageResolver;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.nio.file.Paths;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
 
 /**
  * Service implementation for Dataset operations
  * Handles dataset registration and profiling
+ *
+ * Registration commits the dataset in status PROFILING and hands profiling
+ * to a job: it stores a quick profile computed from a sample of the rows,
+ * then replaces it with the exact profile (progress in rows read) and marks
+ * the dataset PROFILED, or ERROR if the file cannot be profiled.
+ *
+ * Appending stores a new file made of the dataset rows followed by the rows
+ * of another file with the same columns, profiles only the appended rows and
+ * merges them into the profile state kept with the dataset.
+ *
+ * A dataset whose job was lost with its instance would stay PROFILING, so
+ * such datasets are recovered: registrations are profiled again, appends
+ * return to the previous file and profile.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class DatasetServiceImpl implements RegisterDatasetUseCase, LoadDatasetUseCase, GetDatasetProfileUseCase {
+public class DatasetServiceImpl implements RegisterDatasetUseCase, LoadDatasetUseCase, GetDatasetProfileUseCase,
+        AppendDatasetUseCase {
+
+    private static final String PROFILE_JOB_TYPE = "DATASET_PROFILE";
+    private static final String APPEND_JOB_TYPE = "DATASET_APPEND";
+    private static final int RECOVERY_BATCH_SIZE = 100;
 
     private final DatasetCrudPort datasetCrudPort;
+    private final DatasetProfilingPort datasetProfilingPort;
     private final FileCrudPort fileCrudPort;
+    private final StoredBlobPort storedBlobPort;
     private final DatasetProfileService profileService;
+    private final StoredCsvOpener storedCsvOpener;
+    private final StoredCsvAppender storedCsvAppender;
+    private final StoredContentReleaser storedContentReleaser;
+    private final ColumnarStoreBuilder columnarStoreBuilder;
+    private final JobService jobService;
     private final RegisterDatasetValidator validator;
     private final MessageResolver messageResolver;
     private final ObjectMapper objectMapper;
 
     @Override
-    @Transactional
     public Dataset registerDataset(RegisterDatasetCommand command) {
         log.info("Registering dataset from file: {}", command.getFileId());
 
@@ -60,7 +109,7 @@ public class DatasetServiceImpl implements RegisterDatasetUseCase, LoadDatasetUs
         // Read header from file
         String[] headers;
         try {
-            headers = CsvUtils.readHeader(Paths.get(file.getStoragePath()));
+            headers = storedCsvOpener.readHeader(file);
         } catch (Exception e) {
             log.error("Failed to read file header", e);
             throw new NotFoundException(
@@ -89,60 +138,380 @@ public class DatasetServiceImpl implements RegisterDatasetUseCase, LoadDatasetUs
                 .createdAt(Instant.now())
                 .build();
 
-        // Save dataset
-        Dataset saved = datasetCrudPort.save(dataset);
+        // Committed before profiling starts; the job reports progress under this ID
+        UUID jobId = jobService.createJob(PROFILE_JOB_TYPE);
+        dataset.setProfileJobId(jobId);
+        Dataset saved = saveWithJob(dataset, jobId);
+
+        UUID datasetId = saved.getDatasetId();
+        UUID userId = getCurrentUserId();
+        afterCommit(() -> jobService.startJob(jobId, id -> runProfileJob(id, datasetId, file, userId)));
+
+        log.info("Dataset {} registered, profiling in job {}", datasetId, jobId);
+        return saved;
+    }
+
+    /**
+     * Recover PROFILING datasets whose job is unknown or failed without finishing them
+     * A job that fails on its own leaves the dataset PROFILED or ERROR, so
+     * these jobs were interrupted (see JobService#heartbeat).
+     */
+    @Scheduled(initialDelayString = "${das.jobs.heartbeat-interval:PT1M}",
+               fixedDelayString = "${das.jobs.heartbeat-interval:PT1M}")
+    public void recoverInterruptedProfiling() {
+        for (UUID datasetId : datasetProfilingPort.findProfiling(RECOVERY_BATCH_SIZE)) {
+            try {
+                recoverProfiling(getById(datasetId));
+            } catch (RuntimeException e) {
+                // Includes concurrent updates: the dataset was finished or recovered meanwhile
+                log.warn("Failed to recover profiling of dataset: {}", datasetId, e);
+            }
+        }
+    }
+
+    private void recoverProfiling(Dataset dataset) {
+        Job job = dataset.getProfileJobId() != null ? jobService.getJob(dataset.getProfileJobId()) : null;
+        if (dataset.getStatus() != Dataset.DatasetStatus.PROFILING
+                || (job != null && job.getStatus() != Job.JobStatus.FAILED
+                    && job.getStatus() != Job.JobStatus.CANCELLED)) {
+            return;
+        }
+        UUID datasetId = dataset.getDatasetId();
+
+        // An interrupted append leaves the dataset on its previous file and profile
+        if (job != null && APPEND_JOB_TYPE.equals(job.getJobType())
+                && dataset.getProfileJson() != null && dataset.getProfileStateJson() != null) {
+            dataset.setStatus(Dataset.DatasetStatus.PROFILED);
+            dataset.setUpdatedAt(Instant.now());
+            datasetCrudPort.save(dataset);
+            log.warn("Append job {} of dataset {} was interrupted, dataset restored", job.getJobId(), datasetId);
+            return;
+        }
+
+        UploadedFile file = loadFile(dataset.getFileId());
+        UUID userId = dataset.getCreatedBy();
+        UUID jobId = jobService.createJob(PROFILE_JOB_TYPE);
+        dataset.setProfileJobId(jobId);
+        dataset.setUpdatedAt(Instant.now());
+        saveWithJob(dataset, jobId);
+        jobService.startJob(jobId, id -> runProfileJob(id, datasetId, file, userId));
+        log.warn("Profiling of dataset {} was interrupted, restarted in job {}", datasetId, jobId);
+    }
+
+    /**
+     * Job body: profile the file, build the columnar copy and mark the dataset PROFILED
+     *
+     * @param jobId Profiling job
+     * @param datasetId Registered dataset
+     * @param file Source file
+     * @param userId User who registered the dataset
+     */
+    private void runProfileJob(UUID jobId, UUID datasetId, UploadedFile file, UUID userId) {
+        LongConsumer rowsRead = rowProgress(jobId, file.getRowCount());
+
+        ComputedProfile computed;
+        try {
+            computed = loadOrComputeProfile(datasetId, file, userId, rowsRead);
+            buildColumnarCopy(file, computed.profileJson);
+        } catch (RuntimeException e) {
+            log.error("Failed to compute profile for dataset: {}", datasetId, e);
+            updateDataset(datasetId, userId, dataset -> dataset.setStatus(Dataset.DatasetStatus.ERROR));
+            throw e;
+        }
+        updateDataset(datasetId, userId, dataset -> {
+            dataset.setProfileJson(computed.profileJson);
+            dataset.setProfileStateJson(computed.stateJson);
+            dataset.setStatus(Dataset.DatasetStatus.PROFILED);
+        });
+        setDatasetResult(jobId, datasetId);
+        log.info("Dataset profile computed successfully for dataset: {}", datasetId);
+    }
+
+    @Override
+    public Dataset appendToDataset(AppendDatasetCommand command) {
+        log.info("Appending file {} to dataset {}", command.getFileId(), command.getDatasetId());
+
+        Dataset dataset = getById(command.getDatasetId());
+        if (dataset.getStatus() != Dataset.DatasetStatus.PROFILED) {
+            throw new BadRequestException(
+                messageResolver.getMessage("das.dataset.append.not.profiled", new Object[]{dataset.getDatasetId()})
+            );
+        }
+
+        UploadedFile base = loadFile(dataset.getFileId());
+        UploadedFile appended = loadFile(command.getFileId());
+        validator.validate(appended);
 
-        // Compute profile in background (for now, do it synchronously)
+        String[] baseHeaders;
+        String[] appendedHeaders;
         try {
-            DatasetProfile profile = profileService.computeProfile(file);
-            String profileJson = profileService.profileToJson(profile);
-
-            // Update dataset with profile
-            Dataset updated = Dataset.builder()
-                    .datasetId(saved.getDatasetId())
-                    .fileId(saved.getFileId())
-                    .name(saved.getName())
-                    .description(saved.getDescription())
-                    .rowCount(saved.getRowCount())
-                    .columnCount(saved.getColumnCount())
-                    .headerJson(saved.getHeaderJson())
-                    .profileJson(profileJson)
-                    .status(Dataset.DatasetStatus.PROFILED)
-                    .isActive(saved.getIsActive())
-                    .isDeleted(saved.getIsDeleted())
-                    .createdBy(saved.getCreatedBy())
-                    .createdAt(saved.getCreatedAt())
-                    .updatedBy(getCurrentUserId())
-                    .updatedAt(Instant.now())
-                    .rowVersion(saved.getRowVersion())
-                    .build();
-
-            saved = datasetCrudPort.save(updated);
-            log.info("Dataset profile computed successfully for dataset: {}", saved.getDatasetId());
+            baseHeaders = storedCsvOpener.readHeader(base);
+            appendedHeaders = storedCsvOpener.readHeader(appended);
         } catch (Exception e) {
-            log.error("Failed to compute profile for dataset: {}", saved.getDatasetId(), e);
-            // Mark as error but don't fail the registration
-            Dataset errorDataset = Dataset.builder()
-                    .datasetId(saved.getDatasetId())
-                    .fileId(saved.getFileId())
-                    .name(saved.getName())
-                    .description(saved.getDescription())
-                    .rowCount(saved.getRowCount())
-                    .columnCount(saved.getColumnCount())
-                    .headerJson(saved.getHeaderJson())
-                    .status(Dataset.DatasetStatus.ERROR)
-                    .isActive(saved.getIsActive())
-                    .isDeleted(saved.getIsDeleted())
-                    .createdBy(saved.getCreatedBy())
-                    .createdAt(saved.getCreatedAt())
-                    .rowVersion(saved.getRowVersion())
-                    .build();
-            saved = datasetCrudPort.save(errorDataset);
+            log.error("Failed to read file header", e);
+            throw new NotFoundException(
+                messageResolver.getMessage("das.dataset.file.unreadable")
+            );
         }
+        int[] projection = projection(baseHeaders, appendedHeaders);
 
+        // The dataset keeps serving its current rows and profile until the job swaps them
+        UUID jobId = jobService.createJob(APPEND_JOB_TYPE);
+        UUID userId = getCurrentUserId();
+        dataset.setStatus(Dataset.DatasetStatus.PROFILING);
+        dataset.setProfileJobId(jobId);
+        dataset.setUpdatedBy(userId);
+        dataset.setUpdatedAt(Instant.now());
+        Dataset saved = saveWithJob(dataset, jobId);
+
+        UUID datasetId = saved.getDatasetId();
+        afterCommit(() -> jobService.startJob(jobId,
+                id -> runAppendJob(id, datasetId, base, appended, projection, userId)));
+
+        log.info("Appending to dataset {} in job {}", datasetId, jobId);
         return saved;
     }
 
+    /**
+     * Position of each base column in the appended file, matched by name
+     *
+     * @throws BadRequestException If the columns differ
+     */
+    private int[] projection(String[] baseHeaders, String[] appendedHeaders) {
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < appendedHeaders.length; i++) {
+            positions.putIfAbsent(appendedHeaders[i].trim(), i);
+        }
+
+        int[] projection = new int[baseHeaders.length];
+        List<String> missing = new ArrayList<>();
+        for (int i = 0; i < baseHeaders.length; i++) {
+            Integer position = positions.remove(baseHeaders[i].trim());
+            if (position == null) {
+                missing.add(baseHeaders[i]);
+            } else {
+                projection[i] = position;
+            }
+        }
+        if (!missing.isEmpty() || appendedHeaders.length != baseHeaders.length) {
+            throw new BadRequestException(
+                messageResolver.getMessage("das.dataset.append.schema.mismatch",
+                    new Object[]{missing, new ArrayList<>(positions.keySet())})
+            );
+        }
+        return projection;
+    }
+
+    /**
+     * Job body: store the combined file, profile the appended rows and switch the dataset over
+     * The stored profile state covers the base rows, so only the appended rows
+     * are read; without a usable state the combined file is profiled in full.
+     * On failure the dataset is left on its previous file and profile, and the
+     * combined file is discarded.
+     *
+     * @param jobId Append job
+     * @param datasetId Dataset appended to
+     * @param base Current file of the dataset
+     * @param appended File whose rows are added
+     * @param projection Position of each dataset column in the appended file
+     * @param userId User who requested the append
+     */
+    private void runAppendJob(UUID jobId, UUID datasetId, UploadedFile base, UploadedFile appended,
+                              int[] projection, UUID userId) {
+        IngestResult result = null;
+        UploadedFile stored = null;
+        try {
+            UUID combinedId = UUID.randomUUID();
+            try {
+                result = storedCsvAppender.append(base, appended, projection, combinedId + ".csv");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            UploadedFile combined = fileCrudPort.save(
+                IngestedEntry.success(combinedId, base.getOriginalFilename(), "csv", null, result)
+                    .toUploadedFile(base.getMimeType(), null, userId));
+            stored = combined;
+
+            long baseRows = base.getRowCount() != null ? base.getRowCount() : -1;
+            boolean rowsMatch = combined.getRowCount() != null && appended.getRowCount() != null
+                    && combined.getRowCount() == baseRows + appended.getRowCount();
+            Optional<ProfileState> baseState = profileService.stateFromJson(getById(datasetId).getProfileStateJson())
+                    .filter(state -> rowsMatch && state.getRowCount() != null && state.getRowCount() == baseRows);
+
+            ProfileState state;
+            if (baseState.isPresent()) {
+                LongConsumer rowsRead = rowProgress(jobId, appended.getRowCount());
+                state = profileService.mergeStates(baseState.get(),
+                        profileService.computeState(combined, baseRows, rowsRead));
+            } else {
+                log.info("No profile state for the rows of dataset {}, profiling the combined file", datasetId);
+                state = profileService.computeState(combined, 0, rowProgress(jobId, combined.getRowCount()));
+            }
+
+            String profileJson = profileService.profileToJson(profileService.profileFromState(state, combined));
+            String stateJson = profileService.stateToJson(state);
+            if (combined.getContentHash() != null) {
+                storedBlobPort.findByContentHash(combined.getContentHash())
+                        .ifPresent(blob -> storedBlobPort.saveProfile(blob.getContentHash(),
+                                profileJson, stateJson));
+            }
+            buildColumnarCopy(combined, profileJson);
+
+            updateDataset(datasetId, userId, dataset -> {
+                dataset.setFileId(combined.getFileId());
+                dataset.setRowCount(combined.getRowCount());
+                dataset.setProfileJson(profileJson);
+                dataset.setProfileStateJson(stateJson);
+                dataset.setStatus(Dataset.DatasetStatus.PROFILED);
+            });
+        } catch (RuntimeException e) {
+            log.error("Failed to append file {} to dataset: {}", appended.getFileId(), datasetId, e);
+            discardCombined(result, stored);
+            updateDataset(datasetId, userId, dataset -> dataset.setStatus(Dataset.DatasetStatus.PROFILED));
+            throw e;
+        }
+        setDatasetResult(jobId, datasetId);
+        log.info("Appended file {} to dataset: {}", appended.getFileId(), datasetId);
+    }
+
+    /**
+     * Delete the record of a combined file the dataset was not switched to, then
+     * give back its stored content
+     *
+     * @param result Stored combined CSV (null if not stored)
+     * @param combined Its file record (null if not saved)
+     */
+    private void discardCombined(IngestResult result, UploadedFile combined) {
+        if (result == null) {
+            return;
+        }
+        try {
+            if (combined != null) {
+                fileCrudPort.delete(combined.getFileId());
+            }
+            storedContentReleaser.release(result.getStats().getContentHash(), result.getStoredFilename());
+        } catch (RuntimeException e) {
+            log.warn("Failed to discard combined file {}", result.getStoredFilename(), e);
+        }
+    }
+
+    /**
+     * Report rows read by a profiling pass as job progress
+     *
+     * @param totalRows Rows the pass reads (null if unknown)
+     */
+    private LongConsumer rowProgress(UUID jobId, Long totalRows) {
+        AtomicLong rows = new AtomicLong();
+        return read -> jobService.updateRows(jobId, rows.addAndGet(read), totalRows);
+    }
+
+    private void setDatasetResult(UUID jobId, UUID datasetId) {
+        try {
+            jobService.setResult(jobId, objectMapper.writeValueAsString(Map.of("datasetId", datasetId)));
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to serialize result of job: {}", jobId, e);
+        }
+    }
+
+    /**
+     * Apply changes to the current version of the dataset and save it
+     *
+     * @param changes Fields to update
+     */
+    private void updateDataset(UUID datasetId, UUID userId, Consumer<Dataset> changes) {
+        Dataset dataset = getById(datasetId);
+        changes.accept(dataset);
+        dataset.setUpdatedBy(userId);
+        dataset.setUpdatedAt(Instant.now());
+        datasetCrudPort.save(dataset);
+    }
+
+    /**
+     * Save a dataset pointing to a job not started yet, cancelling the job if the save fails
+     */
+    private Dataset saveWithJob(Dataset dataset, UUID jobId) {
+        try {
+            return datasetCrudPort.save(dataset);
+        } catch (RuntimeException e) {
+            jobService.cancelJob(jobId);
+            throw e;
+        }
+    }
+
+    private UploadedFile loadFile(UUID fileId) {
+        return fileCrudPort.load(fileId)
+                .orElseThrow(() -> new NotFoundException(
+                    messageResolver.getMessage("das.file.not.found", new Object[]{fileId})
+                ));
+    }
+
+    /**
+     * Run an action once the current transaction commits (immediately outside a transaction)
+     * Background jobs must not start before the records they load are visible.
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Get the exact profile JSON for a file, reusing the one cached on its stored blob
+     * Identical content always yields the same profile, so it is computed once.
+     * Before the full pass, a profile of a sample of the rows is stored on the
+     * dataset so readers have column types and null rates meanwhile.
+     *
+     * @param datasetId Dataset being profiled
+     * @param file Processed file
+     * @param userId User who registered the dataset
+     * @param rowsRead Progress of the full pass
+     * @return Profile as JSON, with its mergeable state unless it was cached before states were kept
+     */
+    private ComputedProfile loadOrComputeProfile(UUID datasetId, UploadedFile file, UUID userId,
+                                                 LongConsumer rowsRead) {
+        Optional<StoredBlob> blob = file.getContentHash() != null
+                ? storedBlobPort.findByContentHash(file.getContentHash())
+                : Optional.empty();
+
+        if (blob.isPresent() && blob.get().getProfileJson() != null) {
+            log.info("Reusing cached profile for content: {}", file.getContentHash());
+            // Profiles cached without their state leave appends to a full pass
+            return new ComputedProfile(blob.get().getProfileJson(), blob.get().getProfileStateJson());
+        }
+
+        profileService.computeSampledProfile(file).ifPresent(sampled -> {
+            String sampledJson = profileService.profileToJson(sampled);
+            updateDataset(datasetId, userId, dataset -> dataset.setProfileJson(sampledJson));
+        });
+        ProfileState state = profileService.computeState(file, 0, rowsRead);
+        String profileJson = profileService.profileToJson(profileService.profileFromState(state, file));
+        String stateJson = profileService.stateToJson(state);
+        blob.ifPresent(b -> storedBlobPort.saveProfile(b.getContentHash(), profileJson, stateJson));
+        return new ComputedProfile(profileJson, stateJson);
+    }
+
+    /**
+     * Write the columnar copy used by analytic reads
+     * Failure is not fatal: readers fall back to the CSV
+     *
+     * @param file Processed file
+     * @param profileJson Profile providing the column types
+     */
+    private void buildColumnarCopy(UploadedFile file, String profileJson) {
+        try {
+            columnarStoreBuilder.build(file, profileService.profileFromJson(profileJson));
+        } catch (Exception e) {
+            log.warn("Failed to build columnar copy for file: {}", file.getFileId(), e);
+        }
+    }
+
     @Override
     public Dataset getById(UUID datasetId) {
         return datasetCrudPort.load(datasetId)
@@ -188,5 +557,17 @@ public class DatasetServiceImpl implements RegisterDatasetUseCase, LoadDatasetUs
         return CurrentUserContext.get() != null ? 
                CurrentUserContext.get().userId() : null;
     }
-}
 
+    /**
+     * Profile JSON with the state it was built from (null if not available)
+     */
+    private static final class ComputedProfile {
+        private final String profileJson;
+        private final String stateJson;
+
+        ComputedProfile(String profileJson, String stateJson) {
+            this.profileJson = profileJson;
+            this.stateJson = stateJson;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.portal.das.application.file.command;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Command for starting a chunked upload
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InitChunkedUploadCommand {
+    /**
+     * Original filename (extension determines the format)
+     */
+    private String filename;
+
+    /**
+     * Total size of the file in bytes
+     */
+    private long totalSize;
+
+    /**
+     * Optional MIME type
+     */
+    private String contentType;
+}
@@ -0,0 +1,38 @@
+package com.portal.das.application.file.command;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.InputStream;
+import java.util.UUID;
+
+/**
+ * Command for appending one chunk to a chunked upload
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadChunkCommand {
+    /**
+     * Upload session identifier
+     */
+    private UUID uploadId;
+
+    /**
+     * Byte offset of this chunk in the file
+     */
+    private long offset;
+
+    /**
+     * SHA-256 of the chunk bytes (hex)
+     */
+    private String checksum;
+
+    /**
+     * Chunk bytes (request body, streamed)
+     */
+    private InputStream content;
+}
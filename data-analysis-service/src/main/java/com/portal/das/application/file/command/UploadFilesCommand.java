@@ -26,5 +26,11 @@ public class UploadFilesCommand {
      * Optional description or notes about the upload
      */
     private String description;
+
+    /**
+     * Register and profile a dataset for each processed file
+     * (async uploads only)
+     */
+    private boolean profile;
 }
 
@@ -0,0 +1,450 @@
+package com.portal.das.application.file.service;
+
+import com.portal.das.application.file.command.InitChunkedUploadCommand;
+import com.portal.das.application.file.command.UploadChunkCommand;
+import com.portal.das.application.file.validation.UploadFileValidator;
+import com.portal.das.domain.model.UploadJob;
+import com.portal.das.domain.model.UploadSession;
+import com.portal.das.domain.model.UploadedFile;
+import com.portal.das.domain.ports.in.file.ChunkedUploadUseCase;
+import com.portal.das.domain.ports.out.file.FileCrudPort;
+import com.portal.das.domain.ports.out.file.FileStoragePort;
+import com.portal.das.domain.ports.out.file.UploadSessionPort;
+import com.sharedlib.core.context.CurrentUserContext;
+import com.sharedlib.core.exception.BadRequestException;
+import com.sharedlib.core.exception.NotFoundException;
+import com.sharedlib.core.i18n.MessageResolver;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Service implementation for resumable chunked uploads
+ * Chunks are streamed straight into a part file in storage (no multipart buffering),
+ * each verified against its SHA-256 before the session offset advances.
+ * Completion hands the file to the same background job as async uploads.
+ *
+ * A chunk is written only after claiming the session in the database at its
+ * offset, and the offset advances with a conditional update, so concurrent
+ * requests on any instance cannot write the same part file. A claim older
+ * than das.upload.chunk-lease is taken to be abandoned. Completion likewise
+ * claims the session (OPEN to COMPLETING) before touching the part file, so
+ * concurrent completions cannot create two files or submit two jobs.
+ *
+ * The part file lives in the storage root of the instance that started the
+ * upload. Unless the storage root is a shared volume, chunks must be routed
+ * to that instance (sticky routing on the upload ID); an instance without the
+ * part file rejects the chunk. Sessions without a chunk for
+ * das.upload.session-ttl are expired by the storage sweeper.
+ */
+@Slf4j
+@Service
+public class ChunkedUploadServiceImpl implements ChunkedUploadUseCase {
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final UploadSessionPort uploadSessionPort;
+    private final FileCrudPort fileCrudPort;
+    private final FileStoragePort fileStoragePort;
+    private final StagedUploadProcessor stagedUploadProcessor;
+    private final UploadFileValidator uploadFileValidator;
+    private final MessageResolver messageResolver;
+    private final long maxUploadSize;
+    private final Duration chunkLease;
+
+    public ChunkedUploadServiceImpl(UploadSessionPort uploadSessionPort,
+                                    FileCrudPort fileCrudPort,
+                                    FileStoragePort fileStoragePort,
+                                    StagedUploadProcessor stagedUploadProcessor,
+                                    UploadFileValidator uploadFileValidator,
+                                    MessageResolver messageResolver,
+                                    @Value("${das.upload.max-size:10GB}") DataSize maxUploadSize,
+                                    @Value("${das.upload.chunk-lease:PT10M}") Duration chunkLease) {
+        this.uploadSessionPort = uploadSessionPort;
+        this.fileCrudPort = fileCrudPort;
+        this.fileStoragePort = fileStoragePort;
+        this.stagedUploadProcessor = stagedUploadProcessor;
+        this.uploadFileValidator = uploadFileValidator;
+        this.messageResolver = messageResolver;
+        this.maxUploadSize = maxUploadSize.toBytes();
+        this.chunkLease = chunkLease;
+    }
+
+    @Override
+    public UploadSession initUpload(InitChunkedUploadCommand command) {
+        uploadFileValidator.validateDeclared(command.getFilename(), command.getTotalSize(),
+                command.getContentType(), maxUploadSize);
+
+        UUID uploadId = UUID.randomUUID();
+        String stagedFilename = uploadId + ".part";
+        try {
+            // Create the (empty) part file up front so every chunk opens an existing file
+            Path partPath = fileStoragePort.getPath(stagedFilename);
+            Files.createDirectories(partPath.getParent());
+            Files.deleteIfExists(partPath);
+            Files.createFile(partPath);
+        } catch (IOException e) {
+            log.error("Failed to create part file for upload: {}", uploadId, e);
+            throw new BadRequestException(
+                messageResolver.getMessage("das.file.upload.failed")
+            );
+        }
+
+        UploadSession session = UploadSession.builder()
+                .uploadId(uploadId)
+                .originalFilename(command.getFilename())
+                .originalFormat(getFileExtension(command.getFilename()))
+                .mimeType(command.getContentType())
+                .totalSize(command.getTotalSize())
+                .receivedBytes(0L)
+                .stagedFilename(stagedFilename)
+                .status(UploadSession.SessionStatus.OPEN)
+                .createdBy(getCurrentUserId())
+                .createdAt(Instant.now())
+                .build();
+
+        UploadSession saved = uploadSessionPort.save(session);
+        log.info("Started chunked upload {} for {} ({} bytes)",
+                uploadId, command.getFilename(), command.getTotalSize());
+        return saved;
+    }
+
+    @Override
+    public UploadSession appendChunk(UploadChunkCommand command) {
+        UploadSession session = loadOpenSession(command.getUploadId());
+
+        long offset = command.getOffset();
+        if (offset != session.getReceivedBytes()) {
+            throw new BadRequestException(
+                messageResolver.getMessage("das.upload.offset.mismatch",
+                        new Object[]{session.getReceivedBytes()})
+            );
+        }
+
+        if (!Files.exists(fileStoragePort.getPath(session.getStagedFilename()))) {
+            throw new BadRequestException(
+                messageResolver.getMessage("das.upload.wrong.instance")
+            );
+        }
+
+        UUID uploadId = session.getUploadId();
+        Instant now = Instant.now();
+        if (!uploadSessionPort.claimChunk(uploadId, offset, now, now.minus(chunkLease))) {
+            throw claimRejected(uploadId, offset);
+        }
+
+        long written;
+        try {
+            written = writeChunk(session, offset, command.getContent(), command.getChecksum());
+        } catch (RuntimeException e) {
+            uploadSessionPort.releaseChunk(uploadId, offset);
+            throw e;
+        }
+
+        if (!uploadSessionPort.advance(uploadId, offset, offset + written, Instant.now())) {
+            // The claim went stale and another request moved the session on
+            throw claimRejected(uploadId, offset);
+        }
+        return loadOpenSession(uploadId);
+    }
+
+    /**
+     * Error for a chunk whose claim failed: the offset moved, or another chunk is being written
+     */
+    private BadRequestException claimRejected(UUID uploadId, long offset) {
+        UploadSession current = loadOpenSession(uploadId);
+        if (current.getReceivedBytes() != offset) {
+            return new BadRequestException(
+                messageResolver.getMessage("das.upload.offset.mismatch",
+                        new Object[]{current.getReceivedBytes()})
+            );
+        }
+        return new BadRequestException(
+            messageResolver.getMessage("das.upload.chunk.in.progress")
+        );
+    }
+
+    /**
+     * Error for a completion whose claim failed: completed meanwhile, or a chunk is being written
+     */
+    private BadRequestException completionRejected(UUID uploadId) {
+        UploadSession current = loadOpenSession(uploadId);
+        if (!Objects.equals(current.getReceivedBytes(), current.getTotalSize())) {
+            return new BadRequestException(
+                messageResolver.getMessage("das.upload.incomplete",
+                        new Object[]{current.getReceivedBytes(), current.getTotalSize()})
+            );
+        }
+        return new BadRequestException(
+            messageResolver.getMessage("das.upload.chunk.in.progress")
+        );
+    }
+
+    /**
+     * Undo the promotion of a part file and reopen its session
+     * If the part file cannot be put back the session stays COMPLETING and is
+     * expired by the storage sweeper; the staged copy is then an orphan.
+     */
+    private void restorePartFile(UUID uploadId, Path stagedPath, Path partPath) {
+        try {
+            movePartFile(stagedPath, partPath);
+            uploadSessionPort.releaseCompletion(uploadId, Instant.now());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to reopen upload {} after a failed completion", uploadId, e);
+        }
+    }
+
+    /**
+     * Stream a chunk into the part file at the given offset
+     * Bytes beyond the offset are truncated away on any failure, so an
+     * interrupted or corrupt chunk can simply be resent
+     *
+     * @return Number of bytes written
+     */
+    private long writeChunk(UploadSession session, long offset, InputStream content, String expectedChecksum) {
+        if (expectedChecksum == null || expectedChecksum.isBlank()) {
+            throw new BadRequestException(
+                messageResolver.getMessage("das.upload.checksum.required")
+            );
+        }
+
+        Path partPath = fileStoragePort.getPath(session.getStagedFilename());
+        long remaining = session.getTotalSize() - offset;
+
+        try (FileChannel channel = FileChannel.open(partPath, StandardOpenOption.WRITE)) {
+            // Drop leftovers of an earlier attempt at this offset
+            channel.truncate(offset);
+            channel.position(offset);
+
+            MessageDigest digest = newSha256();
+            byte[] buffer = new byte[COPY_BUFFER_SIZE];
+            long written = 0;
+            int read;
+            while ((read = content.read(buffer)) != -1) {
+                written += read;
+                if (written > remaining) {
+                    channel.truncate(offset);
+                    throw new BadRequestException(
+                        messageResolver.getMessage("das.file.too.large")
+                    );
+                }
+                digest.update(buffer, 0, read);
+                ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, read);
+                while (byteBuffer.hasRemaining()) {
+                    channel.write(byteBuffer);
+                }
+            }
+
+            if (written == 0) {
+                throw new BadRequestException(
+                    messageResolver.getMessage("das.file.empty")
+                );
+            }
+
+            String checksum = HexFormat.of().formatHex(digest.digest());
+            if (!checksum.equalsIgnoreCase(expectedChecksum.trim())) {
+                channel.truncate(offset);
+                throw new BadRequestException(
+                    messageResolver.getMessage("das.upload.checksum.mismatch")
+                );
+            }
+
+            // Only acknowledge bytes that are durable
+            channel.force(false);
+            return written;
+        } catch (IOException e) {
+            log.error("Failed to write chunk at offset {} for upload: {}", offset, session.getUploadId(), e);
+            truncateQuietly(partPath, offset);
+            throw new BadRequestException(
+                messageResolver.getMessage("das.upload.chunk.failed")
+            );
+        }
+    }
+
+    @Override
+    public UploadSession getSession(UUID uploadId) {
+        UploadSession session = uploadSessionPort.load(uploadId)
+                .orElseThrow(() -> new NotFoundException(
+                    messageResolver.getMessage("das.upload.not.found", new Object[]{uploadId})
+                ));
+
+        // Sessions are private to the user who started them
+        UUID currentUser = getCurrentUserId();
+        if (session.getCreatedBy() != null && currentUser != null
+                && !Objects.equals(session.getCreatedBy(), currentUser)) {
+            throw new NotFoundException(
+                messageResolver.getMessage("das.upload.not.found", new Object[]{uploadId})
+            );
+        }
+        return session;
+    }
+
+    @Override
+    public UploadJob completeUpload(UUID uploadId, boolean profile) {
+        UploadSession session = loadOpenSession(uploadId);
+
+        if (!Objects.equals(session.getReceivedBytes(), session.getTotalSize())) {
+            throw new BadRequestException(
+                messageResolver.getMessage("das.upload.incomplete",
+                        new Object[]{session.getReceivedBytes(), session.getTotalSize()})
+            );
+        }
+
+        Instant now = Instant.now();
+        if (!uploadSessionPort.claimCompletion(uploadId, now, now.minus(chunkLease))) {
+            throw completionRejected(uploadId);
+        }
+        // The claim bumped the row version: continue from the claimed session
+        session = getSession(uploadId);
+
+        // Promote the part file to a staged upload named like async multipart uploads
+        UUID fileId = UUID.randomUUID();
+        String stagedFilename = fileId + "." + session.getOriginalFormat();
+        Path partPath = fileStoragePort.getPath(session.getStagedFilename());
+        Path stagedPath = fileStoragePort.getPath(stagedFilename);
+        try {
+            movePartFile(partPath, stagedPath);
+        } catch (IOException e) {
+            log.error("Failed to promote part file for upload: {}", uploadId, e);
+            uploadSessionPort.releaseCompletion(uploadId, Instant.now());
+            throw new BadRequestException(
+                messageResolver.getMessage("das.file.upload.failed")
+            );
+        }
+
+        UploadedFile uploadedFile = UploadedFile.builder()
+                .fileId(fileId)
+                .originalFilename(session.getOriginalFilename())
+                .storedFilename(stagedFilename)
+                .storagePath(stagedPath.toString())
+                .originalFormat(session.getOriginalFormat())
+                .storedFormat(session.getOriginalFormat())
+                .originalSize(session.getTotalSize())
+                .mimeType(session.getMimeType())
+                .status(UploadedFile.FileStatus.UPLOADED)
+                .isActive(true)
+                .isDeleted(false)
+                .uploadedBy(session.getCreatedBy())
+                .uploadedAt(Instant.now())
+                .build();
+        UploadedFile saved;
+        try {
+            saved = fileCrudPort.save(uploadedFile);
+        } catch (RuntimeException e) {
+            // No file was created: put the part file back so completion can be retried
+            restorePartFile(uploadId, stagedPath, partPath);
+            throw e;
+        }
+
+        UUID jobId = stagedUploadProcessor.submit(List.of(saved), profile);
+
+        session.setStatus(UploadSession.SessionStatus.COMPLETED);
+        session.setStagedFilename(null);
+        session.setFileId(fileId);
+        session.setJobId(jobId);
+        session.setUpdatedAt(Instant.now());
+        uploadSessionPort.save(session);
+
+        log.info("Completed chunked upload {} as file {} (job {})", uploadId, fileId, jobId);
+        return UploadJob.builder()
+                .jobId(jobId)
+                .files(List.of(saved))
+                .build();
+    }
+
+    @Override
+    public void abortUpload(UUID uploadId) {
+        UploadSession session = loadOpenSession(uploadId);
+
+        if (!fileStoragePort.delete(session.getStagedFilename())) {
+            log.warn("Failed to delete part file: {}", session.getStagedFilename());
+        }
+
+        session.setStatus(UploadSession.SessionStatus.ABORTED);
+        session.setUpdatedAt(Instant.now());
+        uploadSessionPort.save(session);
+        log.info("Aborted chunked upload: {}", uploadId);
+    }
+
+    /**
+     * Load a session that still accepts chunks
+     */
+    private UploadSession loadOpenSession(UUID uploadId) {
+        UploadSession session = getSession(uploadId);
+        if (session.getStatus() != UploadSession.SessionStatus.OPEN) {
+            throw new BadRequestException(
+                messageResolver.getMessage("das.upload.not.open", new Object[]{session.getStatus()})
+            );
+        }
+        return session;
+    }
+
+    /**
+     * Rename within storage, atomically where the file system allows it
+     */
+    private void movePartFile(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private void truncateQuietly(Path partPath, long size) {
+        try (FileChannel channel = FileChannel.open(partPath, StandardOpenOption.WRITE)) {
+            channel.truncate(size);
+        } catch (IOException e) {
+            log.warn("Failed to truncate part file {} to {} bytes", partPath, size, e);
+        }
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Extract file extension from filename
+     *
+     * @param filename Filename
+     * @return Extension in lowercase
+     */
+    private String getFileExtension(String filename) {
+        if (filename == null || !filename.contains(".")) {
+            return "";
+        }
+        return filename.substring(filename.lastIndexOf(".") + 1).toLowerCase();
+    }
+
+    /**
+     * Get current user ID from security context
+     *
+     * @return User UUID or null
+     */
+    private UUID getCurrentUserId() {
+        return CurrentUserContext.get() != null ?
+               CurrentUserContext.get().userId() : null;
+    }
+}
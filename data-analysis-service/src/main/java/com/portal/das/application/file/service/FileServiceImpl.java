@@ -2,15 +2,19 @@ package com.portal.das.application.file.service;
 
 import com.portal.das.application.file.command.UploadFilesCommand;
 import com.portal.das.application.file.validation.UploadFileValidator;
+import com.portal.das.domain.model.UploadJob;
 import com.portal.das.domain.model.UploadedFile;
 import com.portal.das.domain.ports.in.file.DeleteFileUseCase;
 import com.portal.das.domain.ports.in.file.LoadFileUseCase;
 import com.portal.das.domain.ports.in.file.UploadFileUseCase;
+import com.portal.das.domain.ports.out.file.FileBatchPort;
 import com.portal.das.domain.ports.out.file.FileCrudPort;
 import com.portal.das.domain.ports.out.file.FileStoragePort;
-import com.portal.das.util.CsvUtils;
+import com.portal.das.service.ingest.CsvIngestService;
+import com.portal.das.service.ingest.IngestExecutor;
+import com.portal.das.service.ingest.IngestedEntry;
+import com.portal.das.service.ingest.StoredContentReleaser;
 import com.sharedlib.core.context.CurrentUserContext;
-import com.sharedlib.core.exception.BadRequestException;
 import com.sharedlib.core.exception.NotFoundException;
 import com.sharedlib.core.i18n.MessageResolver;
 import lombok.RequiredArgsConstructor;
@@ -20,11 +24,15 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Path;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Service implementation for File operations
@@ -36,117 +44,161 @@ import java.util.UUID;
 public class FileServiceImpl implements UploadFileUseCase, LoadFileUseCase, DeleteFileUseCase {
 
     private final FileCrudPort fileCrudPort;
+    private final FileBatchPort fileBatchPort;
     private final FileStoragePort fileStoragePort;
+    private final CsvIngestService csvIngestService;
+    private final StoredContentReleaser storedContentReleaser;
+    private final IngestExecutor ingestExecutor;
+    private final StagedUploadProcessor stagedUploadProcessor;
+    private final IngestedFileWriter ingestedFileWriter;
     private final UploadFileValidator uploadFileValidator;
     private final MessageResolver messageResolver;
 
+    /**
+     * Upload files synchronously
+     * Conversions run outside any transaction, so a request does not hold a
+     * connection while it waits for workers that need one to store blobs.
+     */
     @Override
-    @Transactional
     public List<UploadedFile> uploadFiles(UploadFilesCommand command) {
         log.info("Starting file upload for {} files", command.getFiles().size());
 
         // Validate all files first
         uploadFileValidator.validateAll(command.getFiles());
 
-        List<UploadedFile> uploadedFiles = new ArrayList<>();
+        // Security context is thread-bound; resolve the user before handing off to workers
+        UUID uploadedBy = getCurrentUserId();
 
+        // Convert, count and store all files concurrently
+        List<CompletableFuture<List<UploadedFile>>> futures = new ArrayList<>();
         for (MultipartFile file : command.getFiles()) {
+            futures.add(ingestExecutor.submit(() -> processFileSafely(file, uploadedBy)));
+        }
+
+        // Collect results in request order (archives may expand to several files)
+        List<UploadedFile> uploadedFiles = new ArrayList<>(futures.size());
+        RuntimeException failure = null;
+        for (CompletableFuture<List<UploadedFile>> future : futures) {
             try {
-                UploadedFile uploadedFile = processFile(file);
-                uploadedFiles.add(uploadedFile);
-                log.info("Successfully processed file: {}", file.getOriginalFilename());
-            } catch (Exception e) {
-                log.error("Failed to process file: {}", file.getOriginalFilename(), e);
-                // Create error record
-                UploadedFile errorFile = createErrorFile(file, e.getMessage());
-                uploadedFiles.add(errorFile);
+                uploadedFiles.addAll(future.join());
+            } catch (CompletionException | CancellationException e) {
+                failure = failure != null ? failure : e;
             }
         }
 
-        return uploadedFiles;
+        // Workers took blob references in their own transactions; give them back
+        // if the records holding them will not be stored
+        if (failure != null) {
+            storedContentReleaser.releaseIngested(uploadedFiles);
+            throw failure;
+        }
+
+        // Persist all metadata in one short batched transaction
+        return ingestedFileWriter.saveAll(uploadedFiles);
+    }
+
+    /**
+     * Process a file and turn any failure into an error record
+     *
+     * @param file MultipartFile to process
+     * @param uploadedBy Uploading user
+     * @return UploadedFile metadata (not yet persisted)
+     */
+    private List<UploadedFile> processFileSafely(MultipartFile file, UUID uploadedBy) {
+        try {
+            List<UploadedFile> uploadedFiles = processFile(file, uploadedBy);
+            log.info("Successfully processed file: {}", file.getOriginalFilename());
+            return uploadedFiles;
+        } catch (Exception e) {
+            log.error("Failed to process file: {}", file.getOriginalFilename(), e);
+            // Create error record
+            return List.of(createErrorFile(file, e.getMessage(), uploadedBy));
+        }
     }
 
     /**
-     * Process a single file: normalize to CSV and save metadata
+     * Process a single file: normalize to CSV and build metadata
+     * A .gz yields one file and a .zip one file per CSV/Excel entry
      *
      * @param file MultipartFile to process
-     * @return UploadedFile metadata
+     * @param uploadedBy Uploading user
+     * @return UploadedFile metadata (not yet persisted)
+     */
+    private List<UploadedFile> processFile(MultipartFile file, UUID uploadedBy) throws IOException {
+        // Convert and store file(s), collecting statistics in the same pass
+        List<IngestedEntry> entries = csvIngestService.ingestAll(file, file.getOriginalFilename(), UUID.randomUUID());
+
+        return entries.stream()
+                .map(entry -> entry.toUploadedFile(file.getContentType(), file.getSize(), uploadedBy))
+                .toList();
+    }
+
+    @Override
+    public UploadJob submitUpload(UploadFilesCommand command) {
+        log.info("Accepting async upload for {} files", command.getFiles().size());
+
+        // Validate all files first
+        uploadFileValidator.validateAll(command.getFiles());
+
+        UUID uploadedBy = getCurrentUserId();
+
+        // Put the raw bytes on disk; conversion and counting happen in the job
+        List<UploadedFile> stagedFiles = new ArrayList<>(command.getFiles().size());
+        for (MultipartFile file : command.getFiles()) {
+            try {
+                stagedFiles.add(stageFile(file, uploadedBy));
+            } catch (Exception e) {
+                log.error("Failed to stage file: {}", file.getOriginalFilename(), e);
+                stagedFiles.add(createErrorFile(file, e.getMessage(), uploadedBy));
+            }
+        }
+
+        // Committed before the job starts, so the job always finds the records
+        List<UploadedFile> accepted = fileBatchPort.saveBatch(stagedFiles);
+
+        UUID jobId = stagedUploadProcessor.submit(accepted, command.isProfile());
+
+        log.info("Upload job {} accepted {} files", jobId, accepted.size());
+        return UploadJob.builder()
+                .jobId(jobId)
+                .files(accepted)
+                .build();
+    }
+
+    /**
+     * Store the uploaded bytes as-is and build an UPLOADED record
+     * CSV is staged under its final name; workbooks keep their extension until converted
+     *
+     * @param file MultipartFile to stage
+     * @param uploadedBy Uploading user
+     * @return UploadedFile metadata (not yet persisted)
      */
-    private UploadedFile processFile(MultipartFile file) throws IOException {
+    private UploadedFile stageFile(MultipartFile file, UUID uploadedBy) throws IOException {
         UUID fileId = UUID.randomUUID();
         String originalFilename = file.getOriginalFilename();
         String extension = getFileExtension(originalFilename);
-        
-        // Generate stored filename
-        String storedFilename = fileId.toString() + ".csv";
-        
-        // Create file metadata
-        UploadedFile uploadedFile = UploadedFile.builder()
+        String stagedFilename = fileId + "." + extension;
+
+        Path stagedPath;
+        try (InputStream inputStream = file.getInputStream()) {
+            stagedPath = fileStoragePort.store(inputStream, stagedFilename);
+        }
+
+        return UploadedFile.builder()
                 .fileId(fileId)
                 .originalFilename(originalFilename)
-                .storedFilename(storedFilename)
+                .storedFilename(stagedFilename)
+                .storagePath(stagedPath.toString())
                 .originalFormat(extension)
-                .storedFormat("csv")
+                .storedFormat(extension)
                 .originalSize(file.getSize())
                 .mimeType(file.getContentType())
-                .status(UploadedFile.FileStatus.PROCESSING)
+                .status(UploadedFile.FileStatus.UPLOADED)
                 .isActive(true)
                 .isDeleted(false)
-                .uploadedBy(getCurrentUserId())
+                .uploadedBy(uploadedBy)
                 .uploadedAt(Instant.now())
                 .build();
-
-        // Convert and store file
-        Path storedPath;
-        if ("csv".equalsIgnoreCase(extension)) {
-            // Already CSV, just store it
-            storedPath = fileStoragePort.store(file.getInputStream(), storedFilename);
-        } else {
-            // Convert Excel to CSV
-            storedPath = convertAndStore(file, storedFilename);
-        }
-
-        // Update file metadata with stored info
-        uploadedFile.setStoragePath(storedPath.toString());
-        uploadedFile.setStoredSize(storedPath.toFile().length());
-
-        // Count rows and columns
-        try {
-            int totalRows = CsvUtils.countRows(storedPath);
-            String[] headers = CsvUtils.readHeader(storedPath);
-            
-            uploadedFile.setRowCount(totalRows > 0 ? totalRows - 1 : 0); // Exclude header
-            uploadedFile.setColumnCount(headers.length);
-            uploadedFile.setStatus(UploadedFile.FileStatus.PROCESSED);
-        } catch (Exception e) {
-            log.warn("Failed to read file statistics: {}", e.getMessage());
-            uploadedFile.setRowCount(0);
-            uploadedFile.setColumnCount(0);
-        }
-
-        // Save to database
-        return fileCrudPort.save(uploadedFile);
-    }
-
-    /**
-     * Convert Excel file to CSV and store
-     *
-     * @param file Excel file
-     * @param storedFilename Target filename
-     * @return Path where file was stored
-     */
-    private Path convertAndStore(MultipartFile file, String storedFilename) throws IOException {
-        Path tempPath = fileStoragePort.getPath(storedFilename);
-        
-        try {
-            CsvUtils.excelToCsv(file.getInputStream(), tempPath);
-            return tempPath;
-        } catch (Exception e) {
-            log.error("Failed to convert Excel to CSV: {}", e.getMessage(), e);
-            throw new BadRequestException(
-                messageResolver.getMessage("das.file.conversion.failed")
-            );
-        }
     }
 
     /**
@@ -154,9 +206,10 @@ public class FileServiceImpl implements UploadFileUseCase, LoadFileUseCase, Dele
      *
      * @param file Original file
      * @param errorMessage Error message
-     * @return UploadedFile with error status
+     * @param uploadedBy Uploading user
+     * @return UploadedFile with error status (not yet persisted)
      */
-    private UploadedFile createErrorFile(MultipartFile file, String errorMessage) {
+    private UploadedFile createErrorFile(MultipartFile file, String errorMessage, UUID uploadedBy) {
         UploadedFile errorFile = UploadedFile.builder()
                 .fileId(UUID.randomUUID())
                 .originalFilename(file.getOriginalFilename())
@@ -167,11 +220,11 @@ public class FileServiceImpl implements UploadFileUseCase, LoadFileUseCase, Dele
                 .errorMessage(errorMessage)
                 .isActive(false)
                 .isDeleted(false)
-                .uploadedBy(getCurrentUserId())
+                .uploadedBy(uploadedBy)
                 .uploadedAt(Instant.now())
                 .build();
 
-        return fileCrudPort.save(errorFile);
+        return errorFile;
     }
 
     @Override
@@ -197,6 +250,7 @@ public class FileServiceImpl implements UploadFileUseCase, LoadFileUseCase, Dele
                 .storedFormat(file.getStoredFormat())
                 .originalSize(file.getOriginalSize())
                 .storedSize(file.getStoredSize())
+                .contentHash(file.getContentHash())
                 .mimeType(file.getMimeType())
                 .rowCount(file.getRowCount())
                 .columnCount(file.getColumnCount())
@@ -220,13 +274,8 @@ public class FileServiceImpl implements UploadFileUseCase, LoadFileUseCase, Dele
     public void permanentlyDeleteFile(UUID fileId) {
         UploadedFile file = getById(fileId);
         
-        // Delete physical file
-        if (file.getStoredFilename() != null) {
-            boolean deleted = fileStoragePort.delete(file.getStoredFilename());
-            if (!deleted) {
-                log.warn("Failed to delete physical file: {}", file.getStoredFilename());
-            }
-        }
+        // Delete physical file once no other upload references the same content
+        storedContentReleaser.release(file.getContentHash(), file.getStoredFilename());
         
         // Delete from database
         fileCrudPort.delete(fileId);
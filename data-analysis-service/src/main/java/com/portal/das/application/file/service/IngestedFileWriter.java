@@ -0,0 +1,49 @@
+package com.portal.das.application.file.service;
+
+import com.portal.das.domain.model.UploadedFile;
+import com.portal.das.domain.ports.out.file.FileBatchPort;
+import com.portal.das.service.ingest.StoredContentReleaser;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * Persists the records of ingested files in one short transaction
+ * Ingest workers take blob references in their own transactions, before the
+ * records exist; if the records are not committed, those references are
+ * given back. Kept apart from the conversion so no connection is held while
+ * files convert.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IngestedFileWriter {
+
+    private final FileBatchPort fileBatchPort;
+    private final StoredContentReleaser storedContentReleaser;
+
+    /**
+     * Save the records of ingested files, releasing their stored content on rollback
+     *
+     * @param files Files built from ingest results (not yet persisted)
+     * @return Saved files
+     */
+    @Transactional
+    public List<UploadedFile> saveAll(List<UploadedFile> files) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    log.warn("Upload batch rolled back, releasing stored content of {} files", files.size());
+                    storedContentReleaser.releaseIngested(files);
+                }
+            }
+        });
+        return fileBatchPort.saveBatch(files);
+    }
+}
@@ -0,0 +1,250 @@
+package com.portal.das.application.file.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portal.das.application.dataset.command.RegisterDatasetCommand;
+import com.portal.das.domain.model.Dataset;
+import com.portal.das.domain.model.UploadedFile;
+import com.portal.das.domain.ports.in.dataset.RegisterDatasetUseCase;
+import com.portal.das.domain.ports.out.file.FileCrudPort;
+import com.portal.das.domain.ports.out.file.FileStoragePort;
+import com.portal.das.service.ingest.CsvIngestService;
+import com.portal.das.service.ingest.IngestExecutor;
+import com.portal.das.service.ingest.IngestedEntry;
+import com.portal.das.service.ingest.StoredContentReleaser;
+import com.portal.das.service.job.JobService;
+import com.sharedlib.core.exception.NotFoundException;
+import com.sharedlib.core.i18n.MessageResolver;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Background processing of files whose raw bytes are already in storage
+ * Shared by async multipart uploads and completed chunked uploads
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StagedUploadProcessor {
+
+    private static final String UPLOAD_JOB_TYPE = "FILE_UPLOAD";
+
+    private final FileCrudPort fileCrudPort;
+    private final FileStoragePort fileStoragePort;
+    private final CsvIngestService csvIngestService;
+    private final StoredContentReleaser storedContentReleaser;
+    private final IngestExecutor ingestExecutor;
+    private final JobService jobService;
+    private final RegisterDatasetUseCase registerDatasetUseCase;
+    private final ObjectMapper objectMapper;
+    private final MessageResolver messageResolver;
+
+    /**
+     * Start a job converting and counting persisted UPLOADED files
+     * The records must be committed before calling this
+     *
+     * @param files Accepted files (records in other states are skipped)
+     * @param profile Whether to register and profile each processed file
+     * @return Job ID
+     */
+    public UUID submit(List<UploadedFile> files, boolean profile) {
+        return jobService.submitJob(UPLOAD_JOB_TYPE, jobId -> processStagedFiles(jobId, files, profile));
+    }
+
+    /**
+     * Job body: convert and count staged files on the ingest pool
+     * A file whose processing throws is reported as failed; the others keep their results.
+     *
+     * @param jobId Job ID (for progress reporting)
+     * @param files Accepted files
+     * @param profile Whether to register and profile each processed file
+     */
+    private void processStagedFiles(UUID jobId, List<UploadedFile> files, boolean profile) {
+        List<UploadedFile> staged = files.stream()
+                .filter(f -> f.getStatus() == UploadedFile.FileStatus.UPLOADED)
+                .toList();
+
+        int total = staged.size();
+        AtomicInteger completed = new AtomicInteger();
+        List<CompletableFuture<List<UploadedFile>>> futures = new ArrayList<>(total);
+        for (UploadedFile file : staged) {
+            futures.add(ingestExecutor.submit(() -> {
+                List<UploadedFile> result = processStagedFile(file);
+                jobService.updateProgress(jobId, completed.incrementAndGet() * 100 / Math.max(total, 1));
+                return result;
+            }));
+        }
+
+        List<UUID> processedIds = new ArrayList<>();
+        List<UUID> failedIds = new ArrayList<>();
+        List<UUID> datasetIds = new ArrayList<>();
+        List<UploadedFile> processedFiles = new ArrayList<>();
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                processedFiles.addAll(futures.get(i).join());
+            } catch (CompletionException | CancellationException e) {
+                log.error("Failed to process staged file: {}", staged.get(i).getFileId(), e);
+                failedIds.add(staged.get(i).getFileId());
+                markFailed(staged.get(i), e);
+            }
+        }
+        for (UploadedFile file : processedFiles) {
+            if (file.getStatus() != UploadedFile.FileStatus.PROCESSED) {
+                failedIds.add(file.getFileId());
+                continue;
+            }
+            processedIds.add(file.getFileId());
+            if (profile) {
+                try {
+                    Dataset dataset = registerDatasetUseCase.registerDataset(RegisterDatasetCommand.builder()
+                            .fileId(file.getFileId())
+                            .build());
+                    datasetIds.add(dataset.getDatasetId());
+                } catch (Exception e) {
+                    log.error("Failed to register dataset for file: {}", file.getFileId(), e);
+                }
+            }
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("processedFileIds", processedIds);
+        result.put("failedFileIds", failedIds);
+        result.put("datasetIds", datasetIds);
+        try {
+            jobService.setResult(jobId, objectMapper.writeValueAsString(result));
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to serialize result of upload job: {}", jobId, e);
+        }
+    }
+
+    /**
+     * Convert and count one staged file, persisting each status transition
+     * Archives keep the accepted record for their first entry and add one
+     * record per further entry. A file that fails is removed from storage and
+     * its ERROR record no longer points to it.
+     *
+     * @param file Accepted file in UPLOADED status
+     * @return Files in PROCESSED or ERROR status (persisted)
+     */
+    private List<UploadedFile> processStagedFile(UploadedFile file) {
+        // Work on a fresh copy: the accepted instances belong to the request's response
+        UploadedFile staged = fileCrudPort.load(file.getFileId())
+                .orElseThrow(() -> new NotFoundException(
+                    messageResolver.getMessage("das.file.not.found", new Object[]{file.getFileId()})
+                ));
+        staged.setStatus(UploadedFile.FileStatus.PROCESSING);
+        UploadedFile current = fileCrudPort.save(staged);
+
+        List<UploadedFile> additional = new ArrayList<>();
+        List<IngestedEntry> entries = List.of();
+        String stagedFilename = current.getStoredFilename();
+        try {
+            if ("csv".equalsIgnoreCase(current.getOriginalFormat())) {
+                // Staged under its final name: count without rewriting
+                csvIngestService.inspect(stagedFilename).applyTo(current);
+            } else {
+                entries = csvIngestService.ingestAll(
+                        new FileSystemResource(fileStoragePort.getPath(stagedFilename)),
+                        current.getOriginalFilename(), current.getFileId());
+                fileStoragePort.delete(stagedFilename);
+
+                IngestedEntry first = entries.get(0);
+                first.applyTo(current);
+                current.setOriginalFilename(first.getOriginalFilename());
+                if (first.getOriginalSize() != null) {
+                    current.setOriginalSize(first.getOriginalSize());
+                }
+                for (IngestedEntry entry : entries.subList(1, entries.size())) {
+                    additional.add(entry.toUploadedFile(current.getMimeType(), null, current.getUploadedBy()));
+                }
+            }
+            log.info("Successfully processed staged file: {}", current.getOriginalFilename());
+        } catch (Exception e) {
+            log.error("Failed to process staged file: {}", current.getOriginalFilename(), e);
+            current.setStatus(UploadedFile.FileStatus.ERROR);
+            current.setErrorMessage(e.getMessage());
+            current.setIsActive(false);
+            additional.clear();
+            discardStaged(stagedFilename, entries);
+        }
+
+        if (current.getStatus() == UploadedFile.FileStatus.ERROR) {
+            // The staged file is gone (or was a rejected archive's first entry)
+            current.setStoredFilename(null);
+            current.setStoragePath(null);
+        }
+
+        current.setUpdatedAt(Instant.now());
+        List<UploadedFile> pending = new ArrayList<>();
+        pending.add(current);
+        pending.addAll(additional);
+        List<UploadedFile> results = new ArrayList<>(pending.size());
+        for (int i = 0; i < pending.size(); i++) {
+            try {
+                results.add(fileCrudPort.save(pending.get(i)));
+            } catch (RuntimeException e) {
+                // Records not saved hold no reference: give back what their ingest took
+                storedContentReleaser.releaseIngested(pending.subList(i, pending.size()));
+                throw e;
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Record a file whose processing threw as ERROR, as far as possible
+     * Records already saved as PROCESSED or ERROR are left alone. The staged file loses
+     * its reference and is removed by the storage sweeper as an orphan.
+     */
+    private void markFailed(UploadedFile file, RuntimeException failure) {
+        Throwable cause = failure.getCause() != null ? failure.getCause() : failure;
+        try {
+            fileCrudPort.load(file.getFileId())
+                    .filter(current -> current.getStatus() == UploadedFile.FileStatus.UPLOADED
+                            || current.getStatus() == UploadedFile.FileStatus.PROCESSING)
+                    .ifPresent(current -> {
+                        current.setStatus(UploadedFile.FileStatus.ERROR);
+                        current.setErrorMessage(cause.getMessage());
+                        current.setIsActive(false);
+                        current.setStoredFilename(null);
+                        current.setStoragePath(null);
+                        current.setUpdatedAt(Instant.now());
+                        fileCrudPort.save(current);
+                    });
+        } catch (RuntimeException e) {
+            log.warn("Failed to mark staged file as failed: {}", file.getFileId(), e);
+        }
+    }
+
+    /**
+     * Delete a staged file that failed, and give back the entries already stored from it
+     */
+    private void discardStaged(String stagedFilename, List<IngestedEntry> entries) {
+        try {
+            for (IngestedEntry entry : entries) {
+                if (entry.isSuccess()) {
+                    storedContentReleaser.release(entry.getResult().getStats().getContentHash(),
+                            entry.getResult().getStoredFilename());
+                }
+            }
+            if (stagedFilename != null && !fileStoragePort.delete(stagedFilename)) {
+                log.debug("Staged file already removed: {}", stagedFilename);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to discard staged file: {}", stagedFilename, e);
+        }
+    }
+}
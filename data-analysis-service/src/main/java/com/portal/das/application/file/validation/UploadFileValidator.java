@@ -22,7 +22,12 @@ public class UploadFileValidator {
     /**
      * Allowed file extensions
      */
-    private static final List<String> ALLOWED_EXTENSIONS = Arrays.asList("csv", "xlsx", "xls");
+    private static final List<String> ALLOWED_EXTENSIONS = Arrays.asList("csv", "xlsx", "xls", "gz", "zip");
+
+    /**
+     * Extensions allowed before .gz (gzip holds a single stream, so only CSV)
+     */
+    private static final List<String> ALLOWED_GZIP_CONTENT = List.of("csv");
 
     /**
      * Maximum file size in bytes (200MB as configured in application.yml)
@@ -49,8 +54,41 @@ public class UploadFileValidator {
             );
         }
 
+        validateFormat(file.getOriginalFilename(), file.getContentType());
+    }
+
+    /**
+     * Validate a file declared up front by a chunked upload
+     *
+     * @param filename Original filename
+     * @param totalSize Declared size in bytes
+     * @param contentType Declared MIME type (optional)
+     * @param maxSize Maximum size allowed for chunked uploads
+     */
+    public void validateDeclared(String filename, long totalSize, String contentType, long maxSize) {
+        if (totalSize <= 0) {
+            throw new BadRequestException(
+                messageResolver.getMessage("das.file.empty")
+            );
+        }
+
+        if (totalSize > maxSize) {
+            throw new BadRequestException(
+                messageResolver.getMessage("das.file.too.large")
+            );
+        }
+
+        validateFormat(filename, contentType);
+    }
+
+    /**
+     * Validate extension and MIME type
+     *
+     * @param filename Original filename
+     * @param contentType MIME type (optional)
+     */
+    private void validateFormat(String filename, String contentType) {
         // Get file extension
-        String filename = file.getOriginalFilename();
         if (filename == null || !filename.contains(".")) {
             throw new BadRequestException(
                 messageResolver.getMessage("das.file.invalid.format")
@@ -66,8 +104,20 @@ public class UploadFileValidator {
             );
         }
 
+        // data.csv.gz: validate the compressed content's extension too
+        if ("gz".equals(extension)) {
+            String inner = filename.substring(0, filename.lastIndexOf("."));
+            String innerExtension = inner.contains(".")
+                    ? inner.substring(inner.lastIndexOf(".") + 1).toLowerCase()
+                    : "";
+            if (!ALLOWED_GZIP_CONTENT.contains(innerExtension)) {
+                throw new BadRequestException(
+                    messageResolver.getMessage("das.file.invalid.format")
+                );
+            }
+        }
+
         // Validate MIME type (additional check)
-        String contentType = file.getContentType();
         if (contentType != null && !isAllowedMimeType(contentType)) {
             throw new BadRequestException(
                 messageResolver.getMessage("das.file.invalid.format")
@@ -103,6 +153,10 @@ public class UploadFileValidator {
         return mimeType.equals("text/csv") ||
                mimeType.equals("application/vnd.ms-excel") ||
                mimeType.equals("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet") ||
+               mimeType.equals("application/gzip") ||
+               mimeType.equals("application/x-gzip") ||
+               mimeType.equals("application/zip") ||
+               mimeType.equals("application/x-zip-compressed") ||
                mimeType.equals("application/octet-stream"); // Some browsers use this for xlsx
     }
 }
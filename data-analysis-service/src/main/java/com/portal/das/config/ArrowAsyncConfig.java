@@ -0,0 +1,48 @@
+package com.portal.das.config;
+
+import com.portal.das.service.arrow.ArrowStreamService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * Async timeout of Arrow IPC streams
+ * Arrow exports stream for as long as the dataset takes to write, so they get
+ * their own timeout (das.arrow.stream-timeout, 0 = none). Every other async
+ * handler, such as the job event stream, keeps spring.mvc.async.request-timeout.
+ *
+ * The stream's response headers are written before its async processing
+ * starts, so Arrow streams are recognised by their content type.
+ */
+@Configuration
+public class ArrowAsyncConfig implements WebMvcConfigurer {
+
+    private final Duration streamTimeout;
+
+    public ArrowAsyncConfig(@Value("${das.arrow.stream-timeout:PT2H}") Duration streamTimeout) {
+        this.streamTimeout = streamTimeout;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new CallableProcessingInterceptor() {
+            @Override
+            public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+                HttpServletResponse response = request.getNativeResponse(HttpServletResponse.class);
+                if (request instanceof AsyncWebRequest asyncRequest && response != null
+                        && response.getContentType() != null
+                        && response.getContentType().startsWith(ArrowStreamService.MEDIA_TYPE_VALUE)) {
+                    asyncRequest.setTimeout(streamTimeout.isZero() ? -1L : streamTimeout.toMillis());
+                }
+            }
+        });
+    }
+}
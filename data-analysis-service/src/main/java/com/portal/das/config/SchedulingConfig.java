@@ -0,0 +1,12 @@
+package com.portal.das.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration for scheduled background tasks (storage sweeper)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
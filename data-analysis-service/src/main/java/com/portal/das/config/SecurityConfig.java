@@ -34,7 +34,7 @@ public class SecurityConfig {
     @Value("${care.security.cors.allowed-methods:GET,POST,PUT,DELETE,OPTIONS}")
     private String allowedMethods;
 
-    @Value("${care.security.cors.allowed-headers:Authorization,Content-Type,X-Requested-With}")
+    @Value("${care.security.cors.allowed-headers:Authorization,Content-Type,X-Requested-With,X-Chunk-Checksum}")
     private String allowedHeaders;
 
     @Bean
@@ -31,10 +31,20 @@ public class ColumnSummary {
     private Long nullCount;
 
     /**
-     * Number of unique values
+     * Number of unique non-null values
      */
     private Long uniqueCount;
 
+    /**
+     * Whether the unique count is exact (false: HyperLogLog estimate)
+     */
+    private Boolean uniqueCountExact;
+
+    /**
+     * Relative standard error of an estimated unique count (null when exact)
+     */
+    private Double uniqueCountError;
+
     /**
      * Dominant data type
      */
@@ -100,6 +110,7 @@ public class ColumnSummary {
     public static class ValueCount {
         private String value;
         private Long count;
+        private Long countError; // maximal overestimate of count (0: exact)
         private Double percentage;
     }
 }
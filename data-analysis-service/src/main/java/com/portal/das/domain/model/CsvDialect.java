@@ -0,0 +1,68 @@
+package com.portal.das.domain.model;
+
+import lombok.*;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Domain model describing how a stored CSV file is encoded
+ * Detected once at ingest and persisted with the file so every reader
+ * parses the content the same way
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class CsvDialect {
+
+    /**
+     * Dialect of files written by the service itself (Excel conversions, transcoded uploads)
+     */
+    public static final CsvDialect DEFAULT = CsvDialect.builder().build();
+
+    /**
+     * Field delimiter (',', ';', '\t' or '|')
+     */
+    @Builder.Default
+    private char delimiter = ',';
+
+    /**
+     * Quote character
+     */
+    @Builder.Default
+    private char quote = '"';
+
+    /**
+     * Charset of the stored bytes
+     */
+    @Builder.Default
+    private String charset = StandardCharsets.UTF_8.name();
+
+    /**
+     * Record terminator of the stored content
+     */
+    @Builder.Default
+    private LineEnding lineEnding = LineEnding.LF;
+
+    /**
+     * Resolve the charset, falling back to UTF-8 for unknown names
+     */
+    public Charset toCharset() {
+        try {
+            return Charset.forName(charset);
+        } catch (Exception e) {
+            return StandardCharsets.UTF_8;
+        }
+    }
+
+    /**
+     * Line ending enumeration
+     */
+    public enum LineEnding {
+        LF,
+        CRLF,
+        CR
+    }
+}
@@ -38,7 +38,7 @@ public class Dataset {
     /**
      * Number of rows in the dataset (excluding header)
      */
-    private Integer rowCount;
+    private Long rowCount;
 
     /**
      * Number of columns in the dataset
@@ -57,6 +57,17 @@ public class Dataset {
      */
     private String profileJson;
 
+    /**
+     * Mergeable profiling state as JSON (see ProfileState)
+     * Lets appended rows be profiled on their own and merged into the profile
+     */
+    private String profileStateJson;
+
+    /**
+     * Job computing the profile (tracks progress while the status is PROFILING)
+     */
+    private UUID profileJobId;
+
     /**
      * Dataset status
      */
@@ -18,12 +18,15 @@ public class Job {
     private String jobType;
     private JobStatus status;
     private Integer progress; // 0-100
+    private Long rowsProcessed; // row-based jobs (dataset profiling) only
+    private Long totalRows;
     private String result;
     private String errorMessage;
     private UUID createdBy;
     private Instant createdAt;
     private Instant startedAt;
     private Instant completedAt;
+    private Instant updatedAt; // last progress or heartbeat
 
     public enum JobStatus {
         PENDING,
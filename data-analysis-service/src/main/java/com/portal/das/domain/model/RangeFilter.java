@@ -0,0 +1,61 @@
+package com.portal.das.domain.model;
+
+import com.portal.das.domain.model.columnar.BlockMeta;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Numeric range predicate on one column: min <= value <= max
+ * Either bound may be absent. Missing and non-numeric values never match.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class RangeFilter {
+    /**
+     * Filtered column
+     */
+    private final String column;
+
+    /**
+     * Inclusive lower bound (null for none)
+     */
+    private final Double min;
+
+    /**
+     * Inclusive upper bound (null for none)
+     */
+    private final Double max;
+
+    public boolean matches(double value) {
+        return (min == null || value >= min) && (max == null || value <= max);
+    }
+
+    /**
+     * Evaluate the predicate on a text value
+     */
+    public boolean matches(String value) {
+        if (value == null || value.isBlank()) {
+            return false;
+        }
+        try {
+            return matches(Double.parseDouble(value.trim()));
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Whether any row of a numeric block can match, judging by its zone map
+     *
+     * @param block Statistics of a block of a numeric column
+     * @return false only when no row of the block can match
+     */
+    public boolean mayMatch(BlockMeta block) {
+        if (Double.isNaN(block.getMin())) {
+            return false; // Only nulls
+        }
+        return (min == null || block.getMax() >= min) && (max == null || block.getMin() <= max);
+    }
+}
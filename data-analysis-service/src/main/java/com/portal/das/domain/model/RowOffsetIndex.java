@@ -0,0 +1,50 @@
+package com.portal.das.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Sparse index of record positions in a stored CSV file
+ * Holds the byte offset of every {@code interval}-th data row, so a reader
+ * can seek close to any row and parse at most {@code interval - 1} rows to
+ * reach it. Rows are counted like the CSV tokenizer counts them: empty lines
+ * are skipped and newlines inside quoted fields do not end a record.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class RowOffsetIndex {
+
+    /**
+     * Number of data rows between two indexed rows
+     */
+    private final int interval;
+
+    /**
+     * Number of data rows in the file (header excluded)
+     */
+    private final long rowCount;
+
+    /**
+     * Byte offset of data row {@code i * interval}, for each i
+     */
+    private final long[] offsets;
+
+    /**
+     * Byte offset of the closest indexed row at or before a data row
+     *
+     * @param row 0-based data row (must be below rowCount)
+     * @return Byte offset to seek to
+     */
+    public long seekOffset(long row) {
+        return offsets[(int) (row / interval)];
+    }
+
+    /**
+     * Data row found at {@link #seekOffset(long)}
+     */
+    public long seekRow(long row) {
+        return row - row % interval;
+    }
+}
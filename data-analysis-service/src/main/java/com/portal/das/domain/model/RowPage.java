@@ -0,0 +1,42 @@
+package com.portal.das.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A page of dataset rows, read straight from the stored CSV
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RowPage {
+    /**
+     * 0-based index of the first returned data row
+     */
+    private Long offset;
+
+    /**
+     * Requested page size
+     */
+    private Integer limit;
+
+    /**
+     * Total number of data rows in the dataset
+     */
+    private Long totalRows;
+
+    /**
+     * Returned columns, in the order of the values of each row
+     */
+    private List<String> columns;
+
+    /**
+     * Row values (null for fields missing from a short record)
+     */
+    private List<List<String>> rows;
+}
@@ -0,0 +1,73 @@
+package com.portal.das.domain.model;
+
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Domain model for a stored CSV shared by all uploads with identical content
+ * Uploaded files reference the blob by content hash; the physical file is
+ * removed only when the last reference is released
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StoredBlob {
+    /**
+     * SHA-256 of the stored CSV content (hex)
+     */
+    private String contentHash;
+
+    /**
+     * SHA-256 of the uploaded workbook the CSV was converted from (hex)
+     * Null for CSV uploads
+     */
+    private String sourceHash;
+
+    /**
+     * Filename of the shared CSV in storage
+     */
+    private String storedFilename;
+
+    /**
+     * Full path of the shared CSV
+     */
+    private String storagePath;
+
+    /**
+     * Size of the CSV in bytes
+     */
+    private Long byteSize;
+
+    /**
+     * Number of data rows (excluding header)
+     */
+    private Long rowCount;
+
+    /**
+     * Number of columns
+     */
+    private Integer columnCount;
+
+    /**
+     * Number of uploaded files referencing this blob
+     */
+    private Integer refCount;
+
+    /**
+     * Cached dataset profile (JSON), computed once per content
+     */
+    private String profileJson;
+
+    /**
+     * Mergeable profiling state behind the cached profile (JSON); null for profiles cached before it was kept
+     */
+    private String profileStateJson;
+
+    /**
+     * When the blob was first stored
+     */
+    private Instant createdAt;
+}
@@ -0,0 +1,26 @@
+package com.portal.das.domain.model;
+
+import lombok.*;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Domain model for an upload accepted for background processing
+ * Files are persisted in UPLOADED status; the job converts and counts them
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadJob {
+    /**
+     * Job tracking conversion of the accepted files
+     */
+    private UUID jobId;
+
+    /**
+     * Accepted files, as persisted when the request returned
+     */
+    private List<UploadedFile> files;
+}
@@ -0,0 +1,105 @@
+package com.portal.das.domain.model;
+
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Domain model for a resumable chunked upload
+ * Chunks are appended in order to a part file in storage; receivedBytes is the
+ * offset at which the next chunk must start
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSession {
+    /**
+     * Unique identifier for the upload session
+     */
+    private UUID uploadId;
+
+    /**
+     * Original filename as provided by the user
+     */
+    private String originalFilename;
+
+    /**
+     * Original file format (xlsx, xls, csv)
+     */
+    private String originalFormat;
+
+    /**
+     * MIME type declared by the client
+     */
+    private String mimeType;
+
+    /**
+     * Declared total size in bytes
+     */
+    private Long totalSize;
+
+    /**
+     * Bytes received and verified so far
+     */
+    private Long receivedBytes;
+
+    /**
+     * Part filename in storage
+     * Format: {uploadId}.part
+     */
+    private String stagedFilename;
+
+    /**
+     * Current session status
+     */
+    private SessionStatus status;
+
+    /**
+     * File created when the upload was completed
+     */
+    private UUID fileId;
+
+    /**
+     * Job processing the completed upload
+     */
+    private UUID jobId;
+
+    /**
+     * User who started the upload
+     */
+    private UUID createdBy;
+
+    /**
+     * When the upload was started
+     */
+    private Instant createdAt;
+
+    /**
+     * Last chunk or state change
+     */
+    private Instant updatedAt;
+
+    /**
+     * When the chunk being written was claimed (null: no chunk in progress)
+     */
+    private Instant chunkStartedAt;
+
+    /**
+     * Version for optimistic locking
+     */
+    private Long rowVersion;
+
+    /**
+     * Upload session status enumeration
+     */
+    public enum SessionStatus {
+        OPEN,       // Accepting chunks
+        COMPLETING, // All bytes received, file being created
+        COMPLETED,  // All bytes received, file created
+        ABORTED,    // Cancelled by the client
+        EXPIRED     // No chunk within das.upload.session-ttl
+    }
+}
@@ -57,6 +57,31 @@ public class UploadedFile {
      */
     private Long storedSize;
 
+    /**
+     * SHA-256 hash of the stored (normalized) content
+     */
+    private String contentHash;
+
+    /**
+     * Field delimiter of the stored CSV (sniffed at ingest)
+     */
+    private Character csvDelimiter;
+
+    /**
+     * Quote character of the stored CSV
+     */
+    private Character csvQuote;
+
+    /**
+     * Charset of the stored CSV
+     */
+    private String csvCharset;
+
+    /**
+     * Line ending of the stored CSV (LF, CRLF, CR)
+     */
+    private String csvLineEnding;
+
     /**
      * MIME type of the original file
      */
@@ -65,7 +90,7 @@ public class UploadedFile {
     /**
      * Number of rows in the file (excluding header)
      */
-    private Integer rowCount;
+    private Long rowCount;
 
     /**
      * Number of columns in the file
@@ -120,6 +145,33 @@ public class UploadedFile {
      */
     private Long rowVersion;
 
+    /**
+     * Dialect to read the stored CSV with
+     * Files ingested before dialect detection use the default dialect
+     *
+     * @return Stored dialect, with defaults for missing parts
+     */
+    public CsvDialect csvDialect() {
+        CsvDialect.CsvDialectBuilder builder = CsvDialect.builder();
+        if (csvDelimiter != null) builder.delimiter(csvDelimiter);
+        if (csvQuote != null) builder.quote(csvQuote);
+        if (csvCharset != null) builder.charset(csvCharset);
+        if (csvLineEnding != null) builder.lineEnding(CsvDialect.LineEnding.valueOf(csvLineEnding));
+        return builder.build();
+    }
+
+    /**
+     * Record the dialect of the stored CSV
+     *
+     * @param dialect Dialect detected at ingest (null clears it)
+     */
+    public void applyCsvDialect(CsvDialect dialect) {
+        this.csvDelimiter = dialect != null ? dialect.getDelimiter() : null;
+        this.csvQuote = dialect != null ? dialect.getQuote() : null;
+        this.csvCharset = dialect != null ? dialect.getCharset() : null;
+        this.csvLineEnding = dialect != null ? dialect.getLineEnding().name() : null;
+    }
+
     /**
      * File processing status enumeration
      */
@@ -0,0 +1,46 @@
+package com.portal.das.domain.model.columnar;
+
+import lombok.*;
+
+/**
+ * Statistics of one block (fixed number of consecutive rows) of a column
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class BlockMeta {
+    /**
+     * Index of the first row in the block (0-based, data rows only)
+     */
+    private long firstRow;
+
+    /**
+     * Number of rows in the block
+     */
+    private int rowCount;
+
+    /**
+     * Number of null (missing or blank) values
+     */
+    private int nullCount;
+
+    /**
+     * Smallest non-null value (numeric columns; NaN if none)
+     */
+    private double min;
+
+    /**
+     * Largest non-null value (numeric columns; NaN if none)
+     */
+    private double max;
+
+    /**
+     * Byte offset of the block data in the file (string columns)
+     */
+    private long dataOffset;
+
+    /**
+     * Byte length of the block data (string columns)
+     */
+    private int dataLength;
+}
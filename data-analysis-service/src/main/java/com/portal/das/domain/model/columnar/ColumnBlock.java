@@ -0,0 +1,121 @@
+package com.portal.das.domain.model.columnar;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * Values of one block of a column
+ * Numeric values are read straight from a little-endian fixed-width buffer;
+ * strings are resolved through the block dictionary. Nothing is boxed.
+ */
+public final class ColumnBlock {
+
+    private final ColumnType type;
+    private final int rowCount;
+    private final ByteBuffer nulls;
+    private final ByteBuffer values;
+    private final IntBuffer codes;
+    private final String[] dictionary;
+
+    private ColumnBlock(ColumnType type, int rowCount, ByteBuffer nulls,
+                        ByteBuffer values, IntBuffer codes, String[] dictionary) {
+        this.type = type;
+        this.rowCount = rowCount;
+        this.nulls = nulls;
+        this.values = values;
+        this.codes = codes;
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * @param type LONG or DOUBLE
+     * @param rowCount Rows in the block
+     * @param nulls Null bitmap of the block (bit i set = row i is null)
+     * @param values Little-endian values, 8 bytes per row
+     */
+    public static ColumnBlock numeric(ColumnType type, int rowCount, ByteBuffer nulls, ByteBuffer values) {
+        return new ColumnBlock(type, rowCount, nulls, values, null, null);
+    }
+
+    /**
+     * @param rowCount Rows in the block
+     * @param nulls Null bitmap of the block (bit i set = row i is null)
+     * @param codes Dictionary code per row
+     * @param dictionary Distinct values of the block
+     */
+    public static ColumnBlock strings(int rowCount, ByteBuffer nulls, IntBuffer codes, String[] dictionary) {
+        return new ColumnBlock(ColumnType.STRING, rowCount, nulls, null, codes, dictionary);
+    }
+
+    public ColumnType getType() {
+        return type;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public boolean isNull(int row) {
+        return (nulls.get(row >>> 3) & (1 << (row & 7))) != 0;
+    }
+
+    /**
+     * Value of a LONG column (DOUBLE values are truncated)
+     */
+    public long getLong(int row) {
+        return type == ColumnType.LONG ? values.getLong(row << 3) : (long) values.getDouble(row << 3);
+    }
+
+    /**
+     * Value of a numeric column
+     */
+    public double getDouble(int row) {
+        return type == ColumnType.DOUBLE ? values.getDouble(row << 3) : values.getLong(row << 3);
+    }
+
+    /**
+     * Value as text: exact for string columns, canonical form for numeric columns
+     *
+     * @return Value, or null when the row is null
+     */
+    public String getString(int row) {
+        if (isNull(row)) {
+            return null;
+        }
+        switch (type) {
+            case STRING:
+                return dictionary[codes.get(row)];
+            case LONG:
+                return Long.toString(values.getLong(row << 3));
+            default:
+                double value = values.getDouble(row << 3);
+                return Double.isFinite(value)
+                        ? BigDecimal.valueOf(value).stripTrailingZeros().toPlainString()
+                        : Double.toString(value);
+        }
+    }
+
+    /**
+     * Dictionary code of a row of a string column (meaningless for null rows)
+     */
+    public int getCode(int row) {
+        return codes.get(row);
+    }
+
+    /**
+     * Dictionary entry of a string column
+     *
+     * @param code Code in [0, getDictionarySize())
+     */
+    public String getDictionaryValue(int code) {
+        return dictionary[code];
+    }
+
+    /**
+     * Number of distinct values in the block dictionary (string columns)
+     */
+    public int getDictionarySize() {
+        return dictionary != null ? dictionary.length : 0;
+    }
+}
@@ -0,0 +1,54 @@
+package com.portal.das.domain.model.columnar;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Description of a column in columnar storage
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class ColumnMeta {
+    /**
+     * Column name (from header)
+     */
+    private String name;
+
+    /**
+     * Column index (0-based)
+     */
+    private int index;
+
+    /**
+     * Physical type
+     */
+    private ColumnType type;
+
+    /**
+     * Byte offset of the fixed-width value region (numeric columns)
+     */
+    private long valuesOffset;
+
+    /**
+     * Byte offset of the null bitmap (one bit per row, set = null)
+     */
+    private long nullsOffset;
+
+    /**
+     * Per-block statistics, in row order
+     */
+    private List<BlockMeta> blocks;
+
+    /**
+     * Total number of null values
+     */
+    public long getNullCount() {
+        long nulls = 0;
+        for (BlockMeta block : blocks) {
+            nulls += block.getNullCount();
+        }
+        return nulls;
+    }
+}
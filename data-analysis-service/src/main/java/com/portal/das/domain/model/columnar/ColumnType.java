@@ -0,0 +1,44 @@
+package com.portal.das.domain.model.columnar;
+
+import com.portal.das.domain.model.InferredType;
+
+/**
+ * Physical type of a column in columnar storage
+ */
+public enum ColumnType {
+    /**
+     * 64-bit integers, fixed width
+     */
+    LONG,
+
+    /**
+     * 64-bit floating point numbers, fixed width
+     */
+    DOUBLE,
+
+    /**
+     * Text, dictionary encoded per block
+     */
+    STRING;
+
+    /**
+     * Storage type for an inferred column type
+     * Only numeric columns get a typed representation; everything else is kept as text
+     *
+     * @param dominantType Inferred type name (see {@link InferredType})
+     * @return Column type
+     */
+    public static ColumnType fromInferredType(String dominantType) {
+        if (InferredType.INTEGER.name().equals(dominantType)) {
+            return LONG;
+        }
+        if (InferredType.DECIMAL.name().equals(dominantType)) {
+            return DOUBLE;
+        }
+        return STRING;
+    }
+
+    public boolean isNumeric() {
+        return this != STRING;
+    }
+}
@@ -0,0 +1,18 @@
+package com.portal.das.domain.model.columnar;
+
+import lombok.Getter;
+
+/**
+ * Raised when a value does not fit the physical type chosen for its column
+ * The builder reacts by storing the column as text
+ */
+@Getter
+public class ColumnTypeMismatchException extends RuntimeException {
+
+    private final int column;
+
+    public ColumnTypeMismatchException(int column, String value) {
+        super("Value '" + value + "' does not fit column " + column);
+        this.column = column;
+    }
+}
@@ -0,0 +1,64 @@
+package com.portal.das.domain.model.columnar;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Read access to a dataset stored column by column
+ * Callers read only the blocks of the columns they need
+ */
+public interface ColumnarTable extends Closeable {
+
+    /**
+     * Number of data rows (header excluded)
+     */
+    long getRowCount();
+
+    /**
+     * Number of rows per block (the last block may be shorter)
+     */
+    int getBlockRows();
+
+    /**
+     * Columns in header order
+     */
+    List<ColumnMeta> getColumns();
+
+    /**
+     * Resolve a column by name
+     *
+     * @param name Column name
+     * @return 0-based index, or -1 if absent
+     */
+    default int columnIndex(String name) {
+        List<ColumnMeta> columns = getColumns();
+        for (int i = 0; i < columns.size(); i++) {
+            if (columns.get(i).getName().equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Read one block of a column
+     *
+     * @param column Column index
+     * @param block Block index
+     * @return Block values
+     * @throws IOException If the block cannot be read
+     */
+    ColumnBlock readBlock(int column, int block) throws IOException;
+
+    /**
+     * View a whole numeric column in place, without reading it block by block
+     * The view is valid until this table is closed.
+     *
+     * @param column Column index
+     * @return Column view, or empty if the column is not numeric or too large to view at once
+     * @throws IOException If the column cannot be mapped
+     */
+    Optional<NumericColumn> mapNumeric(int column) throws IOException;
+}
@@ -0,0 +1,31 @@
+package com.portal.das.domain.model.columnar;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Row-by-row writer producing columnar storage
+ * Closing without {@link #commit()} discards everything written
+ */
+public interface ColumnarTableWriter extends Closeable {
+
+    /**
+     * Set a value of the current row
+     * Columns not set before {@link #endRow()} are null
+     *
+     * @param column Column index
+     * @param value Text value (null or blank = null for numeric columns)
+     * @throws ColumnTypeMismatchException If a numeric column receives non-numeric text
+     */
+    void value(int column, String value) throws IOException;
+
+    /**
+     * Finish the current row
+     */
+    void endRow() throws IOException;
+
+    /**
+     * Write the footer and publish the file atomically
+     */
+    void commit() throws IOException;
+}
@@ -0,0 +1,87 @@
+package com.portal.das.domain.model.columnar;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.LongBuffer;
+
+/**
+ * Whole numeric column viewed in place
+ * Values and null bits are views over the stored bytes (memory-mapped by the
+ * file adapter), so reading a column copies and boxes nothing.
+ * Views stay valid until the table they came from is closed.
+ */
+public final class NumericColumn {
+
+    private final ColumnType type;
+    private final int rowCount;
+    private final long nullCount;
+    private final ByteBuffer values;
+    private final ByteBuffer nulls;
+
+    /**
+     * @param type LONG or DOUBLE
+     * @param rowCount Rows in the column
+     * @param nullCount Null rows in the column
+     * @param values Values, 8 bytes per row (little endian)
+     * @param nulls Null bitmap (bit i set = row i is null)
+     */
+    public NumericColumn(ColumnType type, int rowCount, long nullCount, ByteBuffer values, ByteBuffer nulls) {
+        if (!type.isNumeric()) {
+            throw new IllegalArgumentException("Not a numeric column type: " + type);
+        }
+        this.type = type;
+        this.rowCount = rowCount;
+        this.nullCount = nullCount;
+        this.values = values.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        this.nulls = nulls;
+    }
+
+    public ColumnType getType() {
+        return type;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public long getNullCount() {
+        return nullCount;
+    }
+
+    public long getNonNullCount() {
+        return rowCount - nullCount;
+    }
+
+    public boolean isNull(int row) {
+        return (nulls.get(row >>> 3) & (1 << (row & 7))) != 0;
+    }
+
+    /**
+     * View of a DOUBLE column
+     */
+    public DoubleBuffer asDoubleBuffer() {
+        if (type != ColumnType.DOUBLE) {
+            throw new IllegalStateException("Column is " + type);
+        }
+        return values.asDoubleBuffer();
+    }
+
+    /**
+     * View of a LONG column
+     */
+    public LongBuffer asLongBuffer() {
+        if (type != ColumnType.LONG) {
+            throw new IllegalStateException("Column is " + type);
+        }
+        return values.asLongBuffer();
+    }
+
+    /**
+     * Value of a row as double, whatever the column type
+     * Callers iterating the whole column should prefer the typed views
+     */
+    public double getDouble(int row) {
+        return type == ColumnType.DOUBLE ? values.getDouble(row << 3) : values.getLong(row << 3);
+    }
+}
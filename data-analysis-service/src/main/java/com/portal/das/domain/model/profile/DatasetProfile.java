@@ -6,10 +6,15 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Dataset profiling information
  * Contains column-level statistics and metadata
+ *
+ * A sampled profile is computed from a sample of the rows at registration and
+ * replaced by the exact profile once the full pass finishes. Its counts refer
+ * to the sample; the intervals bound the shares in the whole file.
  */
 @Data
 @Builder
@@ -19,7 +24,7 @@ public class DatasetProfile {
     /**
      * Total number of rows
      */
-    private Integer totalRows;
+    private Long totalRows;
 
     /**
      * Total number of columns
@@ -31,6 +36,28 @@ public class DatasetProfile {
      */
     private List<ColumnProfile> columns;
 
+    /**
+     * Whether the profile was computed from a sample of the rows (false or absent: exact)
+     */
+    private Boolean sampled;
+
+    /**
+     * Number of rows in the sample (null for exact profiles)
+     */
+    private Integer sampleSize;
+
+    /**
+     * Number of contiguous row blocks the sample was read in (null for exact profiles)
+     */
+    private Integer sampleBlocks;
+
+    /**
+     * How the intervals were computed (null for exact profiles): "wilson-design-effect" is a
+     * Wilson interval on the effective sample size, the sampled rows divided by the design
+     * effect of the block (cluster) sample
+     */
+    private String intervalMethod;
+
     /**
      * Profile for a single column
      */
@@ -62,22 +89,140 @@ public class DatasetProfile {
         /**
          * Number of null/empty values
          */
-        private Integer nullCount;
+        private Long nullCount;
 
         /**
          * Number of non-null values
          */
-        private Integer nonNullCount;
+        private Long nonNullCount;
 
         /**
          * Number of values that don't match the dominant type
          */
-        private Integer invalidTypeCount;
+        private Long invalidTypeCount;
+
+        /**
+         * Number of non-null values per inferred type (types without values omitted)
+         */
+        private Map<String, Long> typeCounts;
 
         /**
          * Sample values from the column
          */
         private List<String> examples;
+
+        /**
+         * Date pattern the values of a DATE or DATETIME column were recognised with (e.g. dd/MM/yyyy)
+         */
+        private String dateFormat;
+
+        /**
+         * Smallest numeric value (null when the column has no numeric values)
+         */
+        private Double min;
+
+        /**
+         * Largest numeric value
+         */
+        private Double max;
+
+        /**
+         * Mean of the numeric values
+         */
+        private Double mean;
+
+        /**
+         * Sample standard deviation of the numeric values (null for fewer than two)
+         */
+        private Double stdDev;
+
+        /**
+         * 95% interval of the dominant type share (confidence) in the whole file (sampled profiles only)
+         */
+        private Interval confidenceInterval;
+
+        /**
+         * 95% interval of the share of null values in the whole file (sampled profiles only)
+         */
+        private Interval nullRateInterval;
+
+        /**
+         * Estimated number of distinct non-null values (HyperLogLog; null for sampled profiles)
+         */
+        private Long distinctCount;
+
+        /**
+         * Relative standard error of the distinct count (about 95% of estimates fall within twice this)
+         */
+        private Double distinctCountError;
+
+        /**
+         * Most frequent non-null values, highest count first (space-saving estimates; null for sampled profiles)
+         */
+        private List<ValueCount> topValues;
+
+        /**
+         * Shortest non-null value length
+         */
+        private Integer minLength;
+
+        /**
+         * Longest non-null value length
+         */
+        private Integer maxLength;
+
+        /**
+         * Average non-null value length
+         */
+        private Double avgLength;
+    }
+
+    /**
+     * Estimated count of a frequent value
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ValueCount {
+        /**
+         * Value
+         */
+        private String value;
+
+        /**
+         * Count, possibly overestimated by at most countError
+         */
+        private Long count;
+
+        /**
+         * Maximal overestimate of the count (0: exact)
+         */
+        private Long countError;
+    }
+
+    /**
+     * Bounds of an estimated share (0.0 to 1.0)
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Interval {
+        /**
+         * Lower bound
+         */
+        private Double lower;
+
+        /**
+         * Upper bound
+         */
+        private Double upper;
+
+        /**
+         * Design effect of the block sample on this share (1: as good as independent rows)
+         */
+        private Double designEffect;
     }
 }
 
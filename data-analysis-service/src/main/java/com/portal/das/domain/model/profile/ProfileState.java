@@ -0,0 +1,124 @@
+package com.portal.das.domain.model.profile;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mergeable profiling state of a dataset
+ * Kept with the dataset so that rows appended later are profiled on their own
+ * and merged in, instead of profiling the whole file again.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfileState {
+    /**
+     * Number of data rows the state covers
+     */
+    private Long rowCount;
+
+    /**
+     * State of each column, in header order
+     */
+    private List<ColumnState> columns;
+
+    /**
+     * Accumulated statistics of a single column
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ColumnState {
+        /**
+         * Column name (from header)
+         */
+        private String columnName;
+
+        /**
+         * Column index (0-based)
+         */
+        private Integer columnIndex;
+
+        /**
+         * Number of non-null values per inferred type name
+         */
+        private Map<String, Long> typeCounts;
+
+        /**
+         * Number of null/empty values
+         */
+        private Long nullCount;
+
+        /**
+         * First values of the column
+         */
+        private List<String> examples;
+
+        /**
+         * Number of numeric values
+         */
+        private Long numericCount;
+
+        /**
+         * Mean of the numeric values
+         */
+        private Double mean;
+
+        /**
+         * Sum of squared deviations from the mean (Welford)
+         */
+        private Double m2;
+
+        /**
+         * Smallest numeric value (null without numeric values)
+         */
+        private Double min;
+
+        /**
+         * Largest numeric value
+         */
+        private Double max;
+
+        /**
+         * Hits and misses of each date pattern, as [hits, misses]
+         */
+        private Map<String, long[]> dateFormats;
+
+        /**
+         * Hits and misses of each datetime pattern, as [hits, misses]
+         */
+        private Map<String, long[]> dateTimeFormats;
+
+        /**
+         * HyperLogLog registers of the distinct non-null values
+         */
+        private byte[] distinctSketch;
+
+        /**
+         * Space-saving counters of the most frequent non-null values
+         */
+        private List<DatasetProfile.ValueCount> topValues;
+
+        /**
+         * Shortest non-null value length (null without values)
+         */
+        private Integer minLength;
+
+        /**
+         * Longest non-null value length
+         */
+        private Integer maxLength;
+
+        /**
+         * Sum of the non-null value lengths
+         */
+        private Long lengthSum;
+    }
+}
@@ -0,0 +1,19 @@
+package com.portal.das.domain.ports.in.dataset;
+
+import com.portal.das.application.dataset.command.AppendDatasetCommand;
+import com.portal.das.domain.model.Dataset;
+
+/**
+ * Use case for appending rows to a registered dataset
+ * Part of the application's input boundary (Port)
+ */
+public interface AppendDatasetUseCase {
+    /**
+     * Append the rows of an uploaded file to a dataset
+     * Checks the columns, then adds the rows and merges their profile in a background job
+     *
+     * @param command Command containing dataset ID and file ID
+     * @return Dataset in status PROFILING, with the ID of the append job
+     */
+    Dataset appendToDataset(AppendDatasetCommand command);
+}
@@ -2,6 +2,7 @@ package com.portal.das.domain.ports.in.dataset;
 
 import com.portal.das.domain.model.ChartData;
 import com.portal.das.domain.model.ColumnSummary;
+import com.portal.das.domain.model.RangeFilter;
 
 import java.util.UUID;
 
@@ -14,9 +15,11 @@ public interface GetColumnSummaryUseCase {
      *
      * @param datasetId Dataset identifier
      * @param columnName Column name
+     * @param filter Numeric range filter on rows (null for all rows)
+     * @param exact Count unique values exactly (within the memory budget) instead of estimating them
      * @return Column summary
      */
-    ColumnSummary getColumnSummary(UUID datasetId, String columnName);
+    ColumnSummary getColumnSummary(UUID datasetId, String columnName, RangeFilter filter, boolean exact);
 
     /**
      * Get chart-ready data for a column
@@ -0,0 +1,24 @@
+package com.portal.das.domain.ports.in.dataset;
+
+import com.portal.das.domain.model.RangeFilter;
+import com.portal.das.domain.model.RowPage;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Use case for reading pages of dataset rows
+ */
+public interface GetDatasetRowsUseCase {
+    /**
+     * Read a page of rows
+     *
+     * @param datasetId Dataset identifier
+     * @param offset 0-based index of the first data row
+     * @param limit Maximum number of rows
+     * @param columns Columns to return (null or empty for all)
+     * @param filter Numeric range filter on rows (null for all rows)
+     * @return Page of rows
+     */
+    RowPage getRows(UUID datasetId, long offset, int limit, List<String> columns, RangeFilter filter);
+}
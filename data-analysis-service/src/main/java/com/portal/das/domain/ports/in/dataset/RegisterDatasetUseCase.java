@@ -10,7 +10,8 @@ import com.portal.das.domain.model.Dataset;
 public interface RegisterDatasetUseCase {
     /**
      * Register a dataset from an uploaded file
-     * Reads file header, counts rows, computes light profile
+     * Reads file header and commits the dataset in status PROFILING;
+     * the profile is computed by a background job
      *
      * @param command Command containing file ID and optional name
      * @return Registered dataset with metadata
@@ -0,0 +1,54 @@
+package com.portal.das.domain.ports.in.file;
+
+import com.portal.das.application.file.command.InitChunkedUploadCommand;
+import com.portal.das.application.file.command.UploadChunkCommand;
+import com.portal.das.domain.model.UploadJob;
+import com.portal.das.domain.model.UploadSession;
+
+import java.util.UUID;
+
+/**
+ * Use case for resumable chunked uploads
+ * Part of the application's input boundary (Port)
+ */
+public interface ChunkedUploadUseCase {
+    /**
+     * Start a chunked upload
+     *
+     * @param command Declared filename, size and content type
+     * @return New upload session
+     */
+    UploadSession initUpload(InitChunkedUploadCommand command);
+
+    /**
+     * Append a chunk at the session's current offset
+     *
+     * @param command Chunk data, offset and checksum
+     * @return Updated session
+     */
+    UploadSession appendChunk(UploadChunkCommand command);
+
+    /**
+     * Get an upload session (e.g. to find the offset to resume from)
+     *
+     * @param uploadId Session identifier
+     * @return Upload session
+     */
+    UploadSession getSession(UUID uploadId);
+
+    /**
+     * Complete an upload and start conversion in the background
+     *
+     * @param uploadId Session identifier
+     * @param profile Whether to register and profile a dataset after conversion
+     * @return Job ID and the created file record
+     */
+    UploadJob completeUpload(UUID uploadId, boolean profile);
+
+    /**
+     * Abort an upload and discard the received bytes
+     *
+     * @param uploadId Session identifier
+     */
+    void abortUpload(UUID uploadId);
+}
@@ -1,6 +1,7 @@
 package com.portal.das.domain.ports.in.file;
 
 import com.portal.das.application.file.command.UploadFilesCommand;
+import com.portal.das.domain.model.UploadJob;
 import com.portal.das.domain.model.UploadedFile;
 
 import java.util.List;
@@ -17,5 +18,15 @@ public interface UploadFileUseCase {
      * @return List of uploaded file metadata
      */
     List<UploadedFile> uploadFiles(UploadFilesCommand command);
+
+    /**
+     * Accept files for background processing
+     * Returns once the raw bytes are stored; conversion, counting and optional
+     * profiling run as a job whose progress is tracked via the job API
+     *
+     * @param command Command containing files and metadata
+     * @return Job ID and the accepted file records (status UPLOADED or ERROR)
+     */
+    UploadJob submitUpload(UploadFilesCommand command);
 }
 
@@ -0,0 +1,18 @@
+package com.portal.das.domain.ports.in.job;
+
+import com.portal.das.domain.model.Job;
+
+import java.util.UUID;
+
+/**
+ * Use case for reading the status of an async job
+ */
+public interface GetJobUseCase {
+    /**
+     * Get job status
+     *
+     * @param jobId Job identifier
+     * @return Job, or null if unknown
+     */
+    Job getJob(UUID jobId);
+}
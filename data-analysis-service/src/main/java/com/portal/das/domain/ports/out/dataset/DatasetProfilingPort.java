@@ -0,0 +1,19 @@
+package com.portal.das.domain.ports.out.dataset;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Output port listing datasets whose profiling job has not finished
+ * Used to recover datasets whose job was lost with its instance
+ */
+public interface DatasetProfilingPort {
+
+    /**
+     * Datasets in status PROFILING, oldest update first
+     *
+     * @param limit Maximum number of IDs
+     * @return Dataset IDs
+     */
+    List<UUID> findProfiling(int limit);
+}
@@ -0,0 +1,50 @@
+package com.portal.das.domain.ports.out.file;
+
+import com.portal.das.domain.model.columnar.ColumnType;
+import com.portal.das.domain.model.columnar.ColumnarTable;
+import com.portal.das.domain.model.columnar.ColumnarTableWriter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Output port for the columnar copy kept next to a stored CSV
+ * Keyed by stored filename, so files sharing a blob share the columnar copy
+ */
+public interface ColumnStorePort {
+
+    /**
+     * Check whether a columnar copy exists
+     *
+     * @param storedFilename Stored CSV filename
+     * @return true if it can be opened
+     */
+    boolean exists(String storedFilename);
+
+    /**
+     * Start writing a columnar copy
+     * Nothing is visible to readers until the writer is committed
+     *
+     * @param storedFilename Stored CSV filename
+     * @param names Column names
+     * @param types Column types (same order as names)
+     * @return Writer
+     */
+    ColumnarTableWriter create(String storedFilename, List<String> names, List<ColumnType> types) throws IOException;
+
+    /**
+     * Open the columnar copy of a stored CSV
+     *
+     * @param storedFilename Stored CSV filename
+     * @return Table, or empty if no columnar copy exists
+     */
+    Optional<ColumnarTable> open(String storedFilename) throws IOException;
+
+    /**
+     * Delete the columnar copy, if any
+     *
+     * @param storedFilename Stored CSV filename
+     */
+    void delete(String storedFilename);
+}
@@ -0,0 +1,19 @@
+package com.portal.das.domain.ports.out.file;
+
+import com.portal.das.domain.model.UploadedFile;
+
+import java.util.List;
+
+/**
+ * Output port for bulk persistence of file metadata
+ * Lets a multi-file upload write all records in one batched statement
+ */
+public interface FileBatchPort {
+    /**
+     * Persist several files at once
+     *
+     * @param files Files to save
+     * @return Saved files, in the same order
+     */
+    List<UploadedFile> saveBatch(List<UploadedFile> files);
+}
@@ -0,0 +1,48 @@
+package com.portal.das.domain.ports.out.file;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.OptionalLong;
+
+/**
+ * Output port for a shared object store (S3 compatible) holding stored files
+ * and their sidecars, so any instance can serve any dataset
+ * Keys are stored filenames (e.g. {uuid}.csv, {uuid}.csv.cols)
+ */
+public interface ObjectStorePort {
+
+    /**
+     * Size of an object
+     *
+     * @param key Object key
+     * @return Size in bytes, or empty if the object does not exist
+     */
+    OptionalLong size(String key) throws IOException;
+
+    /**
+     * Read a byte range of an object
+     * The caller owns the stream and must close it
+     *
+     * @param key Object key
+     * @param offset First byte to read
+     * @param length Maximum number of bytes (the stream ends earlier at the end of the object)
+     * @return Stream over the range
+     */
+    InputStream read(String key, long offset, long length) throws IOException;
+
+    /**
+     * Upload a local file, replacing any object with the same key
+     *
+     * @param key Object key
+     * @param source Local file
+     */
+    void write(String key, Path source) throws IOException;
+
+    /**
+     * Delete an object, if present
+     *
+     * @param key Object key
+     */
+    void delete(String key) throws IOException;
+}
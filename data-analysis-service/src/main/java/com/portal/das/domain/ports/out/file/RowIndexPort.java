@@ -0,0 +1,44 @@
+package com.portal.das.domain.ports.out.file;
+
+import com.portal.das.domain.model.RowOffsetIndex;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Output port for the row offset index kept next to a stored CSV
+ * Keyed by stored filename, so files sharing a blob share the index
+ */
+public interface RowIndexPort {
+
+    /**
+     * Check whether an index exists
+     *
+     * @param storedFilename Stored CSV filename
+     * @return true if an index is stored
+     */
+    boolean exists(String storedFilename);
+
+    /**
+     * Store (or replace) the index of a stored CSV
+     *
+     * @param storedFilename Stored CSV filename
+     * @param index Index to store
+     */
+    void save(String storedFilename, RowOffsetIndex index) throws IOException;
+
+    /**
+     * Load the index of a stored CSV
+     *
+     * @param storedFilename Stored CSV filename
+     * @return Index, or empty if none is stored
+     */
+    Optional<RowOffsetIndex> load(String storedFilename) throws IOException;
+
+    /**
+     * Delete the index, if any
+     *
+     * @param storedFilename Stored CSV filename
+     */
+    void delete(String storedFilename);
+}
@@ -0,0 +1,33 @@
+package com.portal.das.domain.ports.out.file;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Output port answering which stored files the database still refers to
+ * Used to reconcile storage against file records, blobs and upload sessions
+ */
+public interface StorageReferencePort {
+
+    /**
+     * Soft-deleted files deleted before a cutoff, oldest first
+     * Files still referenced by a dataset are not returned.
+     *
+     * @param cutoff Deletion time limit
+     * @param limit Maximum number of IDs
+     * @return File IDs
+     */
+    List<UUID> findDeletedBefore(Instant cutoff, int limit);
+
+    /**
+     * Filter filenames down to those still referenced by a file record,
+     * a stored blob or an upload session
+     *
+     * @param filenames Candidate stored filenames
+     * @return Referenced subset
+     */
+    Set<String> findReferenced(Collection<String> filenames);
+}
@@ -0,0 +1,89 @@
+package com.portal.das.domain.ports.out.file;
+
+import com.portal.das.domain.model.StoredBlob;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Output port for content-addressed blob references
+ * All reference count changes are atomic in the store
+ */
+public interface StoredBlobPort {
+    /**
+     * Add a reference to the blob with the candidate's content hash,
+     * registering the candidate as the blob if none exists yet
+     *
+     * @param candidate Freshly stored CSV
+     * @return The canonical blob (the candidate, or the one stored earlier)
+     */
+    StoredBlob acquire(StoredBlob candidate);
+
+    /**
+     * Add a reference to an existing blob
+     *
+     * @param contentHash Content hash
+     * @return The blob, or empty if it no longer exists
+     */
+    Optional<StoredBlob> acquireExisting(String contentHash);
+
+    /**
+     * Drop a reference
+     *
+     * @param contentHash Content hash
+     * @return true if this was the last reference and the blob was removed,
+     *         in which case the caller deletes the physical file
+     */
+    boolean release(String contentHash);
+
+    /**
+     * Remove a blob that has no references left, without dropping one
+     *
+     * @param contentHash Content hash
+     * @return true if the blob was removed (the caller deletes the physical file),
+     *         false if it was referenced again meanwhile
+     */
+    boolean removeIfUnreferenced(String contentHash);
+
+    /**
+     * Correct reference counts against the file records holding each blob
+     *
+     * @param cutoff Only blobs not acquired or released since then are corrected
+     * @return Number of blobs corrected
+     */
+    int reconcileReferences(Instant cutoff);
+
+    /**
+     * Blobs left without references, oldest first
+     *
+     * @param limit Maximum number of blobs
+     * @return Unreferenced blobs
+     */
+    List<StoredBlob> findUnreferenced(int limit);
+
+    /**
+     * Find a blob by content hash
+     *
+     * @param contentHash Content hash
+     * @return Blob if found
+     */
+    Optional<StoredBlob> findByContentHash(String contentHash);
+
+    /**
+     * Find a blob converted from the given workbook content
+     *
+     * @param sourceHash Hash of the uploaded workbook
+     * @return Blob if found
+     */
+    Optional<StoredBlob> findBySourceHash(String sourceHash);
+
+    /**
+     * Cache the computed profile on the blob, with the state it was built from
+     *
+     * @param contentHash Content hash
+     * @param profileJson Profile as JSON
+     * @param profileStateJson Mergeable profiling state as JSON
+     */
+    void saveProfile(String contentHash, String profileJson, String profileStateJson);
+}
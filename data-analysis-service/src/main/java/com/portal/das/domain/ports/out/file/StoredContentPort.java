@@ -0,0 +1,57 @@
+package com.portal.das.domain.ports.out.file;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Output port for stored CSV content regardless of how and where it is kept
+ * Content may be stored as is or as independently compressed blocks, locally
+ * or in a shared object store; offsets are always positions in the
+ * uncompressed content (see RowOffsetIndex)
+ */
+public interface StoredContentPort {
+
+    /**
+     * Open the content of a stored file
+     * The caller owns the stream and must close it
+     *
+     * @param storedFilename Stored filename
+     * @return Stream over the uncompressed content
+     */
+    InputStream retrieve(String storedFilename) throws IOException;
+
+    /**
+     * Open the content of a stored file at an offset
+     * Compressed files only decompress the blocks from that offset on
+     *
+     * @param storedFilename Stored filename
+     * @param offset Offset in the uncompressed content
+     * @return Stream positioned at the offset
+     */
+    InputStream retrieve(String storedFilename, long offset) throws IOException;
+
+    /**
+     * Rewrite a stored file in the configured storage mode
+     * Does nothing when compression is disabled or the file is already compressed
+     *
+     * @param storedFilename Stored filename
+     * @return true if the file was rewritten
+     */
+    boolean compress(String storedFilename) throws IOException;
+
+    /**
+     * Make a finished stored file readable by every instance
+     * Does nothing when storage is local only
+     *
+     * @param storedFilename Stored filename
+     */
+    void publish(String storedFilename) throws IOException;
+
+    /**
+     * Delete a stored file from local storage, cache and shared storage
+     *
+     * @param storedFilename Stored filename
+     * @return false if the local copy could not be deleted
+     */
+    boolean delete(String storedFilename) throws IOException;
+}
@@ -0,0 +1,93 @@
+package com.portal.das.domain.ports.out.file;
+
+import com.portal.das.domain.model.UploadSession;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Output port for chunked upload session persistence
+ * Chunk claims and offset advances are conditional updates, so concurrent
+ * requests for one session (on any instance) cannot both write a chunk or
+ * overwrite each other's offset.
+ */
+public interface UploadSessionPort {
+    /**
+     * Save an upload session
+     *
+     * @param session Session to save
+     * @return Saved session
+     */
+    UploadSession save(UploadSession session);
+
+    /**
+     * Load an upload session
+     *
+     * @param uploadId Session identifier
+     * @return Session if found
+     */
+    Optional<UploadSession> load(UUID uploadId);
+
+    /**
+     * Claim an open session for writing the chunk at an offset
+     * Succeeds only if the session is at that offset and no other chunk holds
+     * a claim younger than the stale limit.
+     *
+     * @param uploadId Session identifier
+     * @param offset Offset of the chunk
+     * @param now Claim time
+     * @param staleBefore Claims older than this were abandoned
+     * @return true if claimed
+     */
+    boolean claimChunk(UUID uploadId, long offset, Instant now, Instant staleBefore);
+
+    /**
+     * Drop the claim of a chunk that was not written
+     *
+     * @param uploadId Session identifier
+     * @param offset Offset of the chunk
+     */
+    void releaseChunk(UUID uploadId, long offset);
+
+    /**
+     * Advance the offset of an open session after a chunk was written, dropping its claim
+     *
+     * @param uploadId Session identifier
+     * @param expectedOffset Offset the chunk was written at
+     * @param newOffset Offset after the chunk
+     * @param now Update time
+     * @return true if the session was still at the expected offset
+     */
+    boolean advance(UUID uploadId, long expectedOffset, long newOffset, Instant now);
+
+    /**
+     * Claim a fully received open session for turning it into a file
+     * Succeeds only for one request, and only if no chunk holds a claim
+     * younger than the stale limit; the session is COMPLETING afterwards.
+     *
+     * @param uploadId Session identifier
+     * @param now Claim time
+     * @param staleBefore Chunk claims older than this were abandoned
+     * @return true if claimed
+     */
+    boolean claimCompletion(UUID uploadId, Instant now, Instant staleBefore);
+
+    /**
+     * Reopen a session whose completion failed before a file was created
+     *
+     * @param uploadId Session identifier
+     * @param now Update time
+     */
+    void releaseCompletion(UUID uploadId, Instant now);
+
+    /**
+     * Expire open sessions without a chunk since a cutoff, and completions abandoned since then
+     * Their part files lose their reference and are removed as orphans.
+     *
+     * @param cutoff Last activity limit
+     * @param now Update time
+     * @return Number of sessions expired
+     */
+    int expireIdle(Instant cutoff, Instant now);
+}
@@ -0,0 +1,58 @@
+package com.portal.das.domain.ports.out.job;
+
+import com.portal.das.domain.model.Job;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Output port for job persistence
+ * Jobs run on the instance that started them; their records let any instance
+ * report them and detect those whose instance stopped.
+ */
+public interface JobRecordPort {
+
+    /**
+     * Save a job
+     *
+     * @param job Job to save
+     * @return Saved job
+     */
+    Job save(Job job);
+
+    /**
+     * Load a job
+     *
+     * @param jobId Job identifier
+     * @return Job if found
+     */
+    Optional<Job> load(UUID jobId);
+
+    /**
+     * Record the progress of a job still PENDING or RUNNING
+     * Leaves finished jobs alone, so a late update cannot undo their status.
+     *
+     * @param job Job with its current progress
+     */
+    void updateProgress(Job job);
+
+    /**
+     * Mark unfinished jobs as alive
+     *
+     * @param jobIds Jobs running on this instance
+     * @param now Heartbeat time
+     */
+    void touch(Collection<UUID> jobIds, Instant now);
+
+    /**
+     * Fail unfinished jobs without progress or heartbeat since a cutoff
+     *
+     * @param cutoff Last sign of life
+     * @param errorMessage Error recorded on the jobs
+     * @param now Completion time
+     * @return Number of jobs failed
+     */
+    int failStale(Instant cutoff, String errorMessage, Instant now);
+}
@@ -2,6 +2,7 @@ package com.portal.das.infrastructure.db.adapter;
 
 import com.portal.das.domain.model.Dataset;
 import com.portal.das.domain.ports.out.dataset.DatasetCrudPort;
+import com.portal.das.domain.ports.out.dataset.DatasetProfilingPort;
 import com.portal.das.domain.ports.out.dataset.DatasetSearchPort;
 import com.portal.das.infrastructure.db.entities.DatasetEntity;
 import com.portal.das.infrastructure.db.mappers.DatasetEntityMapper;
@@ -10,29 +11,40 @@ import com.sharedlib.core.filter.FilterRequest;
 import com.sharedlib.core.filter.GenericSpecificationBuilder;
 import com.sharedlib.core.persistence.adapter.BaseJpaAdapter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
  * Database adapter for Dataset operations
- * Implements both CRUD and Search ports
+ * Implements the CRUD, Search and profiling recovery ports
  */
 @Slf4j
 @Component
 public class DatasetDbAdapter 
         extends BaseJpaAdapter<Dataset, DatasetEntity, UUID, FilterRequest>
-        implements DatasetCrudPort, DatasetSearchPort {
+        implements DatasetCrudPort, DatasetSearchPort, DatasetProfilingPort {
 
+    private final DatasetJpaRepository datasetRepository;
     private final DatasetFilterConfig filterConfig;
 
     public DatasetDbAdapter(DatasetJpaRepository repository,
                            DatasetEntityMapper mapper) {
         super(repository, repository, mapper);
+        this.datasetRepository = repository;
         this.filterConfig = new DatasetFilterConfig();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<UUID> findProfiling(int limit) {
+        return datasetRepository.findIdsByStatus(DatasetEntity.DatasetStatus.PROFILING, PageRequest.of(0, limit));
+    }
+
     @Override
     protected Specification<DatasetEntity> buildSpecification(FilterRequest filter) {
         if (filter == null ||
@@ -1,6 +1,7 @@
 package com.portal.das.infrastructure.db.adapter;
 
 import com.portal.das.domain.model.UploadedFile;
+import com.portal.das.domain.ports.out.file.FileBatchPort;
 import com.portal.das.domain.ports.out.file.FileCrudPort;
 import com.portal.das.domain.ports.out.file.FileSearchPort;
 import com.portal.das.infrastructure.db.entities.UploadedFileEntity;
@@ -13,25 +14,43 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * Database adapter for File operations
- * Implements both CRUD and Search ports
+ * Implements CRUD, Search and Batch ports
  * Bridges domain and infrastructure layers
  */
 @Slf4j
 @Component
 public class FileDbAdapter 
         extends BaseJpaAdapter<UploadedFile, UploadedFileEntity, UUID, FilterRequest>
-        implements FileCrudPort, FileSearchPort {
+        implements FileCrudPort, FileSearchPort, FileBatchPort {
 
     private final SystemFilterConfig filterConfig;
+    private final UploadedFileJpaRepository repository;
+    private final UploadedFileEntityMapper mapper;
 
     public FileDbAdapter(UploadedFileJpaRepository repository,
                         UploadedFileEntityMapper mapper) {
         super(repository, repository, mapper);
         this.filterConfig = new SystemFilterConfig();
+        this.repository = repository;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public List<UploadedFile> saveBatch(List<UploadedFile> files) {
+        // saveAll lets Hibernate group the inserts (hibernate.jdbc.batch_size)
+        List<UploadedFileEntity> entities = files.stream()
+                .map(mapper::toEntity)
+                .collect(Collectors.toList());
+
+        return repository.saveAll(entities).stream()
+                .map(mapper::toDomain)
+                .collect(Collectors.toList());
     }
 
     @Override
@@ -0,0 +1,62 @@
+package com.portal.das.infrastructure.db.adapter;
+
+import com.portal.das.domain.model.Job;
+import com.portal.das.domain.ports.out.job.JobRecordPort;
+import com.portal.das.infrastructure.db.entities.JobEntity;
+import com.portal.das.infrastructure.db.mappers.JobEntityMapper;
+import com.portal.das.infrastructure.db.repository.JobJpaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Database adapter for job records
+ */
+@Component
+@RequiredArgsConstructor
+public class JobDbAdapter implements JobRecordPort {
+
+    private static final List<JobEntity.JobStatus> UNFINISHED =
+            List.of(JobEntity.JobStatus.PENDING, JobEntity.JobStatus.RUNNING);
+
+    private final JobJpaRepository repository;
+    private final JobEntityMapper mapper;
+
+    @Override
+    public Job save(Job job) {
+        return mapper.toDomain(repository.save(mapper.toEntity(job)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Job> load(UUID jobId) {
+        return repository.findById(jobId).map(mapper::toDomain);
+    }
+
+    @Override
+    @Transactional
+    public void updateProgress(Job job) {
+        repository.updateProgress(job.getJobId(), job.getProgress(), job.getRowsProcessed(), job.getTotalRows(),
+                job.getUpdatedAt(), UNFINISHED);
+    }
+
+    @Override
+    @Transactional
+    public void touch(Collection<UUID> jobIds, Instant now) {
+        if (!jobIds.isEmpty()) {
+            repository.touch(jobIds, now, UNFINISHED);
+        }
+    }
+
+    @Override
+    @Transactional
+    public int failStale(Instant cutoff, String errorMessage, Instant now) {
+        return repository.failStale(cutoff, errorMessage, now, UNFINISHED, JobEntity.JobStatus.FAILED);
+    }
+}
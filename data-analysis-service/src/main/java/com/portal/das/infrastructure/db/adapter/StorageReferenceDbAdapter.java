@@ -0,0 +1,53 @@
+package com.portal.das.infrastructure.db.adapter;
+
+import com.portal.das.domain.ports.out.file.StorageReferencePort;
+import com.portal.das.infrastructure.db.repository.StoredBlobJpaRepository;
+import com.portal.das.infrastructure.db.repository.UploadSessionJpaRepository;
+import com.portal.das.infrastructure.db.repository.UploadedFileJpaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Database adapter for storage reconciliation lookups
+ * Filename lookups are chunked to keep IN lists bounded
+ */
+@Component
+@RequiredArgsConstructor
+public class StorageReferenceDbAdapter implements StorageReferencePort {
+
+    private static final int IN_LIST_SIZE = 500;
+
+    private final UploadedFileJpaRepository uploadedFileRepository;
+    private final StoredBlobJpaRepository storedBlobRepository;
+    private final UploadSessionJpaRepository uploadSessionRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UUID> findDeletedBefore(Instant cutoff, int limit) {
+        return uploadedFileRepository.findDeletedBefore(cutoff, PageRequest.of(0, limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Set<String> findReferenced(Collection<String> filenames) {
+        Set<String> referenced = new HashSet<>();
+        List<String> names = new ArrayList<>(filenames);
+        for (int from = 0; from < names.size(); from += IN_LIST_SIZE) {
+            List<String> chunk = names.subList(from, Math.min(names.size(), from + IN_LIST_SIZE));
+            referenced.addAll(uploadedFileRepository.findStoredFilenamesIn(chunk));
+            referenced.addAll(storedBlobRepository.findStoredFilenamesIn(chunk));
+            referenced.addAll(uploadSessionRepository.findStagedFilenamesIn(chunk));
+        }
+        return referenced;
+    }
+}
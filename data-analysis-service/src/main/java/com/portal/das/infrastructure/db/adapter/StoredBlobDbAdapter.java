@@ -0,0 +1,92 @@
+package com.portal.das.infrastructure.db.adapter;
+
+import com.portal.das.domain.model.StoredBlob;
+import com.portal.das.domain.ports.out.file.StoredBlobPort;
+import com.portal.das.infrastructure.db.mappers.StoredBlobEntityMapper;
+import com.portal.das.infrastructure.db.repository.StoredBlobJpaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Database adapter for content-addressed blobs
+ */
+@Component
+@RequiredArgsConstructor
+public class StoredBlobDbAdapter implements StoredBlobPort {
+
+    private final StoredBlobJpaRepository repository;
+    private final StoredBlobEntityMapper mapper;
+
+    @Override
+    @Transactional
+    public StoredBlob acquire(StoredBlob candidate) {
+        repository.upsertReference(candidate.getContentHash(), candidate.getSourceHash(),
+                candidate.getStoredFilename(), candidate.getStoragePath(), candidate.getByteSize(),
+                candidate.getRowCount(), candidate.getColumnCount());
+
+        return repository.findById(candidate.getContentHash())
+                .map(mapper::toDomain)
+                .orElseThrow(() -> new IllegalStateException(
+                        "Blob missing after upsert: " + candidate.getContentHash()));
+    }
+
+    @Override
+    @Transactional
+    public Optional<StoredBlob> acquireExisting(String contentHash) {
+        if (repository.incrementIfReferenced(contentHash) == 0) {
+            return Optional.empty();
+        }
+        return repository.findById(contentHash).map(mapper::toDomain);
+    }
+
+    @Override
+    @Transactional
+    public boolean release(String contentHash) {
+        repository.decrement(contentHash);
+        return repository.deleteIfUnreferenced(contentHash) > 0;
+    }
+
+    @Override
+    @Transactional
+    public boolean removeIfUnreferenced(String contentHash) {
+        return repository.deleteIfUnreferenced(contentHash) > 0;
+    }
+
+    @Override
+    @Transactional
+    public int reconcileReferences(Instant cutoff) {
+        return repository.reconcileRefCounts(cutoff);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<StoredBlob> findUnreferenced(int limit) {
+        return repository.findUnreferenced(PageRequest.of(0, limit)).stream()
+                .map(mapper::toDomain)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<StoredBlob> findByContentHash(String contentHash) {
+        return repository.findById(contentHash).map(mapper::toDomain);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<StoredBlob> findBySourceHash(String sourceHash) {
+        return repository.findFirstBySourceHash(sourceHash).map(mapper::toDomain);
+    }
+
+    @Override
+    @Transactional
+    public void saveProfile(String contentHash, String profileJson, String profileStateJson) {
+        repository.updateProfile(contentHash, profileJson, profileStateJson);
+    }
+}
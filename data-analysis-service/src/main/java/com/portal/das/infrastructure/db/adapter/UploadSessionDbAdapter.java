@@ -0,0 +1,77 @@
+package com.portal.das.infrastructure.db.adapter;
+
+import com.portal.das.domain.model.UploadSession;
+import com.portal.das.domain.ports.out.file.UploadSessionPort;
+import com.portal.das.infrastructure.db.entities.UploadSessionEntity;
+import com.portal.das.infrastructure.db.mappers.UploadSessionEntityMapper;
+import com.portal.das.infrastructure.db.repository.UploadSessionJpaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Database adapter for chunked upload sessions
+ */
+@Component
+@RequiredArgsConstructor
+public class UploadSessionDbAdapter implements UploadSessionPort {
+
+    private final UploadSessionJpaRepository repository;
+    private final UploadSessionEntityMapper mapper;
+
+    @Override
+    public UploadSession save(UploadSession session) {
+        return mapper.toDomain(repository.save(mapper.toEntity(session)));
+    }
+
+    @Override
+    public Optional<UploadSession> load(UUID uploadId) {
+        return repository.findById(uploadId).map(mapper::toDomain);
+    }
+
+    @Override
+    @Transactional
+    public boolean claimChunk(UUID uploadId, long offset, Instant now, Instant staleBefore) {
+        return repository.claimChunk(uploadId, offset, now, staleBefore, UploadSessionEntity.SessionStatus.OPEN) > 0;
+    }
+
+    @Override
+    @Transactional
+    public void releaseChunk(UUID uploadId, long offset) {
+        repository.releaseChunk(uploadId, offset);
+    }
+
+    @Override
+    @Transactional
+    public boolean advance(UUID uploadId, long expectedOffset, long newOffset, Instant now) {
+        return repository.advance(uploadId, expectedOffset, newOffset, now, UploadSessionEntity.SessionStatus.OPEN) > 0;
+    }
+
+    @Override
+    @Transactional
+    public boolean claimCompletion(UUID uploadId, Instant now, Instant staleBefore) {
+        return repository.claimCompletion(uploadId, now, staleBefore,
+                UploadSessionEntity.SessionStatus.OPEN, UploadSessionEntity.SessionStatus.COMPLETING) > 0;
+    }
+
+    @Override
+    @Transactional
+    public void releaseCompletion(UUID uploadId, Instant now) {
+        repository.releaseCompletion(uploadId, now,
+                UploadSessionEntity.SessionStatus.OPEN, UploadSessionEntity.SessionStatus.COMPLETING);
+    }
+
+    @Override
+    @Transactional
+    public int expireIdle(Instant cutoff, Instant now) {
+        // A completion still running after the session TTL was abandoned
+        return repository.expireIdle(cutoff, now,
+                List.of(UploadSessionEntity.SessionStatus.OPEN, UploadSessionEntity.SessionStatus.COMPLETING),
+                UploadSessionEntity.SessionStatus.EXPIRED);
+    }
+}
@@ -35,7 +35,7 @@ public class DatasetEntity {
     private String description;
 
     @Column(name = "row_count")
-    private Integer rowCount;
+    private Long rowCount;
 
     @Column(name = "column_count")
     private Integer columnCount;
@@ -46,6 +46,12 @@ public class DatasetEntity {
     @Column(name = "profile_json", columnDefinition = "TEXT")
     private String profileJson;
 
+    @Column(name = "profile_state_json", columnDefinition = "TEXT")
+    private String profileStateJson;
+
+    @Column(name = "profile_job_id")
+    private UUID profileJobId;
+
     @Column(name = "status", length = 20)
     @Enumerated(EnumType.STRING)
     private DatasetStatus status;
@@ -33,6 +33,12 @@ public class JobEntity {
     @Column(name = "progress")
     private Integer progress;
 
+    @Column(name = "rows_processed")
+    private Long rowsProcessed;
+
+    @Column(name = "total_rows")
+    private Long totalRows;
+
     @Column(name = "result", columnDefinition = "TEXT")
     private String result;
 
@@ -52,6 +58,9 @@ public class JobEntity {
     @Column(name = "completed_at")
     private Instant completedAt;
 
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
     public enum JobStatus {
         PENDING, RUNNING, SUCCEEDED, FAILED, CANCELLED
     }
@@ -0,0 +1,57 @@
+package com.portal.das.infrastructure.db.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * JPA Entity for stored_blob table
+ * Reference counts are only changed through atomic queries in the repository
+ */
+@Entity
+@Table(name = "stored_blob")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StoredBlobEntity {
+
+    @Id
+    @Column(name = "content_hash", nullable = false, updatable = false, length = 64)
+    private String contentHash;
+
+    @Column(name = "source_hash", length = 64)
+    private String sourceHash;
+
+    @Column(name = "stored_filename", nullable = false, length = 500)
+    private String storedFilename;
+
+    @Column(name = "storage_path", length = 1000)
+    private String storagePath;
+
+    @Column(name = "byte_size")
+    private Long byteSize;
+
+    @Column(name = "row_count")
+    private Long rowCount;
+
+    @Column(name = "column_count")
+    private Integer columnCount;
+
+    @Column(name = "ref_count", nullable = false)
+    private Integer refCount;
+
+    @Column(name = "profile_json", columnDefinition = "TEXT")
+    private String profileJson;
+
+    @Column(name = "profile_state_json", columnDefinition = "TEXT")
+    private String profileStateJson;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+}
@@ -0,0 +1,84 @@
+package com.portal.das.infrastructure.db.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * JPA Entity for upload_session table
+ * Tracks progress of resumable chunked uploads
+ */
+@Entity
+@Table(name = "upload_session")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSessionEntity {
+
+    @Id
+    @Column(name = "upload_id", nullable = false, updatable = false)
+    private UUID uploadId;
+
+    @Column(name = "original_filename", nullable = false, length = 500)
+    private String originalFilename;
+
+    @Column(name = "original_format", length = 10)
+    private String originalFormat;
+
+    @Column(name = "mime_type", length = 100)
+    private String mimeType;
+
+    @Column(name = "total_size", nullable = false)
+    private Long totalSize;
+
+    @Column(name = "received_bytes", nullable = false)
+    private Long receivedBytes;
+
+    @Column(name = "staged_filename", length = 500)
+    private String stagedFilename;
+
+    @Column(name = "status", length = 20)
+    @Enumerated(EnumType.STRING)
+    private SessionStatus status;
+
+    @Column(name = "file_id")
+    private UUID fileId;
+
+    @Column(name = "job_id")
+    private UUID jobId;
+
+    @Column(name = "created_by")
+    private UUID createdBy;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    @Column(name = "chunk_started_at")
+    private Instant chunkStartedAt;
+
+    @Version
+    @Column(name = "row_version")
+    private Long rowVersion;
+
+    /**
+     * Upload session status enumeration
+     */
+    public enum SessionStatus {
+        OPEN,
+        COMPLETING,
+        COMPLETED,
+        ABORTED,
+        EXPIRED
+    }
+}
@@ -46,11 +46,26 @@ public class UploadedFileEntity {
     @Column(name = "stored_size")
     private Long storedSize;
 
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Column(name = "csv_delimiter", length = 1)
+    private Character csvDelimiter;
+
+    @Column(name = "csv_quote", length = 1)
+    private Character csvQuote;
+
+    @Column(name = "csv_charset", length = 32)
+    private String csvCharset;
+
+    @Column(name = "csv_line_ending", length = 4)
+    private String csvLineEnding;
+
     @Column(name = "mime_type", length = 100)
     private String mimeType;
 
     @Column(name = "row_count")
-    private Integer rowCount;
+    private Long rowCount;
 
     @Column(name = "column_count")
     private Integer columnCount;
@@ -24,6 +24,8 @@ public class DatasetEntityMapper implements DomainEntityMapper<Dataset, DatasetE
         target.setColumnCount(source.getColumnCount());
         target.setHeaderJson(source.getHeaderJson());
         target.setProfileJson(source.getProfileJson());
+        target.setProfileStateJson(source.getProfileStateJson());
+        target.setProfileJobId(source.getProfileJobId());
         target.setStatus(mapStatus(source.getStatus()));
         target.setIsActive(source.getIsActive());
         target.setIsDeleted(source.getIsDeleted());
@@ -47,6 +49,8 @@ public class DatasetEntityMapper implements DomainEntityMapper<Dataset, DatasetE
                 .columnCount(domain.getColumnCount())
                 .headerJson(domain.getHeaderJson())
                 .profileJson(domain.getProfileJson())
+                .profileStateJson(domain.getProfileStateJson())
+                .profileJobId(domain.getProfileJobId())
                 .status(mapStatus(domain.getStatus()))
                 .isActive(domain.getIsActive())
                 .isDeleted(domain.getIsDeleted())
@@ -73,6 +77,8 @@ public class DatasetEntityMapper implements DomainEntityMapper<Dataset, DatasetE
                 .columnCount(entity.getColumnCount())
                 .headerJson(entity.getHeaderJson())
                 .profileJson(entity.getProfileJson())
+                .profileStateJson(entity.getProfileStateJson())
+                .profileJobId(entity.getProfileJobId())
                 .status(mapStatus(entity.getStatus()))
                 .isActive(entity.getIsActive())
                 .isDeleted(entity.getIsDeleted())
@@ -0,0 +1,98 @@
+package com.portal.das.infrastructure.db.mappers;
+
+import com.portal.das.domain.model.Job;
+import com.portal.das.infrastructure.db.entities.JobEntity;
+import com.sharedlib.core.persistence.mapper.DomainEntityMapper;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mapper between Job domain model and JobEntity
+ */
+@Component
+public class JobEntityMapper implements DomainEntityMapper<Job, JobEntity> {
+
+    @Override
+    public void updateEntity(JobEntity target, Job source) {
+        if (source == null || target == null) {
+            return;
+        }
+
+        target.setJobType(source.getJobType());
+        target.setStatus(mapStatus(source.getStatus()));
+        target.setProgress(source.getProgress());
+        target.setRowsProcessed(source.getRowsProcessed());
+        target.setTotalRows(source.getTotalRows());
+        target.setResult(source.getResult());
+        target.setErrorMessage(source.getErrorMessage());
+        target.setCreatedBy(source.getCreatedBy());
+        target.setStartedAt(source.getStartedAt());
+        target.setCompletedAt(source.getCompletedAt());
+        target.setUpdatedAt(source.getUpdatedAt());
+    }
+
+    @Override
+    public JobEntity toEntity(Job domain) {
+        if (domain == null) {
+            return null;
+        }
+
+        return JobEntity.builder()
+                .jobId(domain.getJobId())
+                .jobType(domain.getJobType())
+                .status(mapStatus(domain.getStatus()))
+                .progress(domain.getProgress())
+                .rowsProcessed(domain.getRowsProcessed())
+                .totalRows(domain.getTotalRows())
+                .result(domain.getResult())
+                .errorMessage(domain.getErrorMessage())
+                .createdBy(domain.getCreatedBy())
+                .createdAt(domain.getCreatedAt())
+                .startedAt(domain.getStartedAt())
+                .completedAt(domain.getCompletedAt())
+                .updatedAt(domain.getUpdatedAt())
+                .build();
+    }
+
+    @Override
+    public Job toDomain(JobEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+
+        return Job.builder()
+                .jobId(entity.getJobId())
+                .jobType(entity.getJobType())
+                .status(mapStatus(entity.getStatus()))
+                .progress(entity.getProgress())
+                .rowsProcessed(entity.getRowsProcessed())
+                .totalRows(entity.getTotalRows())
+                .result(entity.getResult())
+                .errorMessage(entity.getErrorMessage())
+                .createdBy(entity.getCreatedBy())
+                .createdAt(entity.getCreatedAt())
+                .startedAt(entity.getStartedAt())
+                .completedAt(entity.getCompletedAt())
+                .updatedAt(entity.getUpdatedAt())
+                .build();
+    }
+
+    /**
+     * Map domain JobStatus to entity JobStatus
+     */
+    private JobEntity.JobStatus mapStatus(Job.JobStatus domainStatus) {
+        if (domainStatus == null) {
+            return null;
+        }
+        return JobEntity.JobStatus.valueOf(domainStatus.name());
+    }
+
+    /**
+     * Map entity JobStatus to domain JobStatus
+     */
+    private Job.JobStatus mapStatus(JobEntity.JobStatus entityStatus) {
+        if (entityStatus == null) {
+            return null;
+        }
+        return Job.JobStatus.valueOf(entityStatus.name());
+    }
+}
@@ -0,0 +1,72 @@
+package com.portal.das.infrastructure.db.mappers;
+
+import com.portal.das.domain.model.StoredBlob;
+import com.portal.das.infrastructure.db.entities.StoredBlobEntity;
+import com.sharedlib.core.persistence.mapper.DomainEntityMapper;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mapper between StoredBlob domain model and StoredBlobEntity
+ */
+@Component
+public class StoredBlobEntityMapper implements DomainEntityMapper<StoredBlob, StoredBlobEntity> {
+
+    @Override
+    public void updateEntity(StoredBlobEntity target, StoredBlob source) {
+        if (source == null || target == null) {
+            return;
+        }
+
+        target.setSourceHash(source.getSourceHash());
+        target.setStoredFilename(source.getStoredFilename());
+        target.setStoragePath(source.getStoragePath());
+        target.setByteSize(source.getByteSize());
+        target.setRowCount(source.getRowCount());
+        target.setColumnCount(source.getColumnCount());
+        target.setRefCount(source.getRefCount());
+        target.setProfileJson(source.getProfileJson());
+        target.setProfileStateJson(source.getProfileStateJson());
+    }
+
+    @Override
+    public StoredBlobEntity toEntity(StoredBlob domain) {
+        if (domain == null) {
+            return null;
+        }
+
+        return StoredBlobEntity.builder()
+                .contentHash(domain.getContentHash())
+                .sourceHash(domain.getSourceHash())
+                .storedFilename(domain.getStoredFilename())
+                .storagePath(domain.getStoragePath())
+                .byteSize(domain.getByteSize())
+                .rowCount(domain.getRowCount())
+                .columnCount(domain.getColumnCount())
+                .refCount(domain.getRefCount())
+                .profileJson(domain.getProfileJson())
+                .profileStateJson(domain.getProfileStateJson())
+                .createdAt(domain.getCreatedAt())
+                .build();
+    }
+
+    @Override
+    public StoredBlob toDomain(StoredBlobEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+
+        return StoredBlob.builder()
+                .contentHash(entity.getContentHash())
+                .sourceHash(entity.getSourceHash())
+                .storedFilename(entity.getStoredFilename())
+                .storagePath(entity.getStoragePath())
+                .byteSize(entity.getByteSize())
+                .rowCount(entity.getRowCount())
+                .columnCount(entity.getColumnCount())
+                .refCount(entity.getRefCount())
+                .profileJson(entity.getProfileJson())
+                .profileStateJson(entity.getProfileStateJson())
+                .createdAt(entity.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,103 @@
+package com.portal.das.infrastructure.db.mappers;
+
+import com.portal.das.domain.model.UploadSession;
+import com.portal.das.infrastructure.db.entities.UploadSessionEntity;
+import com.sharedlib.core.persistence.mapper.DomainEntityMapper;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mapper between UploadSession domain model and UploadSessionEntity
+ */
+@Component
+public class UploadSessionEntityMapper implements DomainEntityMapper<UploadSession, UploadSessionEntity> {
+
+    @Override
+    public void updateEntity(UploadSessionEntity target, UploadSession source) {
+        if (source == null || target == null) {
+            return;
+        }
+
+        target.setOriginalFilename(source.getOriginalFilename());
+        target.setOriginalFormat(source.getOriginalFormat());
+        target.setMimeType(source.getMimeType());
+        target.setTotalSize(source.getTotalSize());
+        target.setReceivedBytes(source.getReceivedBytes());
+        target.setStagedFilename(source.getStagedFilename());
+        target.setStatus(mapStatus(source.getStatus()));
+        target.setFileId(source.getFileId());
+        target.setJobId(source.getJobId());
+        target.setCreatedBy(source.getCreatedBy());
+        target.setUpdatedAt(source.getUpdatedAt());
+        target.setChunkStartedAt(source.getChunkStartedAt());
+    }
+
+    @Override
+    public UploadSessionEntity toEntity(UploadSession domain) {
+        if (domain == null) {
+            return null;
+        }
+
+        return UploadSessionEntity.builder()
+                .uploadId(domain.getUploadId())
+                .originalFilename(domain.getOriginalFilename())
+                .originalFormat(domain.getOriginalFormat())
+                .mimeType(domain.getMimeType())
+                .totalSize(domain.getTotalSize())
+                .receivedBytes(domain.getReceivedBytes())
+                .stagedFilename(domain.getStagedFilename())
+                .status(mapStatus(domain.getStatus()))
+                .fileId(domain.getFileId())
+                .jobId(domain.getJobId())
+                .createdBy(domain.getCreatedBy())
+                .createdAt(domain.getCreatedAt())
+                .updatedAt(domain.getUpdatedAt())
+                .chunkStartedAt(domain.getChunkStartedAt())
+                .rowVersion(domain.getRowVersion())
+                .build();
+    }
+
+    @Override
+    public UploadSession toDomain(UploadSessionEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+
+        return UploadSession.builder()
+                .uploadId(entity.getUploadId())
+                .originalFilename(entity.getOriginalFilename())
+                .originalFormat(entity.getOriginalFormat())
+                .mimeType(entity.getMimeType())
+                .totalSize(entity.getTotalSize())
+                .receivedBytes(entity.getReceivedBytes())
+                .stagedFilename(entity.getStagedFilename())
+                .status(mapStatus(entity.getStatus()))
+                .fileId(entity.getFileId())
+                .jobId(entity.getJobId())
+                .createdBy(entity.getCreatedBy())
+                .createdAt(entity.getCreatedAt())
+                .updatedAt(entity.getUpdatedAt())
+                .chunkStartedAt(entity.getChunkStartedAt())
+                .rowVersion(entity.getRowVersion())
+                .build();
+    }
+
+    /**
+     * Map domain SessionStatus to entity SessionStatus
+     */
+    private UploadSessionEntity.SessionStatus mapStatus(UploadSession.SessionStatus domainStatus) {
+        if (domainStatus == null) {
+            return null;
+        }
+        return UploadSessionEntity.SessionStatus.valueOf(domainStatus.name());
+    }
+
+    /**
+     * Map entity SessionStatus to domain SessionStatus
+     */
+    private UploadSession.SessionStatus mapStatus(UploadSessionEntity.SessionStatus entityStatus) {
+        if (entityStatus == null) {
+            return null;
+        }
+        return UploadSession.SessionStatus.valueOf(entityStatus.name());
+    }
+}
@@ -25,6 +25,11 @@ public class UploadedFileEntityMapper implements DomainEntityMapper<UploadedFile
         target.setStoredFormat(source.getStoredFormat());
         target.setOriginalSize(source.getOriginalSize());
         target.setStoredSize(source.getStoredSize());
+        target.setContentHash(source.getContentHash());
+        target.setCsvDelimiter(source.getCsvDelimiter());
+        target.setCsvQuote(source.getCsvQuote());
+        target.setCsvCharset(source.getCsvCharset());
+        target.setCsvLineEnding(source.getCsvLineEnding());
         target.setMimeType(source.getMimeType());
         target.setRowCount(source.getRowCount());
         target.setColumnCount(source.getColumnCount());
@@ -52,6 +57,11 @@ public class UploadedFileEntityMapper implements DomainEntityMapper<UploadedFile
                 .storedFormat(domain.getStoredFormat())
                 .originalSize(domain.getOriginalSize())
                 .storedSize(domain.getStoredSize())
+                .contentHash(domain.getContentHash())
+                .csvDelimiter(domain.getCsvDelimiter())
+                .csvQuote(domain.getCsvQuote())
+                .csvCharset(domain.getCsvCharset())
+                .csvLineEnding(domain.getCsvLineEnding())
                 .mimeType(domain.getMimeType())
                 .rowCount(domain.getRowCount())
                 .columnCount(domain.getColumnCount())
@@ -82,6 +92,11 @@ public class UploadedFileEntityMapper implements DomainEntityMapper<UploadedFile
                 .storedFormat(entity.getStoredFormat())
                 .originalSize(entity.getOriginalSize())
                 .storedSize(entity.getStoredSize())
+                .contentHash(entity.getContentHash())
+                .csvDelimiter(entity.getCsvDelimiter())
+                .csvQuote(entity.getCsvQuote())
+                .csvCharset(entity.getCsvCharset())
+                .csvLineEnding(entity.getCsvLineEnding())
                 .mimeType(entity.getMimeType())
                 .rowCount(entity.getRowCount())
                 .columnCount(entity.getColumnCount())
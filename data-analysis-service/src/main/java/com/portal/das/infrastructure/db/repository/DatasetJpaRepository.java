@@ -1,8 +1,11 @@
 package com.portal.das.infrastructure.db.repository;
 
 import com.portal.das.infrastructure.db.entities.DatasetEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -20,5 +23,12 @@ public interface DatasetJpaRepository
      * Find all datasets by file ID
      */
     List<DatasetEntity> findByFileIdAndIsDeletedFalse(UUID fileId);
+
+    /**
+     * IDs of datasets in a status, least recently updated first
+     */
+    @Query("SELECT d.datasetId FROM DatasetEntity d WHERE d.status = :status "
+            + "ORDER BY COALESCE(d.updatedAt, d.createdAt)")
+    List<UUID> findIdsByStatus(@Param("status") DatasetEntity.DatasetStatus status, Pageable pageable);
 }
 
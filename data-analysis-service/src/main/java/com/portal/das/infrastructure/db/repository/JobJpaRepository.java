@@ -0,0 +1,51 @@
+package com.portal.das.infrastructure.db.repository;
+
+import com.portal.das.infrastructure.db.entities.JobEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Spring Data JPA Repository for JobEntity
+ * Progress and heartbeats only touch unfinished jobs, so they never race the
+ * save that records the final status
+ */
+@Repository
+public interface JobJpaRepository extends JpaRepository<JobEntity, UUID> {
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE JobEntity j SET j.progress = :progress, j.rowsProcessed = :rowsProcessed, "
+            + "j.totalRows = :totalRows, j.updatedAt = :now "
+            + "WHERE j.jobId = :jobId AND j.status IN :unfinished")
+    int updateProgress(@Param("jobId") UUID jobId,
+                       @Param("progress") Integer progress,
+                       @Param("rowsProcessed") Long rowsProcessed,
+                       @Param("totalRows") Long totalRows,
+                       @Param("now") Instant now,
+                       @Param("unfinished") Collection<JobEntity.JobStatus> unfinished);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE JobEntity j SET j.updatedAt = :now "
+            + "WHERE j.jobId IN :jobIds AND j.status IN :unfinished")
+    int touch(@Param("jobIds") Collection<UUID> jobIds,
+              @Param("now") Instant now,
+              @Param("unfinished") Collection<JobEntity.JobStatus> unfinished);
+
+    /**
+     * Fail unfinished jobs last seen before the cutoff (jobs recorded before heartbeats by creation time)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE JobEntity j SET j.status = :failed, j.errorMessage = :errorMessage, j.completedAt = :now "
+            + "WHERE j.status IN :unfinished AND COALESCE(j.updatedAt, j.createdAt) < :cutoff")
+    int failStale(@Param("cutoff") Instant cutoff,
+                  @Param("errorMessage") String errorMessage,
+                  @Param("now") Instant now,
+                  @Param("unfinished") Collection<JobEntity.JobStatus> unfinished,
+                  @Param("failed") JobEntity.JobStatus failed);
+}
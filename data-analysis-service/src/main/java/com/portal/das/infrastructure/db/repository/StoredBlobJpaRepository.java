@@ -0,0 +1,93 @@
+package com.portal.das.infrastructure.db.repository;
+
+import com.portal.das.infrastructure.db.entities.StoredBlobEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Spring Data JPA Repository for StoredBlobEntity
+ * Reference counting uses single statements so concurrent uploads and
+ * deletions of the same content cannot lose updates
+ */
+@Repository
+public interface StoredBlobJpaRepository extends JpaRepository<StoredBlobEntity, String> {
+
+    /**
+     * Insert the blob with one reference, or add a reference if it already exists
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "INSERT INTO stored_blob (content_hash, source_hash, stored_filename, storage_path, "
+            + "byte_size, row_count, column_count, ref_count, created_at) "
+            + "VALUES (:contentHash, :sourceHash, :storedFilename, :storagePath, "
+            + ":byteSize, :rowCount, :columnCount, 1, CURRENT_TIMESTAMP) "
+            + "ON CONFLICT (content_hash) DO UPDATE SET ref_count = stored_blob.ref_count + 1, "
+            + "source_hash = COALESCE(stored_blob.source_hash, EXCLUDED.source_hash), "
+            + "updated_at = CURRENT_TIMESTAMP",
+            nativeQuery = true)
+    int upsertReference(@Param("contentHash") String contentHash,
+                        @Param("sourceHash") String sourceHash,
+                        @Param("storedFilename") String storedFilename,
+                        @Param("storagePath") String storagePath,
+                        @Param("byteSize") Long byteSize,
+                        @Param("rowCount") Long rowCount,
+                        @Param("columnCount") Integer columnCount);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE StoredBlobEntity b SET b.refCount = b.refCount + 1, b.updatedAt = CURRENT_TIMESTAMP "
+            + "WHERE b.contentHash = :contentHash AND b.refCount > 0")
+    int incrementIfReferenced(@Param("contentHash") String contentHash);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE StoredBlobEntity b SET b.refCount = b.refCount - 1, b.updatedAt = CURRENT_TIMESTAMP "
+            + "WHERE b.contentHash = :contentHash AND b.refCount > 0")
+    int decrement(@Param("contentHash") String contentHash);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM StoredBlobEntity b WHERE b.contentHash = :contentHash AND b.refCount <= 0")
+    int deleteIfUnreferenced(@Param("contentHash") String contentHash);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE StoredBlobEntity b SET b.profileJson = :profileJson, b.profileStateJson = :profileStateJson, "
+            + "b.updatedAt = CURRENT_TIMESTAMP WHERE b.contentHash = :contentHash")
+    int updateProfile(@Param("contentHash") String contentHash, @Param("profileJson") String profileJson,
+                      @Param("profileStateJson") String profileStateJson);
+
+    /**
+     * Set ref_count to the number of file records holding the blob (same hash and stored filename)
+     * Only blobs untouched since the cutoff are corrected: uploads in flight
+     * take their reference before their file record is inserted, and bump
+     * updated_at when they do, which the target row is re-checked against.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE stored_blob b SET ref_count = r.refs, updated_at = CURRENT_TIMESTAMP "
+            + "FROM (SELECT s.content_hash, (SELECT COUNT(*) FROM uploaded_file f "
+            + "WHERE f.content_hash = s.content_hash AND f.stored_filename = s.stored_filename) AS refs "
+            + "FROM stored_blob s WHERE COALESCE(s.updated_at, s.created_at) < :cutoff) r "
+            + "WHERE b.content_hash = r.content_hash AND b.ref_count <> r.refs "
+            + "AND COALESCE(b.updated_at, b.created_at) < :cutoff",
+            nativeQuery = true)
+    int reconcileRefCounts(@Param("cutoff") Instant cutoff);
+
+    /**
+     * Blobs without references, oldest first
+     */
+    @Query("SELECT b FROM StoredBlobEntity b WHERE b.refCount <= 0 ORDER BY b.createdAt")
+    List<StoredBlobEntity> findUnreferenced(Pageable pageable);
+
+    Optional<StoredBlobEntity> findFirstBySourceHash(String sourceHash);
+
+    /**
+     * Which of the given filenames hold a blob
+     */
+    @Query("SELECT b.storedFilename FROM StoredBlobEntity b WHERE b.storedFilename IN :names")
+    List<String> findStoredFilenamesIn(@Param("names") Collection<String> names);
+}
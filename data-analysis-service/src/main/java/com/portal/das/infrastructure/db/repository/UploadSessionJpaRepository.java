@@ -0,0 +1,85 @@
+package com.portal.das.infrastructure.db.repository;
+
+import com.portal.das.infrastructure.db.entities.UploadSessionEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Spring Data JPA Repository for UploadSessionEntity
+ * Updates bump row_version so saves of a session loaded before them fail
+ */
+@Repository
+public interface UploadSessionJpaRepository extends JpaRepository<UploadSessionEntity, UUID> {
+
+    /**
+     * Which of the given filenames are the staging file of an upload session
+     */
+    @Query("SELECT DISTINCT s.stagedFilename FROM UploadSessionEntity s WHERE s.stagedFilename IN :names")
+    List<String> findStagedFilenamesIn(@Param("names") Collection<String> names);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE UploadSessionEntity s SET s.chunkStartedAt = :now, s.rowVersion = s.rowVersion + 1 "
+            + "WHERE s.uploadId = :uploadId AND s.status = :open AND s.receivedBytes = :offset "
+            + "AND (s.chunkStartedAt IS NULL OR s.chunkStartedAt < :staleBefore)")
+    int claimChunk(@Param("uploadId") UUID uploadId,
+                   @Param("offset") long offset,
+                   @Param("now") Instant now,
+                   @Param("staleBefore") Instant staleBefore,
+                   @Param("open") UploadSessionEntity.SessionStatus open);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE UploadSessionEntity s SET s.chunkStartedAt = NULL, s.rowVersion = s.rowVersion + 1 "
+            + "WHERE s.uploadId = :uploadId AND s.receivedBytes = :offset")
+    int releaseChunk(@Param("uploadId") UUID uploadId, @Param("offset") long offset);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE UploadSessionEntity s SET s.receivedBytes = :newOffset, s.chunkStartedAt = NULL, "
+            + "s.updatedAt = :now, s.rowVersion = s.rowVersion + 1 "
+            + "WHERE s.uploadId = :uploadId AND s.status = :open AND s.receivedBytes = :expectedOffset")
+    int advance(@Param("uploadId") UUID uploadId,
+                @Param("expectedOffset") long expectedOffset,
+                @Param("newOffset") long newOffset,
+                @Param("now") Instant now,
+                @Param("open") UploadSessionEntity.SessionStatus open);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE UploadSessionEntity s SET s.status = :completing, s.updatedAt = :now, "
+            + "s.rowVersion = s.rowVersion + 1 "
+            + "WHERE s.uploadId = :uploadId AND s.status = :open AND s.receivedBytes = s.totalSize "
+            + "AND (s.chunkStartedAt IS NULL OR s.chunkStartedAt < :staleBefore)")
+    int claimCompletion(@Param("uploadId") UUID uploadId,
+                        @Param("now") Instant now,
+                        @Param("staleBefore") Instant staleBefore,
+                        @Param("open") UploadSessionEntity.SessionStatus open,
+                        @Param("completing") UploadSessionEntity.SessionStatus completing);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE UploadSessionEntity s SET s.status = :open, s.updatedAt = :now, "
+            + "s.rowVersion = s.rowVersion + 1 "
+            + "WHERE s.uploadId = :uploadId AND s.status = :completing")
+    int releaseCompletion(@Param("uploadId") UUID uploadId,
+                          @Param("now") Instant now,
+                          @Param("open") UploadSessionEntity.SessionStatus open,
+                          @Param("completing") UploadSessionEntity.SessionStatus completing);
+
+    /**
+     * Expire sessions in the given states idle since the cutoff, unless a chunk was claimed since then
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE UploadSessionEntity s SET s.status = :expired, s.stagedFilename = NULL, "
+            + "s.updatedAt = :now, s.rowVersion = s.rowVersion + 1 "
+            + "WHERE s.status IN :expirable AND COALESCE(s.updatedAt, s.createdAt) < :cutoff "
+            + "AND (s.chunkStartedAt IS NULL OR s.chunkStartedAt < :cutoff)")
+    int expireIdle(@Param("cutoff") Instant cutoff,
+                   @Param("now") Instant now,
+                   @Param("expirable") Collection<UploadSessionEntity.SessionStatus> expirable,
+                   @Param("expired") UploadSessionEntity.SessionStatus expired);
+}
@@ -1,10 +1,16 @@
 package com.portal.das.infrastructure.db.repository;
 
 import com.portal.das.infrastructure.db.entities.UploadedFileEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -15,10 +21,20 @@ import java.util.UUID;
 public interface UploadedFileJpaRepository 
         extends JpaRepository<UploadedFileEntity, UUID>, 
                 JpaSpecificationExecutor<UploadedFileEntity> {
-    
-    // Custom query methods can be added here if needed
-    // For example:
-    // List<UploadedFileEntity> findByUploadedByAndIsDeletedFalse(UUID uploadedBy);
-}
 
+    /**
+     * Soft-deleted files whose deletion (last update) is older than the cutoff, oldest first
+     * Files a dataset is built on are excluded: deleting them would cascade to the dataset
+     */
+    @Query("SELECT f.fileId FROM UploadedFileEntity f WHERE f.isDeleted = true "
+            + "AND COALESCE(f.updatedAt, f.uploadedAt) < :cutoff "
+            + "AND NOT EXISTS (SELECT 1 FROM DatasetEntity d WHERE d.fileId = f.fileId) "
+            + "ORDER BY COALESCE(f.updatedAt, f.uploadedAt)")
+    List<UUID> findDeletedBefore(@Param("cutoff") Instant cutoff, Pageable pageable);
 
+    /**
+     * Which of the given stored filenames belong to a file record (deleted or not)
+     */
+    @Query("SELECT DISTINCT f.storedFilename FROM UploadedFileEntity f WHERE f.storedFilename IN :names")
+    List<String> findStoredFilenamesIn(@Param("names") Collection<String> names);
+}
@@ -0,0 +1,120 @@
+package com.portal.das.infrastructure.storage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Codecs for the blocks of block-compressed files
+ * The id is stored in the file header, so a file is always read with the
+ * codec it was written with; new codecs get a new id
+ */
+enum BlockCodec {
+
+    /**
+     * Raw deflate (no zlib header) at the fastest level
+     */
+    DEFLATE(1) {
+        @Override
+        byte[] compress(byte[] data, int length) {
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+            try {
+                deflater.setInput(data, 0, length);
+                deflater.finish();
+                ByteArrayOutputStream out = new ByteArrayOutputStream(length / 2 + 64);
+                byte[] buffer = new byte[Math.max(64, Math.min(length, 64 * 1024))];
+                while (!deflater.finished()) {
+                    int written = deflater.deflate(buffer);
+                    out.write(buffer, 0, written);
+                }
+                return out.toByteArray();
+            } finally {
+                deflater.end();
+            }
+        }
+
+        @Override
+        void decompress(byte[] source, int sourceLength, byte[] target, int targetLength) throws IOException {
+            Inflater inflater = new Inflater(true);
+            try {
+                inflater.setInput(source, 0, sourceLength);
+                int filled = 0;
+                while (filled < targetLength) {
+                    int read = inflater.inflate(target, filled, targetLength - filled);
+                    if (read == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+                        break;
+                    }
+                    filled += read;
+                }
+                if (filled != targetLength) {
+                    throw new IOException("Truncated block: " + filled + " of " + targetLength + " bytes");
+                }
+            } catch (DataFormatException e) {
+                throw new IOException("Corrupt block", e);
+            } finally {
+                inflater.end();
+            }
+        }
+    };
+
+    private final int id;
+
+    BlockCodec(int id) {
+        this.id = id;
+    }
+
+    int getId() {
+        return id;
+    }
+
+    /**
+     * Compress one block
+     *
+     * @param data Block content
+     * @param length Bytes of data to compress
+     * @return Compressed bytes
+     */
+    abstract byte[] compress(byte[] data, int length);
+
+    /**
+     * Decompress one block
+     *
+     * @param source Compressed bytes
+     * @param sourceLength Number of compressed bytes
+     * @param target Buffer for the content
+     * @param targetLength Exact uncompressed length of the block
+     * @throws IOException If the block is corrupt
+     */
+    abstract void decompress(byte[] source, int sourceLength, byte[] target, int targetLength) throws IOException;
+
+    static BlockCodec ofId(int id) throws IOException {
+        for (BlockCodec codec : values()) {
+            if (codec.id == id) {
+                return codec;
+            }
+        }
+        throw new IOException("Unknown block codec: " + id);
+    }
+
+    /**
+     * Codec for a configured storage mode
+     *
+     * @param mode Mode name (none, deflate)
+     * @return Codec, or null to store files as is
+     */
+    static BlockCodec ofMode(String mode) {
+        String normalized = mode == null ? "none" : mode.trim().toLowerCase(Locale.ROOT);
+        if (normalized.isEmpty() || "none".equals(normalized)) {
+            return null;
+        }
+        for (BlockCodec codec : values()) {
+            if (codec.name().toLowerCase(Locale.ROOT).equals(normalized)) {
+                return codec;
+            }
+        }
+        throw new IllegalArgumentException("Unknown storage compression: " + mode);
+    }
+}
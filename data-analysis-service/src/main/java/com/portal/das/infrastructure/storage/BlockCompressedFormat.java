@@ -0,0 +1,158 @@
+package com.portal.das.infrastructure.storage;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+
+/**
+ * Layout of a block-compressed stored file
+ *
+ * <pre>
+ * header   magic "DASB", version, codec id, block size   (16 bytes)
+ * blocks   each block of content compressed on its own
+ * index    content length (8), block count (4), block offsets (8 each, plus end offset)
+ * trailer  index offset (8), index length (4), magic (4)
+ * </pre>
+ *
+ * Every block but the last holds exactly block size bytes of content, so the
+ * block of any content offset is found by division and decompressed alone.
+ * All numbers are big endian.
+ */
+final class BlockCompressedFormat {
+
+    static final int MAGIC = 0x44415342; // "DASB"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    static final int TRAILER_BYTES = 16;
+
+    private BlockCompressedFormat() {
+    }
+
+    /**
+     * Block index of an opened file
+     */
+    static final class Index {
+        final BlockCodec codec;
+        final int blockSize;
+        final long contentLength;
+        final long[] offsets; // blockCount + 1 entries, the last one is the end of the blocks
+
+        Index(BlockCodec codec, int blockSize, long contentLength, long[] offsets) {
+            this.codec = codec;
+            this.blockSize = blockSize;
+            this.contentLength = contentLength;
+            this.offsets = offsets;
+        }
+
+        int blockCount() {
+            return offsets.length - 1;
+        }
+
+        /**
+         * Uncompressed bytes in a block
+         */
+        int blockLength(int block) {
+            return (int) Math.min(blockSize, contentLength - (long) block * blockSize);
+        }
+    }
+
+    static ByteBuffer encodeHeader(BlockCodec codec, int blockSize) {
+        return ByteBuffer.allocate(HEADER_BYTES)
+                .putInt(MAGIC)
+                .putInt(VERSION)
+                .putInt(codec.getId())
+                .putInt(blockSize)
+                .flip();
+    }
+
+    static ByteBuffer encodeIndex(long contentLength, long[] offsets, int count, long indexOffset) {
+        int indexLength = 12 + count * 8;
+        ByteBuffer buffer = ByteBuffer.allocate(indexLength + TRAILER_BYTES)
+                .putLong(contentLength)
+                .putInt(count - 1);
+        for (int i = 0; i < count; i++) {
+            buffer.putLong(offsets[i]);
+        }
+        return buffer.putLong(indexOffset)
+                .putInt(indexLength)
+                .putInt(MAGIC)
+                .flip();
+    }
+
+    /**
+     * Check whether a file is block-compressed, without moving the channel position
+     *
+     * @param channel Open file (local or remote)
+     * @return true if the file starts with the block-compressed header
+     */
+    static boolean isBlockCompressed(SeekableByteChannel channel) throws IOException {
+        if (channel.size() < HEADER_BYTES + TRAILER_BYTES) {
+            return false;
+        }
+        long position = channel.position();
+        try {
+            ByteBuffer header = readFully(channel, 0, 8);
+            return header.getInt(0) == MAGIC && header.getInt(4) == VERSION;
+        } finally {
+            channel.position(position);
+        }
+    }
+
+    /**
+     * Read the header and block index of a block-compressed file
+     *
+     * @param channel Open file
+     * @return Block index
+     * @throws IOException If the file is not a valid block-compressed file
+     */
+    static Index readIndex(SeekableByteChannel channel) throws IOException {
+        long size = channel.size();
+        ByteBuffer header = readFully(channel, 0, HEADER_BYTES);
+        ByteBuffer trailer = readFully(channel, size - TRAILER_BYTES, TRAILER_BYTES);
+        if (header.getInt() != MAGIC || header.getInt() != VERSION || trailer.getInt(12) != MAGIC) {
+            throw new IOException("Not a block-compressed file");
+        }
+        BlockCodec codec = BlockCodec.ofId(header.getInt());
+        int blockSize = header.getInt();
+
+        long indexOffset = trailer.getLong();
+        int indexLength = trailer.getInt();
+        if (blockSize <= 0 || indexLength < 12 || indexOffset < HEADER_BYTES
+                || indexOffset + indexLength != size - TRAILER_BYTES) {
+            throw new IOException("Corrupt block-compressed file");
+        }
+
+        ByteBuffer index = readFully(channel, indexOffset, indexLength);
+        long contentLength = index.getLong();
+        int blockCount = index.getInt();
+        if (blockCount < 0 || indexLength != 12 + (blockCount + 1) * 8
+                || (long) blockCount * blockSize < contentLength
+                || (long) (blockCount - 1) * blockSize >= Math.max(contentLength, 1)) {
+            throw new IOException("Corrupt block-compressed file");
+        }
+        long[] offsets = new long[blockCount + 1];
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = index.getLong();
+        }
+        return new Index(codec, blockSize, contentLength, offsets);
+    }
+
+    static ByteBuffer readFully(SeekableByteChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        readFully(channel, position, buffer);
+        return buffer.flip();
+    }
+
+    /**
+     * Fill a buffer from a position, moving the channel position
+     */
+    static void readFully(SeekableByteChannel channel, long position, ByteBuffer buffer) throws IOException {
+        channel.position(position);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Unexpected end of block-compressed file");
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.portal.das.infrastructure.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+
+/**
+ * Stream over the content of a block-compressed file
+ * Starts at any content offset and decompresses only the blocks it reaches;
+ * skip() past the current block costs nothing. Closing the stream closes the channel.
+ */
+final class BlockCompressedInputStream extends InputStream {
+
+    private final SeekableByteChannel channel;
+    private final BlockCompressedFormat.Index index;
+    private final byte[] block;
+    private byte[] compressed = new byte[0];
+    private int loadedBlock = -1;
+    private long position;
+
+    /**
+     * @param channel Open block-compressed file, local or remote (owned by the stream)
+     * @param offset Content offset to start at
+     */
+    BlockCompressedInputStream(SeekableByteChannel channel, long offset) throws IOException {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Negative offset: " + offset);
+        }
+        this.channel = channel;
+        this.index = BlockCompressedFormat.readIndex(channel);
+        this.block = new byte[index.blockSize];
+        this.position = Math.min(offset, index.contentLength);
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!ensureLoaded()) {
+            return -1;
+        }
+        int value = block[(int) (position - (long) loadedBlock * index.blockSize)] & 0xFF;
+        position++;
+        return value;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (!ensureLoaded()) {
+            return -1;
+        }
+        int inBlock = (int) (position - (long) loadedBlock * index.blockSize);
+        int count = Math.min(length, index.blockLength(loadedBlock) - inBlock);
+        System.arraycopy(block, inBlock, buffer, offset, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public long skip(long n) {
+        long skipped = Math.max(0, Math.min(n, index.contentLength - position));
+        position += skipped;
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        if (loadedBlock < 0 || position >= index.contentLength
+                || position / index.blockSize != loadedBlock) {
+            return 0;
+        }
+        return (int) ((long) loadedBlock * index.blockSize + index.blockLength(loadedBlock) - position);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Make sure the block holding the current position is decompressed
+     *
+     * @return false at the end of the content
+     */
+    private boolean ensureLoaded() throws IOException {
+        if (position >= index.contentLength) {
+            return false;
+        }
+        int blockNumber = (int) (position / index.blockSize);
+        if (blockNumber != loadedBlock) {
+            long start = index.offsets[blockNumber];
+            int compressedLength = (int) (index.offsets[blockNumber + 1] - start);
+            if (compressed.length < compressedLength) {
+                compressed = new byte[compressedLength];
+            }
+            BlockCompressedFormat.readFully(channel, start, ByteBuffer.wrap(compressed, 0, compressedLength));
+            loadedBlock = -1; // Stays unset if decompression fails
+            index.codec.decompress(compressed, compressedLength, block, index.blockLength(blockNumber));
+            loadedBlock = blockNumber;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,116 @@
+package com.portal.das.infrastructure.storage;
+
+import com.portal.das.domain.ports.out.file.FileStoragePort;
+import com.portal.das.domain.ports.out.file.StoredContentPort;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+
+/**
+ * Adapter for stored content in either storage mode
+ * With das.storage.compression set, stored files are rewritten in place as
+ * independently compressed blocks (see BlockCompressedFormat); readers detect
+ * the format per file, so plain and compressed files can coexist. Files are
+ * read from whichever tier holds them (see ObjectStoreMirror).
+ */
+@Slf4j
+@Component
+public class BlockCompressedStorageAdapter implements StoredContentPort {
+
+    /**
+     * Largest supported block (one block is held in memory per open stream)
+     */
+    private static final long MAX_BLOCK_SIZE = 16L * 1024 * 1024;
+
+    private final FileStoragePort fileStoragePort;
+    private final ObjectStoreMirror objectStoreMirror;
+    private final BlockCodec codec;
+    private final int blockSize;
+
+    public BlockCompressedStorageAdapter(FileStoragePort fileStoragePort,
+                                         ObjectStoreMirror objectStoreMirror,
+                                         @Value("${das.storage.compression:none}") String compression,
+                                         @Value("${das.storage.block-size:256KB}") DataSize blockSize) {
+        if (blockSize.toBytes() < 1024 || blockSize.toBytes() > MAX_BLOCK_SIZE) {
+            throw new IllegalArgumentException("das.storage.block-size must be between 1KB and 16MB");
+        }
+        this.fileStoragePort = fileStoragePort;
+        this.objectStoreMirror = objectStoreMirror;
+        this.codec = BlockCodec.ofMode(compression);
+        this.blockSize = (int) blockSize.toBytes();
+    }
+
+    @Override
+    public InputStream retrieve(String storedFilename) throws IOException {
+        return retrieve(storedFilename, 0);
+    }
+
+    @Override
+    public InputStream retrieve(String storedFilename, long offset) throws IOException {
+        // Detect on the opened channel: a concurrent compress() replaces the path, not this file
+        SeekableByteChannel channel = objectStoreMirror.open(storedFilename);
+        try {
+            if (BlockCompressedFormat.isBlockCompressed(channel)) {
+                return new BlockCompressedInputStream(channel, offset);
+            }
+            channel.position(offset);
+            return Channels.newInputStream(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean compress(String storedFilename) throws IOException {
+        if (codec == null) {
+            return false;
+        }
+        Path source = fileStoragePort.getPath(storedFilename);
+        if (!Files.isRegularFile(source)) {
+            return false; // Already published: compressed (or not) by the instance that stored it
+        }
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            if (BlockCompressedFormat.isBlockCompressed(channel)) {
+                return false;
+            }
+        }
+
+        long plainSize = Files.size(source);
+        Path tempFile = source.resolveSibling(source.getFileName() + "." + UUID.randomUUID() + ".tmp");
+        try {
+            long compressedSize;
+            try (InputStream content = new BufferedInputStream(Files.newInputStream(source), blockSize)) {
+                compressedSize = BlockCompressedWriter.write(content, tempFile, codec, blockSize);
+            }
+            Files.move(tempFile, source, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Compressed {}: {} -> {} bytes", storedFilename, plainSize, compressedSize);
+            return true;
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    @Override
+    public void publish(String storedFilename) throws IOException {
+        objectStoreMirror.publish(storedFilename);
+    }
+
+    @Override
+    public boolean delete(String storedFilename) throws IOException {
+        return objectStoreMirror.delete(storedFilename);
+    }
+}
@@ -0,0 +1,69 @@
+package com.portal.das.infrastructure.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Writes content as a block-compressed file (see BlockCompressedFormat)
+ * Holds one block of content in memory at a time
+ */
+final class BlockCompressedWriter {
+
+    private BlockCompressedWriter() {
+    }
+
+    /**
+     * Compress content into a new file
+     *
+     * @param content Content to compress (read to the end, not closed)
+     * @param target File to create (replaced if present)
+     * @param codec Block codec
+     * @param blockSize Uncompressed bytes per block
+     * @return Size of the written file
+     */
+    static long write(InputStream content, Path target, BlockCodec codec, int blockSize) throws IOException {
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            writeFully(channel, BlockCompressedFormat.encodeHeader(codec, blockSize));
+
+            byte[] block = new byte[blockSize];
+            long[] offsets = new long[16];
+            int count = 0;
+            long position = BlockCompressedFormat.HEADER_BYTES;
+            long contentLength = 0;
+            int read;
+            while ((read = content.readNBytes(block, 0, blockSize)) > 0) {
+                if (count == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, count * 2);
+                }
+                offsets[count++] = position;
+                byte[] compressed = codec.compress(block, read);
+                writeFully(channel, ByteBuffer.wrap(compressed));
+                position += compressed.length;
+                contentLength += read;
+                if (read < blockSize) {
+                    break;
+                }
+            }
+            if (count == offsets.length) {
+                offsets = Arrays.copyOf(offsets, count + 1);
+            }
+            offsets[count++] = position; // End of the last block
+
+            writeFully(channel, BlockCompressedFormat.encodeIndex(contentLength, offsets, count, position));
+            channel.force(false);
+            return channel.size();
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
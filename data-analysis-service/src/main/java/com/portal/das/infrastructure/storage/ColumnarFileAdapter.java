@@ -0,0 +1,152 @@
+package com.portal.das.infrastructure.storage;
+
+import com.portal.das.domain.model.columnar.ColumnType;
+import com.portal.das.domain.model.columnar.ColumnarTable;
+import com.portal.das.domain.model.columnar.ColumnarTableWriter;
+import com.portal.das.domain.ports.out.file.ColumnStorePort;
+import com.portal.das.domain.ports.out.file.FileStoragePort;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * File system adapter for columnar copies
+ * Stores {storedFilename}.cols next to the CSV in the storage root and
+ * publishes it on commit (see ObjectStoreMirror); readers get a local copy,
+ * since the file is memory mapped.
+ * Open readers may hold memory mappings of the file, so a delete requested
+ * while readers are open is carried out when the last of them closes.
+ */
+@Slf4j
+@Component
+public class ColumnarFileAdapter implements ColumnStorePort {
+
+    static final String EXTENSION = ".cols";
+
+    private final FileStoragePort fileStoragePort;
+    private final ObjectStoreMirror objectStoreMirror;
+    private final int blockRows;
+
+    // Guarded by this
+    private final Map<String, Integer> openReaders = new HashMap<>();
+    private final Set<String> pendingDeletes = new HashSet<>();
+
+    public ColumnarFileAdapter(FileStoragePort fileStoragePort,
+                               ObjectStoreMirror objectStoreMirror,
+                               @Value("${das.columnar.block-rows:8192}") int blockRows) {
+        this.fileStoragePort = fileStoragePort;
+        this.objectStoreMirror = objectStoreMirror;
+        // Null bitmaps of consecutive blocks must start on a byte boundary
+        this.blockRows = Math.max(8, (blockRows + 7) & ~7);
+    }
+
+    @Override
+    public boolean exists(String storedFilename) {
+        synchronized (this) {
+            if (pendingDeletes.contains(storedFilename)) {
+                return false;
+            }
+        }
+        try {
+            return objectStoreMirror.exists(nameOf(storedFilename));
+        } catch (IOException e) {
+            log.warn("Failed to look up columnar file for {}", storedFilename, e);
+            return false;
+        }
+    }
+
+    @Override
+    public ColumnarTableWriter create(String storedFilename, List<String> names, List<ColumnType> types) throws IOException {
+        if (names.size() != types.size()) {
+            throw new IllegalArgumentException("Column names and types differ in length");
+        }
+        synchronized (this) {
+            // The new file replaces the one waiting for deletion
+            pendingDeletes.remove(storedFilename);
+        }
+        return new ColumnarFileWriter(pathOf(storedFilename), names, types, blockRows,
+                () -> publish(storedFilename));
+    }
+
+    @Override
+    public Optional<ColumnarTable> open(String storedFilename) throws IOException {
+        synchronized (this) {
+            if (pendingDeletes.contains(storedFilename)) {
+                return Optional.empty();
+            }
+            openReaders.merge(storedFilename, 1, Integer::sum);
+        }
+        try {
+            Optional<Path> path = objectStoreMirror.localCopy(nameOf(storedFilename));
+            if (path.isEmpty()) {
+                release(storedFilename);
+                return Optional.empty();
+            }
+            return Optional.of(new ColumnarFileReader(path.get(), () -> release(storedFilename)));
+        } catch (IOException | RuntimeException e) {
+            release(storedFilename);
+            throw e;
+        }
+    }
+
+    @Override
+    public void delete(String storedFilename) {
+        synchronized (this) {
+            if (openReaders.containsKey(storedFilename)) {
+                log.debug("Columnar file for {} in use, deleting when readers close", storedFilename);
+                pendingDeletes.add(storedFilename);
+                return;
+            }
+        }
+        deleteFile(storedFilename);
+    }
+
+    private void release(String storedFilename) {
+        boolean deleteNow = false;
+        synchronized (this) {
+            if (openReaders.merge(storedFilename, -1, Integer::sum) <= 0) {
+                openReaders.remove(storedFilename);
+                deleteNow = pendingDeletes.remove(storedFilename);
+            }
+        }
+        if (deleteNow) {
+            deleteFile(storedFilename);
+        }
+    }
+
+    private void deleteFile(String storedFilename) {
+        try {
+            objectStoreMirror.delete(nameOf(storedFilename));
+        } catch (IOException e) {
+            log.warn("Failed to delete columnar file for {}", storedFilename, e);
+        }
+    }
+
+    /**
+     * Share a committed file; without it only this instance sees the copy
+     */
+    private void publish(String storedFilename) {
+        try {
+            objectStoreMirror.publish(nameOf(storedFilename));
+        } catch (IOException e) {
+            log.warn("Failed to publish columnar file for {}", storedFilename, e);
+        }
+    }
+
+    private Path pathOf(String storedFilename) {
+        return fileStoragePort.getPath(nameOf(storedFilename));
+    }
+
+    private static String nameOf(String storedFilename) {
+        return storedFilename + EXTENSION;
+    }
+}
@@ -0,0 +1,122 @@
+package com.portal.das.infrastructure.storage;
+
+import com.portal.das.domain.model.columnar.BlockMeta;
+import com.portal.das.domain.model.columnar.ColumnMeta;
+import com.portal.das.domain.model.columnar.ColumnType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Layout of the columnar file (.cols) kept next to a stored CSV
+ *
+ * <pre>
+ * header   magic "DASC", version                       (8 bytes)
+ * column 0 values   rowCount x 8 bytes, little endian   (numeric columns)
+ *          blocks   per block: codes (4 bytes/row, LE), dictionary (string columns)
+ *          nulls    one bit per row, LSB first, set = null
+ * column 1 ...
+ * footer   column and block metadata (big endian)
+ * trailer  footer offset (8), footer length (4), magic (4)
+ * </pre>
+ *
+ * Every region starts on an 8-byte boundary so numeric regions can be viewed
+ * as LongBuffer/DoubleBuffer directly. Block rows are a multiple of 8, so the
+ * null bits of a block start on a byte boundary.
+ */
+final class ColumnarFileFormat {
+
+    static final int MAGIC = 0x44415343; // "DASC"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 8;
+    static final int TRAILER_BYTES = 16;
+
+    private ColumnarFileFormat() {
+    }
+
+    static long align8(long position) {
+        return (position + 7) & ~7L;
+    }
+
+    /**
+     * Bytes of null bitmap covering a number of rows
+     */
+    static int nullBytes(int rows) {
+        return (rows + 7) >>> 3;
+    }
+
+    static byte[] encodeFooter(long rowCount, int blockRows, List<ColumnMeta> columns) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeLong(rowCount);
+        out.writeInt(blockRows);
+        out.writeInt(columns.size());
+        for (ColumnMeta column : columns) {
+            byte[] name = column.getName().getBytes(StandardCharsets.UTF_8);
+            out.writeInt(name.length);
+            out.write(name);
+            out.writeByte(column.getType().ordinal());
+            out.writeLong(column.getValuesOffset());
+            out.writeLong(column.getNullsOffset());
+            out.writeInt(column.getBlocks().size());
+            for (BlockMeta block : column.getBlocks()) {
+                out.writeInt(block.getRowCount());
+                out.writeInt(block.getNullCount());
+                out.writeDouble(block.getMin());
+                out.writeDouble(block.getMax());
+                out.writeLong(block.getDataOffset());
+                out.writeInt(block.getDataLength());
+            }
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    static Footer decodeFooter(InputStream footer) throws IOException {
+        DataInputStream in = new DataInputStream(footer);
+        long rowCount = in.readLong();
+        int blockRows = in.readInt();
+        int columnCount = in.readInt();
+
+        List<ColumnMeta> columns = new ArrayList<>(columnCount);
+        for (int c = 0; c < columnCount; c++) {
+            byte[] name = new byte[in.readInt()];
+            in.readFully(name);
+            ColumnType type = ColumnType.values()[in.readByte()];
+            long valuesOffset = in.readLong();
+            long nullsOffset = in.readLong();
+            int blockCount = in.readInt();
+
+            List<BlockMeta> blocks = new ArrayList<>(blockCount);
+            for (int b = 0; b < blockCount; b++) {
+                blocks.add(BlockMeta.builder()
+                        .firstRow((long) b * blockRows)
+                        .rowCount(in.readInt())
+                        .nullCount(in.readInt())
+                        .min(in.readDouble())
+                        .max(in.readDouble())
+                        .dataOffset(in.readLong())
+                        .dataLength(in.readInt())
+                        .build());
+            }
+            columns.add(ColumnMeta.builder()
+                    .name(new String(name, StandardCharsets.UTF_8))
+                    .index(c)
+                    .type(type)
+                    .valuesOffset(valuesOffset)
+                    .nullsOffset(nullsOffset)
+                    .blocks(blocks)
+                    .build());
+        }
+        return new Footer(rowCount, blockRows, columns);
+    }
+
+    record Footer(long rowCount, int blockRows, List<ColumnMeta> columns) {
+    }
+}
@@ -0,0 +1,164 @@
+package com.portal.das.infrastructure.storage;
+
+import com.portal.das.domain.model.columnar.BlockMeta;
+import com.portal.das.domain.model.columnar.ColumnBlock;
+import com.portal.das.domain.model.columnar.ColumnMeta;
+import com.portal.das.domain.model.columnar.ColumnType;
+import com.portal.das.domain.model.columnar.ColumnarTable;
+import com.portal.das.domain.model.columnar.NumericColumn;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Reads a columnar file with positional reads
+ * Only the footer is read on open; each block read touches exactly the
+ * bytes of that block (values or codes/dictionary, plus its null bits).
+ * Numeric columns can also be mapped whole; mappings are released when the
+ * reader is closed.
+ */
+class ColumnarFileReader implements ColumnarTable {
+
+    private final FileChannel channel;
+    private final ColumnarFileFormat.Footer footer;
+    private final Runnable onClose;
+    private final List<MappedByteBuffer> mappings = new ArrayList<>();
+    private boolean closed;
+
+    /**
+     * @param path Columnar file
+     * @param onClose Called once after the reader is closed and its mappings released
+     */
+    ColumnarFileReader(Path path, Runnable onClose) throws IOException {
+        this.onClose = onClose;
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            this.footer = readFooter();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public long getRowCount() {
+        return footer.rowCount();
+    }
+
+    @Override
+    public int getBlockRows() {
+        return footer.blockRows();
+    }
+
+    @Override
+    public List<ColumnMeta> getColumns() {
+        return footer.columns();
+    }
+
+    @Override
+    public ColumnBlock readBlock(int column, int block) throws IOException {
+        ColumnMeta meta = footer.columns().get(column);
+        BlockMeta blockMeta = meta.getBlocks().get(block);
+        int rows = blockMeta.getRowCount();
+
+        ByteBuffer nulls = read(meta.getNullsOffset() + (blockMeta.getFirstRow() >>> 3),
+                ColumnarFileFormat.nullBytes(rows));
+
+        if (meta.getType() != ColumnType.STRING) {
+            ByteBuffer values = read(meta.getValuesOffset() + blockMeta.getFirstRow() * 8, rows * 8);
+            return ColumnBlock.numeric(meta.getType(), rows, nulls, values);
+        }
+
+        ByteBuffer data = read(blockMeta.getDataOffset(), blockMeta.getDataLength());
+        IntBuffer codes = data.slice(0, rows * 4).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+        data.position((int) ColumnarFileFormat.align8((long) rows * 4));
+        String[] dictionary = new String[data.getInt()];
+        for (int i = 0; i < dictionary.length; i++) {
+            int length = data.getInt();
+            dictionary[i] = new String(data.array(), data.arrayOffset() + data.position(), length, StandardCharsets.UTF_8);
+            data.position(data.position() + length);
+        }
+        return ColumnBlock.strings(rows, nulls, codes, dictionary);
+    }
+
+    @Override
+    public synchronized Optional<NumericColumn> mapNumeric(int column) throws IOException {
+        ColumnMeta meta = footer.columns().get(column);
+        long valueBytes = footer.rowCount() * 8;
+        if (!meta.getType().isNumeric() || valueBytes > Integer.MAX_VALUE) {
+            return Optional.empty();
+        }
+        if (closed) {
+            throw new IOException("Columnar file is closed");
+        }
+
+        int rows = (int) footer.rowCount();
+        MappedByteBuffer values = channel.map(FileChannel.MapMode.READ_ONLY, meta.getValuesOffset(), valueBytes);
+        mappings.add(values);
+        MappedByteBuffer nulls = channel.map(FileChannel.MapMode.READ_ONLY, meta.getNullsOffset(),
+                ColumnarFileFormat.nullBytes(rows));
+        mappings.add(nulls);
+        return Optional.of(new NumericColumn(meta.getType(), rows, meta.getNullCount(), values, nulls));
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            channel.close();
+        } finally {
+            mappings.forEach(MappedBuffers::unmap);
+            mappings.clear();
+            onClose.run();
+        }
+    }
+
+    private ColumnarFileFormat.Footer readFooter() throws IOException {
+        long size = channel.size();
+        if (size < ColumnarFileFormat.HEADER_BYTES + ColumnarFileFormat.TRAILER_BYTES) {
+            throw new IOException("Columnar file too short");
+        }
+        ByteBuffer trailer = read(size - ColumnarFileFormat.TRAILER_BYTES, ColumnarFileFormat.TRAILER_BYTES)
+                .order(ByteOrder.BIG_ENDIAN);
+        long footerOffset = trailer.getLong();
+        int footerLength = trailer.getInt();
+        if (trailer.getInt() != ColumnarFileFormat.MAGIC) {
+            throw new IOException("Not a columnar file");
+        }
+        ByteBuffer header = read(0, ColumnarFileFormat.HEADER_BYTES).order(ByteOrder.BIG_ENDIAN);
+        if (header.getInt() != ColumnarFileFormat.MAGIC || header.getInt() != ColumnarFileFormat.VERSION) {
+            throw new IOException("Unsupported columnar file version");
+        }
+        ByteBuffer footerBytes = read(footerOffset, footerLength);
+        return ColumnarFileFormat.decodeFooter(new ByteArrayInputStream(footerBytes.array(), 0, footerLength));
+    }
+
+    /**
+     * Read a byte range into a little-endian heap buffer
+     */
+    private ByteBuffer read(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new EOFException("Unexpected end of columnar file");
+            }
+        }
+        return buffer.flip();
+    }
+}
@@ -0,0 +1,466 @@
+package com.portal.das.infrastructure.storage;
+
+import com.portal.das.domain.model.columnar.BlockMeta;
+import com.portal.das.domain.model.columnar.ColumnMeta;
+import com.portal.das.domain.model.columnar.ColumnType;
+import com.portal.das.domain.model.columnar.ColumnTypeMismatchException;
+import com.portal.das.domain.model.columnar.ColumnarTableWriter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Writes a columnar file one row at a time
+ * Each column buffers a single block in memory and spills finished blocks to
+ * its own temporary file; commit concatenates the spills column by column,
+ * appends the footer and moves the result into place atomically.
+ * Memory therefore depends on column count and block size, not on row count.
+ */
+@Slf4j
+class ColumnarFileWriter implements ColumnarTableWriter {
+
+    private final Path target;
+    private final Path tempFile;
+    private final Runnable onCommit;
+    private final int blockRows;
+    private final ColumnWriter[] columns;
+    private final boolean[] setInRow;
+
+    private long rowCount;
+    private int rowInBlock;
+    private boolean committed;
+
+    /**
+     * @param onCommit Called once the committed file is in place
+     */
+    ColumnarFileWriter(Path target, List<String> names, List<ColumnType> types, int blockRows,
+                       Runnable onCommit) throws IOException {
+        this.target = target;
+        this.onCommit = onCommit;
+        // Unique name: concurrent registrations of the same content may build in parallel
+        this.tempFile = target.resolveSibling(target.getFileName() + "." + UUID.randomUUID() + ".tmp");
+        this.blockRows = blockRows;
+        this.columns = new ColumnWriter[names.size()];
+        this.setInRow = new boolean[names.size()];
+        try {
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = types.get(i) == ColumnType.STRING
+                        ? new StringColumnWriter(i, names.get(i))
+                        : new NumericColumnWriter(i, names.get(i), types.get(i));
+            }
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void value(int column, String value) {
+        if (column < 0 || column >= columns.length) {
+            return; // Extra fields beyond the header are ignored
+        }
+        columns[column].set(rowInBlock, value);
+        setInRow[column] = true;
+    }
+
+    @Override
+    public void endRow() throws IOException {
+        for (int i = 0; i < columns.length; i++) {
+            if (!setInRow[i]) {
+                columns[i].set(rowInBlock, null);
+            }
+            setInRow[i] = false;
+        }
+        rowCount++;
+        rowInBlock++;
+        if (rowInBlock == blockRows) {
+            flushBlock();
+        }
+    }
+
+    @Override
+    public void commit() throws IOException {
+        if (rowInBlock > 0) {
+            flushBlock();
+        }
+
+        List<ColumnMeta> metas = new ArrayList<>(columns.length);
+        try (FileChannel out = FileChannel.open(tempFile,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(ColumnarFileFormat.HEADER_BYTES);
+            header.putInt(ColumnarFileFormat.MAGIC).putInt(ColumnarFileFormat.VERSION).flip();
+            writeFully(out, header);
+
+            for (ColumnWriter column : columns) {
+                metas.add(column.transferTo(out));
+            }
+
+            long footerOffset = out.position();
+            byte[] footer = ColumnarFileFormat.encodeFooter(rowCount, blockRows, metas);
+            writeFully(out, ByteBuffer.wrap(footer));
+
+            ByteBuffer trailer = ByteBuffer.allocate(ColumnarFileFormat.TRAILER_BYTES);
+            trailer.putLong(footerOffset).putInt(footer.length).putInt(ColumnarFileFormat.MAGIC).flip();
+            writeFully(out, trailer);
+            out.force(false);
+        }
+
+        Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        committed = true;
+        log.info("Columnar file written: {} ({} rows, {} columns)", target.getFileName(), rowCount, columns.length);
+        onCommit.run();
+    }
+
+    @Override
+    public void close() {
+        for (ColumnWriter column : columns) {
+            if (column != null) {
+                column.release();
+            }
+        }
+        if (!committed) {
+            deleteQuietly(tempFile);
+        }
+    }
+
+    private void flushBlock() throws IOException {
+        for (ColumnWriter column : columns) {
+            column.flush(rowInBlock);
+        }
+        rowInBlock = 0;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void pad(FileChannel channel) throws IOException {
+        long padding = ColumnarFileFormat.align8(channel.position()) - channel.position();
+        if (padding > 0) {
+            writeFully(channel, ByteBuffer.allocate((int) padding));
+        }
+    }
+
+    private static void transfer(FileChannel from, FileChannel to) throws IOException {
+        long size = from.size();
+        long position = 0;
+        while (position < size) {
+            position += from.transferTo(position, size - position, to);
+        }
+    }
+
+    private static FileChannel openSpill(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete temporary file: {}", path, e);
+        }
+    }
+
+    /**
+     * Per-column block buffer with its spill files
+     */
+    private abstract class ColumnWriter {
+        final int index;
+        final String name;
+        final byte[] nullBits = new byte[ColumnarFileFormat.nullBytes(blockRows)];
+        final List<BlockMeta> blocks = new ArrayList<>();
+        final Path nullsPath;
+        final FileChannel nulls;
+        int nullCount;
+
+        ColumnWriter(int index, String name) throws IOException {
+            this.index = index;
+            this.name = name;
+            this.nullsPath = tempFile.resolveSibling(tempFile.getFileName() + "." + index + ".nulls");
+            this.nulls = openSpill(nullsPath);
+        }
+
+        abstract void set(int row, String value);
+
+        abstract void flush(int rows) throws IOException;
+
+        abstract ColumnMeta transferTo(FileChannel out) throws IOException;
+
+        void markNull(int row) {
+            nullBits[row >>> 3] |= (byte) (1 << (row & 7));
+            nullCount++;
+        }
+
+        void flushNulls(int rows) throws IOException {
+            writeFully(nulls, ByteBuffer.wrap(nullBits, 0, ColumnarFileFormat.nullBytes(rows)));
+            Arrays.fill(nullBits, (byte) 0);
+        }
+
+        long firstRowOfNextBlock() {
+            return (long) blocks.size() * blockRows;
+        }
+
+        void release() {
+            closeQuietly(nulls);
+            deleteQuietly(nullsPath);
+        }
+
+        void closeQuietly(FileChannel channel) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.debug("Failed to close spill channel", e);
+            }
+        }
+    }
+
+    /**
+     * LONG/DOUBLE column: fixed-width little-endian values
+     */
+    private final class NumericColumnWriter extends ColumnWriter {
+        private final ColumnType type;
+        private final ByteBuffer values;
+        private final Path valuesPath;
+        private final FileChannel valuesSpill;
+        private double min = Double.NaN;
+        private double max = Double.NaN;
+
+        NumericColumnWriter(int index, String name, ColumnType type) throws IOException {
+            super(index, name);
+            this.type = type;
+            this.values = ByteBuffer.allocate(blockRows * 8).order(ByteOrder.LITTLE_ENDIAN);
+            this.valuesPath = tempFile.resolveSibling(tempFile.getFileName() + "." + index + ".values");
+            this.valuesSpill = openSpill(valuesPath);
+        }
+
+        @Override
+        void set(int row, String value) {
+            String trimmed = value != null ? value.trim() : "";
+            if (trimmed.isEmpty()) {
+                values.putLong(row << 3, 0L);
+                markNull(row);
+                return;
+            }
+
+            double lower;
+            double upper;
+            if (type == ColumnType.LONG) {
+                long parsed = parseLong(trimmed);
+                values.putLong(row << 3, parsed);
+                // Round outward so block bounds stay safe above 2^53; near Long.MAX_VALUE
+                // the double is 2^63, where the (long) cast saturates and hides the rounding
+                lower = parsed;
+                upper = lower;
+                if (lower >= 0x1p63 || (long) lower > parsed) lower = Math.nextDown(lower);
+                if ((long) upper < parsed) upper = Math.nextUp(upper);
+            } else {
+                lower = parseDouble(trimmed);
+                upper = lower;
+                values.putDouble(row << 3, lower);
+            }
+            if (Double.isNaN(min) || lower < min) min = lower;
+            if (Double.isNaN(max) || upper > max) max = upper;
+        }
+
+        private long parseLong(String text) {
+            try {
+                long parsed = Long.parseLong(text);
+                // Keep texts like "007" or "+5" as strings: their form matters
+                if (Long.toString(parsed).equals(text)) {
+                    return parsed;
+                }
+            } catch (NumberFormatException e) {
+                // fall through
+            }
+            throw new ColumnTypeMismatchException(index, text);
+        }
+
+        private double parseDouble(String text) {
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                boolean allowed = (c >= '0' && c <= '9') || c == '.' || c == '-' || c == '+' || c == 'e' || c == 'E';
+                if (!allowed) {
+                    throw new ColumnTypeMismatchException(index, text);
+                }
+            }
+            try {
+                return Double.parseDouble(text);
+            } catch (NumberFormatException e) {
+                throw new ColumnTypeMismatchException(index, text);
+            }
+        }
+
+        @Override
+        void flush(int rows) throws IOException {
+            values.clear().limit(rows * 8);
+            writeFully(valuesSpill, values);
+            values.clear();
+            flushNulls(rows);
+
+            blocks.add(BlockMeta.builder()
+                    .firstRow(firstRowOfNextBlock())
+                    .rowCount(rows)
+                    .nullCount(nullCount)
+                    .min(min)
+                    .max(max)
+                    .build());
+            nullCount = 0;
+            min = Double.NaN;
+            max = Double.NaN;
+        }
+
+        @Override
+        ColumnMeta transferTo(FileChannel out) throws IOException {
+            pad(out);
+            long valuesOffset = out.position();
+            transfer(valuesSpill, out);
+            pad(out);
+            long nullsOffset = out.position();
+            transfer(nulls, out);
+            return ColumnMeta.builder()
+                    .name(name)
+                    .index(index)
+                    .type(type)
+                    .valuesOffset(valuesOffset)
+                    .nullsOffset(nullsOffset)
+                    .blocks(blocks)
+                    .build();
+        }
+
+        @Override
+        void release() {
+            super.release();
+            closeQuietly(valuesSpill);
+            deleteQuietly(valuesPath);
+        }
+    }
+
+    /**
+     * STRING column: per-block dictionary plus one code per row
+     */
+    private final class StringColumnWriter extends ColumnWriter {
+        private final int[] codes = new int[blockRows];
+        private final Map<String, Integer> dictionary = new HashMap<>();
+        private final List<String> dictionaryValues = new ArrayList<>();
+        private final Path dataPath;
+        private final FileChannel dataSpill;
+
+        StringColumnWriter(int index, String name) throws IOException {
+            super(index, name);
+            this.dataPath = tempFile.resolveSibling(tempFile.getFileName() + "." + index + ".data");
+            this.dataSpill = openSpill(dataPath);
+        }
+
+        @Override
+        void set(int row, String value) {
+            if (value == null) {
+                codes[row] = 0;
+                markNull(row);
+                return;
+            }
+            Integer code = dictionary.get(value);
+            if (code == null) {
+                code = dictionaryValues.size();
+                dictionary.put(value, code);
+                dictionaryValues.add(value);
+            }
+            codes[row] = code;
+        }
+
+        @Override
+        void flush(int rows) throws IOException {
+            // codes (LE ints), padding to 8, dictionary: count, then (length, UTF-8 bytes) per value
+            List<byte[]> encoded = new ArrayList<>(dictionaryValues.size());
+            int dictionaryBytes = 4;
+            for (String value : dictionaryValues) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                encoded.add(bytes);
+                dictionaryBytes += 4 + bytes.length;
+            }
+            int codesBytes = (int) ColumnarFileFormat.align8((long) rows * 4);
+
+            long dataOffset = dataSpill.position();
+            ByteBuffer block = ByteBuffer.allocate((int) ColumnarFileFormat.align8(codesBytes + (long) dictionaryBytes))
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            for (int i = 0; i < rows; i++) {
+                block.putInt(codes[i]);
+            }
+            block.position(codesBytes);
+            block.putInt(encoded.size());
+            for (byte[] bytes : encoded) {
+                block.putInt(bytes.length).put(bytes);
+            }
+            block.clear();
+            writeFully(dataSpill, block);
+            flushNulls(rows);
+
+            blocks.add(BlockMeta.builder()
+                    .firstRow(firstRowOfNextBlock())
+                    .rowCount(rows)
+                    .nullCount(nullCount)
+                    .min(Double.NaN)
+                    .max(Double.NaN)
+                    .dataOffset(dataOffset) // relative to the data region until transferTo
+                    .dataLength(block.capacity())
+                    .build());
+            nullCount = 0;
+            dictionary.clear();
+            dictionaryValues.clear();
+        }
+
+        @Override
+        ColumnMeta transferTo(FileChannel out) throws IOException {
+            pad(out);
+            long dataStart = out.position();
+            transfer(dataSpill, out);
+            pad(out);
+            long nullsOffset = out.position();
+            transfer(nulls, out);
+
+            List<BlockMeta> placed = new ArrayList<>(blocks.size());
+            for (BlockMeta block : blocks) {
+                placed.add(BlockMeta.builder()
+                        .firstRow(block.getFirstRow())
+                        .rowCount(block.getRowCount())
+                        .nullCount(block.getNullCount())
+                        .min(block.getMin())
+                        .max(block.getMax())
+                        .dataOffset(dataStart + block.getDataOffset())
+                        .dataLength(block.getDataLength())
+                        .build());
+            }
+            return ColumnMeta.builder()
+                    .name(name)
+                    .index(index)
+                    .type(ColumnType.STRING)
+                    .valuesOffset(dataStart)
+                    .nullsOffset(nullsOffset)
+                    .blocks(placed)
+                    .build();
+        }
+
+        @Override
+        void release() {
+            super.release();
+            closeQuietly(dataSpill);
+            deleteQuietly(dataPath);
+        }
+    }
+}
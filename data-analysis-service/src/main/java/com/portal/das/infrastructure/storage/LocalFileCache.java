@@ -0,0 +1,201 @@
+package com.portal.das.infrastructure.storage;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Bounded local disk cache of object store files
+ * Least recently used files are evicted once the total size passes the limit.
+ * Files found in the directory at startup are adopted, oldest first, so a
+ * restarted pod keeps its hot set. Eviction only unlinks: readers that already
+ * opened a file keep reading it.
+ */
+@Slf4j
+final class LocalFileCache {
+
+    private static final String TEMP_SUFFIX = ".part";
+
+    private final Path directory;
+    private final long maxBytes;
+
+    // Guarded by this; access order = LRU first
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalBytes;
+
+    LocalFileCache(Path directory, long maxBytes) throws IOException {
+        this.directory = directory.toAbsolutePath().normalize();
+        this.maxBytes = maxBytes;
+        Files.createDirectories(this.directory);
+        adoptExisting();
+    }
+
+    /**
+     * Cached copy of a file, marking it as recently used
+     *
+     * @param key File key
+     * @return Path, or empty if not cached
+     */
+    synchronized Optional<Path> get(String key) {
+        if (entries.get(key) == null) {
+            return Optional.empty();
+        }
+        Path path = pathOf(key);
+        if (!Files.isRegularFile(path)) {
+            totalBytes -= entries.remove(key); // Removed behind our back
+            return Optional.empty();
+        }
+        return Optional.of(path);
+    }
+
+    /**
+     * Fill the cache through a writer, then evict as needed
+     *
+     * @param key File key
+     * @param writer Writes the content to the temporary path it receives
+     * @return Path of the cached copy
+     */
+    Path put(String key, ContentWriter writer) throws IOException {
+        Path tempFile = directory.resolve(UUID.randomUUID() + TEMP_SUFFIX);
+        try {
+            writer.write(tempFile);
+            return adopt(key, tempFile);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Move a local file into the cache, then evict as needed
+     *
+     * @param key File key
+     * @param source File to move (gone afterwards)
+     * @return Path of the cached copy
+     */
+    Path move(String key, Path source) throws IOException {
+        Path tempFile = directory.resolve(UUID.randomUUID() + TEMP_SUFFIX);
+        try {
+            Files.move(source, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            return adopt(key, tempFile);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Drop a file from the cache, if present
+     *
+     * @param key File key
+     */
+    void remove(String key) throws IOException {
+        synchronized (this) {
+            Long size = entries.remove(key);
+            if (size != null) {
+                totalBytes -= size;
+            }
+        }
+        Files.deleteIfExists(pathOf(key));
+    }
+
+    synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    private Path adopt(String key, Path tempFile) throws IOException {
+        long size = Files.size(tempFile);
+        Path target = pathOf(key);
+        int evicted;
+        synchronized (this) {
+            Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Long previous = entries.put(key, size);
+            totalBytes += size - (previous != null ? previous : 0);
+            evicted = evict(key);
+        }
+        if (evicted > 0) {
+            log.debug("Evicted {} cached files", evicted);
+        }
+        return target;
+    }
+
+    /**
+     * Evict least recently used files until the cache fits its limit
+     *
+     * @param keep Key that must stay (null for none)
+     * @return Number of evicted files
+     */
+    private synchronized int evict(String keep) throws IOException {
+        int evicted = 0;
+        Iterator<Map.Entry<String, Long>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, Long> entry = eldest.next();
+            if (entry.getKey().equals(keep)) {
+                continue;
+            }
+            totalBytes -= entry.getValue();
+            eldest.remove();
+            Files.deleteIfExists(pathOf(entry.getKey()));
+            evicted++;
+        }
+        return evicted;
+    }
+
+    private void adoptExisting() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(Files::isRegularFile).toList();
+        }
+        List<Path> adopted = new ArrayList<>();
+        for (Path file : files) {
+            if (file.getFileName().toString().endsWith(TEMP_SUFFIX)) {
+                Files.deleteIfExists(file); // Interrupted download
+            } else {
+                adopted.add(file);
+            }
+        }
+        adopted.sort(Comparator.comparing(LocalFileCache::lastModified));
+        for (Path file : adopted) {
+            String key = URLDecoder.decode(file.getFileName().toString(), StandardCharsets.UTF_8);
+            long size = Files.size(file);
+            entries.put(key, size);
+            totalBytes += size;
+        }
+        evict(null);
+        log.info("Local file cache {}: {} files, {} bytes (limit {})", directory, entries.size(), totalBytes, maxBytes);
+    }
+
+    private Path pathOf(String key) {
+        return directory.resolve(URLEncoder.encode(key, StandardCharsets.UTF_8));
+    }
+
+    private static long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes cache content to a path
+     */
+    @FunctionalInterface
+    interface ContentWriter {
+        void write(Path target) throws IOException;
+    }
+}
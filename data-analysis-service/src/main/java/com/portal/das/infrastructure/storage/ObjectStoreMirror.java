@@ -0,0 +1,241 @@
+package com.portal.das.infrastructure.storage;
+
+import com.portal.das.domain.ports.out.file.FileStoragePort;
+import com.portal.das.domain.ports.out.file.ObjectStorePort;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+/**
+ * Resolves stored files and sidecars across the storage tiers: the local
+ * storage root (files being written), the local file cache and the object store
+ *
+ * Without an object store (das.storage.backend=local) everything stays in the
+ * storage root. With one, finished files are published (uploaded, then moved
+ * into the bounded cache) and any instance can read them: files open as local
+ * channels when cached, otherwise as range-read channels; a file opened
+ * remotely das.storage.cache.promote-after times is downloaded into the cache.
+ * Metrics: das.storage.opens (tag: tier=local|cache|remote), das.storage.cache.bytes
+ */
+@Slf4j
+@Component
+public class ObjectStoreMirror {
+
+    private static final int DOWNLOAD_CHUNK = 8 * 1024 * 1024;
+    private static final int MAX_TRACKED_MISSES = 1024;
+
+    private final FileStoragePort fileStoragePort;
+    private final ObjectStorePort objectStorePort;
+    private final LocalFileCache cache;
+    private final MeterRegistry meterRegistry;
+    private final int promoteAfter;
+    private final int minReadAhead;
+    private final int maxReadAhead;
+
+    // Guarded by itself; remote opens of files not yet cached
+    private final Map<String, Integer> remoteOpens = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+            return size() > MAX_TRACKED_MISSES;
+        }
+    };
+
+    public ObjectStoreMirror(FileStoragePort fileStoragePort,
+                             ObjectProvider<ObjectStorePort> objectStorePort,
+                             MeterRegistry meterRegistry,
+                             @Value("${das.storage.cache.dir:storage/cache}") String cacheDir,
+                             @Value("${das.storage.cache.max-size:10GB}") DataSize cacheMaxSize,
+                             @Value("${das.storage.cache.promote-after:2}") int promoteAfter,
+                             @Value("${das.storage.range-read-ahead:256KB}") DataSize readAhead) throws IOException {
+        this.fileStoragePort = fileStoragePort;
+        this.objectStorePort = objectStorePort.getIfAvailable();
+        this.meterRegistry = meterRegistry;
+        this.promoteAfter = Math.max(1, promoteAfter);
+        this.minReadAhead = (int) Math.max(4096, Math.min(readAhead.toBytes(), DOWNLOAD_CHUNK));
+        this.maxReadAhead = DOWNLOAD_CHUNK;
+        if (this.objectStorePort != null) {
+            this.cache = new LocalFileCache(Paths.get(cacheDir), cacheMaxSize.toBytes());
+            Gauge.builder("das.storage.cache.bytes", cache, LocalFileCache::getTotalBytes)
+                    .description("Bytes held by the local file cache")
+                    .register(meterRegistry);
+        } else {
+            this.cache = null;
+        }
+    }
+
+    /**
+     * @return true when files are shared through an object store
+     */
+    public boolean isEnabled() {
+        return objectStorePort != null;
+    }
+
+    /**
+     * Check whether a file exists in any tier
+     */
+    public boolean exists(String name) throws IOException {
+        if (Files.isRegularFile(fileStoragePort.getPath(name))) {
+            return true;
+        }
+        if (!isEnabled()) {
+            return false;
+        }
+        return cache.get(name).isPresent() || objectStorePort.size(name).isPresent();
+    }
+
+    /**
+     * Local copy of a file, downloading it into the cache if needed
+     * For readers that need a real file (e.g. memory mapping)
+     *
+     * @param name Stored filename
+     * @return Path, or empty if the file exists in no tier
+     */
+    public Optional<Path> localCopy(String name) throws IOException {
+        Path local = fileStoragePort.getPath(name);
+        if (Files.isRegularFile(local)) {
+            return Optional.of(local);
+        }
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+        Optional<Path> cached = cache.get(name);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        OptionalLong size = objectStorePort.size(name);
+        if (size.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(download(name, size.getAsLong()));
+    }
+
+    /**
+     * Open a file for reading from whichever tier holds it
+     *
+     * @param name Stored filename
+     * @return Channel positioned at 0 (caller closes it)
+     * @throws NoSuchFileException If the file exists in no tier
+     */
+    public SeekableByteChannel open(String name) throws IOException {
+        Path local = fileStoragePort.getPath(name);
+        if (Files.isRegularFile(local)) {
+            return openLocal(local, "local");
+        }
+        if (!isEnabled()) {
+            throw new NoSuchFileException(local.toString());
+        }
+        Optional<Path> cached = cache.get(name);
+        if (cached.isPresent()) {
+            try {
+                return openLocal(cached.get(), "cache");
+            } catch (NoSuchFileException e) {
+                log.debug("Cached copy of {} evicted while opening, reading remotely", name);
+            }
+        }
+
+        OptionalLong size = objectStorePort.size(name);
+        if (size.isEmpty()) {
+            throw new NoSuchFileException(name);
+        }
+        if (recordRemoteOpen(name) >= promoteAfter) {
+            return openLocal(download(name, size.getAsLong()), "cache");
+        }
+        countOpen("remote");
+        return new RangeReadChannel(objectStorePort, name, size.getAsLong(), minReadAhead, maxReadAhead);
+    }
+
+    /**
+     * Make a finished file in the storage root available to all instances
+     * Uploads it, then moves it into the cache; does nothing without an object store
+     *
+     * @param name Stored filename
+     */
+    public void publish(String name) throws IOException {
+        if (!isEnabled()) {
+            return;
+        }
+        Path local = fileStoragePort.getPath(name);
+        if (!Files.isRegularFile(local)) {
+            return;
+        }
+        objectStorePort.write(name, local);
+        cache.move(name, local);
+        log.debug("Published {} to the object store", name);
+    }
+
+    /**
+     * Delete a file from every tier
+     *
+     * @param name Stored filename
+     * @return false if the storage root copy existed and could not be deleted
+     */
+    public boolean delete(String name) throws IOException {
+        boolean deleted = true;
+        Path local = fileStoragePort.getPath(name);
+        if (Files.exists(local)) {
+            deleted = fileStoragePort.delete(name);
+        }
+        if (isEnabled()) {
+            cache.remove(name);
+            objectStorePort.delete(name);
+            synchronized (remoteOpens) {
+                remoteOpens.remove(name);
+            }
+        }
+        return deleted;
+    }
+
+    private Path download(String name, long size) throws IOException {
+        Path path = cache.put(name, target -> {
+            try (OutputStream out = Files.newOutputStream(target)) {
+                for (long offset = 0; offset < size; offset += DOWNLOAD_CHUNK) {
+                    try (InputStream in = objectStorePort.read(name, offset, Math.min(DOWNLOAD_CHUNK, size - offset))) {
+                        in.transferTo(out);
+                    }
+                }
+            }
+            if (Files.size(target) != size) {
+                throw new IOException("Incomplete download of " + name);
+            }
+        });
+        synchronized (remoteOpens) {
+            remoteOpens.remove(name);
+        }
+        log.debug("Cached {} ({} bytes)", name, size);
+        return path;
+    }
+
+    private int recordRemoteOpen(String name) {
+        synchronized (remoteOpens) {
+            return remoteOpens.merge(name, 1, Integer::sum);
+        }
+    }
+
+    private SeekableByteChannel openLocal(Path path, String tier) throws IOException {
+        countOpen(tier);
+        return FileChannel.open(path, StandardOpenOption.READ);
+    }
+
+    private void countOpen(String tier) {
+        meterRegistry.counter("das.storage.opens", "tier", tier).increment();
+    }
+}
@@ -0,0 +1,138 @@
+package com.portal.das.infrastructure.storage;
+
+import com.portal.das.domain.ports.out.file.ObjectStorePort;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+
+/**
+ * Read-only channel over an object in the object store
+ * Each buffer refill is one range request. The read-ahead doubles while reads
+ * stay sequential (up to maxReadAhead) and drops back after a seek, so
+ * streaming reads make few requests and random reads transfer little.
+ */
+final class RangeReadChannel implements SeekableByteChannel {
+
+    private final ObjectStorePort objectStorePort;
+    private final String key;
+    private final long size;
+    private final int minReadAhead;
+    private final int maxReadAhead;
+
+    private byte[] buffer = new byte[0];
+    private long bufferStart;
+    private int bufferLength;
+    private int readAhead;
+    private long position;
+    private boolean open = true;
+
+    /**
+     * @param objectStorePort Object store
+     * @param key Object key
+     * @param size Object size
+     * @param minReadAhead Bytes fetched by the first request and after a seek
+     * @param maxReadAhead Largest request while reading sequentially
+     */
+    RangeReadChannel(ObjectStorePort objectStorePort, String key, long size, int minReadAhead, int maxReadAhead) {
+        this.objectStorePort = objectStorePort;
+        this.key = key;
+        this.size = size;
+        this.minReadAhead = minReadAhead;
+        this.maxReadAhead = Math.max(minReadAhead, maxReadAhead);
+        this.readAhead = minReadAhead;
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        ensureOpen();
+        if (position >= size) {
+            return -1;
+        }
+        if (!dst.hasRemaining()) {
+            return 0;
+        }
+        if (position < bufferStart || position >= bufferStart + bufferLength) {
+            fill();
+        }
+        int inBuffer = (int) (position - bufferStart);
+        int count = Math.min(dst.remaining(), bufferLength - inBuffer);
+        dst.put(buffer, inBuffer, count);
+        position += count;
+        return count;
+    }
+
+    /**
+     * Fetch the range starting at the current position
+     */
+    private void fill() throws IOException {
+        boolean sequential = bufferLength > 0 && position == bufferStart + bufferLength;
+        readAhead = sequential ? (int) Math.min((long) readAhead * 2, maxReadAhead) : minReadAhead;
+
+        int length = (int) Math.min(readAhead, size - position);
+        if (buffer.length < length) {
+            buffer = new byte[Math.max(length, Math.min(buffer.length * 2, maxReadAhead))];
+        }
+        int read;
+        try (InputStream in = objectStorePort.read(key, position, length)) {
+            read = in.readNBytes(buffer, 0, length);
+        }
+        if (read < length) {
+            throw new IOException("Object " + key + " ended early: " + read + " of " + length + " bytes");
+        }
+        bufferStart = position;
+        bufferLength = read;
+    }
+
+    @Override
+    public int write(ByteBuffer src) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public long position() throws IOException {
+        ensureOpen();
+        return position;
+    }
+
+    @Override
+    public SeekableByteChannel position(long newPosition) throws IOException {
+        ensureOpen();
+        if (newPosition < 0) {
+            throw new IllegalArgumentException("Negative position: " + newPosition);
+        }
+        position = newPosition;
+        return this;
+    }
+
+    @Override
+    public long size() throws IOException {
+        ensureOpen();
+        return size;
+    }
+
+    @Override
+    public SeekableByteChannel truncate(long newSize) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public void close() {
+        open = false;
+        buffer = new byte[0];
+    }
+
+    private void ensureOpen() throws ClosedChannelException {
+        if (!open) {
+            throw new ClosedChannelException();
+        }
+    }
+}
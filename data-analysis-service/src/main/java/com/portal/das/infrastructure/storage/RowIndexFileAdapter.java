@@ -0,0 +1,117 @@
+package com.portal.das.infrastructure.storage;
+
+import com.portal.das.domain.model.RowOffsetIndex;
+import com.portal.das.domain.ports.out.file.FileStoragePort;
+import com.portal.das.domain.ports.out.file.RowIndexPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * File system adapter for row offset indexes
+ * Stores {storedFilename}.rowidx next to the CSV in the storage root, then
+ * publishes it (see ObjectStoreMirror):
+ * magic, version, interval, row count, offset count, offsets (big endian)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RowIndexFileAdapter implements RowIndexPort {
+
+    static final String EXTENSION = ".rowidx";
+
+    private static final int MAGIC = 0x44415249; // "DARI"
+    private static final int VERSION = 1;
+
+    private final FileStoragePort fileStoragePort;
+    private final ObjectStoreMirror objectStoreMirror;
+
+    @Override
+    public boolean exists(String storedFilename) {
+        try {
+            return objectStoreMirror.exists(nameOf(storedFilename));
+        } catch (IOException e) {
+            log.warn("Failed to look up row index for {}", storedFilename, e);
+            return false;
+        }
+    }
+
+    @Override
+    public void save(String storedFilename, RowOffsetIndex index) throws IOException {
+        Path target = pathOf(storedFilename);
+        Path tempFile = target.resolveSibling(target.getFileName() + "." + UUID.randomUUID() + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(index.getInterval());
+                out.writeLong(index.getRowCount());
+                out.writeInt(index.getOffsets().length);
+                for (long offset : index.getOffsets()) {
+                    out.writeLong(offset);
+                }
+            }
+            Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+        objectStoreMirror.publish(nameOf(storedFilename));
+    }
+
+    @Override
+    public Optional<RowOffsetIndex> load(String storedFilename) throws IOException {
+        SeekableByteChannel channel;
+        try {
+            channel = objectStoreMirror.open(nameOf(storedFilename));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Unsupported row index file: " + nameOf(storedFilename));
+            }
+            int interval = in.readInt();
+            long rowCount = in.readLong();
+            long[] offsets = new long[in.readInt()];
+            for (int i = 0; i < offsets.length; i++) {
+                offsets[i] = in.readLong();
+            }
+            return Optional.of(RowOffsetIndex.builder()
+                    .interval(interval)
+                    .rowCount(rowCount)
+                    .offsets(offsets)
+                    .build());
+        }
+    }
+
+    @Override
+    public void delete(String storedFilename) {
+        try {
+            objectStoreMirror.delete(nameOf(storedFilename));
+        } catch (IOException e) {
+            log.warn("Failed to delete row index for {}", storedFilename, e);
+        }
+    }
+
+    private Path pathOf(String storedFilename) {
+        return fileStoragePort.getPath(nameOf(storedFilename));
+    }
+
+    private static String nameOf(String storedFilename) {
+        return storedFilename + EXTENSION;
+    }
+}
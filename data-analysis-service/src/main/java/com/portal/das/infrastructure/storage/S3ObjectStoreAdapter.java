@@ -0,0 +1,138 @@
+package com.portal.das.infrastructure.storage;
+
+import com.portal.das.domain.ports.out.file.ObjectStorePort;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.OptionalLong;
+
+/**
+ * S3 compatible object store (AWS S3, MinIO, ...)
+ * Reads use HTTP range requests, so callers only transfer the bytes they need.
+ * Enabled with das.storage.backend=s3; credentials come from das.storage.s3.*
+ * or the default AWS provider chain (environment, IRSA, instance profile).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "das.storage.backend", havingValue = "s3")
+public class S3ObjectStoreAdapter implements ObjectStorePort {
+
+    private final S3Client s3Client;
+    private final String bucket;
+    private final String prefix;
+
+    public S3ObjectStoreAdapter(@Value("${das.storage.s3.bucket}") String bucket,
+                                @Value("${das.storage.s3.prefix:}") String prefix,
+                                @Value("${das.storage.s3.region:us-east-1}") String region,
+                                @Value("${das.storage.s3.endpoint:}") String endpoint,
+                                @Value("${das.storage.s3.path-style:false}") boolean pathStyle,
+                                @Value("${das.storage.s3.access-key:}") String accessKey,
+                                @Value("${das.storage.s3.secret-key:}") String secretKey) {
+        AwsCredentialsProvider credentials = accessKey.isBlank()
+                ? DefaultCredentialsProvider.create()
+                : StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey));
+        S3ClientBuilder builder = S3Client.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentials)
+                .forcePathStyle(pathStyle);
+        if (!endpoint.isBlank()) {
+            builder.endpointOverride(URI.create(endpoint));
+        }
+        this.s3Client = builder.build();
+        this.bucket = bucket;
+        this.prefix = prefix.isEmpty() || prefix.endsWith("/") ? prefix : prefix + "/";
+        log.info("Object store: s3://{}/{}", bucket, this.prefix);
+    }
+
+    @Override
+    public OptionalLong size(String key) throws IOException {
+        try {
+            return OptionalLong.of(s3Client.headObject(HeadObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(prefix + key)
+                    .build()).contentLength());
+        } catch (NoSuchKeyException e) {
+            return OptionalLong.empty();
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                return OptionalLong.empty(); // HEAD responses carry no error code
+            }
+            throw new IOException("Failed to stat object " + key, e);
+        } catch (SdkException e) {
+            throw new IOException("Failed to stat object " + key, e);
+        }
+    }
+
+    @Override
+    public InputStream read(String key, long offset, long length) throws IOException {
+        if (length <= 0) {
+            return new ByteArrayInputStream(new byte[0]);
+        }
+        try {
+            return s3Client.getObject(GetObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(prefix + key)
+                    .range("bytes=" + offset + "-" + (offset + length - 1))
+                    .build());
+        } catch (S3Exception e) {
+            if (e.statusCode() == 416) {
+                return new ByteArrayInputStream(new byte[0]); // Offset at or past the end
+            }
+            throw new IOException("Failed to read object " + key, e);
+        } catch (SdkException e) {
+            throw new IOException("Failed to read object " + key, e);
+        }
+    }
+
+    @Override
+    public void write(String key, Path source) throws IOException {
+        try {
+            s3Client.putObject(PutObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(prefix + key)
+                    .build(), RequestBody.fromFile(source));
+        } catch (SdkException e) {
+            throw new IOException("Failed to upload object " + key, e);
+        }
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        try {
+            s3Client.deleteObject(DeleteObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(prefix + key)
+                    .build());
+        } catch (SdkException e) {
+            throw new IOException("Failed to delete object " + key, e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        s3Client.close();
+    }
+}
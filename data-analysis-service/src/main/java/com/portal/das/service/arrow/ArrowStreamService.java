@@ -0,0 +1,344 @@
+package com.portal.das.service.arrow;
+
+import com.portal.das.domain.model.Dataset;
+import com.portal.das.domain.model.RowPage;
+import com.portal.das.domain.model.UploadedFile;
+import com.portal.das.domain.model.columnar.ColumnBlock;
+import com.portal.das.domain.model.columnar.ColumnType;
+import com.portal.das.domain.model.columnar.ColumnarTable;
+import com.portal.das.domain.ports.out.dataset.DatasetCrudPort;
+import com.portal.das.domain.ports.out.file.ColumnStorePort;
+import com.portal.das.domain.ports.out.file.FileCrudPort;
+import com.portal.das.service.ingest.StoredCsvOpener;
+import com.portal.das.util.CsvTokenizer;
+import com.sharedlib.core.exception.BadRequestException;
+import com.sharedlib.core.exception.NotFoundException;
+import jakarta.annotation.PreDestroy;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Service writing dataset rows and columns as an Arrow IPC stream
+ * Record batches are filled straight from columnar blocks (typed Int64 and
+ * Float64 vectors, string dictionaries encoded once per block) or, for files
+ * without a columnar copy, from parsed CSV records as Utf8 vectors. Only one
+ * batch is held in memory at a time, whatever the size of the dataset.
+ */
+@Service
+public class ArrowStreamService {
+
+    /**
+     * Media type of the Arrow IPC streaming format
+     */
+    public static final String MEDIA_TYPE_VALUE = "application/vnd.apache.arrow.stream";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    private final DatasetCrudPort datasetCrudPort;
+    private final FileCrudPort fileCrudPort;
+    private final ColumnStorePort columnStorePort;
+    private final StoredCsvOpener storedCsvOpener;
+    private final int batchRows;
+    private final BufferAllocator allocator = new RootAllocator();
+
+    public ArrowStreamService(DatasetCrudPort datasetCrudPort,
+                              FileCrudPort fileCrudPort,
+                              ColumnStorePort columnStorePort,
+                              StoredCsvOpener storedCsvOpener,
+                              @Value("${das.arrow.batch-rows:16384}") int batchRows) {
+        this.datasetCrudPort = datasetCrudPort;
+        this.fileCrudPort = fileCrudPort;
+        this.columnStorePort = columnStorePort;
+        this.storedCsvOpener = storedCsvOpener;
+        this.batchRows = Math.max(1, batchRows);
+    }
+
+    /**
+     * Check whether a request asked for Arrow explicitly
+     * Wildcards do not count, so existing clients accepting anything keep getting JSON or CSV.
+     *
+     * @param accept Accept header (may be null)
+     * @return true if the Arrow stream media type is listed
+     */
+    public static boolean isRequested(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return false;
+        }
+        try {
+            for (MediaType mediaType : MediaType.parseMediaTypes(accept)) {
+                if (!mediaType.isWildcardType() && !mediaType.isWildcardSubtype()
+                        && MEDIA_TYPE.isCompatibleWith(mediaType)) {
+                    return true;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return false;
+    }
+
+    /**
+     * Write a row page as a single record batch of Utf8 columns
+     *
+     * @param page Row page
+     * @param out Response stream (left open)
+     */
+    public void writeRowPage(RowPage page, OutputStream out) throws IOException {
+        List<Field> fields = new ArrayList<>(page.getColumns().size());
+        for (String name : page.getColumns()) {
+            fields.add(Field.nullable(name, ArrowType.Utf8.INSTANCE));
+        }
+
+        try (BufferAllocator child = allocator.newChildAllocator("arrow-rows", 0, Long.MAX_VALUE);
+             VectorSchemaRoot root = VectorSchemaRoot.create(new Schema(fields), child)) {
+            ArrowStreamWriter writer = new ArrowStreamWriter(root, null, out);
+            writer.start();
+            root.allocateNew();
+            List<List<String>> rows = page.getRows();
+            for (int c = 0; c < fields.size(); c++) {
+                VarCharVector vector = (VarCharVector) root.getVector(c);
+                for (int r = 0; r < rows.size(); r++) {
+                    setString(vector, r, rows.get(r).get(c));
+                }
+            }
+            root.setRowCount(rows.size());
+            writer.writeBatch();
+            // end() rather than close(): closing the writer would close the response stream
+            writer.end();
+        }
+        out.flush();
+    }
+
+    /**
+     * Resolve the file and columns of an export before anything is written,
+     * so missing datasets and unknown columns still produce a regular error response
+     *
+     * @param datasetId Dataset identifier
+     * @param columns Columns to export (null or empty for all, in header order)
+     * @return Export ready to be written
+     */
+    public ColumnExport prepareColumns(UUID datasetId, List<String> columns) throws IOException {
+        Dataset dataset = datasetCrudPort.load(datasetId)
+                .orElseThrow(() -> new NotFoundException("Dataset not found"));
+
+        UploadedFile file = fileCrudPort.load(dataset.getFileId())
+                .orElseThrow(() -> new NotFoundException("File not found"));
+
+        String[] header = storedCsvOpener.readHeader(file);
+        int[] projection;
+        if (columns == null || columns.isEmpty()) {
+            projection = new int[header.length];
+            Arrays.setAll(projection, i -> i);
+        } else {
+            List<String> names = Arrays.asList(header);
+            projection = new int[columns.size()];
+            for (int i = 0; i < projection.length; i++) {
+                projection[i] = names.indexOf(columns.get(i));
+                if (projection[i] < 0) {
+                    throw new BadRequestException("Column not found: " + columns.get(i));
+                }
+            }
+        }
+        return new ColumnExport(dataset, file, header, projection);
+    }
+
+    /**
+     * Write the columns of an export, one record batch per columnar block
+     * (or per batch-rows CSV records when there is no columnar copy)
+     *
+     * @param export Prepared export
+     * @param out Response stream (left open)
+     */
+    public void writeColumns(ColumnExport export, OutputStream out) throws IOException {
+        Optional<ColumnarTable> opened = columnStorePort.open(export.getFile().getStoredFilename());
+        try (BufferAllocator child = allocator.newChildAllocator("arrow-columns", 0, Long.MAX_VALUE)) {
+            if (opened.isPresent()) {
+                try (ColumnarTable table = opened.get()) {
+                    writeColumnar(table, export, child, out);
+                }
+            } else {
+                writeCsv(export, child, out);
+            }
+        }
+        out.flush();
+    }
+
+    private void writeColumnar(ColumnarTable table, ColumnExport export,
+                               BufferAllocator child, OutputStream out) throws IOException {
+        int[] columns = new int[export.projection.length];
+        List<Field> fields = new ArrayList<>(columns.length);
+        for (int i = 0; i < columns.length; i++) {
+            String name = export.header[export.projection[i]];
+            columns[i] = table.columnIndex(name);
+            if (columns[i] < 0) {
+                throw new IOException("Columnar copy has no column " + name);
+            }
+            fields.add(Field.nullable(name, arrowType(table.getColumns().get(columns[i]).getType())));
+        }
+
+        try (VectorSchemaRoot root = VectorSchemaRoot.create(new Schema(fields), child)) {
+            ArrowStreamWriter writer = new ArrowStreamWriter(root, null, out);
+            writer.start();
+            int blockCount = columns.length > 0 ? table.getColumns().get(columns[0]).getBlocks().size() : 0;
+            for (int b = 0; b < blockCount; b++) {
+                root.allocateNew();
+                int rows = 0;
+                for (int i = 0; i < columns.length; i++) {
+                    ColumnBlock block = table.readBlock(columns[i], b);
+                    copyBlock(block, root.getVector(i));
+                    rows = block.getRowCount();
+                }
+                root.setRowCount(rows);
+                writer.writeBatch();
+            }
+            writer.end();
+        }
+    }
+
+    private void writeCsv(ColumnExport export, BufferAllocator child, OutputStream out) throws IOException {
+        int[] projection = export.projection;
+        List<Field> fields = new ArrayList<>(projection.length);
+        for (int column : projection) {
+            fields.add(Field.nullable(export.header[column], ArrowType.Utf8.INSTANCE));
+        }
+
+        try (VectorSchemaRoot root = VectorSchemaRoot.create(new Schema(fields), child);
+             CsvTokenizer tokenizer = storedCsvOpener.open(export.getFile())) {
+            ArrowStreamWriter writer = new ArrowStreamWriter(root, null, out);
+            writer.start();
+            tokenizer.next(); // header
+            boolean more = true;
+            while (more) {
+                root.allocateNew();
+                int rows = 0;
+                while (rows < batchRows && (more = tokenizer.next())) {
+                    for (int i = 0; i < projection.length; i++) {
+                        setString((VarCharVector) root.getVector(i), rows, tokenizer.field(projection[i]));
+                    }
+                    rows++;
+                }
+                if (rows > 0) {
+                    root.setRowCount(rows);
+                    writer.writeBatch();
+                }
+            }
+            writer.end();
+        }
+    }
+
+    /**
+     * Copy a columnar block into a vector of the matching Arrow type
+     */
+    private static void copyBlock(ColumnBlock block, FieldVector vector) {
+        int rows = block.getRowCount();
+        switch (block.getType()) {
+            case LONG: {
+                BigIntVector longs = (BigIntVector) vector;
+                for (int row = 0; row < rows; row++) {
+                    if (block.isNull(row)) {
+                        longs.setNull(row);
+                    } else {
+                        longs.setSafe(row, block.getLong(row));
+                    }
+                }
+                break;
+            }
+            case DOUBLE: {
+                Float8Vector doubles = (Float8Vector) vector;
+                for (int row = 0; row < rows; row++) {
+                    if (block.isNull(row)) {
+                        doubles.setNull(row);
+                    } else {
+                        doubles.setSafe(row, block.getDouble(row));
+                    }
+                }
+                break;
+            }
+            default: {
+                VarCharVector strings = (VarCharVector) vector;
+                byte[][] encoded = new byte[block.getDictionarySize()][];
+                for (int row = 0; row < rows; row++) {
+                    if (block.isNull(row)) {
+                        strings.setNull(row);
+                        continue;
+                    }
+                    int code = block.getCode(row);
+                    if (encoded[code] == null) {
+                        encoded[code] = block.getDictionaryValue(code).getBytes(StandardCharsets.UTF_8);
+                    }
+                    strings.setSafe(row, encoded[code]);
+                }
+            }
+        }
+    }
+
+    private static void setString(VarCharVector vector, int row, String value) {
+        if (value == null) {
+            vector.setNull(row);
+        } else {
+            vector.setSafe(row, value.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static ArrowType arrowType(ColumnType type) {
+        switch (type) {
+            case LONG:
+                return new ArrowType.Int(64, true);
+            case DOUBLE:
+                return new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE);
+            default:
+                return ArrowType.Utf8.INSTANCE;
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        allocator.close();
+    }
+
+    /**
+     * Dataset, file and column projection of a prepared export
+     */
+    public static final class ColumnExport {
+        private final Dataset dataset;
+        private final UploadedFile file;
+        private final String[] header;
+        private final int[] projection;
+
+        private ColumnExport(Dataset dataset, UploadedFile file, String[] header, int[] projection) {
+            this.dataset = dataset;
+            this.file = file;
+            this.header = header;
+            this.projection = projection;
+        }
+
+        public Dataset getDataset() {
+            return dataset;
+        }
+
+        public UploadedFile getFile() {
+            return file;
+        }
+    }
+}
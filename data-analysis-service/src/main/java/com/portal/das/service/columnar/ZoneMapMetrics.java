@@ -0,0 +1,43 @@
+package com.portal.das.service.columnar;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records how many columnar blocks were skipped thanks to their zone maps
+ * (per-block min/max/null count)
+ * Metrics: das.zonemap.blocks (tags: use, outcome=scanned|pruned),
+ * das.zonemap.pruned.fraction (tag: use, one sample per query)
+ */
+@Component
+public class ZoneMapMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    public ZoneMapMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Record the outcome of one pruned scan
+     *
+     * @param use Kind of query (quality, summary, rows)
+     * @param totalBlocks Blocks the query would have read without zone maps
+     * @param prunedBlocks Blocks skipped
+     */
+    public void record(String use, int totalBlocks, int prunedBlocks) {
+        if (totalBlocks == 0) {
+            return;
+        }
+        meterRegistry.counter("das.zonemap.blocks", "use", use, "outcome", "scanned")
+                .increment(totalBlocks - prunedBlocks);
+        meterRegistry.counter("das.zonemap.blocks", "use", use, "outcome", "pruned")
+                .increment(prunedBlocks);
+        DistributionSummary.builder("das.zonemap.pruned.fraction")
+                .description("Fraction of blocks skipped per query")
+                .tag("use", use)
+                .register(meterRegistry)
+                .record((double) prunedBlocks / totalBlocks);
+    }
+}
@@ -1,20 +1,25 @@
 package com.portal.das.service.forecast;
 
 import com.portal.das.domain.model.*;
+import com.portal.das.domain.model.columnar.ColumnBlock;
+import com.portal.das.domain.model.columnar.ColumnarTable;
 import com.portal.das.domain.ports.out.dataset.DatasetCrudPort;
+import com.portal.das.domain.ports.out.file.ColumnStorePort;
 import com.portal.das.domain.ports.out.file.FileCrudPort;
-import com.portal.das.domain.ports.out.file.FileStoragePort;
+import com.portal.das.service.ingest.StoredCsvOpener;
+import com.portal.das.service.profile.DatasetProfileService;
+import com.portal.das.util.CsvTokenizer;
 import com.sharedlib.core.exception.NotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVParser;
-import org.apache.commons.csv.CSVRecord;
 import org.springframework.stereotype.Service;
 
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.Reader;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAccessor;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -29,7 +34,9 @@ public class ForecastService {
 
     private final DatasetCrudPort datasetCrudPort;
     private final FileCrudPort fileCrudPort;
-    private final FileStoragePort fileStoragePort;
+    private final StoredCsvOpener storedCsvOpener;
+    private final ColumnStorePort columnStorePort;
+    private final DatasetProfileService datasetProfileService;
 
     /**
      * Generate forecast preview for a dataset
@@ -49,8 +56,12 @@ public class ForecastService {
         UploadedFile file = fileCrudPort.load(dataset.getFileId())
                 .orElseThrow(() -> new NotFoundException("File not found"));
 
-        // Read time series data
+        // Read time series data, in time order when the profile knows the date format
         List<ForecastResult.DataPoint> timeSeries = readTimeSeries(file, request);
+        Optional<DateTimeFormatter> dateFormat = datasetProfileService.dateFormatter(dataset, request.getDateColumn());
+        if (dateFormat.isPresent()) {
+            timeSeries = orderByTime(timeSeries, dateFormat.get());
+        }
 
         if (timeSeries.isEmpty()) {
             throw new NotFoundException("No valid time series data found");
@@ -96,19 +107,32 @@ public class ForecastService {
      * Read time series data from file
      */
     private List<ForecastResult.DataPoint> readTimeSeries(UploadedFile file, ForecastRequest request) {
+        Optional<List<ForecastResult.DataPoint>> columnar = readColumnarTimeSeries(file, request);
+        if (columnar.isPresent()) {
+            return columnar.get();
+        }
+
         List<ForecastResult.DataPoint> points = new ArrayList<>();
 
-        try (InputStream inputStream = fileStoragePort.retrieve(file.getStoredFilename());
-             Reader reader = new InputStreamReader(inputStream);
-             CSVParser parser = CSVFormat.DEFAULT.builder()
-                     .setHeader()
-                     .setSkipHeaderRecord(true)
-                     .build()
-                     .parse(reader)) {
+        try (CsvTokenizer tokenizer = storedCsvOpener.open(file)) {
+
+            if (!tokenizer.next()) {
+                return points;
+            }
+            int dateIndex = tokenizer.indexOf(request.getDateColumn());
+            int valueIndex = tokenizer.indexOf(request.getValueColumn());
+            if (dateIndex < 0 || valueIndex < 0) {
+                log.warn("Forecast columns not found in file {}: {}, {}",
+                        file.getFileId(), request.getDateColumn(), request.getValueColumn());
+                return points;
+            }
 
-            for (CSVRecord record : parser) {
-                String timeStr = record.get(request.getDateColumn());
-                String valueStr = record.get(request.getValueColumn());
+            while (tokenizer.next()) {
+                if (tokenizer.isBlank(valueIndex)) {
+                    continue;
+                }
+                String timeStr = tokenizer.field(dateIndex);
+                String valueStr = tokenizer.field(valueIndex);
 
                 try {
                     Double value = Double.parseDouble(valueStr.trim());
@@ -128,6 +152,100 @@ public class ForecastService {
         return points;
     }
 
+    /**
+     * Read the date and value columns from the columnar copy
+     * Numeric value columns are read as doubles without parsing text
+     *
+     * @return Points, or empty if there is no usable columnar copy
+     */
+    private Optional<List<ForecastResult.DataPoint>> readColumnarTimeSeries(UploadedFile file, ForecastRequest request) {
+        try {
+            Optional<ColumnarTable> opened = columnStorePort.open(file.getStoredFilename());
+            if (opened.isEmpty()) {
+                return Optional.empty();
+            }
+            try (ColumnarTable table = opened.get()) {
+                List<ForecastResult.DataPoint> points = new ArrayList<>();
+                int dateIndex = table.columnIndex(request.getDateColumn());
+                int valueIndex = table.columnIndex(request.getValueColumn());
+                if (dateIndex < 0 || valueIndex < 0) {
+                    log.warn("Forecast columns not found in file {}: {}, {}",
+                            file.getFileId(), request.getDateColumn(), request.getValueColumn());
+                    return Optional.of(points);
+                }
+
+                int blockCount = table.getColumns().get(valueIndex).getBlocks().size();
+                for (int b = 0; b < blockCount; b++) {
+                    ColumnBlock values = table.readBlock(valueIndex, b);
+                    ColumnBlock dates = table.readBlock(dateIndex, b);
+                    for (int row = 0; row < values.getRowCount(); row++) {
+                        if (values.isNull(row)) {
+                            continue;
+                        }
+                        Double value = parseValue(values, row);
+                        if (value != null) {
+                            points.add(ForecastResult.DataPoint.builder()
+                                    .time(dates.getString(row))
+                                    .value(value)
+                                    .build());
+                        }
+                    }
+                }
+                return Optional.of(points);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to read columnar copy, falling back to CSV: {}", file.getStoredFilename(), e);
+            return Optional.empty();
+        }
+    }
+
+    private static Double parseValue(ColumnBlock block, int row) {
+        if (block.getType().isNumeric()) {
+            return block.getDouble(row);
+        }
+        try {
+            return Double.parseDouble(block.getString(row).trim());
+        } catch (NumberFormatException e) {
+            return null; // Skip invalid values
+        }
+    }
+
+    /**
+     * Parse point times with the column's date format, rewrite them as ISO
+     * and sort the points chronologically (stable, so equal times keep file order)
+     * Points whose time does not parse are dropped.
+     */
+    private static List<ForecastResult.DataPoint> orderByTime(List<ForecastResult.DataPoint> points,
+                                                              DateTimeFormatter formatter) {
+        List<LocalDateTime> times = new ArrayList<>(points.size());
+        List<ForecastResult.DataPoint> parsed = new ArrayList<>(points.size());
+        for (ForecastResult.DataPoint point : points) {
+            if (point.getTime() == null) {
+                continue;
+            }
+            try {
+                TemporalAccessor time = formatter.parseBest(point.getTime().trim(), LocalDateTime::from, LocalDate::from);
+                LocalDateTime key = time instanceof LocalDate ? ((LocalDate) time).atStartOfDay() : (LocalDateTime) time;
+                times.add(key);
+                parsed.add(ForecastResult.DataPoint.builder()
+                        .time(time.toString())
+                        .value(point.getValue())
+                        .build());
+            } catch (DateTimeParseException e) {
+                // Skip invalid dates
+            }
+        }
+
+        Integer[] order = new Integer[parsed.size()];
+        Arrays.setAll(order, i -> i);
+        Arrays.sort(order, Comparator.comparing(times::get));
+        List<ForecastResult.DataPoint> sorted = new ArrayList<>(order.length);
+        for (Integer i : order) {
+            sorted.add(parsed.get(i));
+        }
+        return sorted;
+    }
+
     /**
      * Generate forecast using specified method
      */
@@ -0,0 +1,59 @@
+package com.portal.das.service.ingest;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Input stream that fails once more than a fixed number of bytes has been read
+ * Guards decompression against archives that expand far beyond their upload size
+ */
+final class BoundedInputStream extends FilterInputStream {
+
+    private final long limit;
+    private final String limitMessage;
+    private long count;
+
+    BoundedInputStream(InputStream in, long limit, String limitMessage) {
+        super(in);
+        this.limit = limit;
+        this.limitMessage = limitMessage;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b != -1) {
+            advance(1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = super.read(b, off, len);
+        if (n > 0) {
+            advance(n);
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        advance(skipped);
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    private void advance(long n) throws IOException {
+        count += n;
+        if (count > limit) {
+            throw new IOException(limitMessage);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.portal.das.service.ingest;
+
+import com.portal.das.domain.model.UploadedFile;
+import com.portal.das.domain.model.columnar.ColumnType;
+import com.portal.das.domain.model.columnar.ColumnTypeMismatchException;
+import com.portal.das.domain.model.columnar.ColumnarTableWriter;
+import com.portal.das.domain.model.profile.DatasetProfile;
+import com.portal.das.domain.ports.out.file.ColumnStorePort;
+import com.portal.das.util.CsvTokenizer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Builds the columnar copy of a stored CSV
+ * Column types come from the dataset profile; a numeric column holding a
+ * value that does not round-trip is stored as text instead and the build
+ * is repeated.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ColumnarStoreBuilder {
+
+    private final ColumnStorePort columnStorePort;
+    private final StoredCsvOpener storedCsvOpener;
+
+    /**
+     * Write the columnar copy unless one already exists for the stored file
+     *
+     * @param file Processed file
+     * @param profile Profile of the file (source of column types)
+     * @throws IOException If the CSV cannot be read or the copy cannot be written
+     */
+    public void build(UploadedFile file, DatasetProfile profile) throws IOException {
+        String storedFilename = file.getStoredFilename();
+        if (columnStorePort.exists(storedFilename)) {
+            log.debug("Columnar copy already exists for {}", storedFilename);
+            return;
+        }
+
+        List<String> names = Arrays.asList(storedCsvOpener.readHeader(file));
+        List<ColumnType> types = new ArrayList<>(names.size());
+        for (int i = 0; i < names.size(); i++) {
+            types.add(columnType(profile, i));
+        }
+
+        // Each retry demotes one more column to text, so this terminates
+        while (true) {
+            try {
+                write(file, names, types);
+                return;
+            } catch (ColumnTypeMismatchException e) {
+                log.info("Column {} of {} stored as text: {}", e.getColumn(), storedFilename, e.getMessage());
+                types.set(e.getColumn(), ColumnType.STRING);
+            }
+        }
+    }
+
+    private void write(UploadedFile file, List<String> names, List<ColumnType> types) throws IOException {
+        try (CsvTokenizer tokenizer = storedCsvOpener.open(file);
+             ColumnarTableWriter writer = columnStorePort.create(file.getStoredFilename(), names, types)) {
+            tokenizer.next(); // header
+            int columns = names.size();
+            while (tokenizer.next()) {
+                int fields = Math.min(tokenizer.fieldCount(), columns);
+                for (int i = 0; i < fields; i++) {
+                    writer.value(i, tokenizer.field(i));
+                }
+                writer.endRow();
+            }
+            writer.commit();
+        }
+    }
+
+    private static ColumnType columnType(DatasetProfile profile, int index) {
+        if (profile == null || profile.getColumns() == null || index >= profile.getColumns().size()) {
+            return ColumnType.STRING;
+        }
+        DatasetProfile.ColumnProfile column = profile.getColumns().get(index);
+        // Columns with values of another type would only be demoted on the first mismatch
+        if (column.getInvalidTypeCount() != null && column.getInvalidTypeCount() > 0) {
+            return ColumnType.STRING;
+        }
+        return ColumnType.fromInferredType(column.getDominantType());
+    }
+}
@@ -0,0 +1,241 @@
+package com.portal.das.service.ingest;
+
+import com.portal.das.domain.model.CsvDialect;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Detects the dialect of a CSV upload from its first bytes
+ * Charset comes from the byte order mark when present, otherwise from a
+ * UTF-16 zero-byte pattern, UTF-8 validity, or a windows-1252 fallback.
+ * The delimiter is the candidate whose per-line count is most consistent
+ * across the sampled records (quote-aware).
+ */
+public final class CsvDialectSniffer {
+
+    /**
+     * Number of leading bytes inspected
+     */
+    public static final int SAMPLE_BYTES = 64 * 1024;
+
+    private static final char[] DELIMITER_CANDIDATES = {',', ';', '\t', '|'};
+    private static final int MAX_SAMPLE_LINES = 50;
+    private static final String FALLBACK_CHARSET = "windows-1252";
+
+    private CsvDialectSniffer() {
+    }
+
+    /**
+     * Sniff the dialect of a sample
+     *
+     * @param sample Leading bytes of the content
+     * @param length Number of valid bytes in the sample
+     * @param complete Whether the sample holds the whole content
+     * @return Dialect of the source bytes (charset may be non ASCII compatible)
+     */
+    public static CsvDialect sniff(byte[] sample, int length, boolean complete) {
+        Charset charset = detectCharset(sample, length, complete);
+        String text = decode(sample, length, charset);
+
+        char quote = detectQuote(text);
+        return CsvDialect.builder()
+                .charset(charset.name())
+                .quote(quote)
+                .delimiter(detectDelimiter(text, quote, complete))
+                .lineEnding(detectLineEnding(text))
+                .build();
+    }
+
+    /**
+     * Whether CSV syntax characters are single bytes in this charset
+     * Content in other charsets (UTF-16/32) is transcoded to UTF-8 at ingest
+     */
+    public static boolean isAsciiCompatible(Charset charset) {
+        String name = charset.name().toUpperCase();
+        return !name.startsWith("UTF-16") && !name.startsWith("UTF-32");
+    }
+
+    /**
+     * Length of the byte order mark at the start of the sample (0 if none)
+     */
+    public static int bomLength(byte[] sample, int length) {
+        if (startsWith(sample, length, 0xEF, 0xBB, 0xBF)) return 3;
+        if (startsWith(sample, length, 0xFF, 0xFE, 0x00, 0x00)) return 4;
+        if (startsWith(sample, length, 0x00, 0x00, 0xFE, 0xFF)) return 4;
+        if (startsWith(sample, length, 0xFF, 0xFE)) return 2;
+        if (startsWith(sample, length, 0xFE, 0xFF)) return 2;
+        return 0;
+    }
+
+    private static Charset detectCharset(byte[] sample, int length, boolean complete) {
+        if (startsWith(sample, length, 0xEF, 0xBB, 0xBF)) return StandardCharsets.UTF_8;
+        if (startsWith(sample, length, 0xFF, 0xFE, 0x00, 0x00)) return Charset.forName("UTF-32LE");
+        if (startsWith(sample, length, 0x00, 0x00, 0xFE, 0xFF)) return Charset.forName("UTF-32BE");
+        if (startsWith(sample, length, 0xFF, 0xFE)) return StandardCharsets.UTF_16LE;
+        if (startsWith(sample, length, 0xFE, 0xFF)) return StandardCharsets.UTF_16BE;
+
+        // UTF-16 without BOM: ASCII text leaves every other byte zero
+        int pairs = Math.min(length, 4096) / 2;
+        if (pairs > 0) {
+            int zeroEven = 0;
+            int zeroOdd = 0;
+            for (int i = 0; i < pairs * 2; i += 2) {
+                if (sample[i] == 0) zeroEven++;
+                if (sample[i + 1] == 0) zeroOdd++;
+            }
+            if (zeroOdd > pairs * 0.3 && zeroEven < pairs * 0.05) return StandardCharsets.UTF_16LE;
+            if (zeroEven > pairs * 0.3 && zeroOdd < pairs * 0.05) return StandardCharsets.UTF_16BE;
+        }
+
+        return isValidUtf8(sample, length, complete) ? StandardCharsets.UTF_8 : Charset.forName(FALLBACK_CHARSET);
+    }
+
+    private static boolean isValidUtf8(byte[] sample, int length, boolean complete) {
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        ByteBuffer in = ByteBuffer.wrap(sample, 0, length);
+        CharBuffer out = CharBuffer.allocate(1024);
+        while (true) {
+            // A sequence cut off by the end of a partial sample is not an error
+            CoderResult result = decoder.decode(in, out, complete);
+            if (result.isError()) {
+                return false;
+            }
+            if (result.isUnderflow()) {
+                return true;
+            }
+            out.clear();
+        }
+    }
+
+    private static String decode(byte[] sample, int length, Charset charset) {
+        int bom = bomLength(sample, length);
+        return new String(sample, bom, length - bom, charset);
+    }
+
+    private static char detectQuote(String text) {
+        if (text.indexOf('"') >= 0) {
+            return '"';
+        }
+        // Single quotes only count when they open a field
+        int boundaryQuotes = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '\'') {
+                char previous = i == 0 ? '\n' : text.charAt(i - 1);
+                if (previous == '\n' || previous == '\r' || isDelimiterCandidate(previous)) {
+                    boundaryQuotes++;
+                }
+            }
+        }
+        return boundaryQuotes >= 2 ? '\'' : '"';
+    }
+
+    private static char detectDelimiter(String text, char quote, boolean complete) {
+        char best = ',';
+        int bestFrequency = 0;
+        int bestCount = 0;
+
+        for (char candidate : DELIMITER_CANDIDATES) {
+            int[] counts = countPerLine(text, candidate, quote, complete);
+
+            // Most common non-zero per-line count and how many lines share it
+            Map<Integer, Integer> histogram = new HashMap<>();
+            for (int count : counts) {
+                if (count > 0) {
+                    histogram.merge(count, 1, Integer::sum);
+                }
+            }
+            for (Map.Entry<Integer, Integer> entry : histogram.entrySet()) {
+                int frequency = entry.getValue();
+                int count = entry.getKey();
+                if (frequency > bestFrequency || (frequency == bestFrequency && count > bestCount)) {
+                    best = candidate;
+                    bestFrequency = frequency;
+                    bestCount = count;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Count delimiter occurrences outside quotes for each sampled record
+     */
+    private static int[] countPerLine(String text, char delimiter, char quote, boolean complete) {
+        int[] counts = new int[MAX_SAMPLE_LINES];
+        int lines = 0;
+        int count = 0;
+        boolean inQuotes = false;
+        boolean lineHasContent = false;
+
+        for (int i = 0; i < text.length() && lines < MAX_SAMPLE_LINES; i++) {
+            char c = text.charAt(i);
+            if (c == quote) {
+                inQuotes = !inQuotes;
+                lineHasContent = true;
+            } else if (!inQuotes && (c == '\n' || c == '\r')) {
+                if (lineHasContent) {
+                    counts[lines++] = count;
+                }
+                count = 0;
+                lineHasContent = false;
+            } else {
+                lineHasContent = true;
+                if (!inQuotes && c == delimiter) {
+                    count++;
+                }
+            }
+        }
+        // The last line of a partial sample may be cut short
+        if (complete && lineHasContent && lines < MAX_SAMPLE_LINES) {
+            counts[lines++] = count;
+        }
+        return Arrays.copyOf(counts, lines);
+    }
+
+    private static CsvDialect.LineEnding detectLineEnding(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\n') {
+                return CsvDialect.LineEnding.LF;
+            }
+            if (c == '\r') {
+                return i + 1 < text.length() && text.charAt(i + 1) == '\n'
+                        ? CsvDialect.LineEnding.CRLF
+                        : CsvDialect.LineEnding.CR;
+            }
+        }
+        return CsvDialect.LineEnding.LF;
+    }
+
+    private static boolean isDelimiterCandidate(char c) {
+        for (char candidate : DELIMITER_CANDIDATES) {
+            if (c == candidate) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean startsWith(byte[] sample, int length, int... prefix) {
+        if (length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if ((sample[i] & 0xFF) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
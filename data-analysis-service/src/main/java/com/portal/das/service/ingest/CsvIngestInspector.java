@@ -0,0 +1,265 @@
+package com.portal.das.service.ingest;
+
+import com.portal.das.domain.model.CsvDialect;
+import com.portal.das.domain.model.RowOffsetIndex;
+import com.portal.das.util.CsvTokenizer;
+
+import java.io.ByteArrayOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+/**
+ * Incremental CSV inspector used by the ingest pipeline
+ * Observes the bytes of a CSV file while they are being written to storage
+ * and derives row count, header, byte size, content hash and a sparse row
+ * offset index in the same pass
+ *
+ * Records are delimited exactly as {@link CsvTokenizer} reads them: quotes
+ * only open at the start of a field, newlines inside quoted fields do not end
+ * a record, LF, CRLF and CR are accepted and empty lines are not records.
+ * The content must be in an ASCII compatible charset; the header is decoded
+ * with the dialect. Not thread-safe: one inspector per stream.
+ */
+public class CsvIngestInspector {
+
+    /**
+     * Upper bound for the buffered header line (protects against files without newlines)
+     */
+    private static final int MAX_HEADER_BYTES = 1024 * 1024;
+
+    /**
+     * Data rows between two entries of the row offset index
+     */
+    public static final int DEFAULT_ROW_INDEX_INTERVAL = 1024;
+
+    private static final byte LF = '\n';
+    private static final byte CR = '\r';
+
+    private final CsvDialect dialect;
+    private final byte quote;
+    private final byte delimiter;
+    private final int rowIndexInterval;
+    private final MessageDigest digest;
+    private final ByteArrayOutputStream headerBuffer = new ByteArrayOutputStream(1024);
+
+    private long byteSize;
+    private long recordCount;
+    private long bytesSinceRecordEnd;
+    private boolean inQuotes;
+    private boolean quoteClosed;
+    private boolean fieldQuoted;
+    private boolean atFieldStart = true;
+    private boolean lastWasCR;
+    private boolean finished;
+
+    // Start offset of every rowIndexInterval-th data row
+    private long position;
+    private long[] rowOffsets = new long[64];
+    private int rowOffsetCount;
+
+    public CsvIngestInspector() {
+        this(CsvDialect.DEFAULT);
+    }
+
+    /**
+     * @param dialect Dialect of the inspected content
+     */
+    public CsvIngestInspector(CsvDialect dialect) {
+        this(dialect, DEFAULT_ROW_INDEX_INTERVAL);
+    }
+
+    /**
+     * @param dialect Dialect of the inspected content
+     * @param rowIndexInterval Data rows between two entries of the row offset index
+     */
+    public CsvIngestInspector(CsvDialect dialect, int rowIndexInterval) {
+        if (rowIndexInterval < 1) {
+            throw new IllegalArgumentException("Row index interval must be positive: " + rowIndexInterval);
+        }
+        this.dialect = dialect;
+        this.quote = (byte) dialect.getQuote();
+        this.delimiter = (byte) dialect.getDelimiter();
+        this.rowIndexInterval = rowIndexInterval;
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Feed a single byte
+     *
+     * @param b Byte value (0-255)
+     */
+    public void update(int b) {
+        digest.update((byte) b);
+        byteSize++;
+        scan((byte) b);
+    }
+
+    /**
+     * Feed a range of bytes
+     *
+     * @param buffer Source buffer
+     * @param offset Start offset
+     * @param length Number of bytes
+     */
+    public void update(byte[] buffer, int offset, int length) {
+        if (length <= 0) {
+            return;
+        }
+        digest.update(buffer, offset, length);
+        byteSize += length;
+        int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            scan(buffer[i]);
+        }
+    }
+
+    /**
+     * Whether the bytes fed so far end inside a quoted field
+     * Checked once the last byte has been fed, this detects an unterminated
+     * quote, on which the tokenizer fails when the content is read back.
+     */
+    public boolean endsInQuotedField() {
+        return inQuotes;
+    }
+
+    /**
+     * Complete inspection and build statistics
+     * Must be called once, after the last byte has been fed
+     *
+     * @return Ingest statistics for the observed content
+     */
+    public IngestStats finish() {
+        if (finished) {
+            throw new IllegalStateException("Inspector already finished");
+        }
+        finished = true;
+
+        // Trailing record without line terminator
+        if (bytesSinceRecordEnd > 0) {
+            recordCount++;
+        }
+
+        String[] header = parseHeader();
+        long rowCount = recordCount > 0 ? recordCount - 1 : 0;
+
+        return IngestStats.builder()
+                .rowCount(rowCount) // Exclude header
+                .columnCount(header.length)
+                .header(header)
+                .byteSize(byteSize)
+                .contentHash(HexFormat.of().formatHex(digest.digest()))
+                .dialect(dialect)
+                .rowIndex(RowOffsetIndex.builder()
+                        .interval(rowIndexInterval)
+                        .rowCount(rowCount)
+                        .offsets(Arrays.copyOf(rowOffsets, rowOffsetCount))
+                        .build())
+                .build();
+    }
+
+    /**
+     * Advance the record state machine by one byte
+     */
+    private void scan(byte b) {
+        long offset = position++;
+
+        if (inQuotes) {
+            if (b == quote) {
+                inQuotes = false;
+                quoteClosed = true;
+            }
+            content(b);
+            return;
+        }
+
+        if (quoteClosed) {
+            quoteClosed = false;
+            // An escaped quote ("") closes and immediately reopens the field
+            if (b == quote) {
+                inQuotes = true;
+                content(b);
+                return;
+            }
+        }
+
+        if (b == LF) {
+            if (!lastWasCR) {
+                endRecord();
+            }
+            lastWasCR = false;
+            return;
+        }
+
+        if (b == CR) {
+            endRecord();
+            lastWasCR = true;
+            return;
+        }
+
+        lastWasCR = false;
+        if (bytesSinceRecordEnd == 0) {
+            startRecord(offset);
+        }
+        if (b == delimiter) {
+            atFieldStart = true;
+            fieldQuoted = false;
+        } else {
+            // Quotes elsewhere in a field are literal text
+            if (b == quote && atFieldStart && !fieldQuoted) {
+                inQuotes = true;
+                fieldQuoted = true;
+            }
+            atFieldStart = false;
+        }
+        content(b);
+    }
+
+    private void content(byte b) {
+        bytesSinceRecordEnd++;
+        captureHeader(b);
+    }
+
+    /**
+     * First byte of a non-empty record; record 0 is the header
+     */
+    private void startRecord(long offset) {
+        long dataRow = recordCount - 1;
+        if (dataRow >= 0 && dataRow % rowIndexInterval == 0) {
+            if (rowOffsetCount == rowOffsets.length) {
+                rowOffsets = Arrays.copyOf(rowOffsets, rowOffsetCount * 2);
+            }
+            rowOffsets[rowOffsetCount++] = offset;
+        }
+    }
+
+    private void endRecord() {
+        atFieldStart = true;
+        fieldQuoted = false;
+        // Empty lines are skipped, as the tokenizer does
+        if (bytesSinceRecordEnd > 0) {
+            recordCount++;
+            bytesSinceRecordEnd = 0;
+        }
+    }
+
+    private void captureHeader(byte b) {
+        if (recordCount == 0 && headerBuffer.size() < MAX_HEADER_BYTES) {
+            headerBuffer.write(b);
+        }
+    }
+
+    private String[] parseHeader() {
+        if (headerBuffer.size() == 0) {
+            return new String[0];
+        }
+        // The tokenizer strips a UTF-8 byte order mark written by Excel
+        String headerLine = headerBuffer.toString(dialect.toCharset());
+        return CsvTokenizer.parseLine(headerLine, dialect.getDelimiter(), dialect.getQuote());
+    }
+}
@@ -0,0 +1,563 @@
+package com.portal.das.service.ingest;
+
+import com.portal.das.domain.model.CsvDialect;
+import com.portal.das.domain.model.StoredBlob;
+import com.portal.das.domain.ports.out.file.FileStoragePort;
+import com.portal.das.domain.ports.out.file.RowIndexPort;
+import com.portal.das.domain.ports.out.file.StoredBlobPort;
+import com.portal.das.domain.ports.out.file.StoredContentPort;
+import com.portal.das.util.StreamingExcelConverter;
+import com.sharedlib.core.exception.BadRequestException;
+import com.sharedlib.core.i18n.MessageResolver;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Stores uploaded content as CSV and collects ingest statistics in the same pass
+ * Works from any {@link InputStreamSource} so multipart uploads and files already
+ * staged in storage go through the same conversion path
+ *
+ * Storage is content-addressed: when the CSV hash matches a stored blob the new
+ * copy is dropped and the existing file is referenced instead. Workbooks are also
+ * keyed by the hash of their own bytes, so a repeated workbook skips conversion.
+ * Compressed uploads (.csv.gz, .zip) are decompressed on the fly, bounded by
+ * das.ingest.max-decompressed-size and das.ingest.max-archive-entries.
+ * CSV uploads are sniffed for their dialect (delimiter, quote, charset, line
+ * ending); UTF-16/32 content is transcoded to UTF-8 on the way into storage.
+ * A sparse row offset index (every das.ingest.row-index-interval rows) is
+ * stored next to each CSV for random-access row reads. With das.storage.compression
+ * set, new blobs are then rewritten as independently compressed blocks; with an
+ * object store configured they are published to it.
+ * Metric: das.ingest.dedup.hits
+ */
+@Slf4j
+@Service
+public class CsvIngestService {
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Formats accepted inside zip archives
+     */
+    private static final Set<String> ARCHIVE_ENTRY_FORMATS = Set.of("csv", "xlsx", "xls");
+
+    private final FileStoragePort fileStoragePort;
+    private final StoredBlobPort storedBlobPort;
+    private final RowIndexPort rowIndexPort;
+    private final StoredContentPort storedContentPort;
+    private final StoredContentReleaser storedContentReleaser;
+    private final MessageResolver messageResolver;
+    private final long maxDecompressedSize;
+    private final int maxArchiveEntries;
+    private final int rowIndexInterval;
+    private final Counter dedupHits;
+
+    public CsvIngestService(FileStoragePort fileStoragePort,
+                            StoredBlobPort storedBlobPort,
+                            RowIndexPort rowIndexPort,
+                            StoredContentPort storedContentPort,
+                            StoredContentReleaser storedContentReleaser,
+                            MessageResolver messageResolver,
+                            MeterRegistry meterRegistry,
+                            @Value("${das.ingest.max-decompressed-size:20GB}") DataSize maxDecompressedSize,
+                            @Value("${das.ingest.max-archive-entries:100}") int maxArchiveEntries,
+                            @Value("${das.ingest.row-index-interval:1024}") int rowIndexInterval) {
+        this.fileStoragePort = fileStoragePort;
+        this.storedBlobPort = storedBlobPort;
+        this.rowIndexPort = rowIndexPort;
+        this.storedContentPort = storedContentPort;
+        this.storedContentReleaser = storedContentReleaser;
+        this.messageResolver = messageResolver;
+        this.maxDecompressedSize = maxDecompressedSize.toBytes();
+        this.maxArchiveEntries = maxArchiveEntries;
+        this.rowIndexInterval = rowIndexInterval;
+        this.dedupHits = Counter.builder("das.ingest.dedup.hits")
+                .description("Uploads served from an already stored blob")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Store an upload as one or more CSV files
+     * Plain files yield one entry; .gz is decompressed on the fly into one CSV;
+     * each supported file inside a .zip becomes its own entry. Archives are
+     * streamed: nothing is expanded to memory or disk before being ingested.
+     *
+     * @param source Upload content
+     * @param filename Upload filename (its extension selects the handling)
+     * @param firstFileId File ID for the first (or only) entry
+     * @return Entries in archive order; entries that failed carry an error message
+     */
+    public List<IngestedEntry> ingestAll(InputStreamSource source, String filename, UUID firstFileId) throws IOException {
+        String extension = getFileExtension(filename);
+
+        if ("gz".equals(extension)) {
+            try (InputStream decompressed = bounded(new GZIPInputStream(source.getInputStream(), COPY_BUFFER_SIZE))) {
+                IngestResult result = ingest(() -> decompressed, "csv", firstFileId + ".csv");
+                return List.of(IngestedEntry.success(firstFileId, filename, extension, null, result));
+            }
+        }
+
+        if ("zip".equals(extension)) {
+            return ingestZip(source, filename, firstFileId);
+        }
+
+        IngestResult result = ingest(source, extension, firstFileId + ".csv");
+        return List.of(IngestedEntry.success(firstFileId, filename, extension, null, result));
+    }
+
+    /**
+     * Ingest each supported entry of a zip archive straight from the zip stream
+     * If the archive is rejected part way (too many entries, decompression
+     * limit, unreadable archive), the entries already stored are released.
+     */
+    private List<IngestedEntry> ingestZip(InputStreamSource source, String filename, UUID firstFileId) throws IOException {
+        List<IngestedEntry> entries = new ArrayList<>();
+        try {
+            readZip(source, filename, firstFileId, entries);
+        } catch (IOException | RuntimeException e) {
+            for (IngestedEntry entry : entries) {
+                if (entry.isSuccess()) {
+                    IngestResult result = entry.getResult();
+                    storedContentReleaser.release(result.getStats().getContentHash(), result.getStoredFilename());
+                }
+            }
+            throw e;
+        }
+
+        if (entries.isEmpty()) {
+            throw new BadRequestException(
+                messageResolver.getMessage("das.file.archive.empty")
+            );
+        }
+        return entries;
+    }
+
+    /**
+     * Ingest the entries of a zip archive, adding each to the given list as it is stored
+     */
+    private void readZip(InputStreamSource source, String filename, UUID firstFileId,
+                         List<IngestedEntry> entries) throws IOException {
+        try (ZipInputStream zip = new ZipInputStream(source.getInputStream())) {
+            // Entry reads go through the bound; closing an entry must not close the archive
+            InputStream entryStream = new NonClosingInputStream(bounded(zip));
+
+            ZipEntry zipEntry;
+            while ((zipEntry = zip.getNextEntry()) != null) {
+                String entryPath = zipEntry.getName();
+                String entryExtension = getFileExtension(entryPath);
+                if (zipEntry.isDirectory() || isHiddenEntry(entryPath)
+                        || !ARCHIVE_ENTRY_FORMATS.contains(entryExtension)) {
+                    log.debug("Skipping zip entry: {}", entryPath);
+                    continue;
+                }
+
+                if (entries.size() >= maxArchiveEntries) {
+                    throw new BadRequestException(
+                        messageResolver.getMessage("das.file.archive.too.many.entries",
+                                new Object[]{maxArchiveEntries})
+                    );
+                }
+
+                UUID fileId = entries.isEmpty() ? firstFileId : UUID.randomUUID();
+                String entryName = filename + "/" + entryPath;
+                Long compressedSize = zipEntry.getCompressedSize() >= 0 ? zipEntry.getCompressedSize() : null;
+                try {
+                    IngestResult result = ingest(() -> entryStream, entryExtension, fileId + ".csv");
+                    entries.add(IngestedEntry.success(fileId, entryName, "zip", compressedSize, result));
+                } catch (BadRequestException e) {
+                    // One bad workbook does not fail the rest of the archive
+                    log.warn("Failed to ingest zip entry {}: {}", entryName, e.getMessage());
+                    entries.add(IngestedEntry.failure(fileId, entryName, "zip", compressedSize, e.getMessage()));
+                }
+                zip.closeEntry();
+            }
+        }
+    }
+
+    /**
+     * Store content as CSV, converting Excel workbooks on the way
+     *
+     * @param source Content to store
+     * @param extension Original file extension (csv, xlsx, xls)
+     * @param storedFilename Target filename in storage
+     * @return Stored path and statistics
+     */
+    public IngestResult ingest(InputStreamSource source, String extension, String storedFilename) throws IOException {
+        if (!"csv".equalsIgnoreCase(extension)) {
+            // Convert Excel to CSV
+            return convertAndStore(source, extension, storedFilename);
+        }
+
+        try (BufferedInputStream inputStream = new BufferedInputStream(source.getInputStream(), CsvDialectSniffer.SAMPLE_BYTES)) {
+            CsvDialect dialect = sniff(inputStream);
+            Path storedPath = fileStoragePort.getPath(storedFilename);
+
+            if (!CsvDialectSniffer.isAsciiCompatible(dialect.toCharset())) {
+                // UTF-16/32: store as UTF-8 so byte-level scanners and readers stay simple
+                IngestStats stats = transcode(inputStream, dialect, storedPath);
+                return deduplicate(new IngestResult(storedFilename, storedPath, stats, false), null);
+            }
+
+            // Already CSV, just store it
+            CsvIngestInspector inspector = new CsvIngestInspector(dialect, rowIndexInterval);
+            try (InputStream inspecting = new InspectingInputStream(inputStream, inspector)) {
+                storedPath = fileStoragePort.store(inspecting, storedFilename);
+            } catch (IOException e) {
+                // e.g. truncated gzip or decompression limit hit: drop the partial file
+                deleteQuietly(storedPath);
+                throw e;
+            }
+            return deduplicate(new IngestResult(storedFilename, storedPath, finish(inspector, storedPath), false), null);
+        }
+    }
+
+    /**
+     * Collect statistics for a CSV file that is already in storage
+     * Read-only pass, unless the content has to be transcoded to UTF-8
+     *
+     * @param storedFilename CSV filename in storage
+     * @return Stored path and statistics
+     */
+    public IngestResult inspect(String storedFilename) throws IOException {
+        Path storedPath = fileStoragePort.getPath(storedFilename);
+        try (BufferedInputStream inputStream = new BufferedInputStream(Files.newInputStream(storedPath), CsvDialectSniffer.SAMPLE_BYTES)) {
+            CsvDialect dialect = sniff(inputStream);
+
+            if (!CsvDialectSniffer.isAsciiCompatible(dialect.toCharset())) {
+                Path transcodedPath = storedPath.resolveSibling(storedFilename + ".utf8");
+                IngestStats stats = transcode(inputStream, dialect, transcodedPath);
+                Files.move(transcodedPath, storedPath, StandardCopyOption.REPLACE_EXISTING);
+                return deduplicate(new IngestResult(storedFilename, storedPath, stats, false), null);
+            }
+
+            CsvIngestInspector inspector = new CsvIngestInspector(dialect, rowIndexInterval);
+            byte[] buffer = new byte[COPY_BUFFER_SIZE];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                inspector.update(buffer, 0, read);
+            }
+            return deduplicate(new IngestResult(storedFilename, storedPath, finish(inspector, null), false), null);
+        }
+    }
+
+    /**
+     * Detect the dialect from the first block without consuming it
+     */
+    private CsvDialect sniff(BufferedInputStream inputStream) throws IOException {
+        inputStream.mark(CsvDialectSniffer.SAMPLE_BYTES);
+        byte[] sample = inputStream.readNBytes(CsvDialectSniffer.SAMPLE_BYTES);
+        inputStream.reset();
+
+        CsvDialect dialect = CsvDialectSniffer.sniff(sample, sample.length, sample.length < CsvDialectSniffer.SAMPLE_BYTES);
+        log.debug("Sniffed CSV dialect: {}", dialect);
+        return dialect;
+    }
+
+    /**
+     * Re-encode non ASCII compatible content as UTF-8 (without byte order mark)
+     *
+     * @param inputStream Source content in the sniffed charset
+     * @param source Sniffed dialect
+     * @param targetPath Where the UTF-8 copy is written
+     * @return Statistics of the UTF-8 copy
+     */
+    private IngestStats transcode(InputStream inputStream, CsvDialect source, Path targetPath) throws IOException {
+        CsvDialect stored = CsvDialect.builder()
+                .delimiter(source.getDelimiter())
+                .quote(source.getQuote())
+                .lineEnding(source.getLineEnding())
+                .charset(StandardCharsets.UTF_8.name())
+                .build();
+        CsvIngestInspector inspector = new CsvIngestInspector(stored, rowIndexInterval);
+
+        Reader reader = new InputStreamReader(inputStream, source.toCharset());
+        try (Writer writer = new OutputStreamWriter(
+                new InspectingOutputStream(Files.newOutputStream(targetPath), inspector),
+                StandardCharsets.UTF_8)) {
+            char[] buffer = new char[COPY_BUFFER_SIZE];
+            boolean first = true;
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                int offset = first && read > 0 && buffer[0] == '\uFEFF' ? 1 : 0;
+                first = false;
+                writer.write(buffer, offset, read - offset);
+            }
+        } catch (IOException e) {
+            deleteQuietly(targetPath);
+            throw e;
+        }
+        log.info("Transcoded {} content to UTF-8: {}", source.getCharset(), targetPath.getFileName());
+        return finish(inspector, targetPath);
+    }
+
+    /**
+     * Complete inspection of stored CSV content
+     * Content ending inside a quoted field is rejected here: the tokenizer
+     * would fail on its last record every time the file is read.
+     *
+     * @param inspector Inspector that has seen all the content
+     * @param writtenPath File written by this pass, deleted when rejected (null to keep it)
+     */
+    private IngestStats finish(CsvIngestInspector inspector, Path writtenPath) {
+        if (inspector.endsInQuotedField()) {
+            if (writtenPath != null) {
+                deleteQuietly(writtenPath);
+            }
+            throw new BadRequestException(
+                messageResolver.getMessage("das.file.csv.unterminated.quote")
+            );
+        }
+        return inspector.finish();
+    }
+
+    /**
+     * Convert Excel file to CSV and store
+     * Uses the streaming (event based) converter so memory stays bounded
+     * regardless of the number of rows in the workbook
+     *
+     * @param source Excel content
+     * @param extension Excel extension (xlsx or xls)
+     * @param storedFilename Target filename
+     * @return Stored path and statistics
+     */
+    private IngestResult convertAndStore(InputStreamSource source, String extension,
+                                         String storedFilename) throws IOException {
+        // The event readers need random access to the workbook container;
+        // content already on disk (staged uploads) is read in place
+        boolean onDisk = source instanceof Resource resource && resource.isFile();
+        Path sourcePath = onDisk
+                ? ((Resource) source).getFile().toPath()
+                : Files.createTempFile("das-upload-", "." + extension);
+        try {
+            String sourceHash = hashSource(source, sourcePath, onDisk);
+
+            Optional<IngestResult> reused = reuseConversion(sourceHash);
+            if (reused.isPresent()) {
+                log.info("Workbook already converted, reusing blob {}", reused.get().getStats().getContentHash());
+                return reused.get();
+            }
+
+            IngestResult converted = convert(sourcePath, extension, storedFilename);
+            return deduplicate(converted, sourceHash);
+        } finally {
+            if (!onDisk) {
+                Files.deleteIfExists(sourcePath);
+            }
+        }
+    }
+
+    /**
+     * Hash the workbook bytes, copying them to the temp file when not already on disk
+     */
+    private String hashSource(InputStreamSource source, Path sourcePath, boolean onDisk) throws IOException {
+        MessageDigest digest = newSha256();
+        if (onDisk) {
+            try (InputStream inputStream = new DigestInputStream(Files.newInputStream(sourcePath), digest)) {
+                inputStream.transferTo(OutputStream.nullOutputStream());
+            }
+        } else {
+            try (InputStream inputStream = new DigestInputStream(source.getInputStream(), digest)) {
+                Files.copy(inputStream, sourcePath, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Write the CSV for a workbook, collecting statistics on the way
+     */
+    private IngestResult convert(Path sourcePath, String extension, String storedFilename) {
+        Path targetPath = fileStoragePort.getPath(storedFilename);
+        CsvIngestInspector inspector = new CsvIngestInspector(CsvDialect.DEFAULT, rowIndexInterval);
+        try (Writer writer = new OutputStreamWriter(
+                new InspectingOutputStream(Files.newOutputStream(targetPath), inspector),
+                StandardCharsets.UTF_8)) {
+            StreamingExcelConverter.convert(sourcePath, extension, writer);
+        } catch (Exception e) {
+            log.error("Failed to convert Excel to CSV: {}", e.getMessage(), e);
+            deleteQuietly(targetPath);
+            throw new BadRequestException(
+                messageResolver.getMessage("das.file.conversion.failed")
+            );
+        }
+        return new IngestResult(storedFilename, targetPath, inspector.finish(), false);
+    }
+
+    /**
+     * Reference the blob previously converted from the same workbook, if still stored
+     */
+    private Optional<IngestResult> reuseConversion(String sourceHash) {
+        return storedBlobPort.findBySourceHash(sourceHash)
+                .flatMap(blob -> storedBlobPort.acquireExisting(blob.getContentHash()))
+                .map(blob -> {
+                    dedupHits.increment();
+                    return toResult(blob);
+                });
+    }
+
+    /**
+     * Register the stored CSV as a blob reference; if identical content was
+     * stored before, drop the new copy and point at the existing file
+     *
+     * @param result Freshly stored CSV
+     * @param sourceHash Hash of the source workbook (null for CSV uploads)
+     * @return Result pointing at the canonical file
+     */
+    private IngestResult deduplicate(IngestResult result, String sourceHash) {
+        IngestStats stats = result.getStats();
+        StoredBlob canonical = storedBlobPort.acquire(StoredBlob.builder()
+                .contentHash(stats.getContentHash())
+                .sourceHash(sourceHash)
+                .storedFilename(result.getStoredFilename())
+                .storagePath(result.getStoredPath().toString())
+                .byteSize(stats.getByteSize())
+                .rowCount(stats.getRowCount())
+                .columnCount(stats.getColumnCount())
+                .build());
+
+        if (canonical.getStoredFilename().equals(result.getStoredFilename())) {
+            saveRowIndex(result.getStoredFilename(), stats);
+            finishStorage(result.getStoredFilename());
+            return result;
+        }
+
+        // Same content already stored: keep one physical copy
+        if (!fileStoragePort.delete(result.getStoredFilename())) {
+            log.warn("Failed to delete duplicate file: {}", result.getStoredFilename());
+        }
+        dedupHits.increment();
+        log.info("Duplicate content {}, reusing {}", stats.getContentHash(), canonical.getStoredFilename());
+        if (!rowIndexPort.exists(canonical.getStoredFilename())) {
+            saveRowIndex(canonical.getStoredFilename(), stats);
+        }
+        return new IngestResult(canonical.getStoredFilename(),
+                fileStoragePort.getPath(canonical.getStoredFilename()), stats, true);
+    }
+
+    /**
+     * Store the row offset index collected during ingest
+     * Row reads rebuild a missing index, so a failure here is not fatal
+     */
+    private void saveRowIndex(String storedFilename, IngestStats stats) {
+        if (stats.getRowIndex() == null) {
+            return;
+        }
+        try {
+            rowIndexPort.save(storedFilename, stats.getRowIndex());
+        } catch (IOException e) {
+            log.warn("Failed to store row index for {}", storedFilename, e);
+        }
+    }
+
+    /**
+     * Rewrite a new blob in the configured storage mode and share it with other instances
+     * Readers detect the format per file and look in local storage first, so
+     * either step may fail without making the file unreadable here
+     */
+    private void finishStorage(String storedFilename) {
+        try {
+            storedContentPort.compress(storedFilename);
+        } catch (IOException e) {
+            log.warn("Failed to compress {}, keeping it uncompressed", storedFilename, e);
+        }
+        try {
+            storedContentPort.publish(storedFilename);
+        } catch (IOException e) {
+            log.warn("Failed to publish {}, serving it from this instance only", storedFilename, e);
+        }
+    }
+
+    private IngestResult toResult(StoredBlob blob) {
+        IngestStats stats = IngestStats.builder()
+                .rowCount(blob.getRowCount() != null ? blob.getRowCount() : 0)
+                .columnCount(blob.getColumnCount() != null ? blob.getColumnCount() : 0)
+                .byteSize(blob.getByteSize() != null ? blob.getByteSize() : 0)
+                .contentHash(blob.getContentHash())
+                .dialect(CsvDialect.DEFAULT) // Workbook conversions use the default dialect
+                .build();
+        return new IngestResult(blob.getStoredFilename(),
+                fileStoragePort.getPath(blob.getStoredFilename()), stats, true);
+    }
+
+    /**
+     * Limit the number of decompressed bytes read from an archive
+     */
+    private InputStream bounded(InputStream decompressed) {
+        return new BoundedInputStream(decompressed, maxDecompressedSize,
+                messageResolver.getMessage("das.file.archive.too.large"));
+    }
+
+    private static boolean isHiddenEntry(String entryPath) {
+        String name = entryPath.substring(entryPath.lastIndexOf('/') + 1);
+        return name.startsWith(".") || entryPath.startsWith("__MACOSX/");
+    }
+
+    private static String getFileExtension(String filename) {
+        if (filename == null || !filename.contains(".")) {
+            return "";
+        }
+        return filename.substring(filename.lastIndexOf(".") + 1).toLowerCase();
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete partial output: {}", path, e);
+        }
+    }
+
+    /**
+     * Shields the archive stream from being closed by per-entry consumers
+     */
+    private static final class NonClosingInputStream extends FilterInputStream {
+        NonClosingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public void close() {
+            // The owning archive stream is closed by ingestZip
+        }
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.portal.das.service.ingest;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Supplier;
+
+/**
+ * Bounded executor for file conversion and storage
+ * Shared by all upload requests so concurrent batches cannot exhaust CPU or disk
+ *
+ * When the queue is full the submitting thread runs the task itself,
+ * which throttles new uploads instead of rejecting them.
+ * Metrics: das.ingest.queue.depth, das.ingest.active, das.ingest.pool.size
+ */
+@Slf4j
+@Component
+public class IngestExecutor {
+
+    private final ThreadPoolTaskExecutor executor;
+
+    public IngestExecutor(@Value("${das.ingest.pool-size:4}") int poolSize,
+                          @Value("${das.ingest.queue-capacity:50}") int queueCapacity,
+                          MeterRegistry meterRegistry) {
+        this.executor = new ThreadPoolTaskExecutor();
+        this.executor.setCorePoolSize(poolSize);
+        this.executor.setMaxPoolSize(poolSize);
+        this.executor.setQueueCapacity(queueCapacity);
+        this.executor.setThreadNamePrefix("das-ingest-");
+        this.executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.initialize();
+
+        Gauge.builder("das.ingest.queue.depth", executor, e -> e.getThreadPoolExecutor().getQueue().size())
+                .description("Files waiting for conversion")
+                .register(meterRegistry);
+        Gauge.builder("das.ingest.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .description("Files currently being converted and stored")
+                .register(meterRegistry);
+        Gauge.builder("das.ingest.pool.size", executor, ThreadPoolTaskExecutor::getPoolSize)
+                .description("Ingest worker threads")
+                .register(meterRegistry);
+
+        log.info("Ingest executor initialized with {} threads, queue capacity {}", poolSize, queueCapacity);
+    }
+
+    /**
+     * Run a task on the ingest pool
+     * The caller's locale is propagated so i18n messages resolve as in the request thread
+     *
+     * @param task Task to run
+     * @return Future completed with the task result
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        LocaleContext localeContext = LocaleContextHolder.getLocaleContext();
+        return CompletableFuture.supplyAsync(() -> {
+            LocaleContext previous = LocaleContextHolder.getLocaleContext();
+            LocaleContextHolder.setLocaleContext(localeContext);
+            try {
+                return task.get();
+            } finally {
+                LocaleContextHolder.setLocaleContext(previous);
+            }
+        }, executor);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,51 @@
+package com.portal.das.service.ingest;
+
+import com.portal.das.domain.model.UploadedFile;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.file.Path;
+
+/**
+ * Outcome of storing a file as CSV: where it landed and what it contains
+ */
+@Getter
+@AllArgsConstructor
+public class IngestResult {
+    /**
+     * Filename of the stored CSV (shared when deduplicated)
+     */
+    private final String storedFilename;
+
+    /**
+     * Path of the stored CSV file
+     */
+    private final Path storedPath;
+
+    /**
+     * Statistics collected while the CSV was written
+     */
+    private final IngestStats stats;
+
+    /**
+     * Whether identical content was already stored and is being reused
+     */
+    private final boolean deduplicated;
+
+    /**
+     * Copy stored location and statistics onto the file metadata and mark it processed
+     *
+     * @param uploadedFile File metadata to update
+     */
+    public void applyTo(UploadedFile uploadedFile) {
+        uploadedFile.setStoredFilename(storedFilename);
+        uploadedFile.setStoragePath(storedPath.toString());
+        uploadedFile.setStoredFormat("csv");
+        uploadedFile.setStoredSize(stats.getByteSize());
+        uploadedFile.setContentHash(stats.getContentHash());
+        uploadedFile.applyCsvDialect(stats.getDialect());
+        uploadedFile.setRowCount(stats.getRowCount());
+        uploadedFile.setColumnCount(stats.getColumnCount());
+        uploadedFile.setStatus(UploadedFile.FileStatus.PROCESSED);
+    }
+}
@@ -0,0 +1,52 @@
+package com.portal.das.service.ingest;
+
+import com.portal.das.domain.model.CsvDialect;
+import com.portal.das.domain.model.RowOffsetIndex;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Statistics collected while a CSV file is streamed into storage
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IngestStats {
+    /**
+     * Number of data rows (excluding header)
+     */
+    private long rowCount;
+
+    /**
+     * Number of columns in the header
+     */
+    private int columnCount;
+
+    /**
+     * Column names from the first record
+     */
+    private String[] header;
+
+    /**
+     * Number of bytes written to storage
+     */
+    private long byteSize;
+
+    /**
+     * SHA-256 of the stored content (lowercase hex)
+     */
+    private String contentHash;
+
+    /**
+     * Dialect of the stored content
+     */
+    private CsvDialect dialect;
+
+    /**
+     * Sparse index of data row offsets in the stored content
+     */
+    private RowOffsetIndex rowIndex;
+}
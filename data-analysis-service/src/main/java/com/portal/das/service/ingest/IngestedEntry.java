@@ -0,0 +1,99 @@
+package com.portal.das.service.ingest;
+
+import com.portal.das.domain.model.UploadedFile;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One file produced by an upload: the upload itself, the content of a .gz,
+ * or a single entry of a .zip archive
+ */
+@Getter
+@AllArgsConstructor
+public class IngestedEntry {
+    /**
+     * File identifier assigned to this entry
+     */
+    private final UUID fileId;
+
+    /**
+     * Name shown to users (archive entries are prefixed with the archive name)
+     */
+    private final String originalFilename;
+
+    /**
+     * Format as uploaded (csv, xlsx, xls, gz, zip)
+     */
+    private final String originalFormat;
+
+    /**
+     * Compressed size of an archive entry, null when the upload size applies
+     */
+    private final Long originalSize;
+
+    /**
+     * Stored CSV, or null if the entry failed
+     */
+    private final IngestResult result;
+
+    /**
+     * Failure reason, or null on success
+     */
+    private final String errorMessage;
+
+    public static IngestedEntry success(UUID fileId, String originalFilename, String originalFormat,
+                                        Long originalSize, IngestResult result) {
+        return new IngestedEntry(fileId, originalFilename, originalFormat, originalSize, result, null);
+    }
+
+    public static IngestedEntry failure(UUID fileId, String originalFilename, String originalFormat,
+                                        Long originalSize, String errorMessage) {
+        return new IngestedEntry(fileId, originalFilename, originalFormat, originalSize, null, errorMessage);
+    }
+
+    public boolean isSuccess() {
+        return result != null;
+    }
+
+    /**
+     * Build file metadata for this entry
+     *
+     * @param mimeType MIME type of the upload
+     * @param uploadSize Size of the upload, used when the entry has no own size
+     * @param uploadedBy Uploading user
+     * @return UploadedFile in PROCESSED or ERROR status (not yet persisted)
+     */
+    public UploadedFile toUploadedFile(String mimeType, Long uploadSize, UUID uploadedBy) {
+        UploadedFile uploadedFile = UploadedFile.builder()
+                .fileId(fileId)
+                .originalFilename(originalFilename)
+                .originalFormat(originalFormat)
+                .originalSize(originalSize != null ? originalSize : uploadSize)
+                .mimeType(mimeType)
+                .isActive(true)
+                .isDeleted(false)
+                .uploadedBy(uploadedBy)
+                .uploadedAt(Instant.now())
+                .build();
+        applyTo(uploadedFile);
+        return uploadedFile;
+    }
+
+    /**
+     * Copy the outcome onto existing file metadata
+     *
+     * @param uploadedFile File metadata to update
+     */
+    public void applyTo(UploadedFile uploadedFile) {
+        if (isSuccess()) {
+            result.applyTo(uploadedFile);
+        } else {
+            uploadedFile.setStatus(UploadedFile.FileStatus.ERROR);
+            uploadedFile.setErrorMessage(errorMessage);
+            uploadedFile.setIsActive(false);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.portal.das.service.ingest;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * InputStream that tees every byte read into a {@link CsvIngestInspector}
+ * Used when the raw upload is copied into storage as-is (CSV uploads)
+ */
+public class InspectingInputStream extends FilterInputStream {
+
+    private final CsvIngestInspector inspector;
+
+    public InspectingInputStream(InputStream in, CsvIngestInspector inspector) {
+        super(in);
+        this.inspector = inspector;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b >= 0) {
+            inspector.update(b);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = super.read(b, off, len);
+        if (n > 0) {
+            inspector.update(b, off, n);
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        // Skipped bytes would never reach the inspector; read them instead
+        byte[] buffer = new byte[8192];
+        long remaining = n;
+        while (remaining > 0) {
+            int read = read(buffer, 0, (int) Math.min(buffer.length, remaining));
+            if (read < 0) {
+                break;
+            }
+            remaining -= read;
+        }
+        return n - remaining;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+}
@@ -0,0 +1,32 @@
+package com.portal.das.service.ingest;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * OutputStream that tees every byte written into a {@link CsvIngestInspector}
+ * Used when CSV content is produced on the fly (Excel conversion)
+ */
+public class InspectingOutputStream extends FilterOutputStream {
+
+    private final CsvIngestInspector inspector;
+
+    public InspectingOutputStream(OutputStream out, CsvIngestInspector inspector) {
+        super(out);
+        this.inspector = inspector;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        out.write(b);
+        inspector.update(b & 0xFF);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        // FilterOutputStream writes byte by byte; delegate the whole range instead
+        out.write(b, off, len);
+        inspector.update(b, off, len);
+    }
+}
@@ -0,0 +1,98 @@
+package com.portal.das.service.ingest;
+
+import com.portal.das.domain.model.UploadedFile;
+import com.portal.das.domain.ports.out.file.ColumnStorePort;
+import com.portal.das.domain.ports.out.file.RowIndexPort;
+import com.portal.das.domain.ports.out.file.StoredBlobPort;
+import com.portal.das.domain.ports.out.file.StoredContentPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Collection;
+
+/**
+ * Gives back the blob reference held for a stored CSV
+ * Once nothing references the content any more, the stored file, its
+ * sidecars (row index, columnar copy) and its shared copies are deleted.
+ * Used when a file is deleted, and to undo ingests whose file records are
+ * never stored (failed batch, aborted archive or append).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StoredContentReleaser {
+
+    private final StoredBlobPort storedBlobPort;
+    private final StoredContentPort storedContentPort;
+    private final ColumnStorePort columnStorePort;
+    private final RowIndexPort rowIndexPort;
+
+    /**
+     * Drop one reference to stored content, deleting it after the last one
+     *
+     * @param contentHash Content hash (null for files stored before deduplication)
+     * @param storedFilename Stored CSV filename
+     * @return true if the physical file was deleted
+     */
+    public boolean release(String contentHash, String storedFilename) {
+        if (storedFilename == null) {
+            return false;
+        }
+        if (contentHash != null && ownsBlob(contentHash, storedFilename)
+                && !storedBlobPort.release(contentHash)) {
+            log.info("Stored content {} still referenced, keeping {}", contentHash, storedFilename);
+            return false;
+        }
+        deleteContent(storedFilename);
+        return true;
+    }
+
+    /**
+     * Delete a stored CSV and its sidecars that nothing references any more
+     *
+     * @param storedFilename Stored CSV filename
+     */
+    public void deleteContent(String storedFilename) {
+        // Local copy, cached copy and shared object store
+        try {
+            if (!storedContentPort.delete(storedFilename)) {
+                log.warn("Failed to delete physical file: {}", storedFilename);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to delete physical file: {}", storedFilename, e);
+        }
+        columnStorePort.delete(storedFilename);
+        rowIndexPort.delete(storedFilename);
+    }
+
+    /**
+     * Undo the ingest of files whose records will not be stored
+     * Only processed files hold a blob reference; others are skipped.
+     *
+     * @param files Files built from ingest results
+     */
+    public void releaseIngested(Collection<UploadedFile> files) {
+        for (UploadedFile file : files) {
+            if (file.getStatus() != UploadedFile.FileStatus.PROCESSED) {
+                continue;
+            }
+            try {
+                release(file.getContentHash(), file.getStoredFilename());
+            } catch (RuntimeException e) {
+                log.warn("Failed to release stored content of file {}", file.getFileId(), e);
+            }
+        }
+    }
+
+    /**
+     * Whether the blob with this hash is the given file
+     * Files stored before deduplication own their file outright
+     */
+    private boolean ownsBlob(String contentHash, String storedFilename) {
+        return storedBlobPort.findByContentHash(contentHash)
+                .map(blob -> blob.getStoredFilename().equals(storedFilename))
+                .orElse(false);
+    }
+}
@@ -0,0 +1,197 @@
+package com.portal.das.service.ingest;
+
+import com.portal.das.domain.model.CsvDialect;
+import com.portal.das.domain.model.UploadedFile;
+import com.portal.das.domain.ports.out.file.StoredContentPort;
+import com.portal.das.util.CsvTokenizer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Enumeration;
+import java.util.NoSuchElementException;
+
+/**
+ * Stores a CSV made of a stored file followed by the data rows of another
+ * The base content is copied byte for byte; only the appended records are
+ * parsed, reordered to the base columns and written in the base dialect.
+ * The result goes through the regular ingest path (hash, row index,
+ * deduplication, compression, publishing) under a new stored filename, so
+ * stored blobs stay immutable.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StoredCsvAppender {
+
+    private final StoredContentPort storedContentPort;
+    private final StoredCsvOpener storedCsvOpener;
+    private final CsvIngestService csvIngestService;
+
+    /**
+     * Store the rows of a file after the rows of another
+     *
+     * @param base File whose content comes first (header included)
+     * @param appended File whose data rows are added
+     * @param projection For each base column, the index of the same column in the appended file
+     * @param storedFilename Filename of the combined CSV in storage
+     * @return Stored path and statistics of the combined CSV
+     * @throws IOException If a file cannot be read or written, or an appended value
+     *                     cannot be encoded in the base charset
+     */
+    public IngestResult append(UploadedFile base, UploadedFile appended, int[] projection,
+                               String storedFilename) throws IOException {
+        CsvDialect dialect = base.csvDialect();
+        Path rows = Files.createTempFile("das-append-", ".csv");
+        try {
+            long written = writeRows(appended, projection, dialect, rows);
+            log.info("Appending {} rows of file {} to {}", written, appended.getFileId(), base.getStoredFilename());
+
+            return csvIngestService.ingest(() -> combined(base, dialect, rows), "csv", storedFilename);
+        } finally {
+            Files.deleteIfExists(rows);
+        }
+    }
+
+    /**
+     * Write the data records of a file in the given dialect and column order
+     *
+     * @return Number of records written
+     */
+    private long writeRows(UploadedFile appended, int[] projection, CsvDialect dialect, Path target) throws IOException {
+        String lineEnding = lineEnding(dialect);
+        long written = 0;
+        // A fresh encoder reports unmappable characters instead of replacing them
+        try (CsvTokenizer tokenizer = storedCsvOpener.open(appended);
+             Writer writer = new BufferedWriter(new OutputStreamWriter(
+                     Files.newOutputStream(target), dialect.toCharset().newEncoder()))) {
+            tokenizer.next(); // header
+            while (tokenizer.next()) {
+                for (int i = 0; i < projection.length; i++) {
+                    if (i > 0) {
+                        writer.write(dialect.getDelimiter());
+                    }
+                    writeField(writer, tokenizer.field(projection[i]), dialect);
+                }
+                writer.write(lineEnding);
+                written++;
+            }
+        }
+        return written;
+    }
+
+    private static void writeField(Writer writer, String value, CsvDialect dialect) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        char quote = dialect.getQuote();
+        boolean quoted = false;
+        for (int i = 0; i < value.length() && !quoted; i++) {
+            char c = value.charAt(i);
+            quoted = c == dialect.getDelimiter() || c == quote || c == '\n' || c == '\r';
+        }
+        if (!quoted) {
+            writer.write(value);
+            return;
+        }
+        writer.write(quote);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == quote) {
+                writer.write(quote);
+            }
+            writer.write(c);
+        }
+        writer.write(quote);
+    }
+
+    /**
+     * Base content, a line ending if it does not end with one, then the appended rows
+     */
+    private InputStream combined(UploadedFile base, CsvDialect dialect, Path rows) throws IOException {
+        LastByteInputStream content = new LastByteInputStream(storedContentPort.retrieve(base.getStoredFilename()));
+        byte[] separator = lineEnding(dialect).getBytes(StandardCharsets.US_ASCII);
+
+        Enumeration<InputStream> parts = new Enumeration<>() {
+            private int part;
+
+            @Override
+            public boolean hasMoreElements() {
+                return part < 3;
+            }
+
+            @Override
+            public InputStream nextElement() {
+                try {
+                    switch (part++) {
+                        case 0:
+                            return content;
+                        case 1:
+                            // Read lazily: known only once the base content is exhausted
+                            boolean terminated = content.lastByte == '\n' || content.lastByte == '\r';
+                            return new ByteArrayInputStream(terminated ? new byte[0] : separator);
+                        case 2:
+                            return Files.newInputStream(rows);
+                        default:
+                            throw new NoSuchElementException();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+        return new SequenceInputStream(parts);
+    }
+
+    private static String lineEnding(CsvDialect dialect) {
+        switch (dialect.getLineEnding()) {
+            case CRLF:
+                return "\r\n";
+            case CR:
+                return "\r";
+            default:
+                return "\n";
+        }
+    }
+
+    /**
+     * Remembers the last byte read, to tell whether the content ends with a line ending
+     */
+    private static final class LastByteInputStream extends FilterInputStream {
+        private int lastByte = -1;
+
+        LastByteInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                lastByte = b;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                lastByte = buffer[offset + read - 1] & 0xFF;
+            }
+            return read;
+        }
+    }
+}
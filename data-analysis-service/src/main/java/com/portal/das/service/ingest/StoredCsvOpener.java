@@ -0,0 +1,70 @@
+package com.portal.das.service.ingest;
+
+import com.portal.das.domain.model.CsvDialect;
+import com.portal.das.domain.model.UploadedFile;
+import com.portal.das.domain.ports.out.file.StoredContentPort;
+import com.portal.das.util.CsvTokenizer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+
+/**
+ * Single entry point for reading stored CSV files
+ * Applies the dialect persisted at ingest (charset, delimiter, quote) so
+ * readers never guess or re-detect it. Content is read through
+ * StoredContentPort, so compressed storage is transparent.
+ */
+@Component
+@RequiredArgsConstructor
+public class StoredCsvOpener {
+
+    private final StoredContentPort storedContentPort;
+
+    /**
+     * Open a tokenizer over the stored CSV of a file
+     * The caller owns the tokenizer and must close it
+     *
+     * @param file File metadata (stored filename and dialect)
+     * @return Tokenizer positioned before the header record
+     * @throws IOException If the stored file cannot be read
+     */
+    public CsvTokenizer open(UploadedFile file) throws IOException {
+        CsvDialect dialect = file.csvDialect();
+        return new CsvTokenizer(
+                new InputStreamReader(storedContentPort.retrieve(file.getStoredFilename()), dialect.toCharset()),
+                dialect.getDelimiter(),
+                dialect.getQuote());
+    }
+
+    /**
+     * Open a tokenizer positioned at a byte offset of the stored CSV
+     * The offset must be the start of a record (see RowOffsetIndex)
+     *
+     * @param file File metadata (stored filename and dialect)
+     * @param byteOffset Offset of the first record to read
+     * @return Tokenizer positioned before that record
+     * @throws IOException If the stored file cannot be read
+     */
+    public CsvTokenizer openAt(UploadedFile file, long byteOffset) throws IOException {
+        CsvDialect dialect = file.csvDialect();
+        return new CsvTokenizer(
+                new InputStreamReader(storedContentPort.retrieve(file.getStoredFilename(), byteOffset), dialect.toCharset()),
+                dialect.getDelimiter(),
+                dialect.getQuote());
+    }
+
+    /**
+     * Read the header record of the stored CSV of a file
+     *
+     * @param file File metadata
+     * @return Column names (empty for an empty file)
+     * @throws IOException If the stored file cannot be read
+     */
+    public String[] readHeader(UploadedFile file) throws IOException {
+        try (CsvTokenizer tokenizer = open(file)) {
+            return tokenizer.next() ? tokenizer.copyFields() : new String[0];
+        }
+    }
+}
@@ -1,25 +1,57 @@
 package com.portal.das.service.job;
 
 import com.portal.das.domain.model.Job;
+import com.portal.das.domain.ports.in.job.GetJobUseCase;
+import com.portal.das.domain.ports.out.job.JobRecordPort;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 
 /**
  * Service for async job management
- * In-memory registry with database persistence
+ * In-memory registry of the jobs running on this instance, with database persistence
+ *
+ * Every job is recorded when created and on each status change; progress is
+ * written at most every few seconds. Any instance can therefore report a job,
+ * and finished jobs are only kept in the database. Unfinished jobs send a
+ * heartbeat; those of a stopped instance stop beating and are failed once
+ * das.jobs.stale-after has passed.
  */
 @Slf4j
 @Service
-public class JobService {
+public class JobService implements GetJobUseCase {
+
+    /**
+     * Minimum time between two progress writes of a job
+     */
+    private static final Duration PROGRESS_INTERVAL = Duration.ofSeconds(2);
+
+    private static final String INTERRUPTED_MESSAGE = "Job interrupted: the instance running it stopped";
 
     private final Map<UUID, Job> jobRegistry = new ConcurrentHashMap<>();
+    private final Executor taskExecutor;
+    private final JobRecordPort jobRecordPort;
+    private final Duration staleAfter;
+
+    public JobService(@Qualifier("taskExecutor") Executor taskExecutor,
+                      JobRecordPort jobRecordPort,
+                      @Value("${das.jobs.stale-after:PT10M}") Duration staleAfter) {
+        this.taskExecutor = taskExecutor;
+        this.jobRecordPort = jobRecordPort;
+        this.staleAfter = staleAfter;
+    }
 
     /**
      * Submit a job for async execution
@@ -30,32 +62,90 @@ public class JobService {
      * @return Job ID
      */
     public UUID submitJob(String jobType, Runnable task, Consumer<Integer> progressCallback) {
+        return submitJob(jobType, jobId -> task.run());
+    }
+
+    /**
+     * Submit a job for async execution
+     * The task receives its own job ID so it can report progress and results
+     *
+     * @param jobType Job type
+     * @param task Task to execute
+     * @return Job ID
+     */
+    public UUID submitJob(String jobType, Consumer<UUID> task) {
+        UUID jobId = createJob(jobType);
+        startJob(jobId, task);
+        return jobId;
+    }
+
+    /**
+     * Register a PENDING job without starting it
+     * Lets the caller record the job ID before the task can run.
+     * The record joins the caller's transaction, if any.
+     *
+     * @param jobType Job type
+     * @return Job ID
+     */
+    public UUID createJob(String jobType) {
         UUID jobId = UUID.randomUUID();
-        
+
         Job job = Job.builder()
                 .jobId(jobId)
                 .jobType(jobType)
                 .status(Job.JobStatus.PENDING)
                 .progress(0)
                 .createdAt(Instant.now())
+                .updatedAt(Instant.now())
                 .build();
 
+        jobRecordPort.save(job);
         jobRegistry.put(jobId, job);
+        return jobId;
+    }
 
-        // Execute async
-        executeAsync(jobId, task, progressCallback);
+    /**
+     * Start a job created with {@link #createJob(String)}
+     *
+     * @param jobId Job ID
+     * @param task Task to execute
+     */
+    public void startJob(UUID jobId, Consumer<UUID> task) {
+        // Execute async (explicit executor: @Async does not apply to self-invocation)
+        taskExecutor.execute(() -> execute(jobId, task));
+    }
 
-        return jobId;
+    /**
+     * Cancel a job created with {@link #createJob(String)} that will not be started
+     *
+     * @param jobId Job ID
+     */
+    public void cancelJob(UUID jobId) {
+        Job job = jobRegistry.get(jobId);
+        if (job == null || job.getStatus() != Job.JobStatus.PENDING) {
+            return;
+        }
+        job.setStatus(Job.JobStatus.CANCELLED);
+        job.setCompletedAt(Instant.now());
+        if (save(job)) {
+            jobRegistry.remove(jobId);
+        }
     }
 
     /**
      * Get job status
+     * Jobs running elsewhere, or finished, are read from the database
      *
      * @param jobId Job identifier
-     * @return Job
+     * @return Job, or null if unknown
      */
+    @Override
     public Job getJob(UUID jobId) {
-        return jobRegistry.get(jobId);
+        Job job = jobRegistry.get(jobId);
+        if (job != null) {
+            return job;
+        }
+        return jobRecordPort.load(jobId).orElse(null);
     }
 
     /**
@@ -68,22 +158,88 @@ public class JobService {
         Job job = jobRegistry.get(jobId);
         if (job != null) {
             job.setProgress(progress);
+            saveProgress(job);
         }
     }
 
     /**
-     * Execute job asynchronously
+     * Update the progress of a job that processes rows
+     * The percentage follows the row count and stays below 100 until the job completes.
+     *
+     * @param jobId Job ID
+     * @param rowsProcessed Rows processed so far
+     * @param totalRows Rows to process (null or 0 if unknown)
      */
-    @Async
-    protected void executeAsync(UUID jobId, Runnable task, Consumer<Integer> progressCallback) {
+    public void updateRows(UUID jobId, long rowsProcessed, Long totalRows) {
+        Job job = jobRegistry.get(jobId);
+        if (job != null) {
+            job.setRowsProcessed(rowsProcessed);
+            job.setTotalRows(totalRows);
+            if (totalRows != null && totalRows > 0) {
+                job.setProgress((int) Math.min(99, rowsProcessed * 100 / totalRows));
+            }
+            saveProgress(job);
+        }
+    }
+
+    /**
+     * Attach a result payload to a job
+     * Stored with the final status of the job
+     *
+     * @param jobId Job ID
+     * @param result Result (typically JSON)
+     */
+    public void setResult(UUID jobId, String result) {
+        Job job = jobRegistry.get(jobId);
+        if (job != null) {
+            job.setResult(result);
+        }
+    }
+
+    /**
+     * Send the heartbeat of the jobs running here, then fail unfinished jobs
+     * whose instance stopped sending theirs
+     * Finished jobs whose final status could not be stored are saved again
+     * instead: touching them would keep their stored RUNNING status alive.
+     */
+    @Scheduled(initialDelayString = "${das.jobs.heartbeat-interval:PT1M}",
+               fixedDelayString = "${das.jobs.heartbeat-interval:PT1M}")
+    public void heartbeat() {
+        Instant now = Instant.now();
+        List<UUID> unfinished = new ArrayList<>(jobRegistry.size());
+        for (Job job : jobRegistry.values()) {
+            if (!isFinished(job)) {
+                unfinished.add(job.getJobId());
+            } else if (save(job)) {
+                jobRegistry.remove(job.getJobId());
+            }
+        }
+        try {
+            jobRecordPort.touch(unfinished, now);
+            int failed = jobRecordPort.failStale(now.minus(staleAfter), INTERRUPTED_MESSAGE, now);
+            if (failed > 0) {
+                log.warn("Failed {} jobs interrupted by a stopped instance", failed);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Job heartbeat failed", e);
+        }
+    }
+
+    /**
+     * Execute job on the current (worker) thread
+     * Once its final status is stored the job is only kept in the database;
+     * until then the heartbeat retries the save
+     */
+    private void execute(UUID jobId, Consumer<UUID> task) {
         Job job = jobRegistry.get(jobId);
         if (job == null) return;
 
         try {
             job.setStatus(Job.JobStatus.RUNNING);
             job.setStartedAt(Instant.now());
+            save(job);
 
-            task.run();
+            task.accept(jobId);
 
             job.setStatus(Job.JobStatus.SUCCEEDED);
             job.setProgress(100);
@@ -95,6 +251,48 @@ public class JobService {
             job.setErrorMessage(e.getMessage());
             job.setCompletedAt(Instant.now());
         }
+
+        if (save(job)) {
+            jobRegistry.remove(jobId);
+        }
     }
-}
 
+    private static boolean isFinished(Job job) {
+        return job.getStatus() == Job.JobStatus.SUCCEEDED
+                || job.getStatus() == Job.JobStatus.FAILED
+                || job.getStatus() == Job.JobStatus.CANCELLED;
+    }
+
+    /**
+     * Store a status change; a job whose record cannot be written keeps running
+     *
+     * @return true if stored
+     */
+    private boolean save(Job job) {
+        try {
+            job.setUpdatedAt(Instant.now());
+            jobRecordPort.save(job);
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Failed to store job: {}", job.getJobId(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Store progress, at most every PROGRESS_INTERVAL per job
+     */
+    private void saveProgress(Job job) {
+        Instant now = Instant.now();
+        Instant last = job.getUpdatedAt();
+        if (last != null && last.plus(PROGRESS_INTERVAL).isAfter(now)) {
+            return;
+        }
+        job.setUpdatedAt(now);
+        try {
+            jobRecordPort.updateProgress(job);
+        } catch (RuntimeException e) {
+            log.warn("Failed to store progress of job: {}", job.getJobId(), e);
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package com.portal.das.service.profile;
+
+import com.portal.das.domain.model.InferredType;
+import com.portal.das.domain.model.profile.DatasetProfile;
+import com.portal.das.domain.model.profile.ProfileState;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Running statistics of one column, updated as records stream past
+ * Holds type counts, null count, the first few examples, numeric moments
+ * (Welford), value lengths, a HyperLogLog sketch of the distinct values and a
+ * space-saving sketch of the most frequent ones, so its size does not depend
+ * on the number of rows.
+ */
+public final class ColumnProfileAccumulator {
+
+    /**
+     * Number of example values kept per column
+     */
+    public static final int MAX_EXAMPLES = 5;
+
+    /**
+     * Number of most frequent values reported in the profile
+     */
+    public static final int TOP_VALUES = 20;
+
+    private final String columnName;
+    private final int columnIndex;
+    private final long[] typeCounts = new long[InferredType.values().length];
+    private final List<String> examples = new ArrayList<>(MAX_EXAMPLES);
+    private final DateFormatLock dateFormats;
+    private final HyperLogLog distinctValues = new HyperLogLog();
+    private final SpaceSaving frequentValues = new SpaceSaving();
+    private long nullCount;
+    private int minLength = Integer.MAX_VALUE;
+    private int maxLength;
+    private long lengthSum;
+
+    private long numericCount;
+    private double mean;
+    private double m2;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public ColumnProfileAccumulator(String columnName, int columnIndex, DateFormatLock dateFormats) {
+        this.columnName = columnName;
+        this.columnIndex = columnIndex;
+        this.dateFormats = dateFormats;
+    }
+
+    /**
+     * Date formats of the column, to pass to type inference for each value
+     */
+    public DateFormatLock getDateFormats() {
+        return dateFormats;
+    }
+
+    /**
+     * Number of values seen, null or not (the rows covered by this accumulator)
+     */
+    public long getValueCount() {
+        long count = nullCount;
+        for (long typeCount : typeCounts) {
+            count += typeCount;
+        }
+        return count;
+    }
+
+    /**
+     * Null count followed by the count of each type (at index ordinal + 1)
+     */
+    long[] counts() {
+        long[] counts = new long[typeCounts.length + 1];
+        counts[0] = nullCount;
+        System.arraycopy(typeCounts, 0, counts, 1, typeCounts.length);
+        return counts;
+    }
+
+    /**
+     * Count a null value
+     */
+    public void addNull() {
+        nullCount++;
+    }
+
+    /**
+     * Count a non-null value
+     *
+     * @param value Raw value
+     * @param type Type inferred for the value
+     */
+    public void add(String value, InferredType type) {
+        typeCounts[type.ordinal()]++;
+        distinctValues.add(value);
+        frequentValues.add(value);
+        minLength = Math.min(minLength, value.length());
+        maxLength = Math.max(maxLength, value.length());
+        lengthSum += value.length();
+        if (examples.size() < MAX_EXAMPLES) {
+            examples.add(value);
+        }
+
+        switch (type) {
+            case INTEGER:
+            case DECIMAL:
+                addNumber(Double.parseDouble(value.trim()));
+                break;
+            case BOOLEAN:
+                // 0 and 1 are classified as booleans but belong to the numbers of an integer column
+                String trimmed = value.trim();
+                if (trimmed.equals("0") || trimmed.equals("1")) {
+                    addNumber(trimmed.charAt(0) - '0');
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void addNumber(double value) {
+        if (!Double.isFinite(value)) {
+            return;
+        }
+        numericCount++;
+        double delta = value - mean;
+        mean += delta / numericCount;
+        m2 += delta * (value - mean);
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Fold in the state of the same column accumulated over a later part of the file
+     * Examples stay in file order when parts are merged left to right.
+     *
+     * @param other Accumulator of the following rows
+     */
+    public void merge(ColumnProfileAccumulator other) {
+        for (int i = 0; i < typeCounts.length; i++) {
+            typeCounts[i] += other.typeCounts[i];
+        }
+        nullCount += other.nullCount;
+        distinctValues.merge(other.distinctValues);
+        frequentValues.merge(other.frequentValues);
+        minLength = Math.min(minLength, other.minLength);
+        maxLength = Math.max(maxLength, other.maxLength);
+        lengthSum += other.lengthSum;
+        dateFormats.merge(other.dateFormats);
+        for (int i = 0; i < other.examples.size() && examples.size() < MAX_EXAMPLES; i++) {
+            examples.add(other.examples.get(i));
+        }
+
+        if (other.numericCount == 0) {
+            return;
+        }
+        long count = numericCount + other.numericCount;
+        double delta = other.mean - mean;
+        mean += delta * other.numericCount / count;
+        m2 += other.m2 + delta * delta * ((double) numericCount * other.numericCount / count);
+        numericCount = count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Export the accumulated state so it can be stored and merged later
+     *
+     * @return Column state
+     */
+    public ProfileState.ColumnState toState() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (InferredType type : InferredType.values()) {
+            if (typeCounts[type.ordinal()] > 0) {
+                counts.put(type.name(), typeCounts[type.ordinal()]);
+            }
+        }
+
+        boolean numeric = numericCount > 0;
+        return ProfileState.ColumnState.builder()
+                .columnName(columnName)
+                .columnIndex(columnIndex)
+                .typeCounts(counts)
+                .nullCount(nullCount)
+                .examples(new ArrayList<>(examples))
+                .numericCount(numericCount)
+                .mean(mean)
+                .m2(m2)
+                .min(numeric ? min : null)
+                .max(numeric ? max : null)
+                .dateFormats(dateFormats.dateCounts())
+                .dateTimeFormats(dateFormats.dateTimeCounts())
+                .distinctSketch(distinctValues.toBytes())
+                .topValues(frequentValues.toCounters())
+                .minLength(frequentValues.total() > 0 ? minLength : null)
+                .maxLength(frequentValues.total() > 0 ? maxLength : null)
+                .lengthSum(lengthSum)
+                .build();
+    }
+
+    /**
+     * Rebuild an accumulator from a stored state
+     *
+     * @param state Column state from {@link #toState()}
+     * @param dateFormats Fresh date format lock, restored from the state
+     * @return Accumulator continuing from the state
+     */
+    public static ColumnProfileAccumulator fromState(ProfileState.ColumnState state, DateFormatLock dateFormats) {
+        ColumnProfileAccumulator accumulator =
+                new ColumnProfileAccumulator(state.getColumnName(), state.getColumnIndex(), dateFormats);
+        if (state.getTypeCounts() != null) {
+            for (Map.Entry<String, Long> count : state.getTypeCounts().entrySet()) {
+                accumulator.typeCounts[InferredType.valueOf(count.getKey()).ordinal()] = count.getValue();
+            }
+        }
+        accumulator.nullCount = state.getNullCount() != null ? state.getNullCount() : 0;
+        if (state.getExamples() != null) {
+            accumulator.examples.addAll(state.getExamples().subList(0, Math.min(MAX_EXAMPLES, state.getExamples().size())));
+        }
+        if (state.getNumericCount() != null && state.getNumericCount() > 0) {
+            accumulator.numericCount = state.getNumericCount();
+            accumulator.mean = state.getMean();
+            accumulator.m2 = state.getM2();
+            accumulator.min = state.getMin();
+            accumulator.max = state.getMax();
+        }
+        HyperLogLog distinctValues = HyperLogLog.fromBytes(state.getDistinctSketch());
+        if (distinctValues != null) {
+            accumulator.distinctValues.merge(distinctValues);
+        }
+        SpaceSaving frequentValues = SpaceSaving.fromCounters(state.getTopValues(), nonNullCount(state));
+        if (frequentValues != null) {
+            accumulator.frequentValues.merge(frequentValues);
+        }
+        if (state.getMinLength() != null) {
+            accumulator.minLength = state.getMinLength();
+            accumulator.maxLength = state.getMaxLength();
+            accumulator.lengthSum = state.getLengthSum() != null ? state.getLengthSum() : 0;
+        }
+        dateFormats.restore(state.getDateFormats(), state.getDateTimeFormats());
+        return accumulator;
+    }
+
+    private static long nonNullCount(ProfileState.ColumnState state) {
+        return state.getTypeCounts() != null
+                ? state.getTypeCounts().values().stream().mapToLong(Long::longValue).sum() : 0;
+    }
+
+    /**
+     * Build the column profile from the accumulated state
+     *
+     * @param typeInferenceService Resolves the dominant type from the type counts
+     * @return Column profile
+     */
+    public DatasetProfile.ColumnProfile toProfile(TypeInferenceService typeInferenceService) {
+        TypeInferenceService.TypeInferenceResult inference = typeInferenceService.resolve(typeCounts, nullCount);
+
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (InferredType type : InferredType.values()) {
+            if (typeCounts[type.ordinal()] > 0) {
+                counts.put(type.name(), typeCounts[type.ordinal()]);
+            }
+        }
+
+        boolean numeric = numericCount > 0;
+        return DatasetProfile.ColumnProfile.builder()
+                .columnName(columnName)
+                .columnIndex(columnIndex)
+                .dominantType(inference.getDominantType().name())
+                .confidence(inference.getConfidence())
+                .nullCount(inference.getNullCount())
+                .nonNullCount(inference.getNonNullCount())
+                .invalidTypeCount(inference.getInvalidTypeCount())
+                .typeCounts(counts)
+                .examples(new ArrayList<>(examples))
+                .dateFormat(dateFormats.detected(inference.getDominantType()))
+                .min(numeric ? min : null)
+                .max(numeric ? max : null)
+                .mean(numeric ? mean : null)
+                .stdDev(numericCount > 1 ? Math.sqrt(m2 / (numericCount - 1)) : null)
+                .distinctCount(distinctValues.estimate())
+                .distinctCountError(HyperLogLog.RELATIVE_ERROR)
+                .topValues(frequentValues.top(TOP_VALUES))
+                .minLength(frequentValues.total() > 0 ? minLength : null)
+                .maxLength(frequentValues.total() > 0 ? maxLength : null)
+                .avgLength(frequentValues.total() > 0 ? (double) lengthSum / frequentValues.total() : null)
+                .build();
+    }
+}
@@ -4,28 +4,51 @@ import com.portal.das.domain.model.ChartData;
 import com.portal.das.domain.model.ColumnSummary;
 import com.portal.das.domain.model.Dataset;
 import com.portal.das.domain.model.InferredType;
+import com.portal.das.domain.model.RangeFilter;
 import com.portal.das.domain.model.UploadedFile;
+import com.portal.das.domain.model.columnar.BlockMeta;
+import com.portal.das.domain.model.columnar.ColumnBlock;
+import com.portal.das.domain.model.columnar.ColumnMeta;
+import com.portal.das.domain.model.columnar.ColumnType;
+import com.portal.das.domain.model.columnar.ColumnarTable;
+import com.portal.das.domain.model.columnar.NumericColumn;
+import com.portal.das.domain.model.profile.DatasetProfile;
 import com.portal.das.domain.ports.out.dataset.DatasetCrudPort;
+import com.portal.das.domain.ports.out.file.ColumnStorePort;
 import com.portal.das.domain.ports.out.file.FileCrudPort;
-import com.portal.das.domain.ports.out.file.FileStoragePort;
+import com.portal.das.service.columnar.ZoneMapMetrics;
+import com.portal.das.service.ingest.StoredCsvOpener;
+import com.portal.das.util.CsvTokenizer;
 import com.sharedlib.core.exception.BadRequestException;
 import com.sharedlib.core.exception.NotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVParser;
-import org.apache.commons.csv.CSVRecord;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 
 import java.io.*;
+import java.math.BigDecimal;
+import java.nio.DoubleBuffer;
+import java.nio.LongBuffer;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * Service for computing column summaries and chart-ready data
  * Similar to pandas describe() and value_counts()
+ *
+ * Unfiltered summaries of non-numeric columns, and their category charts, are
+ * served from the exact dataset profile without reading the column. Unique
+ * counts are HyperLogLog estimates: from the sketch kept in the profile, or a
+ * sketch built over the values read (filtered summaries, profiles without
+ * sketches). Exact counts are available on request while the set of distinct
+ * values fits the memory budget. Top values and categories come from a
+ * space-saving sketch, so they never hold more than a fixed number of
+ * distinct values.
  */
 @Slf4j
 @Service
@@ -34,8 +57,20 @@ public class ColumnSummaryService {
 
     private final DatasetCrudPort datasetCrudPort;
     private final FileCrudPort fileCrudPort;
-    private final FileStoragePort fileStoragePort;
+    private final StoredCsvOpener storedCsvOpener;
+    private final ColumnStorePort columnStorePort;
     private final TypeInferenceService typeInferenceService;
+    private final DatasetProfileService datasetProfileService;
+    private final ZoneMapMetrics zoneMapMetrics;
+
+    /**
+     * Heap held by an exact count per distinct value: hash map node, table slot
+     * and load factor headroom (the strings themselves are already in the value list)
+     */
+    private static final int DISTINCT_ENTRY_BYTES = 48;
+
+    @Value("${das.summary.exact-distinct-budget:64MB}")
+    private DataSize exactDistinctBudget;
 
     /**
      * Compute summary statistics for a column (pandas describe() style)
@@ -45,6 +80,33 @@ public class ColumnSummaryService {
      * @return Column summary with statistics
      */
     public ColumnSummary summary(UUID datasetId, String columnName) {
+        return summary(datasetId, columnName, null);
+    }
+
+    /**
+     * Compute summary statistics for a column over the rows matching a range filter
+     * On the columnar copy, blocks whose filter-column zone map excludes the
+     * range are skipped without being read.
+     *
+     * @param datasetId Dataset identifier
+     * @param columnName Column name
+     * @param filter Row filter (null for all rows)
+     * @return Column summary with statistics
+     */
+    public ColumnSummary summary(UUID datasetId, String columnName, RangeFilter filter) {
+        return summary(datasetId, columnName, filter, false);
+    }
+
+    /**
+     * Compute summary statistics for a column over the rows matching a range filter
+     *
+     * @param datasetId Dataset identifier
+     * @param columnName Column name
+     * @param filter Row filter (null for all rows)
+     * @param exact Count unique values exactly, falling back to the estimate beyond the memory budget
+     * @return Column summary with statistics
+     */
+    public ColumnSummary summary(UUID datasetId, String columnName, RangeFilter filter, boolean exact) {
         log.info("Computing summary for column {} in dataset {}", columnName, datasetId);
 
         // Load dataset and file
@@ -54,8 +116,25 @@ public class ColumnSummaryService {
         UploadedFile file = fileCrudPort.load(dataset.getFileId())
                 .orElseThrow(() -> new NotFoundException("File not found"));
 
+        // Numeric columns of the columnar copy are summarized in place
+        if (filter == null) {
+            Optional<ColumnSummary> mapped = withMappedColumn(file, columnName,
+                    column -> summarizeNumeric(columnName, column));
+            if (mapped.isPresent()) {
+                return mapped.get();
+            }
+        }
+
+        // Other columns come from the profile, unless an exact count needs the values
+        if (filter == null && !exact) {
+            Optional<ColumnSummary> profiled = profiledSummary(dataset, columnName);
+            if (profiled.isPresent()) {
+                return profiled.get();
+            }
+        }
+
         // Read column values
-        List<String> values = readColumnValues(file, columnName);
+        List<String> values = readColumnValues(file, columnName, filter);
 
         // Infer type
         TypeInferenceService.TypeInferenceResult inference = 
@@ -64,7 +143,7 @@ public class ColumnSummaryService {
         // Compute statistics
         long count = values.size();
         long nullCount = inference.getNullCount();
-        long uniqueCount = countUnique(values);
+        DistinctCount distinct = countDistinct(dataset, columnName, filter, values, exact);
 
         // Compute type-specific stats
         ColumnSummary.NumericStats numericStats = null;
@@ -91,7 +170,9 @@ public class ColumnSummaryService {
                 .columnName(columnName)
                 .count(count)
                 .nullCount(nullCount)
-                .uniqueCount(uniqueCount)
+                .uniqueCount(distinct.count)
+                .uniqueCountExact(distinct.exact)
+                .uniqueCountError(distinct.error)
                 .dominantType(inference.getDominantType().name())
                 .numericStats(numericStats)
                 .stringStats(stringStats)
@@ -117,8 +198,29 @@ public class ColumnSummaryService {
         UploadedFile file = fileCrudPort.load(dataset.getFileId())
                 .orElseThrow(() -> new NotFoundException("File not found"));
 
+        Optional<ChartData> mapped = withMappedColumn(file, columnName, column -> ChartData.builder()
+                .columnName(columnName)
+                .dataType(inferredType(column).name())
+                .histogram(generateHistogram(column))
+                .build());
+        if (mapped.isPresent()) {
+            return mapped.get();
+        }
+
+        // Categorical columns are charted from the top values of the profile
+        Optional<DatasetProfile.ColumnProfile> profiled = profiledTopValues(dataset, columnName)
+                .filter(column -> isCategorical(column.getDominantType()));
+        if (profiled.isPresent()) {
+            DatasetProfile.ColumnProfile column = profiled.get();
+            return ChartData.builder()
+                    .columnName(columnName)
+                    .dataType(column.getDominantType())
+                    .categories(toCategories(column.getTopValues(), column.getNonNullCount(), 20))
+                    .build();
+        }
+
         // Read column values
-        List<String> values = readColumnValues(file, columnName);
+        List<String> values = readColumnValues(file, columnName, null);
 
         // Infer type
         TypeInferenceService.TypeInferenceResult inference = 
@@ -134,7 +236,11 @@ public class ColumnSummaryService {
         if (type == InferredType.INTEGER || type == InferredType.DECIMAL) {
             histogram = generateHistogram(values);
         } else if (type == InferredType.DATE || type == InferredType.DATETIME) {
-            timeseries = generateTimeseries(values);
+            // Parse with the format recorded at profiling, else the one just inferred
+            DateTimeFormatter formatter = datasetProfileService.dateFormatter(dataset, columnName)
+                    .or(() -> typeInferenceService.formatterFor(inference.getDateFormat()))
+                    .orElse(DateTimeFormatter.ISO_LOCAL_DATE);
+            timeseries = generateTimeseries(values, formatter);
         } else {
             categories = generateCategories(values, 20);
         }
@@ -149,25 +255,91 @@ public class ColumnSummaryService {
     }
 
     /**
-     * Read all values for a specific column from file
+     * Summary of a non-numeric column from the exact profile stored on the dataset
+     * Numeric columns are not served this way, as the profile has no quantiles.
+     *
+     * @return Summary, or empty without an exact profile holding the column's top values
+     */
+    private Optional<ColumnSummary> profiledSummary(Dataset dataset, String columnName) {
+        Optional<DatasetProfile.ColumnProfile> profiled = profiledTopValues(dataset, columnName)
+                .filter(column -> !isNumeric(column.getDominantType()));
+        if (profiled.isEmpty()) {
+            return Optional.empty();
+        }
+        DatasetProfile.ColumnProfile column = profiled.get();
+
+        ColumnSummary.StringStats stringStats = null;
+        if (InferredType.STRING.name().equals(column.getDominantType()) && column.getMinLength() != null) {
+            stringStats = ColumnSummary.StringStats.builder()
+                    .minLength(column.getMinLength())
+                    .maxLength(column.getMaxLength())
+                    .avgLength(column.getAvgLength())
+                    .build();
+        }
+
+        List<String> sampleDistincts = column.getExamples() != null
+                ? column.getExamples().stream().distinct().collect(Collectors.toList())
+                : List.of();
+
+        return Optional.of(ColumnSummary.builder()
+                .columnName(columnName)
+                .count(column.getNullCount() + column.getNonNullCount())
+                .nullCount(column.getNullCount())
+                .uniqueCount(column.getDistinctCount())
+                .uniqueCountExact(false)
+                .uniqueCountError(column.getDistinctCountError())
+                .dominantType(column.getDominantType())
+                .stringStats(stringStats)
+                .topValues(toValueCounts(column.getTopValues(), column.getNonNullCount(), 20))
+                .sampleDistincts(sampleDistincts)
+                .build());
+    }
+
+    /**
+     * Column of the exact profile, if it carries top values and a distinct count
+     * (profiles stored before the sketches were kept do not)
+     */
+    private Optional<DatasetProfile.ColumnProfile> profiledTopValues(Dataset dataset, String columnName) {
+        return datasetProfileService.exactProfiledColumn(dataset, columnName)
+                .filter(column -> column.getTopValues() != null && column.getDistinctCount() != null
+                        && column.getNullCount() != null && column.getNonNullCount() != null);
+    }
+
+    private static boolean isNumeric(String type) {
+        return InferredType.INTEGER.name().equals(type) || InferredType.DECIMAL.name().equals(type);
+    }
+
+    private static boolean isCategorical(String type) {
+        return !isNumeric(type) && !InferredType.DATE.name().equals(type) && !InferredType.DATETIME.name().equals(type);
+    }
+
+    /**
+     * Read the values of a specific column from file, optionally only from matching rows
+     * Uses the columnar copy when present, so only the needed columns' bytes are read
      */
-    private List<String> readColumnValues(UploadedFile file, String columnName) {
+    private List<String> readColumnValues(UploadedFile file, String columnName, RangeFilter filter) {
+        Optional<List<String>> columnar = readColumnarValues(file, columnName, filter);
+        if (columnar.isPresent()) {
+            return columnar.get();
+        }
+
         List<String> values = new ArrayList<>();
 
-        try (InputStream inputStream = fileStoragePort.retrieve(file.getStoredFilename());
-             Reader reader = new InputStreamReader(inputStream);
-             CSVParser parser = CSVFormat.DEFAULT.builder()
-                     .setHeader()
-                     .setSkipHeaderRecord(true)
-                     .build()
-                     .parse(reader)) {
-
-            for (CSVRecord record : parser) {
-                try {
-                    String value = record.get(columnName);
-                    values.add(value);
-                } catch (IllegalArgumentException e) {
-                    throw new BadRequestException("Column not found: " + columnName);
+        try (CsvTokenizer tokenizer = storedCsvOpener.open(file)) {
+
+            boolean hasHeader = tokenizer.next();
+            int columnIndex = hasHeader ? tokenizer.indexOf(columnName) : -1;
+            if (columnIndex < 0) {
+                throw new BadRequestException("Column not found: " + columnName);
+            }
+            int filterIndex = filter != null ? tokenizer.indexOf(filter.getColumn()) : -1;
+            if (filter != null && filterIndex < 0) {
+                throw new BadRequestException("Column not found: " + filter.getColumn());
+            }
+
+            while (tokenizer.next()) {
+                if (filter == null || filter.matches(tokenizer.field(filterIndex))) {
+                    values.add(tokenizer.field(columnIndex));
                 }
             }
 
@@ -180,20 +352,278 @@ public class ColumnSummaryService {
     }
 
     /**
-     * Count unique values
+     * Read a column from the columnar copy
+     *
+     * @return Values, or empty if there is no usable columnar copy
      */
-    private long countUnique(List<String> values) {
-        return values.stream()
-                .filter(v -> v != null && !v.trim().isEmpty())
-                .distinct()
-                .count();
+    private Optional<List<String>> readColumnarValues(UploadedFile file, String columnName, RangeFilter filter) {
+        Optional<ColumnarTable> opened;
+        try {
+            opened = columnStorePort.open(file.getStoredFilename());
+        } catch (IOException e) {
+            log.warn("Columnar copy unreadable, falling back to CSV: {}", file.getStoredFilename(), e);
+            return Optional.empty();
+        }
+        if (opened.isEmpty()) {
+            return Optional.empty();
+        }
+
+        try (ColumnarTable table = opened.get()) {
+            int column = table.columnIndex(columnName);
+            if (column < 0) {
+                throw new BadRequestException("Column not found: " + columnName);
+            }
+
+            if (filter != null) {
+                return Optional.of(readFilteredColumn(table, column, filter));
+            }
+
+            List<String> values = new ArrayList<>((int) Math.min(table.getRowCount(), Integer.MAX_VALUE));
+            int blockCount = table.getColumns().get(column).getBlocks().size();
+            for (int b = 0; b < blockCount; b++) {
+                ColumnBlock block = table.readBlock(column, b);
+                for (int row = 0; row < block.getRowCount(); row++) {
+                    values.add(block.getString(row));
+                }
+            }
+            return Optional.of(values);
+        } catch (IOException e) {
+            log.warn("Failed to read columnar copy, falling back to CSV: {}", file.getStoredFilename(), e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Read the values of a column on rows matching a filter
+     * Blocks whose filter-column zone map excludes the range are not read
+     */
+    private List<String> readFilteredColumn(ColumnarTable table, int column, RangeFilter filter) throws IOException {
+        int filterColumn = table.columnIndex(filter.getColumn());
+        if (filterColumn < 0) {
+            throw new BadRequestException("Column not found: " + filter.getColumn());
+        }
+        ColumnMeta filterMeta = table.getColumns().get(filterColumn);
+        boolean numericFilter = filterMeta.getType().isNumeric();
+
+        List<String> values = new ArrayList<>();
+        List<BlockMeta> blocks = filterMeta.getBlocks();
+        int pruned = 0;
+        for (int b = 0; b < blocks.size(); b++) {
+            if (numericFilter && !filter.mayMatch(blocks.get(b))) {
+                pruned++;
+                continue;
+            }
+            ColumnBlock filterBlock = table.readBlock(filterColumn, b);
+            ColumnBlock block = filterColumn == column ? filterBlock : table.readBlock(column, b);
+            for (int row = 0; row < block.getRowCount(); row++) {
+                boolean matches = numericFilter
+                        ? !filterBlock.isNull(row) && filter.matches(filterBlock.getDouble(row))
+                        : filter.matches(filterBlock.getString(row));
+                if (matches) {
+                    values.add(block.getString(row));
+                }
+            }
+        }
+        zoneMapMetrics.record("summary", blocks.size(), pruned);
+        return values;
+    }
+
+    /**
+     * Apply a computation to a numeric column of the columnar copy, viewed in place
+     *
+     * @return Result, or empty if there is no columnar copy or the column is not numeric
+     */
+    private <T> Optional<T> withMappedColumn(UploadedFile file, String columnName, Function<NumericColumn, T> computation) {
+        Optional<ColumnarTable> opened;
+        try {
+            opened = columnStorePort.open(file.getStoredFilename());
+        } catch (IOException e) {
+            log.warn("Columnar copy unreadable, falling back to CSV: {}", file.getStoredFilename(), e);
+            return Optional.empty();
+        }
+        if (opened.isEmpty()) {
+            return Optional.empty();
+        }
+
+        try (ColumnarTable table = opened.get()) {
+            int column = table.columnIndex(columnName);
+            if (column < 0) {
+                throw new BadRequestException("Column not found: " + columnName);
+            }
+            return table.mapNumeric(column).map(computation);
+        } catch (IOException e) {
+            log.warn("Failed to map columnar copy, falling back to CSV: {}", file.getStoredFilename(), e);
+            return Optional.empty();
+        }
+    }
+
+    private static InferredType inferredType(NumericColumn column) {
+        return column.getType() == ColumnType.LONG ? InferredType.INTEGER : InferredType.DECIMAL;
+    }
+
+    /**
+     * Copy the non-null values of a mapped column into a primitive array
+     */
+    private static double[] nonNullValues(NumericColumn column) {
+        double[] numbers = new double[(int) column.getNonNullCount()];
+        int size = 0;
+        int rows = column.getRowCount();
+        if (column.getType() == ColumnType.LONG) {
+            LongBuffer longs = column.asLongBuffer();
+            for (int row = 0; row < rows; row++) {
+                if (!column.isNull(row)) {
+                    numbers[size++] = longs.get(row);
+                }
+            }
+        } else {
+            DoubleBuffer doubles = column.asDoubleBuffer();
+            for (int row = 0; row < rows; row++) {
+                if (!column.isNull(row)) {
+                    numbers[size++] = doubles.get(row);
+                }
+            }
+        }
+        return numbers;
+    }
+
+    /**
+     * Summary of a mapped numeric column
+     * Same figures as the text path; values are rendered in canonical form
+     */
+    private ColumnSummary summarizeNumeric(String columnName, NumericColumn column) {
+        double[] sorted = nonNullValues(column);
+        Arrays.sort(sorted);
+
+        // Distinct values are runs in the sorted array; keep the 20 longest
+        PriorityQueue<ColumnSummary.ValueCount> top = new PriorityQueue<>(
+                Comparator.comparingLong(ColumnSummary.ValueCount::getCount));
+        long uniqueCount = 0;
+        for (int start = 0; start < sorted.length; ) {
+            int end = start + 1;
+            while (end < sorted.length && Double.compare(sorted[end], sorted[start]) == 0) {
+                end++;
+            }
+            uniqueCount++;
+            long count = end - start;
+            if (top.size() < 20 || count > top.peek().getCount()) {
+                top.add(ColumnSummary.ValueCount.builder()
+                        .value(format(column.getType(), sorted[start]))
+                        .count(count)
+                        .countError(0L)
+                        .percentage(count * 100.0 / sorted.length)
+                        .build());
+                if (top.size() > 20) {
+                    top.poll();
+                }
+            }
+            start = end;
+        }
+        List<ColumnSummary.ValueCount> topValues = new ArrayList<>(top);
+        topValues.sort(Comparator.comparingLong(ColumnSummary.ValueCount::getCount).reversed());
+
+        // First distinct values in row order
+        Set<String> sampleDistincts = new LinkedHashSet<>();
+        for (int row = 0; row < column.getRowCount() && sampleDistincts.size() < 10; row++) {
+            if (!column.isNull(row)) {
+                sampleDistincts.add(format(column.getType(), column.getDouble(row)));
+            }
+        }
+
+        return ColumnSummary.builder()
+                .columnName(columnName)
+                .count((long) column.getRowCount())
+                .nullCount(column.getNullCount())
+                .uniqueCount(uniqueCount)
+                .uniqueCountExact(true)
+                .dominantType(inferredType(column).name())
+                .numericStats(computeNumericStats(sorted))
+                .topValues(topValues)
+                .sampleDistincts(new ArrayList<>(sampleDistincts))
+                .build();
+    }
+
+    /**
+     * Canonical text of a numeric value (LONG values beyond 2^53 are approximate)
+     */
+    private static String format(ColumnType type, double value) {
+        if (type == ColumnType.LONG) {
+            return Long.toString((long) value);
+        }
+        return Double.isFinite(value)
+                ? BigDecimal.valueOf(value).stripTrailingZeros().toPlainString()
+                : Double.toString(value);
+    }
+
+    /**
+     * Count the unique non-null values of a column
+     * Unfiltered columns use the estimate stored in the profile, so nothing is
+     * counted; otherwise the values read are sketched. An exact count keeps a
+     * set of the distinct values and gives up once it outgrows the budget.
+     *
+     * @param values Values read for the summary
+     * @param exact Whether an exact count was requested
+     */
+    private DistinctCount countDistinct(Dataset dataset, String columnName, RangeFilter filter,
+                                        List<String> values, boolean exact) {
+        if (exact) {
+            OptionalLong counted = countUniqueWithinBudget(values);
+            if (counted.isPresent()) {
+                return new DistinctCount(counted.getAsLong(), true, null);
+            }
+            log.info("Distinct values of column {} exceed {}, estimating", columnName, exactDistinctBudget);
+        } else if (filter == null) {
+            Optional<Long> profiled = datasetProfileService.profiledColumn(dataset, columnName)
+                    .map(DatasetProfile.ColumnProfile::getDistinctCount);
+            if (profiled.isPresent()) {
+                return new DistinctCount(profiled.get(), false, HyperLogLog.RELATIVE_ERROR);
+            }
+        }
+
+        HyperLogLog sketch = new HyperLogLog();
+        for (String value : values) {
+            if (!typeInferenceService.isNullValue(value)) {
+                sketch.add(value);
+            }
+        }
+        return new DistinctCount(sketch.estimate(), false, HyperLogLog.RELATIVE_ERROR);
+    }
+
+    /**
+     * Count unique non-null values exactly
+     *
+     * @return Count, or empty once the distinct values need more than the memory budget
+     */
+    private OptionalLong countUniqueWithinBudget(List<String> values) {
+        long maxEntries = exactDistinctBudget.toBytes() / DISTINCT_ENTRY_BYTES;
+        Set<String> distinct = new HashSet<>();
+        for (String value : values) {
+            if (!typeInferenceService.isNullValue(value) && distinct.add(value) && distinct.size() > maxEntries) {
+                return OptionalLong.empty();
+            }
+        }
+        return OptionalLong.of(distinct.size());
+    }
+
+    /**
+     * Unique count with whether it is exact and, for estimates, its relative standard error
+     */
+    private static final class DistinctCount {
+        private final long count;
+        private final boolean exact;
+        private final Double error;
+
+        DistinctCount(long count, boolean exact, Double error) {
+            this.count = count;
+            this.exact = exact;
+            this.error = error;
+        }
     }
 
     /**
      * Compute numeric statistics
      */
     private ColumnSummary.NumericStats computeNumericStats(List<String> values) {
-        List<Double> numbers = values.stream()
+        double[] numbers = values.stream()
                 .filter(v -> v != null && !v.trim().isEmpty())
                 .map(String::trim)
                 .map(v -> {
@@ -204,29 +634,40 @@ public class ColumnSummaryService {
                     }
                 })
                 .filter(Objects::nonNull)
-                .sorted()
-                .collect(Collectors.toList());
+                .mapToDouble(Double::doubleValue)
+                .toArray();
+        Arrays.sort(numbers);
+        return computeNumericStats(numbers);
+    }
 
-        if (numbers.isEmpty()) {
+    /**
+     * Compute numeric statistics of sorted values
+     */
+    private ColumnSummary.NumericStats computeNumericStats(double[] numbers) {
+        if (numbers.length == 0) {
             return null;
         }
 
-        double min = numbers.get(0);
-        double max = numbers.get(numbers.size() - 1);
-        double mean = numbers.stream().mapToDouble(Double::doubleValue).average().orElse(0.0);
+        int size = numbers.length;
+        double min = numbers[0];
+        double max = numbers[size - 1];
+        double sum = 0.0;
+        for (double n : numbers) {
+            sum += n;
+        }
+        double mean = sum / size;
 
         // Standard deviation
-        double variance = numbers.stream()
-                .mapToDouble(n -> Math.pow(n - mean, 2))
-                .average()
-                .orElse(0.0);
-        double std = Math.sqrt(variance);
+        double squares = 0.0;
+        for (double n : numbers) {
+            squares += (n - mean) * (n - mean);
+        }
+        double std = Math.sqrt(squares / size);
 
         // Percentiles
-        int size = numbers.size();
-        double q25 = numbers.get((int) (size * 0.25));
-        double q50 = numbers.get((int) (size * 0.50));
-        double q75 = numbers.get((int) (size * 0.75));
+        double q25 = numbers[(int) (size * 0.25)];
+        double q50 = numbers[(int) (size * 0.50)];
+        double q75 = numbers[(int) (size * 0.75)];
 
         return ColumnSummary.NumericStats.builder()
                 .min(min)
@@ -266,21 +707,32 @@ public class ColumnSummaryService {
      * Compute value counts (top N)
      */
     private List<ColumnSummary.ValueCount> computeValueCounts(List<String> values, int topN) {
-        long totalNonNull = values.stream()
-                .filter(v -> v != null && !v.trim().isEmpty())
-                .count();
+        SpaceSaving sketch = countFrequentValues(values);
+        return toValueCounts(sketch.top(topN), sketch.total(), topN);
+    }
 
-        Map<String, Long> counts = values.stream()
-                .filter(v -> v != null && !v.trim().isEmpty())
-                .collect(Collectors.groupingBy(v -> v, Collectors.counting()));
+    /**
+     * Count the non-blank values in a space-saving sketch
+     */
+    private static SpaceSaving countFrequentValues(List<String> values) {
+        SpaceSaving sketch = new SpaceSaving();
+        for (String value : values) {
+            if (value != null && !value.trim().isEmpty()) {
+                sketch.add(value);
+            }
+        }
+        return sketch;
+    }
 
-        return counts.entrySet().stream()
-                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+    private static List<ColumnSummary.ValueCount> toValueCounts(List<DatasetProfile.ValueCount> top,
+                                                                long total, int topN) {
+        return top.stream()
                 .limit(topN)
                 .map(e -> ColumnSummary.ValueCount.builder()
-                        .value(e.getKey())
-                        .count(e.getValue())
-                        .percentage(totalNonNull > 0 ? (e.getValue() * 100.0 / totalNonNull) : 0.0)
+                        .value(e.getValue())
+                        .count(e.getCount())
+                        .countError(e.getCountError())
+                        .percentage(total > 0 ? (e.getCount() * 100.0 / total) : 0.0)
                         .build())
                 .collect(Collectors.toList());
     }
@@ -289,7 +741,7 @@ public class ColumnSummaryService {
      * Generate histogram for numeric columns
      */
     private ChartData.HistogramData generateHistogram(List<String> values) {
-        List<Double> numbers = values.stream()
+        double[] numbers = values.stream()
                 .filter(v -> v != null && !v.trim().isEmpty())
                 .map(v -> {
                     try {
@@ -299,64 +751,128 @@ public class ColumnSummaryService {
                     }
                 })
                 .filter(Objects::nonNull)
-                .collect(Collectors.toList());
+                .mapToDouble(Double::doubleValue)
+                .toArray();
 
-        if (numbers.isEmpty()) {
+        if (numbers.length == 0) {
             return null;
         }
 
-        // Auto binning (Sturges' rule: bins = log2(n) + 1)
-        int binCount = (int) Math.ceil(Math.log(numbers.size()) / Math.log(2)) + 1;
-        binCount = Math.min(binCount, 50); // Max 50 bins
-
-        double min = numbers.stream().min(Double::compare).orElse(0.0);
-        double max = numbers.stream().max(Double::compare).orElse(0.0);
-        double binWidth = (max - min) / binCount;
-
-        // Create bins
-        List<ChartData.HistogramData.Bin> bins = new ArrayList<>();
-        for (int i = 0; i < binCount; i++) {
-            final double binStart = min + (i * binWidth);
-            final double binEnd = binStart + binWidth;
-            final int binIndex = i;
-            final int finalBinCount = binCount;
-            
-            long frequency = numbers.stream()
-                    .filter(n -> n >= binStart && (binIndex == finalBinCount - 1 ? n <= binEnd : n < binEnd))
-                    .count();
-
-            bins.add(ChartData.HistogramData.Bin.builder()
-                    .binStart(binStart)
-                    .binEnd(binEnd)
-                    .frequency(frequency)
-                    .build());
-        }
-
-        return ChartData.HistogramData.builder()
-                .bins(bins)
-                .totalBins(binCount)
-                .build();
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (double n : numbers) {
+            min = Math.min(min, n);
+            max = Math.max(max, n);
+        }
+
+        Histogram histogram = new Histogram(numbers.length, min, max);
+        for (double n : numbers) {
+            histogram.add(n);
+        }
+        return histogram.build();
+    }
+
+    /**
+     * Generate histogram over a mapped numeric column
+     * Two passes over the mapped values (range, then counts); nothing is copied
+     */
+    private ChartData.HistogramData generateHistogram(NumericColumn column) {
+        long size = column.getNonNullCount();
+        if (size == 0) {
+            return null;
+        }
+
+        int rows = column.getRowCount();
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        if (column.getType() == ColumnType.LONG) {
+            LongBuffer longs = column.asLongBuffer();
+            for (int row = 0; row < rows; row++) {
+                if (!column.isNull(row)) {
+                    min = Math.min(min, longs.get(row));
+                    max = Math.max(max, longs.get(row));
+                }
+            }
+            Histogram histogram = new Histogram(size, min, max);
+            for (int row = 0; row < rows; row++) {
+                if (!column.isNull(row)) {
+                    histogram.add(longs.get(row));
+                }
+            }
+            return histogram.build();
+        }
+
+        DoubleBuffer doubles = column.asDoubleBuffer();
+        for (int row = 0; row < rows; row++) {
+            if (!column.isNull(row)) {
+                min = Math.min(min, doubles.get(row));
+                max = Math.max(max, doubles.get(row));
+            }
+        }
+        Histogram histogram = new Histogram(size, min, max);
+        for (int row = 0; row < rows; row++) {
+            if (!column.isNull(row)) {
+                histogram.add(doubles.get(row));
+            }
+        }
+        return histogram.build();
+    }
+
+    /**
+     * Equal-width bins over [min, max]; the last bin includes max
+     * Bin count follows Sturges' rule (log2(n) + 1), capped at 50
+     */
+    private static final class Histogram {
+        private final double min;
+        private final double binWidth;
+        private final long[] frequencies;
+
+        Histogram(long size, double min, double max) {
+            int binCount = (int) Math.ceil(Math.log(size) / Math.log(2)) + 1;
+            binCount = Math.min(binCount, 50); // Max 50 bins
+            this.min = min;
+            this.binWidth = (max - min) / binCount;
+            this.frequencies = new long[binCount];
+        }
+
+        void add(double n) {
+            int last = frequencies.length - 1;
+            int bin = binWidth > 0 ? (int) ((n - min) / binWidth) : last;
+            frequencies[Math.max(0, Math.min(bin, last))]++;
+        }
+
+        ChartData.HistogramData build() {
+            List<ChartData.HistogramData.Bin> bins = new ArrayList<>(frequencies.length);
+            for (int i = 0; i < frequencies.length; i++) {
+                double binStart = min + (i * binWidth);
+                bins.add(ChartData.HistogramData.Bin.builder()
+                        .binStart(binStart)
+                        .binEnd(binStart + binWidth)
+                        .frequency(frequencies[i])
+                        .build());
+            }
+            return ChartData.HistogramData.builder()
+                    .bins(bins)
+                    .totalBins(frequencies.length)
+                    .build();
+        }
     }
 
     /**
      * Generate categories for categorical columns
      */
     private ChartData.CategoryData generateCategories(List<String> values, int topN) {
-        Map<String, Long> counts = values.stream()
-                .filter(v -> v != null && !v.trim().isEmpty())
-                .collect(Collectors.groupingBy(v -> v, Collectors.counting()));
-
-        long total = values.stream()
-                .filter(v -> v != null && !v.trim().isEmpty())
-                .count();
+        SpaceSaving sketch = countFrequentValues(values);
+        return toCategories(sketch.top(topN), sketch.total(), topN);
+    }
 
-        List<ChartData.CategoryData.CategoryEntry> categories = counts.entrySet().stream()
-                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+    private static ChartData.CategoryData toCategories(List<DatasetProfile.ValueCount> top, long total, int topN) {
+        List<ChartData.CategoryData.CategoryEntry> categories = top.stream()
                 .limit(topN)
                 .map(e -> ChartData.CategoryData.CategoryEntry.builder()
-                        .label(e.getKey())
-                        .value(e.getValue())
-                        .percentage(total > 0 ? (e.getValue() * 100.0 / total) : 0.0)
+                        .label(e.getValue())
+                        .value(e.getCount())
+                        .percentage(total > 0 ? (e.getCount() * 100.0 / total) : 0.0)
                         .build())
                 .collect(Collectors.toList());
 
@@ -368,8 +884,10 @@ public class ColumnSummaryService {
 
     /**
      * Generate timeseries for date/datetime columns
+     *
+     * @param formatter Format of the column values
      */
-    private ChartData.TimeseriesData generateTimeseries(List<String> values) {
+    private ChartData.TimeseriesData generateTimeseries(List<String> values, DateTimeFormatter formatter) {
         final Map<String, Long> counts = new TreeMap<>();
 
         for (String value : values) {
@@ -379,7 +897,7 @@ public class ColumnSummaryService {
 
             try {
                 // Try to parse as date
-                LocalDate date = LocalDate.parse(value.trim(), DateTimeFormatter.ISO_LOCAL_DATE);
+                LocalDate date = formatter.parse(value.trim(), LocalDate::from);
                 String key = date.toString(); // Group by day
                 counts.put(key, counts.getOrDefault(key, 0L) + 1);
             } catch (Exception e) {
@@ -2,111 +2,660 @@ package com.portal.das.service.profile;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portal.das.domain.model.Dataset;
+import com.portal.das.domain.model.RowOffsetIndex;
 import com.portal.das.domain.model.UploadedFile;
 import com.portal.das.domain.model.profile.DatasetProfile;
-import com.portal.das.domain.ports.out.file.FileStoragePort;
+import com.portal.das.domain.model.profile.ProfileState;
+import com.portal.das.domain.ports.out.file.RowIndexPort;
+import com.portal.das.service.ingest.StoredCsvOpener;
+import com.portal.das.util.CsvTokenizer;
 import com.sharedlib.core.exception.BadRequestException;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVParser;
-import org.apache.commons.csv.CSVRecord;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.Reader;
-import java.util.*;
-import java.util.stream.Collectors;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.LongConsumer;
 
 /**
  * Service for computing dataset profiles
  * Analyzes CSV files and generates column-level statistics
+ *
+ * Large files are split into row ranges at the entries of their row offset
+ * index (record boundaries found by the quote-aware ingest scan), profiled on
+ * a fork/join pool and the per-column accumulators merged in file order.
+ * Files without an index, or smaller than one split, are read sequentially.
+ *
+ * The quick profile at registration reads a sample instead: evenly spaced
+ * blocks of rows at row index entries. Files without an index get none.
+ * Type shares and null rates get 95% Wilson score intervals on the effective
+ * sample size: rows of a block are not independent, so the sampled rows are
+ * divided by the design effect measured from the spread between blocks.
+ *
+ * Each column keeps a HyperLogLog sketch of its distinct values and a
+ * space-saving sketch of its most frequent ones; both are stored with the
+ * profile state and give the profile its distinct count and top values.
+ * Metric: das.profile.duration (tag: mode=parallel|sequential|sampled)
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class DatasetProfileService {
 
-    private final FileStoragePort fileStoragePort;
+    private final StoredCsvOpener storedCsvOpener;
+    private final RowIndexPort rowIndexPort;
     private final TypeInferenceService typeInferenceService;
     private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final ForkJoinPool pool;
+    private final long splitRows;
+    private final int sampleRows;
+
+    /**
+     * Rows read between two progress reports
+     */
+    private static final int PROGRESS_ROWS = 8192;
+
+    private static final LongConsumer NO_PROGRESS = rows -> { };
+
+    /**
+     * Rows read at each sampled row index entry
+     */
+    private static final int SAMPLE_BLOCK_ROWS = 256;
+
+    /**
+     * Normal quantile of the 95% intervals
+     */
+    private static final double Z = 1.96;
+
+    /**
+     * Interval method reported on sampled profiles
+     */
+    private static final String INTERVAL_METHOD = "wilson-design-effect";
+
+    public DatasetProfileService(StoredCsvOpener storedCsvOpener,
+                                 RowIndexPort rowIndexPort,
+                                 TypeInferenceService typeInferenceService,
+                                 ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${das.profile.parallelism:0}") int parallelism,
+                                 @Value("${das.profile.split-rows:65536}") long splitRows,
+                                 @Value("${das.profile.sample-rows:10000}") int sampleRows) {
+        this.storedCsvOpener = storedCsvOpener;
+        this.rowIndexPort = rowIndexPort;
+        this.typeInferenceService = typeInferenceService;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.splitRows = Math.max(1, splitRows);
+        this.sampleRows = Math.max(1, sampleRows);
+
+        log.info("Profiling pool initialized with parallelism {}, {} rows per split", pool.getParallelism(), this.splitRows);
+    }
 
     /**
      * Compute profile for a dataset from its source file
+     * Records are streamed once through per-column accumulators, so memory
+     * depends on the number of columns rather than the number of rows.
      *
      * @param file Source file
      * @return DatasetProfile with column statistics
      */
     public DatasetProfile computeProfile(UploadedFile file) {
-        log.info("Computing profile for file: {}", file.getFileId());
+        return computeProfile(file, NO_PROGRESS);
+    }
+
+    /**
+     * Compute profile for a dataset from its source file, reporting progress
+     *
+     * @param file Source file
+     * @param rowsRead Receives the number of rows read since its last call, every few thousand
+     *                 rows (called from several threads when the file is profiled in parallel)
+     * @return DatasetProfile with column statistics
+     */
+    public DatasetProfile computeProfile(UploadedFile file, LongConsumer rowsRead) {
+        return profileFromState(computeState(file, 0, rowsRead), file);
+    }
 
-        try (InputStream inputStream = fileStoragePort.retrieve(file.getStoredFilename());
-             Reader reader = new InputStreamReader(inputStream);
-             CSVParser parser = CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true).build().parse(reader)) {
+    /**
+     * Accumulate the mergeable profiling state of the rows of a file from a given row on
+     * A start row above 0 profiles only rows appended after that row; the row
+     * offset index seeks to it, so earlier rows are not read.
+     *
+     * @param file Source file
+     * @param startRow First data row to profile (0-based)
+     * @param rowsRead Progress, as in {@link #computeProfile(UploadedFile, LongConsumer)}
+     * @return State of the profiled rows
+     */
+    public ProfileState computeState(UploadedFile file, long startRow, LongConsumer rowsRead) {
+        log.info("Computing profile for file: {} from row {}", file.getFileId(), startRow);
+        long start = System.nanoTime();
 
-            // Get headers
-            Map<String, Integer> headerMap = parser.getHeaderMap();
-            List<String> headers = new ArrayList<>(headerMap.keySet());
+        try {
+            Optional<RowOffsetIndex> index = rowIndexPort.load(file.getStoredFilename());
+            boolean parallel = index.isPresent() && index.get().getRowCount() - startRow > splitRows
+                    && pool.getParallelism() > 1;
 
-            // Collect values for each column
-            Map<String, List<String>> columnValues = new HashMap<>();
-            for (String header : headers) {
-                columnValues.put(header, new ArrayList<>());
-            }
+            ColumnProfileAccumulator[] accumulators = parallel
+                    ? profileParallel(file, index.get(), startRow, rowsRead)
+                    : profileSequential(file, index.orElse(null), startRow, rowsRead);
 
-            // Read all records and collect column values
-            for (CSVRecord record : parser) {
-                for (String header : headers) {
-                    String value = record.get(header);
-                    columnValues.get(header).add(value);
-                }
+            Duration elapsed = recordDuration(start, parallel ? "parallel" : "sequential");
+            log.info("Profiled file {} in {} ms ({})", file.getFileId(), elapsed.toMillis(),
+                    parallel ? "parallel, " + pool.getParallelism() + " workers" : "sequential");
+
+            List<ProfileState.ColumnState> columns = new ArrayList<>(accumulators.length);
+            for (ColumnProfileAccumulator accumulator : accumulators) {
+                columns.add(accumulator.toState());
             }
+            return ProfileState.builder()
+                    .rowCount(accumulators.length > 0 ? accumulators[0].getValueCount() : 0L)
+                    .columns(columns)
+                    .build();
 
-            // Compute profile for each column
-            List<DatasetProfile.ColumnProfile> columnProfiles = new ArrayList<>();
-            int colIndex = 0;
+        } catch (IOException | UncheckedIOException e) {
+            log.error("Failed to compute profile for file: {}", file.getFileId(), e);
+            throw new BadRequestException("Failed to read file for profiling");
+        }
+    }
 
-            for (String header : headers) {
-                List<String> values = columnValues.get(header);
-                
-                // Infer type
-                TypeInferenceService.TypeInferenceResult inference = 
-                        typeInferenceService.inferType(values);
+    /**
+     * Build the exact profile of a file from its profiling state
+     *
+     * @param state State covering every row of the file
+     * @param file Source file (row and column totals)
+     * @return DatasetProfile with column statistics
+     */
+    public DatasetProfile profileFromState(ProfileState state, UploadedFile file) {
+        List<DatasetProfile.ColumnProfile> columnProfiles = new ArrayList<>(state.getColumns().size());
+        for (ProfileState.ColumnState column : state.getColumns()) {
+            columnProfiles.add(ColumnProfileAccumulator.fromState(column, typeInferenceService.newDateFormatLock())
+                    .toProfile(typeInferenceService));
+        }
 
-                // Get examples (first 5 non-null values)
-                List<String> examples = values.stream()
-                        .filter(v -> v != null && !v.trim().isEmpty())
-                        .limit(5)
-                        .collect(Collectors.toList());
+        return DatasetProfile.builder()
+                .totalRows(file.getRowCount())
+                .totalColumns(file.getColumnCount())
+                .columns(columnProfiles)
+                .sampled(false)
+                .build();
+    }
 
-                DatasetProfile.ColumnProfile colProfile = DatasetProfile.ColumnProfile.builder()
-                        .columnName(header)
-                        .columnIndex(colIndex++)
-                        .dominantType(inference.getDominantType().name())
-                        .confidence(inference.getConfidence())
-                        .nullCount(inference.getNullCount())
-                        .nonNullCount(inference.getNonNullCount())
-                        .invalidTypeCount(inference.getInvalidTypeCount())
-                        .examples(examples)
-                        .build();
+    /**
+     * Merge the state of rows appended to a file into the state of the rows before them
+     * Columns are matched by position; both states must have the same columns.
+     *
+     * @param base State of the earlier rows
+     * @param appended State of the appended rows
+     * @return State of all rows
+     */
+    public ProfileState mergeStates(ProfileState base, ProfileState appended) {
+        List<ProfileState.ColumnState> columns = new ArrayList<>(base.getColumns().size());
+        for (int i = 0; i < base.getColumns().size(); i++) {
+            ColumnProfileAccumulator merged = ColumnProfileAccumulator.fromState(
+                    base.getColumns().get(i), typeInferenceService.newDateFormatLock());
+            merged.merge(ColumnProfileAccumulator.fromState(
+                    appended.getColumns().get(i), typeInferenceService.newDateFormatLock()));
+            columns.add(merged.toState());
+        }
+        return ProfileState.builder()
+                .rowCount(base.getRowCount() + appended.getRowCount())
+                .columns(columns)
+                .build();
+    }
 
-                columnProfiles.add(colProfile);
+    /**
+     * Compute a quick profile from a sample of the rows
+     * The sample is read at row index entries and seeded by the file ID, so a
+     * file always yields the same sample. Without a row index the only uniform
+     * sample is one pass over the whole file, which is what the exact profile
+     * costs, so no quick profile is computed.
+     *
+     * @param file Source file
+     * @return DatasetProfile marked as sampled, with intervals on type shares and null rates;
+     *         empty if the file has no more rows than the sample size or no row index
+     */
+    public Optional<DatasetProfile> computeSampledProfile(UploadedFile file) {
+        if (file.getRowCount() != null && file.getRowCount() <= sampleRows) {
+            return Optional.empty();
+        }
+
+        try {
+            Optional<RowOffsetIndex> index = rowIndexPort.load(file.getStoredFilename());
+            if (index.isEmpty()) {
+                log.info("No row index for file {}, skipping the sampled profile", file.getFileId());
+                return Optional.empty();
+            }
+
+            log.info("Computing sampled profile for file: {}", file.getFileId());
+            long start = System.nanoTime();
+            SplittableRandom random = new SplittableRandom(file.getFileId() != null
+                    ? file.getFileId().getLeastSignificantBits() : 0L);
+            Sample sample = sampleBlocks(file, index.get(), random);
+
+            List<DatasetProfile.ColumnProfile> columnProfiles = new ArrayList<>(sample.accumulators.length);
+            for (int c = 0; c < sample.accumulators.length; c++) {
+                DatasetProfile.ColumnProfile column = sample.accumulators[c].toProfile(typeInferenceService);
+                // Non-null values in the file, estimated from the sampled share
+                long nonNullPopulation = sample.rows > 0
+                        ? Math.round((double) sample.population * column.getNonNullCount() / sample.rows) : 0;
+                column.setConfidenceInterval(wilsonInterval(column.getNonNullCount() - column.getInvalidTypeCount(),
+                        column.getNonNullCount(), nonNullPopulation, sample.dominantTypeDesignEffect(c)));
+                column.setNullRateInterval(wilsonInterval(column.getNullCount(), sample.rows, sample.population,
+                        sample.nullDesignEffect(c)));
+                // Distinct and value counts do not scale from a sample; the exact profile carries them
+                column.setDistinctCount(null);
+                column.setDistinctCountError(null);
+                column.setTopValues(null);
+                columnProfiles.add(column);
             }
 
-            return DatasetProfile.builder()
+            Duration elapsed = recordDuration(start, "sampled");
+            log.info("Profiled {} sampled rows of file {} in {} ms", sample.rows, file.getFileId(),
+                    elapsed.toMillis());
+
+            return Optional.of(DatasetProfile.builder()
                     .totalRows(file.getRowCount())
                     .totalColumns(file.getColumnCount())
                     .columns(columnProfiles)
-                    .build();
+                    .sampled(true)
+                    .sampleSize(Math.toIntExact(sample.rows))
+                    .sampleBlocks(sample.blockCounts.length)
+                    .intervalMethod(INTERVAL_METHOD)
+                    .build());
 
-        } catch (IOException e) {
-            log.error("Failed to compute profile for file: {}", file.getFileId(), e);
+        } catch (IOException | UncheckedIOException e) {
+            log.error("Failed to compute sampled profile for file: {}", file.getFileId(), e);
             throw new BadRequestException("Failed to read file for profiling");
         }
     }
 
+    /**
+     * Read blocks of rows at evenly spaced row index entries, starting at a random entry
+     * The counts of each block are kept: rows of a block are alike (sorted
+     * exports, appended batches), which the intervals must account for.
+     */
+    private Sample sampleBlocks(UploadedFile file, RowOffsetIndex index, SplittableRandom random) throws IOException {
+        ColumnProfileAccumulator[] accumulators = newAccumulators(storedCsvOpener.readHeader(file));
+        int entries = entryCount(index);
+        int blockRows = Math.min(index.getInterval(), SAMPLE_BLOCK_ROWS);
+        int blocks = Math.min(entries, (sampleRows + blockRows - 1) / blockRows);
+        double stride = (double) entries / blocks;
+        double first = random.nextDouble() * stride;
+
+        long rows = 0;
+        long[][][] blockCounts = new long[blocks][accumulators.length][];
+        for (int b = 0; b < blocks; b++) {
+            int entry = (int) (first + b * stride);
+            long available = index.getRowCount() - (long) entry * index.getInterval();
+            long[][] before = new long[accumulators.length][];
+            for (int c = 0; c < accumulators.length; c++) {
+                before[c] = accumulators[c].counts();
+            }
+            try (CsvTokenizer tokenizer = storedCsvOpener.openAt(file, index.getOffsets()[entry])) {
+                rows += accumulate(tokenizer, accumulators, Math.min(blockRows, available), NO_PROGRESS);
+            }
+            for (int c = 0; c < accumulators.length; c++) {
+                long[] after = accumulators[c].counts();
+                for (int k = 0; k < after.length; k++) {
+                    after[k] -= before[c][k];
+                }
+                blockCounts[b][c] = after;
+            }
+        }
+        return new Sample(accumulators, rows, index.getRowCount(), blockCounts);
+    }
+
+    /**
+     * 95% Wilson score interval of a share observed in a sample, narrowed by the
+     * finite population correction when the sample is a large part of the file
+     * The sample counts as trials / designEffect independent values.
+     *
+     * @param hits Sampled values having the property
+     * @param trials Sampled values
+     * @param population Values in the whole file
+     * @param designEffect Variance of the share in this sample relative to independent values
+     * @return Interval, or null for an empty sample
+     */
+    private static DatasetProfile.Interval wilsonInterval(long hits, long trials, long population,
+                                                          double designEffect) {
+        if (trials == 0) {
+            return null;
+        }
+        double p = (double) hits / trials;
+        if (population <= trials) {
+            // The sample is the whole file: the share is exact
+            return DatasetProfile.Interval.builder().lower(p).upper(p).designEffect(designEffect).build();
+        }
+        double n = trials / designEffect;
+        double z2 = Z * Z;
+        double denominator = 1 + z2 / n;
+        double centre = (p + z2 / (2 * n)) / denominator;
+        double margin = Z * Math.sqrt(p * (1 - p) / n + z2 / (4 * n * n)) / denominator
+                * Math.sqrt((double) (population - trials) / (population - 1));
+        return DatasetProfile.Interval.builder()
+                .lower(Math.max(0.0, centre - margin))
+                .upper(Math.min(1.0, centre + margin))
+                .designEffect(designEffect)
+                .build();
+    }
+
+    /**
+     * Design effect of a share estimated from a sample of clusters (row blocks)
+     * Ratio of the variance of the ratio estimator, from the spread of the
+     * per-block shares around the overall share, to the binomial variance of
+     * the same number of independent values. Never below 1, so the interval is
+     * never narrower than for independent rows; a single block counts as one value.
+     *
+     * @param hits Values having the property, per block
+     * @param trials Values, per block
+     * @return Design effect, between 1 and the number of values
+     */
+    static double designEffect(long[] hits, long[] trials) {
+        int blocks = 0;
+        long totalHits = 0;
+        long totalTrials = 0;
+        for (int b = 0; b < trials.length; b++) {
+            if (trials[b] > 0) {
+                blocks++;
+                totalHits += hits[b];
+                totalTrials += trials[b];
+            }
+        }
+        if (totalTrials == 0) {
+            return 1.0;
+        }
+        if (blocks < 2) {
+            return totalTrials;
+        }
+        double p = (double) totalHits / totalTrials;
+        double binomialVariance = p * (1 - p) / totalTrials;
+        if (binomialVariance == 0) {
+            return 1.0;
+        }
+        double meanTrials = (double) totalTrials / blocks;
+        double squares = 0;
+        for (int b = 0; b < trials.length; b++) {
+            double deviation = hits[b] - p * trials[b];
+            squares += deviation * deviation;
+        }
+        double clusterVariance = squares / (blocks * (blocks - 1.0) * meanTrials * meanTrials);
+        return Math.min(totalTrials, Math.max(1.0, clusterVariance / binomialVariance));
+    }
+
+    private Duration recordDuration(long start, String mode) {
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        Timer.builder("das.profile.duration")
+                .description("Time to profile a stored file")
+                .tag("mode", mode)
+                .register(meterRegistry)
+                .record(elapsed);
+        return elapsed;
+    }
+
+    private ColumnProfileAccumulator[] profileSequential(UploadedFile file, RowOffsetIndex index, long startRow,
+                                                         LongConsumer rowsRead) throws IOException {
+        if (startRow > 0 && index != null && startRow < index.getRowCount()) {
+            ColumnProfileAccumulator[] accumulators = newAccumulators(storedCsvOpener.readHeader(file));
+            try (CsvTokenizer tokenizer = storedCsvOpener.openAt(file, index.seekOffset(startRow))) {
+                skip(tokenizer, startRow - index.seekRow(startRow));
+                accumulate(tokenizer, accumulators, Long.MAX_VALUE, rowsRead);
+            }
+            return accumulators;
+        }
+
+        try (CsvTokenizer tokenizer = storedCsvOpener.open(file)) {
+            String[] headers = tokenizer.next() ? tokenizer.copyFields() : new String[0];
+            ColumnProfileAccumulator[] accumulators = newAccumulators(headers);
+            skip(tokenizer, startRow);
+            accumulate(tokenizer, accumulators, Long.MAX_VALUE, rowsRead);
+            return accumulators;
+        }
+    }
+
+    private static void skip(CsvTokenizer tokenizer, long rows) throws IOException {
+        for (long row = 0; row < rows && tokenizer.next(); row++) {
+            // Records before the start row are parsed but not profiled
+        }
+    }
+
+    private ColumnProfileAccumulator[] profileParallel(UploadedFile file, RowOffsetIndex index, long startRow,
+                                                       LongConsumer rowsRead) throws IOException {
+        String[] headers = storedCsvOpener.readHeader(file);
+        int entries = entryCount(index);
+        int leafEntries = (int) Math.max(1, splitRows / index.getInterval());
+        int firstEntry = (int) (startRow / index.getInterval());
+        return pool.invoke(new RangeTask(file, index, headers, startRow, firstEntry, entries, leafEntries, rowsRead));
+    }
+
+    private static int entryCount(RowOffsetIndex index) {
+        return (int) Math.min(index.getOffsets().length,
+                (index.getRowCount() + index.getInterval() - 1) / index.getInterval());
+    }
+
+    /**
+     * Feed records from the tokenizer's position into the accumulators
+     * Missing fields count as null.
+     *
+     * @return Number of records read
+     */
+    private long accumulate(CsvTokenizer tokenizer, ColumnProfileAccumulator[] accumulators,
+                            long maxRows, LongConsumer rowsRead) throws IOException {
+        long row = 0;
+        for (; row < maxRows && tokenizer.next(); row++) {
+            for (int i = 0; i < accumulators.length; i++) {
+                addValue(accumulators[i], tokenizer.field(i));
+            }
+            if ((row + 1) % PROGRESS_ROWS == 0) {
+                rowsRead.accept(PROGRESS_ROWS);
+            }
+        }
+        if (row % PROGRESS_ROWS != 0) {
+            rowsRead.accept(row % PROGRESS_ROWS);
+        }
+        return row;
+    }
+
+    private void addValue(ColumnProfileAccumulator accumulator, String value) {
+        if (typeInferenceService.isNullValue(value)) {
+            accumulator.addNull();
+        } else {
+            accumulator.add(value, typeInferenceService.inferSingleValue(value, accumulator.getDateFormats()));
+        }
+    }
+
+    private ColumnProfileAccumulator[] newAccumulators(String[] headers) {
+        ColumnProfileAccumulator[] accumulators = new ColumnProfileAccumulator[headers.length];
+        for (int i = 0; i < headers.length; i++) {
+            accumulators[i] = new ColumnProfileAccumulator(headers[i], i, typeInferenceService.newDateFormatLock());
+        }
+        return accumulators;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Accumulators of a sample, the number of rows sampled and the number of rows in the file
+     * blockCounts[block][column] holds the counts of each block, as ColumnProfileAccumulator#counts().
+     */
+    private static final class Sample {
+        private final ColumnProfileAccumulator[] accumulators;
+        private final long rows;
+        private final long population;
+        private final long[][][] blockCounts;
+
+        Sample(ColumnProfileAccumulator[] accumulators, long rows, long population, long[][][] blockCounts) {
+            this.accumulators = accumulators;
+            this.rows = rows;
+            this.population = population;
+            this.blockCounts = blockCounts;
+        }
+
+        /**
+         * Design effect of the null share of a column (trials: rows of each block)
+         */
+        double nullDesignEffect(int column) {
+            long[] hits = new long[blockCounts.length];
+            long[] trials = new long[blockCounts.length];
+            for (int b = 0; b < blockCounts.length; b++) {
+                long[] counts = blockCounts[b][column];
+                hits[b] = counts[0];
+                for (long count : counts) {
+                    trials[b] += count;
+                }
+            }
+            return designEffect(hits, trials);
+        }
+
+        /**
+         * Design effect of the dominant type share of a column (trials: non-null values of each block)
+         * The dominant type is the most frequent over the sample, ties going to the
+         * type declared first, as in TypeInferenceService#resolve.
+         */
+        double dominantTypeDesignEffect(int column) {
+            long[] totals = accumulators[column].counts();
+            int dominant = 1;
+            for (int k = 2; k < totals.length; k++) {
+                if (totals[k] > totals[dominant]) {
+                    dominant = k;
+                }
+            }
+            long[] hits = new long[blockCounts.length];
+            long[] trials = new long[blockCounts.length];
+            for (int b = 0; b < blockCounts.length; b++) {
+                long[] counts = blockCounts[b][column];
+                hits[b] = counts[dominant];
+                for (int k = 1; k < counts.length; k++) {
+                    trials[b] += counts[k];
+                }
+            }
+            return designEffect(hits, trials);
+        }
+    }
+
+    /**
+     * Profiles the rows between two row index entries, splitting in halves
+     * until a range is at most leafEntries entries long
+     * Rows before startRow (within the first entry) are skipped.
+     */
+    private final class RangeTask extends RecursiveTask<ColumnProfileAccumulator[]> {
+
+        private final UploadedFile file;
+        private final RowOffsetIndex index;
+        private final String[] headers;
+        private final long startRow;
+        private final int fromEntry;
+        private final int toEntry;
+        private final int leafEntries;
+        private final LongConsumer rowsRead;
+
+        RangeTask(UploadedFile file, RowOffsetIndex index, String[] headers, long startRow,
+                  int fromEntry, int toEntry, int leafEntries, LongConsumer rowsRead) {
+            this.file = file;
+            this.index = index;
+            this.headers = headers;
+            this.startRow = startRow;
+            this.fromEntry = fromEntry;
+            this.toEntry = toEntry;
+            this.leafEntries = leafEntries;
+            this.rowsRead = rowsRead;
+        }
+
+        @Override
+        protected ColumnProfileAccumulator[] compute() {
+            if (toEntry - fromEntry <= leafEntries) {
+                return profileRange();
+            }
+
+            int middle = (fromEntry + toEntry) >>> 1;
+            RangeTask right = new RangeTask(file, index, headers, startRow, middle, toEntry, leafEntries, rowsRead);
+            right.fork();
+            ColumnProfileAccumulator[] left =
+                    new RangeTask(file, index, headers, startRow, fromEntry, middle, leafEntries, rowsRead).compute();
+            ColumnProfileAccumulator[] merged = right.join();
+            for (int i = 0; i < left.length; i++) {
+                left[i].merge(merged[i]);
+            }
+            return left;
+        }
+
+        private ColumnProfileAccumulator[] profileRange() {
+            long entryRow = (long) fromEntry * index.getInterval();
+            long firstRow = Math.max(entryRow, startRow);
+            long endRow = Math.min((long) toEntry * index.getInterval(), index.getRowCount());
+            ColumnProfileAccumulator[] accumulators = newAccumulators(headers);
+            try (CsvTokenizer tokenizer = storedCsvOpener.openAt(file, index.getOffsets()[fromEntry])) {
+                skip(tokenizer, firstRow - entryRow);
+                accumulate(tokenizer, accumulators, endRow - firstRow, rowsRead);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return accumulators;
+        }
+    }
+
+    /**
+     * Formatter for the date format recorded in a dataset profile for a column
+     *
+     * @param dataset Dataset with a profile
+     * @param columnName Column name
+     * @return Formatter, or empty when the profile has no date format for the column
+     */
+    public Optional<DateTimeFormatter> dateFormatter(Dataset dataset, String columnName) {
+        return profiledColumn(dataset, columnName)
+                .flatMap(column -> typeInferenceService.formatterFor(column.getDateFormat()));
+    }
+
+    /**
+     * Profile of a column from the profile stored on a dataset
+     *
+     * @param dataset Dataset with a profile
+     * @param columnName Column name
+     * @return Column profile, or empty when the dataset has no profile or the column is not in it
+     */
+    public Optional<DatasetProfile.ColumnProfile> profiledColumn(Dataset dataset, String columnName) {
+        return profiledColumn(dataset, columnName, false);
+    }
+
+    /**
+     * Profile of a column from the exact profile stored on a dataset
+     *
+     * @param dataset Dataset with a profile
+     * @param columnName Column name
+     * @return Column profile, or empty when the dataset has no exact profile or the column is not in it
+     */
+    public Optional<DatasetProfile.ColumnProfile> exactProfiledColumn(Dataset dataset, String columnName) {
+        return profiledColumn(dataset, columnName, true);
+    }
+
+    private Optional<DatasetProfile.ColumnProfile> profiledColumn(Dataset dataset, String columnName, boolean exact) {
+        if (dataset.getProfileJson() == null || dataset.getProfileJson().isBlank()) {
+            return Optional.empty();
+        }
+        DatasetProfile profile = profileFromJson(dataset.getProfileJson());
+        if (profile == null || profile.getColumns() == null || (exact && Boolean.TRUE.equals(profile.getSampled()))) {
+            return Optional.empty();
+        }
+        return profile.getColumns().stream()
+                .filter(column -> columnName.equals(column.getColumnName()))
+                .findFirst();
+    }
+
     /**
      * Convert profile to JSON string
      *
@@ -122,6 +671,44 @@ public class DatasetProfileService {
         }
     }
 
+    /**
+     * Convert profiling state to JSON string
+     *
+     * @param state Profiling state
+     * @return JSON string representation (null if it cannot be serialized)
+     */
+    public String stateToJson(ProfileState state) {
+        try {
+            return objectMapper.writeValueAsString(state);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize profiling state to JSON", e);
+            return null;
+        }
+    }
+
+    /**
+     * Parse profiling state from JSON string
+     *
+     * @param stateJson JSON string (may be null)
+     * @return Profiling state, or empty if absent, unreadable or without distinct and top value sketches
+     */
+    public Optional<ProfileState> stateFromJson(String stateJson) {
+        if (stateJson == null || stateJson.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            ProfileState state = objectMapper.readValue(stateJson, ProfileState.class);
+            // States stored before the sketches were kept would undercount once merged
+            boolean sketched = state.getColumns() != null && state.getColumns().stream()
+                    .allMatch(column -> HyperLogLog.fromBytes(column.getDistinctSketch()) != null
+                            && column.getTopValues() != null);
+            return sketched ? Optional.of(state) : Optional.empty();
+        } catch (JsonProcessingException e) {
+            log.error("Failed to deserialize profiling state from JSON", e);
+            return Optional.empty();
+        }
+    }
+
     /**
      * Parse profile from JSON string
      *
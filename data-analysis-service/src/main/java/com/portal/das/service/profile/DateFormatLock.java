@@ -0,0 +1,178 @@
+package com.portal.das.service.profile;
+
+import com.portal.das.domain.model.InferredType;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Date formats of one column, ordered by what the column has shown so far
+ * The format that matched last is tried first, so a consistent column checks
+ * one format per cell; formats that fail while another matches drift to the
+ * back. Hit and miss counts decide which format the column is recorded with.
+ */
+public final class DateFormatLock {
+
+    private final FormatOrder dates;
+    private final FormatOrder dateTimes;
+
+    DateFormatLock(List<DatePattern> dateFormats, List<DatePattern> dateTimeFormats) {
+        this.dates = new FormatOrder(dateFormats);
+        this.dateTimes = new FormatOrder(dateTimeFormats);
+    }
+
+    boolean matchesDate(String value) {
+        return dates.matches(value);
+    }
+
+    boolean matchesDateTime(String value) {
+        return dateTimes.matches(value);
+    }
+
+    /**
+     * Add the counts of the same column seen over another part of the file
+     */
+    public void merge(DateFormatLock other) {
+        dates.merge(other.dates);
+        dateTimes.merge(other.dateTimes);
+    }
+
+    /**
+     * Hits and misses of the date formats that were tried, by pattern
+     */
+    public Map<String, long[]> dateCounts() {
+        return dates.counts();
+    }
+
+    /**
+     * Hits and misses of the datetime formats that were tried, by pattern
+     */
+    public Map<String, long[]> dateTimeCounts() {
+        return dateTimes.counts();
+    }
+
+    /**
+     * Restore counts saved with {@link #dateCounts()} and {@link #dateTimeCounts()}
+     * Patterns no longer recognised are ignored.
+     */
+    public void restore(Map<String, long[]> dateCounts, Map<String, long[]> dateTimeCounts) {
+        dates.restore(dateCounts);
+        dateTimes.restore(dateTimeCounts);
+    }
+
+    /**
+     * Format that parses the column
+     * Prefers formats that never failed on a value another format accepted
+     * (so 01/02/2024 and 12/31/2024 in one column resolve to MM/dd/yyyy), then the most hits.
+     *
+     * @param type Dominant type of the column
+     * @return Pattern, or null for non-date columns and columns without dates
+     */
+    public String detected(InferredType type) {
+        if (type == InferredType.DATE) {
+            return dates.detected();
+        }
+        if (type == InferredType.DATETIME) {
+            return dateTimes.detected();
+        }
+        return null;
+    }
+
+    private static final class FormatOrder {
+        private final List<DatePattern> formats;
+        private final int[] order;
+        private final long[] hits;
+        private final long[] misses;
+
+        FormatOrder(List<DatePattern> formats) {
+            this.formats = formats;
+            this.order = new int[formats.size()];
+            this.hits = new long[formats.size()];
+            this.misses = new long[formats.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+        }
+
+        boolean matches(String value) {
+            for (int position = 0; position < order.length; position++) {
+                int format = order[position];
+                if (formats.get(format).matches(value)) {
+                    hits[format]++;
+                    for (int before = 0; before < position; before++) {
+                        misses[order[before]]++;
+                    }
+                    if (position > 0) {
+                        System.arraycopy(order, 0, order, 1, position);
+                        order[0] = format;
+                    }
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void merge(FormatOrder other) {
+            for (int i = 0; i < hits.length; i++) {
+                hits[i] += other.hits[i];
+                misses[i] += other.misses[i];
+            }
+        }
+
+        Map<String, long[]> counts() {
+            Map<String, long[]> counts = new LinkedHashMap<>();
+            for (int i = 0; i < hits.length; i++) {
+                if (hits[i] > 0 || misses[i] > 0) {
+                    counts.put(formats.get(i).getPattern(), new long[]{hits[i], misses[i]});
+                }
+            }
+            return counts;
+        }
+
+        void restore(Map<String, long[]> counts) {
+            if (counts == null) {
+                return;
+            }
+            for (int i = 0; i < hits.length; i++) {
+                long[] count = counts.get(formats.get(i).getPattern());
+                if (count != null && count.length == 2) {
+                    hits[i] = count[0];
+                    misses[i] = count[1];
+                }
+            }
+            // Most frequent formats first (insertion sort keeps the declared order on ties)
+            for (int position = 1; position < order.length; position++) {
+                int format = order[position];
+                int before = position - 1;
+                while (before >= 0 && hits[order[before]] < hits[format]) {
+                    order[before + 1] = order[before];
+                    before--;
+                }
+                order[before + 1] = format;
+            }
+        }
+
+        String detected() {
+            int best = -1;
+            for (int i = 0; i < hits.length; i++) {
+                if (hits[i] == 0) {
+                    continue;
+                }
+                if (best < 0 || better(i, best)) {
+                    best = i;
+                }
+            }
+            return best >= 0 ? formats.get(best).getPattern() : null;
+        }
+
+        private boolean better(int candidate, int current) {
+            boolean candidateClean = misses[candidate] == 0;
+            boolean currentClean = misses[current] == 0;
+            if (candidateClean != currentClean) {
+                return candidateClean;
+            }
+            return hits[candidate] > hits[current];
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.portal.das.service.profile;
+
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * A date or datetime format recognised by type inference
+ * The value shape (separators, field widths, month/day/hour ranges) is checked
+ * by scanning characters; the formatter only confirms values that already have
+ * the right shape, so mismatching formats are rejected without an exception.
+ * Values whose fields are valid in every month and year (day up to 28, year
+ * above 0, hour below 24) need no confirmation at all.
+ */
+final class DatePattern {
+
+    /**
+     * Time part following the date
+     */
+    enum TimeStyle {
+        /**
+         * Date only
+         */
+        NONE,
+
+        /**
+         * HH:mm
+         */
+        HOURS_MINUTES,
+
+        /**
+         * HH:mm:ss
+         */
+        HOURS_MINUTES_SECONDS,
+
+        /**
+         * HH:mm[:ss[.fraction]] (ISO local time)
+         */
+        ISO
+    }
+
+    /**
+     * Outcomes of scanning a value: wrong shape, formatter must decide, certainly valid
+     */
+    private static final int NO_MATCH = 0;
+    private static final int PLAUSIBLE = 1;
+    private static final int VALID = 2;
+
+    private final String pattern;
+    private final DateTimeFormatter formatter;
+    private final String fieldOrder;
+    private final char dateSeparator;
+    private final boolean padded;
+    private final char timeSeparator;
+    private final TimeStyle timeStyle;
+
+    private DatePattern(String pattern, DateTimeFormatter formatter, String fieldOrder, char dateSeparator,
+                        boolean padded, char timeSeparator, TimeStyle timeStyle) {
+        this.pattern = pattern;
+        this.formatter = formatter;
+        this.fieldOrder = fieldOrder;
+        this.dateSeparator = dateSeparator;
+        this.padded = padded;
+        this.timeSeparator = timeSeparator;
+        this.timeStyle = timeStyle;
+    }
+
+    /**
+     * Date-only format
+     *
+     * @param pattern Pattern, also used as the name of the format
+     * @param formatter Formatter confirming the value
+     * @param fieldOrder Order of year, month and day fields ("yMd", "dMy" or "Mdy")
+     * @param dateSeparator Character between the fields
+     * @param padded Whether day and month always have two digits
+     */
+    static DatePattern date(String pattern, DateTimeFormatter formatter, String fieldOrder,
+                            char dateSeparator, boolean padded) {
+        return new DatePattern(pattern, formatter, fieldOrder, dateSeparator, padded, '\0', TimeStyle.NONE);
+    }
+
+    /**
+     * Datetime format with two-digit day and month
+     *
+     * @param timeSeparator Character between date and time ('T' or ' ')
+     * @param timeStyle Time fields that follow
+     */
+    static DatePattern dateTime(String pattern, DateTimeFormatter formatter, String fieldOrder,
+                                char dateSeparator, char timeSeparator, TimeStyle timeStyle) {
+        return new DatePattern(pattern, formatter, fieldOrder, dateSeparator, true, timeSeparator, timeStyle);
+    }
+
+    String getPattern() {
+        return pattern;
+    }
+
+    DateTimeFormatter getFormatter() {
+        return formatter;
+    }
+
+    /**
+     * Check whether a trimmed value is a valid date (or datetime) in this format
+     */
+    boolean matches(String value) {
+        int shape = scanShape(value);
+        return shape == VALID || (shape == PLAUSIBLE && confirm(value));
+    }
+
+    private boolean confirm(String value) {
+        try {
+            formatter.parse(value);
+            return true;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Scan the value against the shape of this format
+     *
+     * @return NO_MATCH, PLAUSIBLE (formatter must decide) or VALID
+     */
+    private int scanShape(String value) {
+        int length = value.length();
+        int i = 0;
+        int year = 0;
+        int month = 0;
+        int day = 0;
+
+        for (int field = 0; field < 3; field++) {
+            if (field > 0) {
+                if (i >= length || value.charAt(i) != dateSeparator) {
+                    return NO_MATCH;
+                }
+                i++;
+            }
+            int start = i;
+            int number = 0;
+            while (i < length && i - start < 4 && ValueScanner.isAsciiDigit(value.charAt(i))) {
+                number = number * 10 + (value.charAt(i) - '0');
+                i++;
+            }
+            int width = i - start;
+            switch (fieldOrder.charAt(field)) {
+                case 'y':
+                    if (width != 4) {
+                        return NO_MATCH;
+                    }
+                    year = number;
+                    break;
+                case 'M':
+                    if (width > 2 || width < (padded ? 2 : 1)) {
+                        return NO_MATCH;
+                    }
+                    month = number;
+                    break;
+                default:
+                    if (width > 2 || width < (padded ? 2 : 1)) {
+                        return NO_MATCH;
+                    }
+                    day = number;
+                    break;
+            }
+        }
+        if (month < 1 || month > 12 || day < 1 || day > 31) {
+            return NO_MATCH;
+        }
+        int shape = day > 28 || year == 0 ? PLAUSIBLE : VALID;
+
+        if (timeStyle == TimeStyle.NONE) {
+            return i == length ? shape : NO_MATCH;
+        }
+        if (i >= length || value.charAt(i) != timeSeparator) {
+            return NO_MATCH;
+        }
+        i++;
+
+        // HH:mm (24:00 is left to the formatter, which accepts it as end of day)
+        int hour = twoDigits(value, i);
+        if (hour > 24 || !charAt(value, i + 2, ':') || twoDigits(value, i + 3) > 59) {
+            return NO_MATCH;
+        }
+        if (hour == 24) {
+            shape = PLAUSIBLE;
+        }
+        i += 5;
+        if (timeStyle == TimeStyle.HOURS_MINUTES || (timeStyle == TimeStyle.ISO && i == length)) {
+            return i == length ? shape : NO_MATCH;
+        }
+
+        // :ss
+        if (!charAt(value, i, ':') || twoDigits(value, i + 1) > 59) {
+            return NO_MATCH;
+        }
+        i += 3;
+        if (timeStyle == TimeStyle.HOURS_MINUTES_SECONDS || i == length) {
+            return i == length ? shape : NO_MATCH;
+        }
+
+        // .fraction (ISO only)
+        if (!charAt(value, i, '.')) {
+            return NO_MATCH;
+        }
+        int fractionStart = ++i;
+        while (i < length && ValueScanner.isAsciiDigit(value.charAt(i))) {
+            i++;
+        }
+        return i == length && i - fractionStart <= 9 ? shape : NO_MATCH;
+    }
+
+    /**
+     * Value of two ASCII digits at a position, or 100 if there are none
+     */
+    private static int twoDigits(String value, int index) {
+        if (index + 1 >= value.length()
+                || !ValueScanner.isAsciiDigit(value.charAt(index))
+                || !ValueScanner.isAsciiDigit(value.charAt(index + 1))) {
+            return 100;
+        }
+        return (value.charAt(index) - '0') * 10 + (value.charAt(index + 1) - '0');
+    }
+
+    private static boolean charAt(String value, int index, char expected) {
+        return index < value.length() && value.charAt(index) == expected;
+    }
+}
@@ -0,0 +1,146 @@
+package com.portal.das.service.profile;
+
+/**
+ * HyperLogLog sketch of the distinct values of a column
+ * A fixed array of 2^12 registers (4 KB) estimates any number of distinct
+ * values with a relative standard error of 1.04 / sqrt(2^12), about 1.6%.
+ * Sketches of different parts of a column merge by taking the larger register,
+ * so the estimate of the whole column needs no second pass over the values.
+ */
+final class HyperLogLog {
+
+    /**
+     * Bits of the hash that select the register
+     */
+    static final int PRECISION = 12;
+
+    static final int REGISTERS = 1 << PRECISION;
+
+    /**
+     * Relative standard error of the estimate (about 95% of estimates fall within twice this)
+     */
+    static final double RELATIVE_ERROR = 1.04 / Math.sqrt(REGISTERS);
+
+    /**
+     * Largest register value: 64 - PRECISION hash bits, plus one
+     */
+    private static final int MAX_RANK = 64 - PRECISION + 1;
+
+    private static final double ALPHA_INFINITY = 1 / (2 * Math.log(2));
+
+    private final byte[] registers;
+
+    HyperLogLog() {
+        this.registers = new byte[REGISTERS];
+    }
+
+    /**
+     * Sketch continuing from registers saved with {@link #toBytes()}
+     *
+     * @return Sketch, or null if the registers are absent or of another precision
+     */
+    static HyperLogLog fromBytes(byte[] registers) {
+        if (registers == null || registers.length != REGISTERS) {
+            return null;
+        }
+        HyperLogLog sketch = new HyperLogLog();
+        System.arraycopy(registers, 0, sketch.registers, 0, REGISTERS);
+        return sketch;
+    }
+
+    /**
+     * Count a value
+     */
+    void add(String value) {
+        long hash = hash(value);
+        int register = (int) (hash >>> (64 - PRECISION));
+        // Position of the first 1 bit after the register bits; the sentinel bit caps it
+        int rank = Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1;
+        if (rank > registers[register]) {
+            registers[register] = (byte) rank;
+        }
+    }
+
+    /**
+     * Fold in the sketch of other values of the same column
+     */
+    void merge(HyperLogLog other) {
+        for (int i = 0; i < REGISTERS; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    /**
+     * Estimated number of distinct values counted
+     * Uses Ertl's improved estimator over the register histogram, which stays
+     * unbiased from empty sketches to large counts without empirical bias
+     * tables or a switch to linear counting.
+     */
+    long estimate() {
+        int[] histogram = new int[MAX_RANK + 1];
+        for (byte register : registers) {
+            histogram[register]++;
+        }
+        double z = REGISTERS * tau(1 - (double) histogram[MAX_RANK] / REGISTERS);
+        for (int rank = MAX_RANK - 1; rank >= 1; rank--) {
+            z = 0.5 * (z + histogram[rank]);
+        }
+        z += REGISTERS * sigma((double) histogram[0] / REGISTERS);
+        return Math.round(ALPHA_INFINITY * REGISTERS * REGISTERS / z);
+    }
+
+    private static double sigma(double x) {
+        if (x == 1) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double y = 1;
+        double z = x;
+        double previous;
+        do {
+            x *= x;
+            previous = z;
+            z += x * y;
+            y += y;
+        } while (z != previous);
+        return z;
+    }
+
+    private static double tau(double x) {
+        if (x == 0 || x == 1) {
+            return 0;
+        }
+        double y = 1;
+        double z = 1 - x;
+        double previous;
+        do {
+            x = Math.sqrt(x);
+            previous = z;
+            y *= 0.5;
+            z -= (1 - x) * (1 - x) * y;
+        } while (z != previous);
+        return z / 3;
+    }
+
+    byte[] toBytes() {
+        return registers.clone();
+    }
+
+    /**
+     * 64-bit hash of a value: FNV-1a over its chars, then the MurmurHash3 finalizer to spread the bits
+     */
+    static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
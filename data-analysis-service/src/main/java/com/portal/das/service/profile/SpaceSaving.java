@@ -0,0 +1,208 @@
+package com.portal.das.service.profile;
+
+import com.portal.das.domain.model.profile.DatasetProfile;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-saving sketch of the most frequent values of a column
+ * Keeps a fixed number of counters. A value without a counter takes over the
+ * smallest one and inherits its count as its possible overestimate, so every
+ * count is at most N / CAPACITY too high, and any value more frequent than
+ * that is guaranteed a counter. Sketches of different parts of a column merge
+ * into a sketch with the same guarantee (Agarwal et al., Mergeable Summaries).
+ *
+ * Counters sit in a min-heap on their count, so a new value replaces the
+ * smallest counter in O(log CAPACITY).
+ */
+final class SpaceSaving {
+
+    /**
+     * Number of counters; top values are reported from far fewer, so their counts are close
+     */
+    static final int CAPACITY = 128;
+
+    private final Map<String, Counter> counters = new HashMap<>();
+    private final Counter[] heap = new Counter[CAPACITY];
+    private int size;
+    private long total;
+
+    /**
+     * Count a value
+     */
+    void add(String value) {
+        total++;
+        Counter counter = counters.get(value);
+        if (counter != null) {
+            counter.count++;
+            siftDown(counter.position);
+            return;
+        }
+        if (size < CAPACITY) {
+            insert(new Counter(value, 1, 0));
+            return;
+        }
+        Counter smallest = heap[0];
+        counters.remove(smallest.value);
+        smallest.value = value;
+        smallest.error = smallest.count;
+        smallest.count++;
+        counters.put(value, smallest);
+        siftDown(0);
+    }
+
+    /**
+     * Fold in the sketch of other values of the same column
+     * A value missing from a full sketch may have been counted up to that
+     * sketch's smallest count, which is added to its count and error.
+     */
+    void merge(SpaceSaving other) {
+        long floor = size == CAPACITY ? heap[0].count : 0;
+        long otherFloor = other.size == CAPACITY ? other.heap[0].count : 0;
+
+        Map<String, Counter> merged = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            Counter counter = heap[i];
+            Counter match = other.counters.get(counter.value);
+            merged.put(counter.value, match != null
+                    ? new Counter(counter.value, counter.count + match.count, counter.error + match.error)
+                    : new Counter(counter.value, counter.count + otherFloor, counter.error + otherFloor));
+        }
+        for (int i = 0; i < other.size; i++) {
+            Counter counter = other.heap[i];
+            if (!merged.containsKey(counter.value)) {
+                merged.put(counter.value, new Counter(counter.value, counter.count + floor, counter.error + floor));
+            }
+        }
+
+        List<Counter> kept = new ArrayList<>(merged.values());
+        kept.sort(Comparator.comparingLong((Counter counter) -> counter.count).reversed());
+        counters.clear();
+        size = 0;
+        for (int i = 0; i < Math.min(CAPACITY, kept.size()); i++) {
+            insert(kept.get(i));
+        }
+        total += other.total;
+    }
+
+    /**
+     * Number of values counted
+     */
+    long total() {
+        return total;
+    }
+
+    /**
+     * Most frequent values, highest count first
+     *
+     * @param limit Maximum number of values
+     * @return Values with their (over)estimated count and its maximal overestimate
+     */
+    List<DatasetProfile.ValueCount> top(int limit) {
+        List<DatasetProfile.ValueCount> top = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            top.add(heap[i].toValueCount());
+        }
+        top.sort(Comparator.comparingLong(DatasetProfile.ValueCount::getCount).reversed()
+                .thenComparing(DatasetProfile.ValueCount::getValue));
+        return top.size() > limit ? new ArrayList<>(top.subList(0, limit)) : top;
+    }
+
+    /**
+     * Counters to save with the profile state
+     */
+    List<DatasetProfile.ValueCount> toCounters() {
+        return top(CAPACITY);
+    }
+
+    /**
+     * Sketch continuing from counters saved with {@link #toCounters()}
+     *
+     * @param counters Saved counters
+     * @param total Number of values the counters cover
+     * @return Sketch, or null if the counters are absent
+     */
+    static SpaceSaving fromCounters(List<DatasetProfile.ValueCount> counters, long total) {
+        if (counters == null) {
+            return null;
+        }
+        SpaceSaving sketch = new SpaceSaving();
+        for (int i = 0; i < Math.min(CAPACITY, counters.size()); i++) {
+            DatasetProfile.ValueCount counter = counters.get(i);
+            sketch.insert(new Counter(counter.getValue(), counter.getCount(),
+                    counter.getCountError() != null ? counter.getCountError() : 0));
+        }
+        sketch.total = total;
+        return sketch;
+    }
+
+    private void insert(Counter counter) {
+        counters.put(counter.value, counter);
+        heap[size] = counter;
+        counter.position = size;
+        siftUp(size++);
+    }
+
+    private void siftUp(int position) {
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (heap[parent].count <= heap[position].count) {
+                return;
+            }
+            swap(position, parent);
+            position = parent;
+        }
+    }
+
+    private void siftDown(int position) {
+        while (true) {
+            int smallest = position;
+            int left = 2 * position + 1;
+            int right = left + 1;
+            if (left < size && heap[left].count < heap[smallest].count) {
+                smallest = left;
+            }
+            if (right < size && heap[right].count < heap[smallest].count) {
+                smallest = right;
+            }
+            if (smallest == position) {
+                return;
+            }
+            swap(position, smallest);
+            position = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        Counter counter = heap[a];
+        heap[a] = heap[b];
+        heap[b] = counter;
+        heap[a].position = a;
+        heap[b].position = b;
+    }
+
+    private static final class Counter {
+        private String value;
+        private long count;
+        private long error;
+        private int position;
+
+        Counter(String value, long count, long error) {
+            this.value = value;
+            this.count = count;
+            this.error = error;
+        }
+
+        DatasetProfile.ValueCount toValueCount() {
+            return DatasetProfile.ValueCount.builder()
+                    .value(value)
+                    .count(count)
+                    .countError(error)
+                    .build();
+        }
+    }
+}
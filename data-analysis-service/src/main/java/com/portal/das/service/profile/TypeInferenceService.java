@@ -4,10 +4,7 @@ import com.portal.das.domain.model.InferredType;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.*;
 
 /**
@@ -21,26 +18,32 @@ public class TypeInferenceService {
     /**
      * Common date formats to try
      */
-    private static final List<DateTimeFormatter> DATE_FORMATTERS = Arrays.asList(
-            DateTimeFormatter.ISO_LOCAL_DATE,                // yyyy-MM-dd
-            DateTimeFormatter.ofPattern("dd/MM/yyyy"),       // dd/MM/yyyy
-            DateTimeFormatter.ofPattern("MM/dd/yyyy"),       // MM/dd/yyyy
-            DateTimeFormatter.ofPattern("dd-MM-yyyy"),       // dd-MM-yyyy
-            DateTimeFormatter.ofPattern("yyyy/MM/dd"),       // yyyy/MM/dd
-            DateTimeFormatter.ofPattern("d/M/yyyy"),         // d/M/yyyy
-            DateTimeFormatter.ofPattern("d-M-yyyy")          // d-M-yyyy
+    private static final List<DatePattern> DATE_FORMATTERS = List.of(
+            DatePattern.date("yyyy-MM-dd", DateTimeFormatter.ISO_LOCAL_DATE, "yMd", '-', true),
+            DatePattern.date("dd/MM/yyyy", DateTimeFormatter.ofPattern("dd/MM/yyyy"), "dMy", '/', true),
+            DatePattern.date("MM/dd/yyyy", DateTimeFormatter.ofPattern("MM/dd/yyyy"), "Mdy", '/', true),
+            DatePattern.date("dd-MM-yyyy", DateTimeFormatter.ofPattern("dd-MM-yyyy"), "dMy", '-', true),
+            DatePattern.date("yyyy/MM/dd", DateTimeFormatter.ofPattern("yyyy/MM/dd"), "yMd", '/', true),
+            DatePattern.date("d/M/yyyy", DateTimeFormatter.ofPattern("d/M/yyyy"), "dMy", '/', false),
+            DatePattern.date("d-M-yyyy", DateTimeFormatter.ofPattern("d-M-yyyy"), "dMy", '-', false)
     );
 
     /**
      * Common datetime formats to try
      */
-    private static final List<DateTimeFormatter> DATETIME_FORMATTERS = Arrays.asList(
-            DateTimeFormatter.ISO_LOCAL_DATE_TIME,                      // yyyy-MM-ddTHH:mm:ss
-            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"),         // yyyy-MM-dd HH:mm:ss
-            DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss"),         // dd/MM/yyyy HH:mm:ss
-            DateTimeFormatter.ofPattern("MM/dd/yyyy HH:mm:ss"),         // MM/dd/yyyy HH:mm:ss
-            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"),            // yyyy-MM-dd HH:mm
-            DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm")             // dd/MM/yyyy HH:mm
+    private static final List<DatePattern> DATETIME_FORMATTERS = List.of(
+            DatePattern.dateTime("yyyy-MM-dd'T'HH:mm:ss", DateTimeFormatter.ISO_LOCAL_DATE_TIME,
+                    "yMd", '-', 'T', DatePattern.TimeStyle.ISO),
+            DatePattern.dateTime("yyyy-MM-dd HH:mm:ss", DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"),
+                    "yMd", '-', ' ', DatePattern.TimeStyle.HOURS_MINUTES_SECONDS),
+            DatePattern.dateTime("dd/MM/yyyy HH:mm:ss", DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss"),
+                    "dMy", '/', ' ', DatePattern.TimeStyle.HOURS_MINUTES_SECONDS),
+            DatePattern.dateTime("MM/dd/yyyy HH:mm:ss", DateTimeFormatter.ofPattern("MM/dd/yyyy HH:mm:ss"),
+                    "Mdy", '/', ' ', DatePattern.TimeStyle.HOURS_MINUTES_SECONDS),
+            DatePattern.dateTime("yyyy-MM-dd HH:mm", DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"),
+                    "yMd", '-', ' ', DatePattern.TimeStyle.HOURS_MINUTES),
+            DatePattern.dateTime("dd/MM/yyyy HH:mm", DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm"),
+                    "dMy", '/', ' ', DatePattern.TimeStyle.HOURS_MINUTES)
     );
 
     /**
@@ -60,35 +63,48 @@ public class TypeInferenceService {
             return TypeInferenceResult.builder()
                     .dominantType(InferredType.STRING)
                     .confidence(0.0)
-                    .nullCount(0)
-                    .nonNullCount(0)
-                    .invalidTypeCount(0)
+                    .nullCount(0L)
+                    .nonNullCount(0L)
+                    .invalidTypeCount(0L)
                     .build();
         }
 
-        Map<InferredType, Integer> typeCounts = new EnumMap<>(InferredType.class);
-        int nullCount = 0;
-        int nonNullCount = 0;
+        long[] typeCounts = new long[InferredType.values().length];
+        long nullCount = 0;
+        DateFormatLock dateFormats = newDateFormatLock();
 
         for (String value : values) {
-            if (isNullOrEmpty(value)) {
+            if (isNullValue(value)) {
                 nullCount++;
                 continue;
             }
-
-            nonNullCount++;
-            InferredType type = inferSingleValue(value);
-            typeCounts.put(type, typeCounts.getOrDefault(type, 0) + 1);
+            typeCounts[inferSingleValue(value, dateFormats).ordinal()]++;
         }
 
-        // Find dominant type
+        TypeInferenceResult result = resolve(typeCounts, nullCount);
+        result.setDateFormat(dateFormats.detected(result.getDominantType()));
+        return result;
+    }
+
+    /**
+     * Derive the dominant type from per-type counts collected elsewhere
+     * Ties go to the type declared first in {@link InferredType}.
+     *
+     * @param typeCounts Non-null values per type, indexed by ordinal
+     * @param nullCount Number of null values
+     * @return TypeInferenceResult containing type, confidence, and statistics
+     */
+    public TypeInferenceResult resolve(long[] typeCounts, long nullCount) {
         InferredType dominantType = InferredType.STRING;
-        int maxCount = 0;
-        
-        for (Map.Entry<InferredType, Integer> entry : typeCounts.entrySet()) {
-            if (entry.getValue() > maxCount) {
-                maxCount = entry.getValue();
-                dominantType = entry.getKey();
+        long maxCount = 0;
+        long nonNullCount = 0;
+
+        for (InferredType type : InferredType.values()) {
+            long count = typeCounts[type.ordinal()];
+            nonNullCount += count;
+            if (count > maxCount) {
+                maxCount = count;
+                dominantType = type;
             }
         }
 
@@ -96,7 +112,7 @@ public class TypeInferenceService {
         double confidence = nonNullCount > 0 ? (double) maxCount / nonNullCount : 0.0;
 
         // Count invalid values (values that don't match dominant type)
-        int invalidTypeCount = nonNullCount - maxCount;
+        long invalidTypeCount = nonNullCount - maxCount;
 
         return TypeInferenceResult.builder()
                 .dominantType(dominantType)
@@ -107,6 +123,35 @@ public class TypeInferenceService {
                 .build();
     }
 
+    /**
+     * Start tracking the date formats of a column
+     *
+     * @return Lock to pass to {@link #inferSingleValue(String, DateFormatLock)} for each value of the column
+     */
+    public DateFormatLock newDateFormatLock() {
+        return new DateFormatLock(DATE_FORMATTERS, DATETIME_FORMATTERS);
+    }
+
+    /**
+     * Resolve a pattern recorded in a column profile to its formatter
+     *
+     * @param pattern Pattern from {@link DateFormatLock#detected(InferredType)}
+     * @return Formatter used by type inference for that pattern, or empty if unknown
+     */
+    public Optional<DateTimeFormatter> formatterFor(String pattern) {
+        if (pattern == null) {
+            return Optional.empty();
+        }
+        for (List<DatePattern> formats : List.of(DATE_FORMATTERS, DATETIME_FORMATTERS)) {
+            for (DatePattern format : formats) {
+                if (format.getPattern().equals(pattern)) {
+                    return Optional.of(format.getFormatter());
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
     /**
      * Infer type for a single value
      *
@@ -114,32 +159,51 @@ public class TypeInferenceService {
      * @return Inferred type
      */
     public InferredType inferSingleValue(String value) {
-        if (isNullOrEmpty(value)) {
+        return inferSingleValue(value, null);
+    }
+
+    /**
+     * Infer type for a value of a column, trying the column's date formats in the order it has shown
+     * Every check is a character scan; formatters run only on values already
+     * shaped like a date, so no check throws for a mismatching value.
+     *
+     * @param value String value
+     * @param dateFormats Date formats of the column (null to try every format in list order)
+     * @return Inferred type
+     */
+    public InferredType inferSingleValue(String value, DateFormatLock dateFormats) {
+        if (isNullValue(value)) {
             return InferredType.STRING;
         }
+        String trimmed = value.trim();
 
         // Try boolean first (most specific)
-        if (isBoolean(value)) {
+        if (isBoolean(trimmed)) {
             return InferredType.BOOLEAN;
         }
 
         // Try integer
-        if (isInteger(value)) {
+        if (ValueScanner.isInteger(trimmed)) {
             return InferredType.INTEGER;
         }
 
         // Try decimal
-        if (isDecimal(value)) {
+        if (ValueScanner.isDecimal(trimmed)) {
             return InferredType.DECIMAL;
         }
 
+        // Dates need digits up front; skip the format lists for everything else
+        if (!ValueScanner.isAsciiDigit(trimmed.charAt(0))) {
+            return InferredType.STRING;
+        }
+
         // Try datetime (before date, as datetime is more specific)
-        if (isDateTime(value)) {
+        if (dateFormats != null ? dateFormats.matchesDateTime(trimmed) : isDateTime(trimmed)) {
             return InferredType.DATETIME;
         }
 
         // Try date
-        if (isDate(value)) {
+        if (dateFormats != null ? dateFormats.matchesDate(trimmed) : isDate(trimmed)) {
             return InferredType.DATE;
         }
 
@@ -148,72 +212,43 @@ public class TypeInferenceService {
     }
 
     /**
-     * Check if value is null or empty
+     * Check if value counts as null (missing, blank, "null" or "na")
      */
-    private boolean isNullOrEmpty(String value) {
+    public boolean isNullValue(String value) {
         return value == null || value.trim().isEmpty() || 
                value.equalsIgnoreCase("null") || value.equalsIgnoreCase("na");
     }
 
     /**
-     * Check if value is a boolean
+     * Check if a trimmed value is a boolean
      */
     private boolean isBoolean(String value) {
-        String lower = value.toLowerCase().trim();
-        return BOOLEAN_TRUE.contains(lower) || BOOLEAN_FALSE.contains(lower);
-    }
-
-    /**
-     * Check if value is an integer
-     */
-    private boolean isInteger(String value) {
-        try {
-            Long.parseLong(value.trim());
-            return true;
-        } catch (NumberFormatException e) {
-            return false;
-        }
-    }
-
-    /**
-     * Check if value is a decimal number
-     */
-    private boolean isDecimal(String value) {
-        try {
-            Double.parseDouble(value.trim());
-            return true;
-        } catch (NumberFormatException e) {
+        if (value.length() > 5) {
             return false;
         }
+        String lower = value.toLowerCase();
+        return BOOLEAN_TRUE.contains(lower) || BOOLEAN_FALSE.contains(lower);
     }
 
     /**
-     * Check if value is a date
+     * Check if a trimmed value is a date
      */
     private boolean isDate(String value) {
-        String trimmed = value.trim();
-        for (DateTimeFormatter formatter : DATE_FORMATTERS) {
-            try {
-                LocalDate.parse(trimmed, formatter);
+        for (DatePattern format : DATE_FORMATTERS) {
+            if (format.matches(value)) {
                 return true;
-            } catch (DateTimeParseException e) {
-                // Try next formatter
             }
         }
         return false;
     }
 
     /**
-     * Check if value is a datetime
+     * Check if a trimmed value is a datetime
      */
     private boolean isDateTime(String value) {
-        String trimmed = value.trim();
-        for (DateTimeFormatter formatter : DATETIME_FORMATTERS) {
-            try {
-                LocalDateTime.parse(trimmed, formatter);
+        for (DatePattern format : DATETIME_FORMATTERS) {
+            if (format.matches(value)) {
                 return true;
-            } catch (DateTimeParseException e) {
-                // Try next formatter
             }
         }
         return false;
@@ -229,9 +264,10 @@ public class TypeInferenceService {
     public static class TypeInferenceResult {
         private InferredType dominantType;
         private Double confidence;
-        private Integer nullCount;
-        private Integer nonNullCount;
-        private Integer invalidTypeCount;
+        private Long nullCount;
+        private Long nonNullCount;
+        private Long invalidTypeCount;
+        private String dateFormat;
     }
 }
 
@@ -0,0 +1,128 @@
+package com.portal.das.service.profile;
+
+/**
+ * Exception-free recognizers for numeric values
+ * Accept exactly what Long.parseLong and Double.parseDouble accept, by walking
+ * the characters once, so rejecting a text value costs no exception.
+ * Values are expected to be trimmed already.
+ */
+final class ValueScanner {
+
+    private ValueScanner() {
+    }
+
+    /**
+     * Check whether Long.parseLong would accept a value (sign, decimal digits, in range)
+     */
+    static boolean isInteger(String value) {
+        int length = value.length();
+        if (length == 0) {
+            return false;
+        }
+
+        int i = 0;
+        boolean negative = false;
+        char first = value.charAt(0);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            if (length == 1) {
+                return false;
+            }
+            i++;
+        }
+
+        // Accumulate negatively like Long.parseLong, so Long.MIN_VALUE fits
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multiplyMin = limit / 10;
+        long result = 0;
+        for (; i < length; i++) {
+            int digit = Character.digit(value.charAt(i), 10);
+            if (digit < 0 || result < multiplyMin) {
+                return false;
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                return false;
+            }
+            result -= digit;
+        }
+        return true;
+    }
+
+    /**
+     * Check whether Double.parseDouble would accept a value
+     * Decimal notation is scanned; hexadecimal floats, which are rare, are
+     * confirmed by parsing.
+     */
+    static boolean isDecimal(String value) {
+        int length = value.length();
+        int i = 0;
+        if (i < length && (value.charAt(i) == '-' || value.charAt(i) == '+')) {
+            i++;
+        }
+        if (i == length) {
+            return false;
+        }
+
+        char c = value.charAt(i);
+        if (c == 'N') {
+            return value.startsWith("NaN", i) && i + 3 == length;
+        }
+        if (c == 'I') {
+            return value.startsWith("Infinity", i) && i + 8 == length;
+        }
+        if (c == '0' && i + 1 < length && (value.charAt(i + 1) == 'x' || value.charAt(i + 1) == 'X')) {
+            return parsesAsDouble(value);
+        }
+
+        int digits = 0;
+        while (i < length && isAsciiDigit(value.charAt(i))) {
+            i++;
+            digits++;
+        }
+        if (i < length && value.charAt(i) == '.') {
+            i++;
+            while (i < length && isAsciiDigit(value.charAt(i))) {
+                i++;
+                digits++;
+            }
+        }
+        if (digits == 0) {
+            return false;
+        }
+
+        if (i < length && (value.charAt(i) == 'e' || value.charAt(i) == 'E')) {
+            i++;
+            if (i < length && (value.charAt(i) == '-' || value.charAt(i) == '+')) {
+                i++;
+            }
+            int exponentDigits = 0;
+            while (i < length && isAsciiDigit(value.charAt(i))) {
+                i++;
+                exponentDigits++;
+            }
+            if (exponentDigits == 0) {
+                return false;
+            }
+        }
+
+        // Optional type suffix (1.5f, 2d)
+        if (i < length && "fFdD".indexOf(value.charAt(i)) >= 0) {
+            i++;
+        }
+        return i == length;
+    }
+
+    static boolean isAsciiDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean parsesAsDouble(String value) {
+        try {
+            Double.parseDouble(value);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -1,22 +1,31 @@
 package com.portal.das.service.quality;
 
 import com.portal.das.domain.model.*;
+import com.portal.das.domain.model.columnar.BlockMeta;
+import com.portal.das.domain.model.columnar.ColumnBlock;
+import com.portal.das.domain.model.columnar.ColumnMeta;
+import com.portal.das.domain.model.columnar.ColumnarTable;
 import com.portal.das.domain.ports.out.dataset.DatasetCrudPort;
+import com.portal.das.domain.ports.out.file.ColumnStorePort;
 import com.portal.das.domain.ports.out.file.FileCrudPort;
 import com.portal.das.domain.ports.out.file.FileStoragePort;
+import com.portal.das.service.columnar.ZoneMapMetrics;
+import com.portal.das.service.ingest.StoredCsvOpener;
+import com.portal.das.util.CsvTokenizer;
+import com.sharedlib.core.exception.BadRequestException;
 import com.sharedlib.core.exception.NotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVPrinter;
-import org.apache.commons.csv.CSVRecord;
 import org.springframework.stereotype.Service;
 
 import java.io.*;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
 import java.util.*;
 import java.util.regex.Pattern;
 
@@ -32,6 +41,9 @@ public class DataQualityService {
     private final DatasetCrudPort datasetCrudPort;
     private final FileCrudPort fileCrudPort;
     private final FileStoragePort fileStoragePort;
+    private final StoredCsvOpener storedCsvOpener;
+    private final ColumnStorePort columnStorePort;
+    private final ZoneMapMetrics zoneMapMetrics;
 
     /**
      * Validate dataset using quality rules
@@ -56,9 +68,8 @@ public class DataQualityService {
         long totalRows = 0;
         long totalViolations = 0;
 
-        // Prepare violations CSV
-        String violationsCsvFilename = "violations_" + datasetId + ".csv";
-        Path violationsCsvPath = Paths.get("storage/out", violationsCsvFilename);
+        // Prepare violations CSV (derived output, expired by StorageSweeper)
+        Path violationsCsvPath = violationsPath(datasetId);
         
         try {
             Files.createDirectories(violationsCsvPath.getParent());
@@ -66,23 +77,26 @@ public class DataQualityService {
             log.error("Failed to create output directory", e);
         }
 
-        try (InputStream inputStream = fileStoragePort.retrieve(file.getStoredFilename());
-             Reader reader = new InputStreamReader(inputStream);
-             CSVParser parser = CSVFormat.DEFAULT.builder()
-                     .setHeader()
-                     .setSkipHeaderRecord(true)
-                     .build()
-                     .parse(reader);
-             FileWriter violationsWriter = new FileWriter(violationsCsvPath.toFile());
+        try (FileWriter violationsWriter = new FileWriter(violationsCsvPath.toFile());
              CSVPrinter violationsPrinter = new CSVPrinter(violationsWriter, CSVFormat.DEFAULT)) {
 
             // Write header for violations CSV
             List<String> violationHeaders = new ArrayList<>(Arrays.asList("row_index", "column", "rule_type", "value", "message"));
             violationsPrinter.printRecord(violationHeaders);
 
-            // Validate each rule
+            List<RuleState> states = new ArrayList<>(rules.size());
             for (DataQualityRule rule : rules) {
-                DataQualityReport.RuleViolation violation = validateRule(parser, rule, maxViolationsPerRule, violationsPrinter);
+                states.add(new RuleState(rule));
+            }
+
+            // Rules answerable from single columns first, the rest in one pass over the CSV
+            List<RuleState> remaining = validateColumnar(file, states, maxViolationsPerRule, violationsPrinter);
+            if (!remaining.isEmpty()) {
+                validateRows(file, remaining, maxViolationsPerRule, violationsPrinter);
+            }
+
+            for (RuleState state : states) {
+                DataQualityReport.RuleViolation violation = state.toViolation();
                 ruleViolations.add(violation);
                 totalViolations += violation.getViolationCount();
             }
@@ -104,65 +118,194 @@ public class DataQualityService {
     }
 
     /**
-     * Validate a single rule
+     * Open the violations CSV written by the last validation of a dataset
+     * Serving it counts as a use: its modification time is reset, which is
+     * the last use StorageSweeper evicts by (access times are not reliable
+     * on noatime/relatime mounts).
+     *
+     * @param datasetId Dataset identifier
+     * @return Violations CSV stream
      */
-    private DataQualityReport.RuleViolation validateRule(
-            CSVParser parser, 
-            DataQualityRule rule, 
+    public InputStream openViolations(UUID datasetId) throws IOException {
+        Path path = violationsPath(datasetId);
+        try {
+            Files.setLastModifiedTime(path, FileTime.from(Instant.now()));
+            return Files.newInputStream(path);
+        } catch (NoSuchFileException e) {
+            throw new NotFoundException("Violations file not found");
+        }
+    }
+
+    private Path violationsPath(UUID datasetId) {
+        return fileStoragePort.getPath("out/violations_" + datasetId + ".csv");
+    }
+
+    /**
+     * Validate rules against the columnar copy, reading only their columns
+     * Text checks (regex, whitelist, length) on numeric columns need the
+     * original text, so those rules are left for the CSV pass. Blocks whose
+     * zone map proves every value passes the rule are skipped.
+     *
+     * @return Rules that still have to be validated against the CSV
+     */
+    private List<RuleState> validateColumnar(
+            UploadedFile file,
+            List<RuleState> states,
             int maxSamples,
-            CSVPrinter violationsPrinter) {
-        
-        List<Integer> sampleIndexes = new ArrayList<>();
-        List<String> sampleValues = new ArrayList<>();
-        long violationCount = 0;
-        int rowIndex = 0;
-
-        for (CSVRecord record : parser) {
-            rowIndex++;
-            String value = record.get(rule.getColumn());
-
-            // Check violations
-            List<String> violations = checkValue(value, rule);
-            
-            if (!violations.isEmpty()) {
-                violationCount++;
-
-                // Add to samples (limited)
-                if (sampleIndexes.size() < maxSamples) {
-                    sampleIndexes.add(rowIndex);
-                    sampleValues.add(value != null ? value : "NULL");
-
-                    // Write to violations CSV
-                    try {
-                        for (String violationType : violations) {
-                            violationsPrinter.printRecord(
-                                    rowIndex,
-                                    rule.getColumn(),
-                                    violationType,
-                                    value != null ? value : "NULL",
-                                    "Validation failed: " + violationType
-                            );
-                        }
-                    } catch (IOException e) {
-                        log.warn("Failed to write violation to CSV", e);
+            CSVPrinter violationsPrinter) throws IOException {
+
+        Optional<ColumnarTable> opened;
+        try {
+            opened = columnStorePort.open(file.getStoredFilename());
+        } catch (IOException e) {
+            log.warn("Columnar copy unreadable, validating against CSV: {}", file.getStoredFilename(), e);
+            return states;
+        }
+        if (opened.isEmpty()) {
+            return states;
+        }
+
+        List<RuleState> remaining = new ArrayList<>();
+        try (ColumnarTable table = opened.get()) {
+            for (RuleState state : states) {
+                int column = table.columnIndex(state.rule.getColumn());
+                if (column < 0) {
+                    throw new BadRequestException("Column not found: " + state.rule.getColumn());
+                }
+                ColumnMeta meta = table.getColumns().get(column);
+                if (meta.getType().isNumeric() && needsOriginalText(state.rule)) {
+                    remaining.add(state);
+                    continue;
+                }
+
+                List<BlockMeta> blocks = meta.getBlocks();
+                int pruned = 0;
+                for (int b = 0; b < blocks.size(); b++) {
+                    if (!mayViolate(state.rule, meta, blocks.get(b))) {
+                        pruned++;
+                        continue;
+                    }
+                    ColumnBlock block = table.readBlock(column, b);
+                    for (int row = 0; row < block.getRowCount(); row++) {
+                        int rowIndex = (int) (blocks.get(b).getFirstRow() + row + 1);
+                        validateValue(block.getString(row), rowIndex, state, maxSamples, violationsPrinter);
                     }
                 }
+                zoneMapMetrics.record("quality", blocks.size(), pruned);
             }
         }
+        return remaining;
+    }
 
-        return DataQualityReport.RuleViolation.builder()
-                .column(rule.getColumn())
-                .ruleType(determineRuleType(rule))
-                .violationCount(violationCount)
-                .sampleRowIndexes(sampleIndexes)
-                .sampleValues(sampleValues)
-                .build();
+    /**
+     * Whether a block may hold a value violating the rule, judging by its zone map
+     * Mirrors checkValue: nulls only fail "required", and on numeric columns
+     * (blank stored as null, values always numeric) only the range can fail.
+     */
+    static boolean mayViolate(DataQualityRule rule, ColumnMeta meta, BlockMeta block) {
+        boolean required = Boolean.TRUE.equals(rule.getRequired());
+        if (required && block.getNullCount() > 0) {
+            return true;
+        }
+        if (block.getNullCount() == block.getRowCount()) {
+            return false;
+        }
+
+        boolean range = rule.getMin() != null || rule.getMax() != null;
+        if (!meta.getType().isNumeric()) {
+            // Blank strings are not nulls here and text may not be numeric
+            return required || range || needsOriginalText(rule);
+        }
+        return (rule.getMin() != null && block.getMin() < rule.getMin())
+                || (rule.getMax() != null && block.getMax() > rule.getMax());
+    }
+
+    /**
+     * Validate rules in a single pass over the rows of the stored CSV
+     */
+    private void validateRows(
+            UploadedFile file,
+            List<RuleState> states,
+            int maxSamples,
+            CSVPrinter violationsPrinter) throws IOException {
+
+        try (CsvTokenizer tokenizer = storedCsvOpener.open(file)) {
+            // Resolve rule columns against the header
+            tokenizer.next();
+            int[] columnIndexes = new int[states.size()];
+            for (int i = 0; i < states.size(); i++) {
+                String column = states.get(i).rule.getColumn();
+                columnIndexes[i] = tokenizer.indexOf(column);
+                if (columnIndexes[i] < 0) {
+                    throw new BadRequestException("Column not found: " + column);
+                }
+            }
+
+            int rowIndex = 0;
+            while (tokenizer.next()) {
+                rowIndex++;
+                for (int i = 0; i < states.size(); i++) {
+                    validateValue(tokenizer.field(columnIndexes[i]), rowIndex, states.get(i), maxSamples, violationsPrinter);
+                }
+            }
+        }
+    }
+
+    /**
+     * Whether a rule inspects the text form of values rather than their meaning
+     */
+    private static boolean needsOriginalText(DataQualityRule rule) {
+        return rule.getRegex() != null
+                || (rule.getAllowedValues() != null && !rule.getAllowedValues().isEmpty())
+                || rule.getMinLength() != null
+                || rule.getMaxLength() != null;
+    }
+
+    /**
+     * Validate one value against a single rule
+     */
+    private void validateValue(
+            String value,
+            int rowIndex,
+            RuleState state,
+            int maxSamples,
+            CSVPrinter violationsPrinter) {
+
+        DataQualityRule rule = state.rule;
+
+        // Check violations
+        List<String> violations = checkValue(value, rule);
+
+        if (!violations.isEmpty()) {
+            state.violationCount++;
+
+            // Add to samples (limited)
+            if (state.sampleIndexes.size() < maxSamples) {
+                state.sampleIndexes.add(rowIndex);
+                state.sampleValues.add(value != null ? value : "NULL");
+
+                // Write to violations CSV
+                try {
+                    for (String violationType : violations) {
+                        violationsPrinter.printRecord(
+                                rowIndex,
+                                rule.getColumn(),
+                                violationType,
+                                value != null ? value : "NULL",
+                                "Validation failed: " + violationType
+                        );
+                    }
+                } catch (IOException e) {
+                    log.warn("Failed to write violation to CSV", e);
+                }
+            }
+        }
     }
 
     /**
      * Check a value against a rule
      */
-    private List<String> checkValue(String value, DataQualityRule rule) {
+    static List<String> checkValue(String value, DataQualityRule rule) {
         List<String> violations = new ArrayList<>();
 
         // Check required
@@ -234,5 +377,28 @@ public class DataQualityService {
         
         return String.join(", ", types);
     }
-}
 
+    /**
+     * Per-rule accumulator for a validation pass
+     */
+    private final class RuleState {
+        private final DataQualityRule rule;
+        private final List<Integer> sampleIndexes = new ArrayList<>();
+        private final List<String> sampleValues = new ArrayList<>();
+        private long violationCount;
+
+        private RuleState(DataQualityRule rule) {
+            this.rule = rule;
+        }
+
+        private DataQualityReport.RuleViolation toViolation() {
+            return DataQualityReport.RuleViolation.builder()
+                    .column(rule.getColumn())
+                    .ruleType(determineRuleType(rule))
+                    .violationCount(violationCount)
+                    .sampleRowIndexes(sampleIndexes)
+                    .sampleValues(sampleValues)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package com.portal.das.service.rows;
+
+import com.portal.das.domain.model.Dataset;
+import com.portal.das.domain.model.RangeFilter;
+import com.portal.das.domain.model.RowOffsetIndex;
+import com.portal.das.domain.model.RowPage;
+import com.portal.das.domain.model.UploadedFile;
+import com.portal.das.domain.model.columnar.BlockMeta;
+import com.portal.das.domain.model.columnar.ColumnBlock;
+import com.portal.das.domain.model.columnar.ColumnMeta;
+import com.portal.das.domain.model.columnar.ColumnarTable;
+import com.portal.das.domain.ports.out.dataset.DatasetCrudPort;
+import com.portal.das.domain.ports.out.file.ColumnStorePort;
+import com.portal.das.domain.ports.out.file.FileCrudPort;
+import com.portal.das.domain.ports.out.file.RowIndexPort;
+import com.portal.das.domain.ports.out.file.StoredContentPort;
+import com.portal.das.service.columnar.ZoneMapMetrics;
+import com.portal.das.service.ingest.CsvIngestInspector;
+import com.portal.das.service.ingest.StoredCsvOpener;
+import com.portal.das.util.CsvTokenizer;
+import com.sharedlib.core.exception.BadRequestException;
+import com.sharedlib.core.exception.NotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Service for reading pages of dataset rows
+ * Seeks to the closest indexed row through the row offset index, so the cost
+ * of a page does not depend on its position in the file. Files stored before
+ * the index existed get one on first access.
+ *
+ * Filtered pages find matching row numbers on the columnar copy, skipping
+ * blocks whose zone map excludes the range, then read those rows from the
+ * CSV through the index. Without a columnar copy the CSV is scanned.
+ */
+@Slf4j
+@Service
+public class RowPageService {
+
+    /**
+     * Largest page that can be requested
+     */
+    public static final int MAX_LIMIT = 1000;
+
+    private final DatasetCrudPort datasetCrudPort;
+    private final FileCrudPort fileCrudPort;
+    private final StoredContentPort storedContentPort;
+    private final RowIndexPort rowIndexPort;
+    private final ColumnStorePort columnStorePort;
+    private final StoredCsvOpener storedCsvOpener;
+    private final ZoneMapMetrics zoneMapMetrics;
+    private final int rowIndexInterval;
+
+    public RowPageService(DatasetCrudPort datasetCrudPort,
+                          FileCrudPort fileCrudPort,
+                          StoredContentPort storedContentPort,
+                          RowIndexPort rowIndexPort,
+                          ColumnStorePort columnStorePort,
+                          StoredCsvOpener storedCsvOpener,
+                          ZoneMapMetrics zoneMapMetrics,
+                          @Value("${das.ingest.row-index-interval:1024}") int rowIndexInterval) {
+        this.datasetCrudPort = datasetCrudPort;
+        this.fileCrudPort = fileCrudPort;
+        this.storedContentPort = storedContentPort;
+        this.rowIndexPort = rowIndexPort;
+        this.columnStorePort = columnStorePort;
+        this.storedCsvOpener = storedCsvOpener;
+        this.zoneMapMetrics = zoneMapMetrics;
+        this.rowIndexInterval = rowIndexInterval;
+    }
+
+    /**
+     * Read a page of rows
+     *
+     * @param datasetId Dataset identifier
+     * @param offset 0-based index of the first data row
+     * @param limit Maximum number of rows (1 to MAX_LIMIT)
+     * @param columns Columns to return (null or empty for all, in header order)
+     * @param filter Numeric range filter on rows (null for all rows); offset counts matching rows
+     * @return Page of rows
+     */
+    public RowPage getRows(UUID datasetId, long offset, int limit, List<String> columns, RangeFilter filter) {
+        if (offset < 0) {
+            throw new BadRequestException("Offset must not be negative");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BadRequestException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+
+        Dataset dataset = datasetCrudPort.load(datasetId)
+                .orElseThrow(() -> new NotFoundException("Dataset not found"));
+
+        UploadedFile file = fileCrudPort.load(dataset.getFileId())
+                .orElseThrow(() -> new NotFoundException("File not found"));
+
+        try {
+            String[] header = storedCsvOpener.readHeader(file);
+            int[] projection = resolveColumns(header, columns);
+            RowOffsetIndex index = loadOrBuildIndex(file);
+
+            List<List<String>> rows;
+            if (filter != null) {
+                Optional<long[]> matches = findMatchingRows(file, filter, offset, limit);
+                rows = matches.isPresent()
+                        ? readRowsAt(file, index, matches.get(), projection)
+                        : scanFilteredRows(file, header, filter, offset, limit, projection);
+            } else {
+                rows = offset < index.getRowCount()
+                        ? readRows(file, index, offset, limit, projection)
+                        : List.of();
+            }
+
+            List<String> names = new ArrayList<>(projection.length);
+            for (int column : projection) {
+                names.add(header[column]);
+            }
+
+            return RowPage.builder()
+                    .offset(offset)
+                    .limit(limit)
+                    .totalRows(index.getRowCount())
+                    .columns(names)
+                    .rows(rows)
+                    .build();
+
+        } catch (IOException e) {
+            log.error("Failed to read rows of dataset {}", datasetId, e);
+            throw new RuntimeException("Failed to read file");
+        }
+    }
+
+    /**
+     * Seek to the indexed row at or before the offset, skip to the offset and read the page
+     */
+    private List<List<String>> readRows(UploadedFile file, RowOffsetIndex index,
+                                        long offset, int limit, int[] projection) throws IOException {
+        List<List<String>> rows = new ArrayList<>(limit);
+        try (CsvTokenizer tokenizer = storedCsvOpener.openAt(file, index.seekOffset(offset))) {
+            for (long skip = offset - index.seekRow(offset); skip > 0; skip--) {
+                if (!tokenizer.next()) {
+                    return rows;
+                }
+            }
+            while (rows.size() < limit && tokenizer.next()) {
+                rows.add(project(tokenizer, projection));
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Find the data rows of a filtered page on the columnar copy
+     *
+     * @return Row numbers in ascending order, or empty if there is no columnar copy
+     */
+    private Optional<long[]> findMatchingRows(UploadedFile file, RangeFilter filter,
+                                              long offset, int limit) throws IOException {
+        Optional<ColumnarTable> opened = columnStorePort.open(file.getStoredFilename());
+        if (opened.isEmpty()) {
+            return Optional.empty();
+        }
+
+        try (ColumnarTable table = opened.get()) {
+            int column = table.columnIndex(filter.getColumn());
+            if (column < 0) {
+                throw new BadRequestException("Column not found: " + filter.getColumn());
+            }
+            ColumnMeta meta = table.getColumns().get(column);
+            boolean numeric = meta.getType().isNumeric();
+
+            long[] rows = new long[limit];
+            int found = 0;
+            long skipped = 0;
+            int visited = 0;
+            int pruned = 0;
+            List<BlockMeta> blocks = meta.getBlocks();
+            for (int b = 0; b < blocks.size() && found < limit; b++) {
+                visited++;
+                if (numeric && !filter.mayMatch(blocks.get(b))) {
+                    pruned++;
+                    continue;
+                }
+                ColumnBlock block = table.readBlock(column, b);
+                for (int row = 0; row < block.getRowCount() && found < limit; row++) {
+                    boolean matches = numeric
+                            ? !block.isNull(row) && filter.matches(block.getDouble(row))
+                            : filter.matches(block.getString(row));
+                    if (matches && skipped++ >= offset) {
+                        rows[found++] = blocks.get(b).getFirstRow() + row;
+                    }
+                }
+            }
+            zoneMapMetrics.record("rows", visited, pruned);
+            return Optional.of(Arrays.copyOf(rows, found));
+        }
+    }
+
+    /**
+     * Read specific data rows (ascending), moving forward through the file and
+     * seeking through the index whenever that skips records
+     */
+    private List<List<String>> readRowsAt(UploadedFile file, RowOffsetIndex index,
+                                          long[] rowNumbers, int[] projection) throws IOException {
+        List<List<String>> rows = new ArrayList<>(rowNumbers.length);
+        CsvTokenizer tokenizer = null;
+        long next = 0; // Data row the tokenizer returns next
+        try {
+            for (long rowNumber : rowNumbers) {
+                if (tokenizer == null || index.seekRow(rowNumber) > next) {
+                    if (tokenizer != null) {
+                        tokenizer.close();
+                    }
+                    tokenizer = storedCsvOpener.openAt(file, index.seekOffset(rowNumber));
+                    next = index.seekRow(rowNumber);
+                }
+                for (; next <= rowNumber; next++) {
+                    if (!tokenizer.next()) {
+                        return rows;
+                    }
+                }
+                rows.add(project(tokenizer, projection));
+            }
+        } finally {
+            if (tokenizer != null) {
+                tokenizer.close();
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Filtered page straight from the CSV, for files without a columnar copy
+     */
+    private List<List<String>> scanFilteredRows(UploadedFile file, String[] header, RangeFilter filter,
+                                                long offset, int limit, int[] projection) throws IOException {
+        int filterColumn = Arrays.asList(header).indexOf(filter.getColumn());
+        if (filterColumn < 0) {
+            throw new BadRequestException("Column not found: " + filter.getColumn());
+        }
+
+        List<List<String>> rows = new ArrayList<>(limit);
+        long skipped = 0;
+        try (CsvTokenizer tokenizer = storedCsvOpener.open(file)) {
+            tokenizer.next(); // header
+            while (rows.size() < limit && tokenizer.next()) {
+                if (filter.matches(tokenizer.field(filterColumn)) && skipped++ >= offset) {
+                    rows.add(project(tokenizer, projection));
+                }
+            }
+        }
+        return rows;
+    }
+
+    private static List<String> project(CsvTokenizer tokenizer, int[] projection) {
+        List<String> row = new ArrayList<>(projection.length);
+        for (int column : projection) {
+            row.add(tokenizer.field(column));
+        }
+        return row;
+    }
+
+    private static int[] resolveColumns(String[] header, List<String> columns) {
+        if (columns == null || columns.isEmpty()) {
+            int[] all = new int[header.length];
+            Arrays.setAll(all, i -> i);
+            return all;
+        }
+        List<String> names = Arrays.asList(header);
+        int[] projection = new int[columns.size()];
+        for (int i = 0; i < projection.length; i++) {
+            projection[i] = names.indexOf(columns.get(i));
+            if (projection[i] < 0) {
+                throw new BadRequestException("Column not found: " + columns.get(i));
+            }
+        }
+        return projection;
+    }
+
+    /**
+     * Load the row offset index, building and storing it for files ingested without one
+     */
+    private RowOffsetIndex loadOrBuildIndex(UploadedFile file) throws IOException {
+        Optional<RowOffsetIndex> stored = rowIndexPort.load(file.getStoredFilename());
+        if (stored.isPresent()) {
+            return stored.get();
+        }
+
+        log.info("Building row index for {}", file.getStoredFilename());
+        CsvIngestInspector inspector = new CsvIngestInspector(file.csvDialect(), rowIndexInterval);
+        try (InputStream inputStream = storedContentPort.retrieve(file.getStoredFilename())) {
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                inspector.update(buffer, 0, read);
+            }
+        }
+        RowOffsetIndex index = inspector.finish().getRowIndex();
+        rowIndexPort.save(file.getStoredFilename(), index);
+        return index;
+    }
+}
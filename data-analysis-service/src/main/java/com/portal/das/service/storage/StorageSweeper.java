@@ -0,0 +1,417 @@
+package com.portal.das.service.storage;
+
+import com.portal.das.domain.model.StoredBlob;
+import com.portal.das.domain.model.UploadedFile;
+import com.portal.das.domain.ports.in.file.DeleteFileUseCase;
+import com.portal.das.domain.ports.out.file.FileCrudPort;
+import com.portal.das.domain.ports.out.file.FileStoragePort;
+import com.portal.das.domain.ports.out.file.StorageReferencePort;
+import com.portal.das.domain.ports.out.file.StoredBlobPort;
+import com.portal.das.domain.ports.out.file.StoredContentPort;
+import com.portal.das.domain.ports.out.file.UploadSessionPort;
+import com.portal.das.service.ingest.StoredContentReleaser;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Background sweeper that reconciles the storage root against the database
+ *
+ * Each run:
+ * 0. expires chunked upload sessions idle for das.upload.session-ttl, so
+ *    their part files are no longer referenced and go with the orphans
+ * 1. permanently deletes files soft-deleted longer than das.sweeper.deleted-grace
+ *    (through the regular delete, so shared blobs keep their content); files a
+ *    dataset is built on are kept, as their deletion would cascade to the dataset
+ * 2. corrects blob reference counts against the file records holding them,
+ *    and deletes blobs left without any (references taken by ingests whose
+ *    file records were never stored)
+ * 3. rewrites older stored CSVs in the configured storage mode (das.storage.compression)
+ * 4. deletes orphans: stored files, .cols/.rowidx sidecars, join outputs and
+ *    temporary files that no file record, blob or upload session refers to
+ * 5. expires derived outputs (out/violations_*.csv) by age, then evicts the
+ *    least recently used ones while their total exceeds das.sweeper.derived-quota;
+ *    their last use is the modification time, reset when they are served
+ *    (access times are frozen on noatime/relatime mounts)
+ *
+ * Files younger than das.sweeper.orphan-min-age are never treated as orphans,
+ * so uploads still being written are safe.
+ * Metrics: das.sweeper.reclaimed.bytes and das.sweeper.deleted.files
+ * (tag: reason=deleted|unreferenced|compaction|orphan|expired|quota)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "das.sweeper.enabled", havingValue = "true", matchIfMissing = true)
+public class StorageSweeper {
+
+    static final String DERIVED_DIR = "out";
+    static final String VIOLATIONS_PREFIX = "violations_";
+
+    private static final List<String> SIDECAR_EXTENSIONS = List.of(".cols", ".rowidx");
+    private static final List<String> TEMP_SUFFIXES = List.of(".tmp", ".utf8");
+
+    /**
+     * Derived outputs modified (written or served) this recently may still be open
+     */
+    private static final Duration IN_USE_GUARD = Duration.ofMinutes(10);
+
+    private final StorageReferencePort storageReferencePort;
+    private final StoredBlobPort storedBlobPort;
+    private final StoredContentReleaser storedContentReleaser;
+    private final FileCrudPort fileCrudPort;
+    private final DeleteFileUseCase deleteFileUseCase;
+    private final FileStoragePort fileStoragePort;
+    private final StoredContentPort storedContentPort;
+    private final UploadSessionPort uploadSessionPort;
+    private final MeterRegistry meterRegistry;
+    private final Duration deletedGrace;
+    private final Duration orphanMinAge;
+    private final Duration derivedMaxAge;
+    private final Duration sessionTtl;
+    private final long derivedQuota;
+    private final int batchSize;
+
+    public StorageSweeper(StorageReferencePort storageReferencePort,
+                          StoredBlobPort storedBlobPort,
+                          StoredContentReleaser storedContentReleaser,
+                          FileCrudPort fileCrudPort,
+                          DeleteFileUseCase deleteFileUseCase,
+                          FileStoragePort fileStoragePort,
+                          StoredContentPort storedContentPort,
+                          UploadSessionPort uploadSessionPort,
+                          MeterRegistry meterRegistry,
+                          @Value("${das.sweeper.deleted-grace:P7D}") Duration deletedGrace,
+                          @Value("${das.sweeper.orphan-min-age:PT6H}") Duration orphanMinAge,
+                          @Value("${das.sweeper.derived-max-age:P7D}") Duration derivedMaxAge,
+                          @Value("${das.sweeper.derived-quota:5GB}") DataSize derivedQuota,
+                          @Value("${das.upload.session-ttl:P2D}") Duration sessionTtl,
+                          @Value("${das.sweeper.batch-size:100}") int batchSize) {
+        this.storageReferencePort = storageReferencePort;
+        this.storedBlobPort = storedBlobPort;
+        this.storedContentReleaser = storedContentReleaser;
+        this.fileCrudPort = fileCrudPort;
+        this.deleteFileUseCase = deleteFileUseCase;
+        this.fileStoragePort = fileStoragePort;
+        this.storedContentPort = storedContentPort;
+        this.uploadSessionPort = uploadSessionPort;
+        this.meterRegistry = meterRegistry;
+        this.deletedGrace = deletedGrace;
+        this.orphanMinAge = orphanMinAge;
+        this.derivedMaxAge = derivedMaxAge;
+        this.derivedQuota = derivedQuota.toBytes();
+        this.sessionTtl = sessionTtl;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Run one sweep; a failing step is logged and the next one still runs
+     */
+    @Scheduled(initialDelayString = "${das.sweeper.initial-delay:PT5M}",
+               fixedDelayString = "${das.sweeper.interval:PT15M}")
+    public void sweep() {
+        log.debug("Storage sweep started");
+        Instant now = Instant.now();
+        runStep("upload sessions", () -> expireUploadSessions(now));
+        runStep("deleted files", () -> purgeDeletedFiles(now));
+        runStep("blob references", () -> reconcileBlobs(now));
+        runStep("compaction", () -> compactStoredFiles(now));
+        runStep("orphans", () -> deleteOrphans(now));
+        runStep("derived outputs", () -> expireDerivedOutputs(now));
+    }
+
+    /**
+     * Expire open upload sessions without a chunk since the session TTL, and completions stuck as long
+     */
+    void expireUploadSessions(Instant now) {
+        int expired = uploadSessionPort.expireIdle(now.minus(sessionTtl), now);
+        if (expired > 0) {
+            log.info("Expired {} idle upload sessions", expired);
+        }
+    }
+
+    /**
+     * Permanently delete files soft-deleted before the grace period
+     */
+    void purgeDeletedFiles(Instant now) {
+        List<UUID> fileIds = storageReferencePort.findDeletedBefore(now.minus(deletedGrace), batchSize);
+        for (UUID fileId : fileIds) {
+            try {
+                Optional<UploadedFile> file = fileCrudPort.load(fileId);
+                if (file.isEmpty()) {
+                    continue; // Purged by another instance
+                }
+                List<Path> copies = localCopies(file.get().getStoredFilename());
+                long before = sizeOf(copies);
+                deleteFileUseCase.permanentlyDeleteFile(fileId);
+                long remaining = sizeOf(copies);
+                reclaimed("deleted", before - remaining, 1);
+                log.info("Purged soft-deleted file {}", fileId);
+            } catch (RuntimeException e) {
+                log.warn("Failed to purge soft-deleted file {}", fileId, e);
+            }
+        }
+    }
+
+    /**
+     * Reconcile blob reference counts, then delete blobs no file record holds
+     * Blobs acquired or released within das.sweeper.orphan-min-age are left
+     * alone, as their file records may not be committed yet.
+     */
+    void reconcileBlobs(Instant now) {
+        int corrected = storedBlobPort.reconcileReferences(now.minus(orphanMinAge));
+        if (corrected > 0) {
+            log.warn("Corrected reference counts of {} stored blobs", corrected);
+        }
+
+        for (StoredBlob blob : storedBlobPort.findUnreferenced(batchSize)) {
+            try {
+                // Removed only if still unreferenced: an upload may have acquired it meanwhile
+                if (!storedBlobPort.removeIfUnreferenced(blob.getContentHash())) {
+                    continue;
+                }
+                List<Path> copies = localCopies(blob.getStoredFilename());
+                long before = sizeOf(copies);
+                storedContentReleaser.deleteContent(blob.getStoredFilename());
+                reclaimed("unreferenced", before - sizeOf(copies), 1);
+                log.info("Deleted unreferenced blob {} ({})", blob.getContentHash(), blob.getStoredFilename());
+            } catch (RuntimeException e) {
+                log.warn("Failed to delete unreferenced blob {}", blob.getContentHash(), e);
+            }
+        }
+    }
+
+    /**
+     * Rewrite referenced stored CSVs in the configured storage mode and publish
+     * them to the object store, if any; a batch per run
+     */
+    void compactStoredFiles(Instant now) throws IOException {
+        Instant cutoff = now.minus(orphanMinAge);
+        List<Path> candidates = listFiles(fileStoragePort.getPath(""),
+                path -> path.getFileName().toString().endsWith(".csv") && isModifiedBefore(path, cutoff));
+        if (candidates.isEmpty()) {
+            return;
+        }
+        Set<String> referenced = storageReferencePort.findReferenced(names(candidates));
+
+        int processed = 0;
+        for (Path path : candidates) {
+            String name = path.getFileName().toString();
+            if (processed >= batchSize) {
+                break;
+            }
+            if (!referenced.contains(name)) {
+                continue;
+            }
+            try {
+                long before = Files.size(path);
+                boolean rewritten = storedContentPort.compress(name);
+                if (rewritten) {
+                    reclaimed("compaction", before - Files.size(path), 0);
+                }
+                storedContentPort.publish(name);
+                // Files already in their final form cost one header read and do not count
+                if (rewritten || !Files.exists(path)) {
+                    processed++;
+                }
+            } catch (IOException e) {
+                log.warn("Failed to compact {}", name, e);
+            }
+        }
+    }
+
+    /**
+     * Delete files in the storage root and the join output directory that
+     * nothing in the database refers to
+     */
+    void deleteOrphans(Instant now) throws IOException {
+        Instant cutoff = now.minus(orphanMinAge);
+        List<Path> candidates = new ArrayList<>();
+        candidates.addAll(listFiles(fileStoragePort.getPath(""), path -> isModifiedBefore(path, cutoff)));
+        candidates.addAll(listFiles(fileStoragePort.getPath(DERIVED_DIR), path -> isModifiedBefore(path, cutoff)
+                && !path.getFileName().toString().startsWith(VIOLATIONS_PREFIX)));
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        Set<String> owners = candidates.stream()
+                .map(path -> ownerOf(path.getFileName().toString()))
+                .collect(Collectors.toSet());
+        Set<String> referenced = storageReferencePort.findReferenced(owners);
+
+        for (Path path : candidates) {
+            String name = path.getFileName().toString();
+            boolean temporary = TEMP_SUFFIXES.stream().anyMatch(name::endsWith);
+            if (!temporary && referenced.contains(ownerOf(name))) {
+                continue;
+            }
+            deleteFile(path, "orphan");
+        }
+    }
+
+    /**
+     * Expire derived outputs by age, then by total size, least recently used first
+     */
+    void expireDerivedOutputs(Instant now) throws IOException {
+        Instant inUse = now.minus(IN_USE_GUARD);
+        Instant expired = now.minus(derivedMaxAge);
+        List<DerivedFile> files = new ArrayList<>();
+        for (Path path : listFiles(fileStoragePort.getPath(DERIVED_DIR),
+                path -> path.getFileName().toString().startsWith(VIOLATIONS_PREFIX))) {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                files.add(new DerivedFile(path, attributes.size(), attributes.lastModifiedTime().toInstant()));
+            } catch (NoSuchFileException e) {
+                // Deleted meanwhile
+            }
+        }
+        files.sort(Comparator.comparing(file -> file.lastUsed));
+
+        long total = files.stream().mapToLong(file -> file.size).sum();
+        for (DerivedFile file : files) {
+            if (file.lastUsed.isAfter(inUse)) {
+                continue;
+            }
+            String reason;
+            if (file.lastUsed.isBefore(expired)) {
+                reason = "expired";
+            } else if (total > derivedQuota) {
+                reason = "quota";
+            } else {
+                continue;
+            }
+            if (deleteFile(file.path, reason)) {
+                total -= file.size;
+            }
+        }
+    }
+
+    /**
+     * Stored filename a file belongs to (sidecars belong to their CSV)
+     */
+    static String ownerOf(String name) {
+        for (String extension : SIDECAR_EXTENSIONS) {
+            if (name.endsWith(extension)) {
+                return name.substring(0, name.length() - extension.length());
+            }
+        }
+        return name;
+    }
+
+    private boolean deleteFile(Path path, String reason) {
+        try {
+            long size = Files.size(path);
+            if (Files.deleteIfExists(path)) {
+                reclaimed(reason, size, 1);
+                log.info("Deleted {} file {} ({} bytes)", reason, path.getFileName(), size);
+                return true;
+            }
+        } catch (IOException e) {
+            log.warn("Failed to delete {} file {}", reason, path, e);
+        }
+        return false;
+    }
+
+    private void reclaimed(String reason, long bytes, int files) {
+        meterRegistry.counter("das.sweeper.reclaimed.bytes", "reason", reason).increment(Math.max(0, bytes));
+        if (files > 0) {
+            meterRegistry.counter("das.sweeper.deleted.files", "reason", reason).increment(files);
+        }
+    }
+
+    private List<Path> localCopies(String storedFilename) {
+        if (storedFilename == null) {
+            return List.of();
+        }
+        List<Path> copies = new ArrayList<>();
+        copies.add(fileStoragePort.getPath(storedFilename));
+        for (String extension : SIDECAR_EXTENSIONS) {
+            copies.add(fileStoragePort.getPath(storedFilename + extension));
+        }
+        return copies;
+    }
+
+    private static long sizeOf(List<Path> paths) {
+        long total = 0;
+        for (Path path : paths) {
+            try {
+                total += Files.size(path);
+            } catch (IOException e) {
+                // Not present
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Regular files directly in a directory (subdirectories such as the cache are skipped)
+     */
+    private static List<Path> listFiles(Path directory, Predicate<Path> filter) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> listing = Files.list(directory)) {
+            return listing.filter(Files::isRegularFile).filter(filter).toList();
+        }
+    }
+
+    private static List<String> names(List<Path> paths) {
+        return paths.stream().map(path -> path.getFileName().toString()).toList();
+    }
+
+    private static boolean isModifiedBefore(Path path, Instant cutoff) {
+        try {
+            return Files.getLastModifiedTime(path).toInstant().isBefore(cutoff);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private void runStep(String step, SweepStep action) {
+        try {
+            action.run();
+        } catch (IOException | RuntimeException e) {
+            log.error("Storage sweep step '{}' failed", step, e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface SweepStep {
+        void run() throws IOException;
+    }
+
+    /**
+     * Derived output with its last use (modification time, reset when served)
+     */
+    private static final class DerivedFile {
+        private final Path path;
+        private final long size;
+        private final Instant lastUsed;
+
+        private DerivedFile(Path path, long size, Instant lastUsed) {
+            this.path = path;
+            this.size = size;
+            this.lastUsed = lastUsed;
+        }
+    }
+}
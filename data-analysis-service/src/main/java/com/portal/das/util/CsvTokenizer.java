@@ -0,0 +1,378 @@
+package com.portal.das.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Cursor-style RFC 4180 CSV tokenizer
+ * Reads records from a character stream into reusable buffers: advancing the
+ * cursor does not allocate, and field values are only materialized as Strings
+ * when a caller asks for them.
+ *
+ * Supported syntax:
+ * - configurable delimiter and quote character
+ * - quoted fields with escaped quotes ("") and embedded delimiters/newlines
+ * - LF, CRLF and CR record terminators
+ * - leading UTF-8 byte order mark (stripped)
+ * Empty lines are skipped. Quotes appearing inside an unquoted field, or text
+ * after a closing quote, are kept literally rather than rejected. Input that
+ * ends inside a quoted field is rejected.
+ *
+ * Not thread-safe: one tokenizer per stream.
+ */
+public final class CsvTokenizer implements Closeable {
+
+    public static final char DEFAULT_DELIMITER = ',';
+    public static final char DEFAULT_QUOTE = '"';
+
+    /**
+     * Upper bound for a single record (protects against unterminated quotes)
+     */
+    private static final int MAX_RECORD_CHARS = 64 * 1024 * 1024;
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final int EOF = -1;
+
+    private final Reader reader;
+    private final char delimiter;
+    private final char quote;
+
+    // Input buffer
+    private final char[] buffer = new char[READ_BUFFER_SIZE];
+    private int position;
+    private int limit;
+
+    // Current record: field contents are packed into recordChars,
+    // field i spans [fieldEnds[i - 1], fieldEnds[i])
+    private char[] recordChars = new char[1024];
+    private int recordLength;
+    private int[] fieldEnds = new int[32];
+    private int fieldCount;
+
+    private long recordNumber;
+    private boolean skipLineFeed;
+    private boolean started;
+    private boolean eof;
+
+    /**
+     * Create a tokenizer using comma delimiter and double-quote quoting
+     *
+     * @param reader Character source (closed by {@link #close()})
+     */
+    public CsvTokenizer(Reader reader) {
+        this(reader, DEFAULT_DELIMITER, DEFAULT_QUOTE);
+    }
+
+    /**
+     * Create a tokenizer with a custom dialect
+     *
+     * @param reader Character source (closed by {@link #close()})
+     * @param delimiter Field delimiter
+     * @param quote Quote character
+     */
+    public CsvTokenizer(Reader reader, char delimiter, char quote) {
+        if (delimiter == quote || delimiter == '\n' || delimiter == '\r') {
+            throw new IllegalArgumentException("Invalid CSV dialect: delimiter=" + delimiter + ", quote=" + quote);
+        }
+        this.reader = reader;
+        this.delimiter = delimiter;
+        this.quote = quote;
+    }
+
+    /**
+     * Create a tokenizer over UTF-8 encoded CSV bytes
+     *
+     * @param inputStream Byte source (closed by {@link #close()})
+     * @return Tokenizer using the default dialect
+     */
+    public static CsvTokenizer forStream(InputStream inputStream) {
+        return new CsvTokenizer(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Advance to the next record
+     *
+     * @return false when the end of input has been reached
+     * @throws IOException If the source cannot be read, a record exceeds the size limit
+     *                     or the input ends inside a quoted field
+     */
+    public boolean next() throws IOException {
+        if (!started) {
+            started = true;
+            skipByteOrderMark();
+        }
+
+        while (!eof) {
+            if (readRecord()) {
+                recordNumber++;
+                return true;
+            }
+        }
+        fieldCount = 0;
+        recordLength = 0;
+        return false;
+    }
+
+    /**
+     * Number of fields in the current record
+     */
+    public int fieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * 1-based number of the current record among non-empty records (header included)
+     */
+    public long recordNumber() {
+        return recordNumber;
+    }
+
+    /**
+     * Value of a field in the current record
+     *
+     * @param index 0-based field index
+     * @return Field value, or null if the record has fewer fields
+     */
+    public String field(int index) {
+        if (index < 0 || index >= fieldCount) {
+            return null;
+        }
+        int start = fieldStart(index);
+        return new String(recordChars, start, fieldEnds[index] - start);
+    }
+
+    /**
+     * Length of a field in the current record (0 when absent)
+     */
+    public int fieldLength(int index) {
+        if (index < 0 || index >= fieldCount) {
+            return 0;
+        }
+        return fieldEnds[index] - fieldStart(index);
+    }
+
+    /**
+     * Check whether a field is absent, empty or whitespace only, without allocating
+     */
+    public boolean isBlank(int index) {
+        if (index < 0 || index >= fieldCount) {
+            return true;
+        }
+        for (int i = fieldStart(index); i < fieldEnds[index]; i++) {
+            if (!Character.isWhitespace(recordChars[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compare a field with a value, without allocating
+     */
+    public boolean fieldEquals(int index, String value) {
+        if (index < 0 || index >= fieldCount) {
+            return value == null;
+        }
+        int start = fieldStart(index);
+        int length = fieldEnds[index] - start;
+        if (value == null || value.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (recordChars[start + i] != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Find the first field in the current record equal to a value
+     * Typically used on the header record to resolve a column name
+     *
+     * @param value Value to look for
+     * @return 0-based field index, or -1 if absent
+     */
+    public int indexOf(String value) {
+        for (int i = 0; i < fieldCount; i++) {
+            if (fieldEquals(i, value)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Materialize all fields of the current record
+     *
+     * @return New array with one String per field
+     */
+    public String[] copyFields() {
+        String[] fields = new String[fieldCount];
+        for (int i = 0; i < fieldCount; i++) {
+            fields[i] = field(i);
+        }
+        return fields;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Tokenize a single line of text
+     *
+     * @param line CSV text
+     * @param delimiter Field delimiter
+     * @param quote Quote character
+     * @return Fields of the first record, or an empty array for blank input
+     */
+    public static String[] parseLine(String line, char delimiter, char quote) {
+        try (CsvTokenizer tokenizer = new CsvTokenizer(new StringReader(line), delimiter, quote)) {
+            return tokenizer.next() ? tokenizer.copyFields() : new String[0];
+        } catch (IOException e) {
+            // StringReader does not fail
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private int fieldStart(int index) {
+        return index == 0 ? 0 : fieldEnds[index - 1];
+    }
+
+    /**
+     * Read one physical record into the field buffers
+     *
+     * @return false if the line was empty (or input ended before any character)
+     */
+    private boolean readRecord() throws IOException {
+        recordLength = 0;
+        fieldCount = 0;
+
+        boolean inQuotes = false;
+        boolean fieldQuoted = false;
+        boolean anyChar = false;
+
+        while (true) {
+            int c = read();
+
+            if (c == EOF) {
+                eof = true;
+                if (inQuotes) {
+                    throw new IOException("CSV record " + (recordNumber + 1) + " has an unterminated quoted field");
+                }
+                if (!anyChar) {
+                    return false;
+                }
+                endField();
+                return true;
+            }
+
+            if (skipLineFeed) {
+                skipLineFeed = false;
+                if (c == '\n') {
+                    continue;
+                }
+            }
+
+            char ch = (char) c;
+
+            if (inQuotes) {
+                if (ch == quote) {
+                    int peeked = peek();
+                    if (peeked == quote) {
+                        position++;
+                        append(quote);
+                    } else {
+                        inQuotes = false;
+                    }
+                } else {
+                    append(ch);
+                }
+                continue;
+            }
+
+            if (ch == delimiter) {
+                anyChar = true;
+                endField();
+                fieldQuoted = false;
+                continue;
+            }
+
+            if (ch == '\n' || ch == '\r') {
+                skipLineFeed = ch == '\r';
+                if (!anyChar) {
+                    // Empty line
+                    return false;
+                }
+                endField();
+                return true;
+            }
+
+            anyChar = true;
+            if (ch == quote && !fieldQuoted && recordLength == fieldStart(fieldCount)) {
+                inQuotes = true;
+                fieldQuoted = true;
+                continue;
+            }
+            append(ch);
+        }
+    }
+
+    private void append(char ch) throws IOException {
+        if (recordLength == recordChars.length) {
+            if (recordLength >= MAX_RECORD_CHARS) {
+                throw new IOException("CSV record " + (recordNumber + 1) + " exceeds " + MAX_RECORD_CHARS + " characters");
+            }
+            recordChars = Arrays.copyOf(recordChars, Math.min(recordLength * 2, MAX_RECORD_CHARS));
+        }
+        recordChars[recordLength++] = ch;
+    }
+
+    private void endField() {
+        if (fieldCount == fieldEnds.length) {
+            fieldEnds = Arrays.copyOf(fieldEnds, fieldCount * 2);
+        }
+        fieldEnds[fieldCount++] = recordLength;
+    }
+
+    private void skipByteOrderMark() throws IOException {
+        if (peek() == '\uFEFF') {
+            position++;
+        }
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return EOF;
+        }
+        return buffer[position++];
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return EOF;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        int read;
+        do {
+            read = reader.read(buffer, 0, buffer.length);
+        } while (read == 0);
+        if (read < 0) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+}
@@ -3,6 +3,7 @@ package com.portal.das.util;
 import org.apache.poi.ss.usermodel.*;
 
 import java.io.*;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Iterator;
 
@@ -21,8 +22,22 @@ public class CsvUtils {
      * @throws IOException If file operations fail
      */
     public static void excelToCsv(InputStream inputStream, Path outputPath) throws IOException {
-        try (Workbook workbook = WorkbookFactory.create(inputStream);
-             BufferedWriter writer = new BufferedWriter(new FileWriter(outputPath.toFile()))) {
+        try (Writer writer = new FileWriter(outputPath.toFile())) {
+            excelToCsv(inputStream, writer);
+        }
+    }
+
+    /**
+     * Convert Excel file to CSV format, writing to the given writer
+     * Reads the first sheet and converts it to CSV; the writer is not closed
+     *
+     * @param inputStream Excel file input stream
+     * @param output Writer receiving the CSV content
+     * @throws IOException If file operations fail
+     */
+    public static void excelToCsv(InputStream inputStream, Writer output) throws IOException {
+        BufferedWriter writer = new BufferedWriter(output);
+        try (Workbook workbook = WorkbookFactory.create(inputStream)) {
 
             // Get the first sheet
             Sheet sheet = workbook.getSheetAt(0);
@@ -64,6 +79,7 @@ public class CsvUtils {
                 writer.newLine();
             }
         }
+        writer.flush();
     }
 
     /**
@@ -125,7 +141,7 @@ public class CsvUtils {
      * @param value Cell value
      * @return true if quoting is needed
      */
-    private static boolean needsQuoting(String value) {
+    static boolean needsQuoting(String value) {
         return value.contains(",") || 
                value.contains("\"") || 
                value.contains("\n") || 
@@ -134,15 +150,16 @@ public class CsvUtils {
 
     /**
      * Count rows in a CSV file
+     * Quote-aware: line breaks inside quoted fields do not start a new row
      *
      * @param csvPath Path to CSV file
      * @return Number of rows (including header)
      * @throws IOException If file cannot be read
      */
     public static int countRows(Path csvPath) throws IOException {
-        try (BufferedReader reader = new BufferedReader(new FileReader(csvPath.toFile()))) {
+        try (CsvTokenizer tokenizer = CsvTokenizer.forStream(Files.newInputStream(csvPath))) {
             int count = 0;
-            while (reader.readLine() != null) {
+            while (tokenizer.next()) {
                 count++;
             }
             return count;
@@ -150,32 +167,26 @@ public class CsvUtils {
     }
 
     /**
-     * Read the header (first line) from a CSV file
+     * Read the header (first record) from a CSV file
      *
      * @param csvPath Path to CSV file
      * @return Array of column names
      * @throws IOException If file cannot be read
      */
     public static String[] readHeader(Path csvPath) throws IOException {
-        try (BufferedReader reader = new BufferedReader(new FileReader(csvPath.toFile()))) {
-            String headerLine = reader.readLine();
-            if (headerLine == null) {
-                return new String[0];
-            }
-            return parseCSVLine(headerLine);
+        try (CsvTokenizer tokenizer = CsvTokenizer.forStream(Files.newInputStream(csvPath))) {
+            return tokenizer.next() ? tokenizer.copyFields() : new String[0];
         }
     }
 
     /**
      * Parse a CSV line considering quoted values
+     * Quotes are removed and escaped quotes ("") unescaped
      *
      * @param line CSV line
      * @return Array of values
      */
-    private static String[] parseCSVLine(String line) {
-        // Simple CSV parser - handles quotes and commas
-        // For production, consider using Apache Commons CSV
-        return line.split(",(?=(?:[^\"]*\"[^\"]*\")*[^\"]*$)", -1);
+    public static String[] parseCSVLine(String line) {
+        return CsvTokenizer.parseLine(line, CsvTokenizer.DEFAULT_DELIMITER, CsvTokenizer.DEFAULT_QUOTE);
     }
 }
-
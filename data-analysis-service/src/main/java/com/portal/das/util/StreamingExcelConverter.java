@@ -0,0 +1,337 @@
+package com.portal.das.util;
+
+import org.apache.poi.hssf.eventusermodel.FormatTrackingHSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFEventFactory;
+import org.apache.poi.hssf.eventusermodel.HSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFRequest;
+import org.apache.poi.hssf.eventusermodel.MissingRecordAwareHSSFListener;
+import org.apache.poi.hssf.eventusermodel.dummyrecord.LastCellOfRowDummyRecord;
+import org.apache.poi.hssf.eventusermodel.dummyrecord.MissingCellDummyRecord;
+import org.apache.poi.hssf.record.*;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+
+/**
+ * Streaming Excel to CSV converter
+ * Uses the XSSF SAX reader (xlsx) and the HSSF event API (xls) so that rows are
+ * written to CSV as they are parsed, without building the POI usermodel.
+ * Memory is bounded by the shared strings table, not by the number of rows.
+ *
+ * Like {@link CsvUtils#excelToCsv(InputStream, Writer)} only the first sheet is
+ * converted and missing rows are skipped.
+ */
+public final class StreamingExcelConverter {
+
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private StreamingExcelConverter() {
+    }
+
+    /**
+     * Convert the first sheet of an Excel file to CSV
+     *
+     * @param source Excel file on disk
+     * @param extension File extension ("xlsx" or "xls")
+     * @param output Writer receiving the CSV content (not closed)
+     * @throws IOException If the file cannot be read or is not a valid workbook
+     */
+    public static void convert(Path source, String extension, Writer output) throws IOException {
+        BufferedWriter writer = new BufferedWriter(output);
+        if ("xls".equalsIgnoreCase(extension)) {
+            convertXls(source, writer);
+        } else {
+            convertXlsx(source, writer);
+        }
+        writer.flush();
+    }
+
+    /**
+     * Convert xlsx using the XSSF event (SAX) reader
+     */
+    private static void convertXlsx(Path source, BufferedWriter writer) throws IOException {
+        OPCPackage pkg = null;
+        try {
+            pkg = OPCPackage.open(source.toFile(), PackageAccess.READ);
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+            StylesTable styles = reader.getStylesTable();
+
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                throw new IOException("Excel file has no sheets");
+            }
+
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new XSSFSheetXMLHandler(
+                        styles, strings, new XlsxRowHandler(new CsvLineWriter(writer)),
+                        new RawValueFormatter(), false));
+                parser.parse(new InputSource(sheet));
+            }
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException("Invalid xlsx file: " + e.getMessage(), e);
+        } catch (CsvLineWriter.UncheckedWriteException e) {
+            throw e.getCause();
+        } finally {
+            if (pkg != null) {
+                // Read-only package: revert instead of close to avoid a save attempt
+                pkg.revert();
+            }
+        }
+    }
+
+    /**
+     * Convert xls using the HSSF event API
+     */
+    private static void convertXls(Path source, BufferedWriter writer) throws IOException {
+        try (POIFSFileSystem fs = new POIFSFileSystem(source.toFile(), true)) {
+            XlsRecordHandler handler = new XlsRecordHandler(new CsvLineWriter(writer));
+            HSSFRequest request = new HSSFRequest();
+            request.addListenerForAllRecords(handler.formatListener);
+            new HSSFEventFactory().processWorkbookEvents(request, fs);
+            if (!handler.sawWorksheet) {
+                throw new IOException("Excel file has no sheets");
+            }
+        } catch (CsvLineWriter.UncheckedWriteException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Format a numeric cell value the way the CSV normalization expects:
+     * dates as ISO strings, integral numbers without decimals, no grouping
+     */
+    static String formatNumericValue(double value, int formatIndex, String formatString) {
+        if (formatString != null
+                && DateUtil.isADateFormat(formatIndex, formatString)
+                && DateUtil.isValidExcelDate(value)) {
+            LocalDateTime dateTime = DateUtil.getLocalDateTime(value);
+            if (dateTime.toLocalTime().equals(LocalTime.MIDNIGHT)) {
+                return dateTime.toLocalDate().toString();
+            }
+            return dateTime.format(DATE_TIME_FORMAT);
+        }
+        if (value == (long) value) {
+            return String.valueOf((long) value);
+        }
+        return String.valueOf(value);
+    }
+
+    /**
+     * DataFormatter that bypasses Excel display formats for numeric cells
+     */
+    private static final class RawValueFormatter extends DataFormatter {
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString) {
+            return formatNumericValue(value, formatIndex, formatString);
+        }
+    }
+
+    /**
+     * Receives xlsx rows from the SAX handler and fills gaps left by missing cells
+     */
+    private static final class XlsxRowHandler implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final CsvLineWriter out;
+        private int currentColumn = -1;
+
+        XlsxRowHandler(CsvLineWriter out) {
+            this.out = out;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            currentColumn = -1;
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            out.endRow();
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = cellReference != null
+                    ? new CellReference(cellReference).getCol()
+                    : currentColumn + 1;
+
+            for (int i = currentColumn + 1; i < column; i++) {
+                out.cell("");
+            }
+            out.cell(formattedValue);
+            currentColumn = column;
+        }
+    }
+
+    /**
+     * Receives xls records for the first worksheet and writes one CSV line per row
+     */
+    private static final class XlsRecordHandler implements HSSFListener {
+
+        private final CsvLineWriter out;
+        private final FormatTrackingHSSFListener formatListener;
+
+        private SSTRecord sstRecord;
+        private int sheetIndex = -1;
+        private boolean sawWorksheet;
+        private boolean outputNextStringRecord;
+        private int nextColumn = -1;
+        private int currentColumn = -1;
+
+        XlsRecordHandler(CsvLineWriter out) {
+            this.out = out;
+            this.formatListener = new FormatTrackingHSSFListener(new MissingRecordAwareHSSFListener(this));
+        }
+
+        @Override
+        public void processRecord(org.apache.poi.hssf.record.Record record) {
+            if (record instanceof BOFRecord bof) {
+                if (bof.getType() == BOFRecord.TYPE_WORKSHEET) {
+                    sheetIndex++;
+                    sawWorksheet = true;
+                }
+                return;
+            }
+            if (record instanceof SSTRecord sst) {
+                sstRecord = sst;
+                return;
+            }
+            if (sheetIndex != 0) {
+                // Only the first sheet is converted
+                return;
+            }
+
+            int column = -1;
+            String value = null;
+
+            if (record instanceof BlankRecord blank) {
+                column = blank.getColumn();
+                value = "";
+            } else if (record instanceof BoolErrRecord boolErr) {
+                column = boolErr.getColumn();
+                value = boolErr.isBoolean() ? String.valueOf(boolErr.getBooleanValue()) : "#ERROR";
+            } else if (record instanceof FormulaRecord formula) {
+                if (Double.isNaN(formula.getValue())) {
+                    // String result follows in the next StringRecord
+                    outputNextStringRecord = true;
+                    nextColumn = formula.getColumn();
+                    return;
+                }
+                column = formula.getColumn();
+                value = formatNumericValue(formula.getValue(),
+                        formatListener.getFormatIndex(formula), formatListener.getFormatString(formula));
+            } else if (record instanceof StringRecord string) {
+                if (outputNextStringRecord) {
+                    outputNextStringRecord = false;
+                    column = nextColumn;
+                    value = string.getString();
+                }
+            } else if (record instanceof LabelRecord label) {
+                column = label.getColumn();
+                value = label.getValue();
+            } else if (record instanceof LabelSSTRecord labelSst) {
+                column = labelSst.getColumn();
+                value = sstRecord != null ? sstRecord.getString(labelSst.getSSTIndex()).toString() : "";
+            } else if (record instanceof NumberRecord number) {
+                column = number.getColumn();
+                value = formatNumericValue(number.getValue(),
+                        formatListener.getFormatIndex(number), formatListener.getFormatString(number));
+            } else if (record instanceof MissingCellDummyRecord missing) {
+                column = missing.getColumn();
+                value = "";
+            } else if (record instanceof LastCellOfRowDummyRecord) {
+                if (currentColumn >= 0) {
+                    out.endRow();
+                }
+                currentColumn = -1;
+                return;
+            }
+
+            if (value == null) {
+                return;
+            }
+
+            for (int i = currentColumn + 1; i < column; i++) {
+                out.cell("");
+            }
+            out.cell(value);
+            currentColumn = Math.max(column, currentColumn + 1);
+        }
+    }
+
+    /**
+     * Buffers one CSV line at a time and writes it on row end
+     * Event callbacks cannot throw IOException, so write failures are tunnelled
+     */
+    private static final class CsvLineWriter {
+
+        private final BufferedWriter writer;
+        private final StringBuilder line = new StringBuilder(256);
+        private boolean firstCell = true;
+
+        CsvLineWriter(BufferedWriter writer) {
+            this.writer = writer;
+        }
+
+        void cell(String value) {
+            if (!firstCell) {
+                line.append(',');
+            }
+            firstCell = false;
+
+            String cellValue = value != null ? value : "";
+            if (CsvUtils.needsQuoting(cellValue)) {
+                line.append('"').append(cellValue.replace("\"", "\"\"")).append('"');
+            } else {
+                line.append(cellValue);
+            }
+        }
+
+        void endRow() {
+            try {
+                // Always LF, independent of the platform (stored dialect is fixed)
+                writer.append(line).append('\n');
+            } catch (IOException e) {
+                throw new UncheckedWriteException(e);
+            }
+            line.setLength(0);
+            firstCell = true;
+        }
+
+        static final class UncheckedWriteException extends RuntimeException {
+            UncheckedWriteException(IOException cause) {
+                super(cause);
+            }
+
+            @Override
+            public synchronized IOException getCause() {
+                return (IOException) super.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.portal.das.web.controller;
+
+import com.portal.das.application.file.command.InitChunkedUploadCommand;
+import com.portal.das.application.file.command.UploadChunkCommand;
+import com.portal.das.domain.model.UploadJob;
+import com.portal.das.domain.model.UploadSession;
+import com.portal.das.domain.model.UploadedFile;
+import com.portal.das.domain.ports.in.file.ChunkedUploadUseCase;
+import com.portal.das.web.dto.file.InitChunkedUploadRequest;
+import com.portal.das.web.dto.file.UploadSessionResponse;
+import com.sharedlib.core.web.response.ApiResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * REST Controller for resumable chunked uploads
+ * Lifecycle: init, PUT chunks by offset (resume from receivedBytes after a
+ * dropped connection), complete; conversion then runs as a job
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/files/uploads")
+@RequiredArgsConstructor
+@Tag(name = "Chunked Upload", description = "Resumable uploads for large files")
+public class ChunkedUploadController {
+
+    public static final String CHECKSUM_HEADER = "X-Chunk-Checksum";
+
+    private final ChunkedUploadUseCase chunkedUploadUseCase;
+
+    /**
+     * Start a chunked upload
+     * POST /api/files/uploads
+     *
+     * @param request Filename, total size and content type
+     * @return Upload session
+     */
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    @Operation(summary = "Start chunked upload", description = "Create an upload session for a large file")
+    @PreAuthorize("hasAnyRole('ADMIN', 'ANALYST')")
+    public ApiResponse<UploadSessionResponse> initUpload(@RequestBody @Valid InitChunkedUploadRequest request) {
+        log.info("Starting chunked upload for {} ({} bytes)", request.getFilename(), request.getTotalSize());
+
+        InitChunkedUploadCommand command = InitChunkedUploadCommand.builder()
+                .filename(request.getFilename())
+                .totalSize(request.getTotalSize())
+                .contentType(request.getContentType())
+                .build();
+
+        UploadSession session = chunkedUploadUseCase.initUpload(command);
+        return new ApiResponse<>(true, UploadSessionResponse.from(session), "Upload started");
+    }
+
+    /**
+     * Upload one chunk
+     * PUT /api/files/uploads/{id}?offset=N with the raw bytes as body
+     * and their SHA-256 (hex) in the X-Chunk-Checksum header
+     *
+     * @param uploadId Upload session identifier
+     * @param offset Byte offset of the chunk (must equal receivedBytes)
+     * @param checksum SHA-256 of the chunk (hex)
+     * @param request Servlet request (body streamed to storage)
+     * @return Updated upload session
+     */
+    @PutMapping(value = "/{id}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @Operation(summary = "Upload chunk", description = "Append a chunk at the given offset; verified by SHA-256")
+    @PreAuthorize("hasAnyRole('ADMIN', 'ANALYST')")
+    public ApiResponse<UploadSessionResponse> uploadChunk(
+            @PathVariable("id") UUID uploadId,
+            @RequestParam("offset") long offset,
+            @RequestHeader(CHECKSUM_HEADER) String checksum,
+            HttpServletRequest request) throws IOException {
+
+        UploadChunkCommand command = UploadChunkCommand.builder()
+                .uploadId(uploadId)
+                .offset(offset)
+                .checksum(checksum)
+                .content(request.getInputStream())
+                .build();
+
+        UploadSession session = chunkedUploadUseCase.appendChunk(command);
+        return ApiResponse.ok(UploadSessionResponse.from(session));
+    }
+
+    /**
+     * Get upload progress
+     * GET /api/files/uploads/{id}
+     *
+     * @param uploadId Upload session identifier
+     * @return Upload session (receivedBytes is the offset to resume from)
+     */
+    @GetMapping("/{id}")
+    @Operation(summary = "Get upload status", description = "Get received bytes to resume an interrupted upload")
+    @PreAuthorize("hasAnyRole('ADMIN', 'ANALYST')")
+    public ApiResponse<UploadSessionResponse> getUpload(@PathVariable("id") UUID uploadId) {
+        UploadSession session = chunkedUploadUseCase.getSession(uploadId);
+        return ApiResponse.ok(UploadSessionResponse.from(session));
+    }
+
+    /**
+     * Complete an upload and start conversion
+     * POST /api/files/uploads/{id}/complete
+     *
+     * @param uploadId Upload session identifier
+     * @param profile Register and profile a dataset after conversion
+     * @return Upload session with file and job IDs
+     */
+    @PostMapping("/{id}/complete")
+    @Operation(summary = "Complete chunked upload", description = "Finish the upload; conversion runs as a job")
+    @PreAuthorize("hasAnyRole('ADMIN', 'ANALYST')")
+    public ResponseEntity<ApiResponse<UploadSessionResponse>> completeUpload(
+            @PathVariable("id") UUID uploadId,
+            @RequestParam(value = "profile", defaultValue = "false") boolean profile) {
+        log.info("Completing chunked upload: {}", uploadId);
+
+        UploadJob uploadJob = chunkedUploadUseCase.completeUpload(uploadId, profile);
+
+        UploadSessionResponse response = UploadSessionResponse.from(chunkedUploadUseCase.getSession(uploadId));
+        response.setJobId(uploadJob.getJobId());
+        response.setFileId(uploadJob.getFiles().stream()
+                .map(UploadedFile::getFileId)
+                .findFirst()
+                .orElse(null));
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(new ApiResponse<>(true, response, "Upload complete, processing started"));
+    }
+
+    /**
+     * Abort an upload
+     * DELETE /api/files/uploads/{id}
+     *
+     * @param uploadId Upload session identifier
+     * @return Success message
+     */
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Abort chunked upload", description = "Cancel the upload and discard received bytes")
+    @PreAuthorize("hasAnyRole('ADMIN', 'ANALYST')")
+    public ApiResponse<String> abortUpload(@PathVariable("id") UUID uploadId) {
+        log.info("Aborting chunked upload: {}", uploadId);
+
+        chunkedUploadUseCase.abortUpload(uploadId);
+
+        return ApiResponse.ok("Upload aborted");
+    }
+}
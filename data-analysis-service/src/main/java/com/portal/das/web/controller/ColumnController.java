@@ -2,15 +2,21 @@ package com.portal.das.web.controller;
 
 import com.portal.das.domain.model.ChartData;
 import com.portal.das.domain.model.ColumnSummary;
+import com.portal.das.domain.model.RangeFilter;
 import com.portal.das.domain.ports.in.dataset.GetColumnSummaryUseCase;
+import com.portal.das.service.arrow.ArrowStreamService;
 import com.sharedlib.core.web.response.ApiResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -25,26 +31,41 @@ import java.util.UUID;
 public class ColumnController {
 
     private final GetColumnSummaryUseCase getColumnSummaryUseCase;
+    private final ArrowStreamService arrowStreamService;
 
     /**
      * Get column summary statistics (pandas describe() style)
-     * GET /api/datasets/{id}/columns/{name}/summary
+     * GET /api/datasets/{id}/columns/{name}/summary?filterColumn=&filterMin=&filterMax=&exact=
      *
      * @param datasetId Dataset identifier
      * @param columnName Column name
+     * @param filterColumn Column of an optional numeric range filter on rows
+     * @param filterMin Inclusive lower bound of the filter
+     * @param filterMax Inclusive upper bound of the filter
+     * @param exact Count unique values exactly instead of estimating them
      * @return Column summary with statistics
      */
     @GetMapping("/{columnName}/summary")
     @Operation(summary = "Get column summary", 
-               description = "Get pandas-like describe() statistics for a column including count, nulls, unique values, and type-specific stats")
+               description = "Get pandas-like describe() statistics for a column including count, nulls, unique values, and type-specific stats. "
+                       + "Optionally restricted to rows where filterColumn is within [filterMin, filterMax]. "
+                       + "The unique count is a HyperLogLog estimate with its relative standard error unless exact=true")
     @PreAuthorize("hasAnyRole('ADMIN', 'ANALYST')")
     public ApiResponse<ColumnSummary> getColumnSummary(
             @PathVariable UUID datasetId,
-            @PathVariable String columnName) {
+            @PathVariable String columnName,
+            @RequestParam(required = false) String filterColumn,
+            @RequestParam(required = false) Double filterMin,
+            @RequestParam(required = false) Double filterMax,
+            @RequestParam(defaultValue = "false") boolean exact) {
         
         log.info("Getting summary for column {} in dataset {}", columnName, datasetId);
 
-        ColumnSummary summary = getColumnSummaryUseCase.getColumnSummary(datasetId, columnName);
+        RangeFilter filter = filterColumn != null
+                ? RangeFilter.builder().column(filterColumn).min(filterMin).max(filterMax).build()
+                : null;
+
+        ColumnSummary summary = getColumnSummaryUseCase.getColumnSummary(datasetId, columnName, filter, exact);
 
         return ApiResponse.ok(summary);
     }
@@ -71,5 +92,30 @@ public class ColumnController {
 
         return ApiResponse.ok(chartData);
     }
-}
 
+    /**
+     * Extract all values of a column as an Arrow IPC stream
+     * GET /api/datasets/{id}/columns/{name}/values
+     *
+     * @param datasetId Dataset identifier
+     * @param columnName Column name
+     * @return Arrow stream with one record batch per block (Int64, Float64 or Utf8)
+     */
+    @GetMapping(value = "/{columnName}/values", produces = ArrowStreamService.MEDIA_TYPE_VALUE)
+    @Operation(summary = "Extract column values",
+               description = "Stream every value of a column as Apache Arrow IPC. Numeric columns with a columnar copy are typed, others are Utf8")
+    @PreAuthorize("hasAnyRole('ADMIN', 'ANALYST')")
+    public ResponseEntity<StreamingResponseBody> getColumnValues(
+            @PathVariable UUID datasetId,
+            @PathVariable String columnName) throws IOException {
+
+        log.info("Extracting values of column {} in dataset {}", columnName, datasetId);
+
+        ArrowStreamService.ColumnExport export = arrowStreamService.prepareColumns(datasetId, List.of(columnName));
+        StreamingResponseBody body = out -> arrowStreamService.writeColumns(export, out);
+
+        return ResponseEntity.ok()
+                .contentType(ArrowStreamService.MEDIA_TYPE)
+                .body(body);
+    }
+}
@@ -1,13 +1,18 @@
 package com.portal.das.web.controller;
 
+import com.portal.das.application.dataset.command.AppendDatasetCommand;
 import com.portal.das.application.dataset.command.RegisterDatasetCommand;
 import com.portal.das.domain.model.Dataset;
+import com.portal.das.domain.model.Job;
 import com.portal.das.domain.model.profile.DatasetProfile;
+import com.portal.das.domain.ports.in.dataset.AppendDatasetUseCase;
 import com.portal.das.domain.ports.in.dataset.GetDatasetProfileUseCase;
 import com.portal.das.domain.ports.in.dataset.LoadDatasetUseCase;
 import com.portal.das.domain.ports.in.dataset.RegisterDatasetUseCase;
+import com.portal.das.domain.ports.in.job.GetJobUseCase;
 import com.portal.das.web.dto.common.IdResponse;
 import com.portal.das.web.dto.dataset.DatasetInfoResponse;
+import com.portal.das.web.dto.dataset.DatasetProfilingResponse;
 import com.portal.das.web.dto.dataset.RegisterDatasetRequest;
 import com.portal.das.web.mapper.DatasetWebMapper;
 import com.sharedlib.core.web.response.ApiResponse;
@@ -17,14 +22,16 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
 import java.util.UUID;
 
 /**
  * REST Controller for Dataset operations
- * Handles dataset registration and profiling
+ * Handles dataset registration, appends and profiling
  */
 @Slf4j
 @RestController
@@ -36,7 +43,9 @@ public class DatasetController {
     private final RegisterDatasetUseCase registerDatasetUseCase;
     private final LoadDatasetUseCase loadDatasetUseCase;
     private final GetDatasetProfileUseCase getDatasetProfileUseCase;
+    private final AppendDatasetUseCase appendDatasetUseCase;
     private final DatasetWebMapper datasetWebMapper;
+    private final GetJobUseCase getJobUseCase;
 
     /**
      * Register a dataset from an uploaded file
@@ -49,7 +58,7 @@ public class DatasetController {
     @PostMapping("/from-file/{fileId}")
     @ResponseStatus(HttpStatus.CREATED)
     @Operation(summary = "Register dataset from file", 
-               description = "Create a dataset from an uploaded file. Computes profile with type inference.")
+               description = "Create a dataset from an uploaded file. The profile is computed by a background job (see GET /profile).")
     @PreAuthorize("hasAnyRole('ADMIN', 'ANALYST')")
     public ApiResponse<IdResponse> registerDatasetFromFile(
             @PathVariable UUID fileId,
@@ -73,6 +82,37 @@ public class DatasetController {
         return new ApiResponse<>(true, response, "Dataset registered successfully");
     }
 
+    /**
+     * Append the rows of an uploaded file to a dataset
+     * POST /api/datasets/{id}/append/{fileId}
+     * The file must have the same columns (in any order); rows are added and
+     * the profile updated by a background job (Location: the job)
+     *
+     * @param datasetId Dataset identifier
+     * @param fileId File whose rows are appended
+     * @return Dataset metadata with the ID of the append job
+     */
+    @PostMapping("/{id}/append/{fileId}")
+    @Operation(summary = "Append file to dataset",
+               description = "Add the rows of an uploaded file with the same columns. Only the new rows are profiled and merged into the dataset profile.")
+    @PreAuthorize("hasAnyRole('ADMIN', 'ANALYST')")
+    public ResponseEntity<ApiResponse<DatasetInfoResponse>> appendToDataset(
+            @PathVariable("id") UUID datasetId,
+            @PathVariable UUID fileId) {
+
+        log.info("Appending file {} to dataset: {}", fileId, datasetId);
+
+        AppendDatasetCommand command = AppendDatasetCommand.builder()
+                .datasetId(datasetId)
+                .fileId(fileId)
+                .build();
+        Dataset dataset = appendDatasetUseCase.appendToDataset(command);
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .location(URI.create("/api/jobs/" + dataset.getProfileJobId()))
+                .body(new ApiResponse<>(true, datasetWebMapper.toResponse(dataset), "Append in progress"));
+    }
+
     /**
      * Get dataset metadata
      * GET /api/datasets/{id}
@@ -96,20 +136,38 @@ public class DatasetController {
     /**
      * Get dataset profile with column statistics
      * GET /api/datasets/{id}/profile
+     * While profiling runs: 202 with the job ID and progress (Location: the job),
+     * plus the sampled profile once it is stored
      *
      * @param datasetId Dataset identifier
-     * @return Dataset profile with column-level statistics
+     * @return Dataset profile with column-level statistics, or the profiling status
      */
     @GetMapping("/{id}/profile")
     @Operation(summary = "Get dataset profile", 
-               description = "Retrieve dataset profile with pandas-like dtype inference and column statistics")
+               description = "Retrieve dataset profile with pandas-like dtype inference and column statistics. "
+                       + "Returns 202 with the profiling job while the profile is being computed.")
     @PreAuthorize("hasAnyRole('ADMIN', 'ANALYST')")
-    public ApiResponse<DatasetProfile> getDatasetProfile(@PathVariable("id") UUID datasetId) {
+    public ResponseEntity<ApiResponse<?>> getDatasetProfile(@PathVariable("id") UUID datasetId) {
         log.info("Fetching dataset profile for: {}", datasetId);
 
+        Dataset dataset = loadDatasetUseCase.loadDataset(datasetId);
+        if (dataset.getStatus() == Dataset.DatasetStatus.PROFILING) {
+            Job job = dataset.getProfileJobId() != null ? getJobUseCase.getJob(dataset.getProfileJobId()) : null;
+            DatasetProfile sampled = dataset.getProfileJson() != null && !dataset.getProfileJson().isBlank()
+                    ? getDatasetProfileUseCase.getDatasetProfile(datasetId)
+                    : null;
+            DatasetProfilingResponse response = DatasetProfilingResponse.from(dataset, job, sampled);
+
+            ResponseEntity.BodyBuilder accepted = ResponseEntity.status(HttpStatus.ACCEPTED);
+            if (dataset.getProfileJobId() != null) {
+                accepted.location(URI.create("/api/jobs/" + dataset.getProfileJobId()));
+            }
+            return accepted.body(new ApiResponse<>(true, response, "Profiling in progress"));
+        }
+
         DatasetProfile profile = getDatasetProfileUseCase.getDatasetProfile(datasetId);
 
-        return ApiResponse.ok(profile);
+        return ResponseEntity.ok(ApiResponse.ok(profile));
     }
 }
 
@@ -0,0 +1,82 @@
+package com.portal.das.web.controller;
+
+import com.portal.das.domain.model.RangeFilter;
+import com.portal.das.domain.model.RowPage;
+import com.portal.das.domain.ports.in.dataset.GetDatasetRowsUseCase;
+import com.portal.das.service.arrow.ArrowStreamService;
+import com.sharedlib.core.web.response.ApiResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * REST Controller for row-level reads
+ * Serves pages of rows without downloading the file
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/datasets/{datasetId}/rows")
+@RequiredArgsConstructor
+@Tag(name = "Dataset Management")
+public class DatasetRowsController {
+
+    private final GetDatasetRowsUseCase getDatasetRowsUseCase;
+    private final ArrowStreamService arrowStreamService;
+
+    /**
+     * Get a page of rows
+     * GET /api/datasets/{id}/rows?offset=0&limit=100&columns=a,b&filterColumn=&filterMin=&filterMax=
+     *
+     * @param datasetId Dataset identifier
+     * @param offset 0-based index of the first data row
+     * @param limit Page size (max 1000)
+     * @param columns Columns to return (all when omitted)
+     * @param filterColumn Column of an optional numeric range filter (offset then counts matching rows)
+     * @param filterMin Inclusive lower bound of the filter
+     * @param filterMax Inclusive upper bound of the filter
+     * @param accept Accept header; application/vnd.apache.arrow.stream returns the page as an Arrow IPC stream
+     * @return Page of rows (ApiResponse JSON, or Arrow stream with the total in X-Total-Rows)
+     */
+    @GetMapping
+    @Operation(summary = "Get dataset rows",
+               description = "Get a page of rows. Seeks through the row index, so any page costs the same as the first. "
+                       + "Send Accept: " + ArrowStreamService.MEDIA_TYPE_VALUE + " for an Arrow IPC stream of Utf8 columns")
+    @PreAuthorize("hasAnyRole('ADMIN', 'ANALYST')")
+    public ResponseEntity<?> getRows(
+            @PathVariable UUID datasetId,
+            @RequestParam(defaultValue = "0") long offset,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) List<String> columns,
+            @RequestParam(required = false) String filterColumn,
+            @RequestParam(required = false) Double filterMin,
+            @RequestParam(required = false) Double filterMax,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+
+        log.info("Getting rows of dataset {}: offset={}, limit={}", datasetId, offset, limit);
+
+        RangeFilter filter = filterColumn != null
+                ? RangeFilter.builder().column(filterColumn).min(filterMin).max(filterMax).build()
+                : null;
+
+        RowPage page = getDatasetRowsUseCase.getRows(datasetId, offset, limit, columns, filter);
+
+        if (ArrowStreamService.isRequested(accept)) {
+            StreamingResponseBody body = out -> arrowStreamService.writeRowPage(page, out);
+            return ResponseEntity.ok()
+                    .contentType(ArrowStreamService.MEDIA_TYPE)
+                    .header("X-Total-Rows", String.valueOf(page.getTotalRows()))
+                    .body(body);
+        }
+
+        return ResponseEntity.ok(ApiResponse.ok(page));
+    }
+}
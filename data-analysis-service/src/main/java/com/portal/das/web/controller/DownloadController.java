@@ -4,7 +4,9 @@ import com.portal.das.domain.model.Dataset;
 import com.portal.das.domain.model.UploadedFile;
 import com.portal.das.domain.ports.out.dataset.DatasetCrudPort;
 import com.portal.das.domain.ports.out.file.FileCrudPort;
-import com.portal.das.domain.ports.out.file.FileStoragePort;
+import com.portal.das.domain.ports.out.file.StoredContentPort;
+import com.portal.das.service.arrow.ArrowStreamService;
+import com.portal.das.service.quality.DataQualityService;
 import com.sharedlib.core.exception.NotFoundException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -17,7 +19,9 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.util.UUID;
 
@@ -33,21 +37,32 @@ public class DownloadController {
 
     private final DatasetCrudPort datasetCrudPort;
     private final FileCrudPort fileCrudPort;
-    private final FileStoragePort fileStoragePort;
+    private final StoredContentPort storedContentPort;
+    private final ArrowStreamService arrowStreamService;
+    private final DataQualityService dataQualityService;
 
     /**
-     * Download dataset as CSV
+     * Download dataset as CSV, or as an Arrow IPC stream when requested through Accept
      * GET /api/datasets/{id}/download
      *
      * @param datasetId Dataset identifier
-     * @return CSV file
+     * @param accept Accept header
+     * @return CSV file or Arrow stream
      */
     @GetMapping("/{id}/download")
-    @Operation(summary = "Download dataset", description = "Download dataset as CSV file")
+    @Operation(summary = "Download dataset",
+               description = "Download dataset as CSV file. Send Accept: " + ArrowStreamService.MEDIA_TYPE_VALUE
+                       + " to export it as an Arrow IPC stream (typed columns when a columnar copy exists)")
     @PreAuthorize("hasAnyRole('ADMIN', 'ANALYST')")
-    public ResponseEntity<Resource> downloadDataset(@PathVariable("id") UUID datasetId) {
+    public ResponseEntity<?> downloadDataset(
+            @PathVariable("id") UUID datasetId,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) throws IOException {
         log.info("Downloading dataset: {}", datasetId);
 
+        if (ArrowStreamService.isRequested(accept)) {
+            return exportArrow(datasetId);
+        }
+
         // Load dataset
         Dataset dataset = datasetCrudPort.load(datasetId)
                 .orElseThrow(() -> new NotFoundException("Dataset not found"));
@@ -56,8 +71,8 @@ public class DownloadController {
         UploadedFile file = fileCrudPort.load(dataset.getFileId())
                 .orElseThrow(() -> new NotFoundException("File not found"));
 
-        // Get file stream
-        InputStream inputStream = fileStoragePort.retrieve(file.getStoredFilename());
+        // Get file stream (decompressed if stored block-compressed)
+        InputStream inputStream = storedContentPort.retrieve(file.getStoredFilename());
 
         // Prepare response
         String filename = dataset.getName().replaceAll("[^a-zA-Z0-9.-]", "_") + ".csv";
@@ -73,5 +88,38 @@ public class DownloadController {
                 .contentType(MediaType.parseMediaType("text/csv"))
                 .body(resource);
     }
-}
 
+    /**
+     * Download the violations CSV of the last validation of a dataset
+     * GET /api/datasets/{id}/violations
+     *
+     * @param datasetId Dataset identifier
+     * @return Violations CSV file
+     */
+    @GetMapping("/{id}/violations")
+    @Operation(summary = "Download violations",
+               description = "Download the violations CSV written by the last validation of a dataset")
+    @PreAuthorize("hasAnyRole('ADMIN', 'ANALYST')")
+    public ResponseEntity<Resource> downloadViolations(@PathVariable("id") UUID datasetId) throws IOException {
+        log.info("Downloading violations of dataset: {}", datasetId);
+
+        InputStream inputStream = dataQualityService.openViolations(datasetId);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"violations_" + datasetId + ".csv\"")
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .body(new InputStreamResource(inputStream));
+    }
+
+    private ResponseEntity<StreamingResponseBody> exportArrow(UUID datasetId) throws IOException {
+        ArrowStreamService.ColumnExport export = arrowStreamService.prepareColumns(datasetId, null);
+        String filename = export.getDataset().getName().replaceAll("[^a-zA-Z0-9.-]", "_") + ".arrows";
+
+        StreamingResponseBody body = out -> arrowStreamService.writeColumns(export, out);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .contentType(ArrowStreamService.MEDIA_TYPE)
+                .body(body);
+    }
+}
@@ -1,6 +1,7 @@
 package com.portal.das.web.controller;
 
 import com.portal.das.application.file.command.UploadFilesCommand;
+import com.portal.das.domain.model.UploadJob;
 import com.portal.das.domain.model.UploadedFile;
 import com.portal.das.domain.ports.in.file.DeleteFileUseCase;
 import com.portal.das.domain.ports.in.file.LoadFileUseCase;
@@ -15,6 +16,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
@@ -42,27 +44,58 @@ public class FileController {
     /**
      * Upload multiple files
      * Accepts CSV, XLSX, XLS files and normalizes them to CSV
+     * With async=true the request returns 202 as soon as the bytes are stored;
+     * progress of the returned job is available at /api/jobs/{id}/events
      *
      * @param files Files to upload
+     * @param async Process in the background and return a job ID
+     * @param profile Register and profile a dataset per file (async mode)
      * @return List of uploaded file IDs and metadata
      */
     @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    @ResponseStatus(HttpStatus.CREATED)
     @Operation(summary = "Upload files", description = "Upload multiple CSV or Excel files. Excel files will be converted to CSV.")
     @PreAuthorize("hasAnyRole('ADMIN', 'ANALYST')")
-    public ApiResponse<UploadFilesResult> uploadFiles(
-            @RequestParam("files") List<MultipartFile> files) {
+    public ResponseEntity<ApiResponse<UploadFilesResult>> uploadFiles(
+            @RequestParam("files") List<MultipartFile> files,
+            @RequestParam(value = "async", defaultValue = "false") boolean async,
+            @RequestParam(value = "profile", defaultValue = "false") boolean profile) {
         
-        log.info("Received upload request for {} files", files.size());
+        log.info("Received upload request for {} files (async: {})", files.size(), async);
 
         // Create command
         UploadFilesCommand command = UploadFilesCommand.builder()
                 .files(files)
+                .profile(profile)
                 .build();
 
+        if (async) {
+            UploadJob uploadJob = uploadFileUseCase.submitUpload(command);
+            UploadFilesResult result = toResult(uploadJob.getFiles(), files.size(),
+                    UploadedFile.FileStatus.UPLOADED);
+            result.setJobId(uploadJob.getJobId());
+
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(new ApiResponse<>(true, result, "Files accepted for processing"));
+        }
+
         // Process files
         List<UploadedFile> uploadedFiles = uploadFileUseCase.uploadFiles(command);
+        UploadFilesResult result = toResult(uploadedFiles, files.size(), UploadedFile.FileStatus.PROCESSED);
+
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(new ApiResponse<>(true, result, "Files uploaded successfully"));
+    }
 
+    /**
+     * Build the upload result
+     *
+     * @param uploadedFiles File records
+     * @param totalFiles Number of files in the request
+     * @param successStatus Status counted as a successful upload
+     * @return Upload result
+     */
+    private UploadFilesResult toResult(List<UploadedFile> uploadedFiles, int totalFiles,
+                                       UploadedFile.FileStatus successStatus) {
         // Map to response
         List<FileUploadResponse> responses = fileWebMapper.toUploadResponses(uploadedFiles);
         
@@ -71,19 +104,17 @@ public class FileController {
                 .map(UploadedFile::getFileId)
                 .collect(Collectors.toList());
 
-        UploadFilesResult result = UploadFilesResult.builder()
+        return UploadFilesResult.builder()
                 .fileIds(fileIds)
                 .files(responses)
-                .totalFiles(files.size())
+                .totalFiles(totalFiles)
                 .successfulUploads((int) uploadedFiles.stream()
-                        .filter(f -> f.getStatus() == UploadedFile.FileStatus.PROCESSED)
+                        .filter(f -> f.getStatus() == successStatus)
                         .count())
                 .failedUploads((int) uploadedFiles.stream()
                         .filter(f -> f.getStatus() == UploadedFile.FileStatus.ERROR)
                         .count())
                 .build();
-
-        return new ApiResponse<>(true, result, "Files uploaded successfully");
     }
 
     /**
@@ -151,6 +182,7 @@ public class FileController {
         private Integer totalFiles;
         private Integer successfulUploads;
         private Integer failedUploads;
+        private UUID jobId; // async uploads only
     }
 }
 
@@ -58,7 +58,7 @@ public class JoinController {
     @lombok.AllArgsConstructor
     public static class JoinResultResponse {
         private java.util.UUID datasetId;
-        private Integer rows;
+        private Long rows;
         private Integer columns;
     }
 }
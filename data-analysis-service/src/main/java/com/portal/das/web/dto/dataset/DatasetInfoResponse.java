@@ -24,10 +24,11 @@ public class DatasetInfoResponse {
     private UUID fileId;
     private String name;
     private String description;
-    private Integer rowCount;
+    private Long rowCount;
     private Integer columnCount;
     private List<String> headers;
     private String status;
+    private UUID profileJobId;
     private Boolean isActive;
     private UUID createdBy;
     private Instant createdAt;
@@ -47,6 +48,7 @@ public class DatasetInfoResponse {
                 .columnCount(dataset.getColumnCount())
                 .headers(parseHeaders(dataset.getHeaderJson()))
                 .status(dataset.getStatus() != null ? dataset.getStatus().name() : null)
+                .profileJobId(dataset.getProfileJobId())
                 .isActive(dataset.getIsActive())
                 .createdBy(dataset.getCreatedBy())
                 .createdAt(dataset.getCreatedAt())
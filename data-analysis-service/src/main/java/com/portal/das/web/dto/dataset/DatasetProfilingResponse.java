@@ -0,0 +1,53 @@
+package com.portal.das.web.dto.dataset;
+
+import com.portal.das.domain.model.Dataset;
+import com.portal.das.domain.model.Job;
+import com.portal.das.domain.model.profile.DatasetProfile;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Response DTO for a dataset whose profile is still being computed
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DatasetProfilingResponse {
+    private UUID datasetId;
+    private String status;
+    private UUID jobId;
+    private String jobStatus;
+    private Integer progress;
+    private Long rowsProcessed;
+    private Long totalRows;
+
+    /**
+     * Profile of a sample of the rows, once available
+     */
+    private DatasetProfile profile;
+
+    /**
+     * Create response from domain model
+     *
+     * @param dataset Dataset in PROFILING status
+     * @param job Profiling job (null if unknown to this instance)
+     * @param profile Sampled profile (may be null)
+     */
+    public static DatasetProfilingResponse from(Dataset dataset, Job job, DatasetProfile profile) {
+        return DatasetProfilingResponse.builder()
+                .datasetId(dataset.getDatasetId())
+                .status(dataset.getStatus() != null ? dataset.getStatus().name() : null)
+                .jobId(dataset.getProfileJobId())
+                .jobStatus(job != null && job.getStatus() != null ? job.getStatus().name() : null)
+                .progress(job != null ? job.getProgress() : null)
+                .rowsProcessed(job != null ? job.getRowsProcessed() : null)
+                .totalRows(job != null ? job.getTotalRows() : null)
+                .profile(profile)
+                .build();
+    }
+}
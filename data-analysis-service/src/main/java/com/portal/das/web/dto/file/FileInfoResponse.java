@@ -26,8 +26,9 @@ public class FileInfoResponse {
     private String storedFormat;
     private Long originalSize;
     private Long storedSize;
+    private String contentHash;
     private String mimeType;
-    private Integer rowCount;
+    private Long rowCount;
     private Integer columnCount;
     private String status;
     private String errorMessage;
@@ -50,6 +51,7 @@ public class FileInfoResponse {
                 .storedFormat(file.getStoredFormat())
                 .originalSize(file.getOriginalSize())
                 .storedSize(file.getStoredSize())
+                .contentHash(file.getContentHash())
                 .mimeType(file.getMimeType())
                 .rowCount(file.getRowCount())
                 .columnCount(file.getColumnCount())
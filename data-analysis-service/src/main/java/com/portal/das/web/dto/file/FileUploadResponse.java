@@ -41,7 +41,7 @@ public class FileUploadResponse {
     /**
      * Number of rows (excluding header)
      */
-    private Integer rowCount;
+    private Long rowCount;
 
     /**
      * Number of columns
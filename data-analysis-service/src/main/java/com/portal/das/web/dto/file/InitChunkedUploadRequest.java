@@ -0,0 +1,36 @@
+package com.portal.das.web.dto.file;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request DTO for starting a chunked upload
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InitChunkedUploadRequest {
+    /**
+     * Original filename (csv, xlsx or xls)
+     */
+    @NotBlank(message = "error.validation")
+    private String filename;
+
+    /**
+     * Total file size in bytes
+     */
+    @NotNull(message = "error.validation")
+    @Positive(message = "error.validation")
+    private Long totalSize;
+
+    /**
+     * Optional MIME type
+     */
+    private String contentType;
+}
@@ -0,0 +1,75 @@
+package com.portal.das.web.dto.file;
+
+import com.portal.das.domain.model.UploadSession;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Response DTO for a chunked upload session
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSessionResponse {
+    /**
+     * Upload session identifier
+     */
+    private UUID uploadId;
+
+    /**
+     * Original filename
+     */
+    private String originalFilename;
+
+    /**
+     * Declared total size in bytes
+     */
+    private Long totalSize;
+
+    /**
+     * Verified bytes received; offset of the next chunk
+     */
+    private Long receivedBytes;
+
+    /**
+     * Session status (OPEN, COMPLETED, ABORTED)
+     */
+    private String status;
+
+    /**
+     * File created on completion
+     */
+    private UUID fileId;
+
+    /**
+     * Job processing the completed upload
+     */
+    private UUID jobId;
+
+    /**
+     * Last chunk or state change
+     */
+    private Instant updatedAt;
+
+    /**
+     * Create response from domain model
+     */
+    public static UploadSessionResponse from(UploadSession session) {
+        return UploadSessionResponse.builder()
+                .uploadId(session.getUploadId())
+                .originalFilename(session.getOriginalFilename())
+                .totalSize(session.getTotalSize())
+                .receivedBytes(session.getReceivedBytes())
+                .status(session.getStatus() != null ? session.getStatus().name() : null)
+                .fileId(session.getFileId())
+                .jobId(session.getJobId())
+                .updatedAt(session.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,11 @@
+-- Row progress and heartbeat of jobs, so any instance can report a job and
+-- jobs of a stopped instance are detected
+
+ALTER TABLE public.job_record ADD COLUMN rows_processed BIGINT;
+ALTER TABLE public.job_record ADD COLUMN total_rows BIGINT;
+ALTER TABLE public.job_record ADD COLUMN updated_at TIMESTAMP;
+
+CREATE INDEX IF NOT EXISTS idx_job_status_updated_at ON public.job_record(status, updated_at);
+
+COMMENT ON COLUMN public.job_record.rows_processed IS 'Rows processed so far (row-based jobs)';
+COMMENT ON COLUMN public.job_record.updated_at IS 'Last progress or heartbeat of the instance running the job';
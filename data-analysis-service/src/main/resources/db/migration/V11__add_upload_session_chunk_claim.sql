@@ -0,0 +1,9 @@
+-- Chunk claims of upload sessions, so that concurrent chunk requests (on any
+-- instance) cannot write one session's part file at the same time
+
+ALTER TABLE upload_session ADD COLUMN chunk_started_at TIMESTAMP;
+
+CREATE INDEX IF NOT EXISTS idx_upload_session_status_updated_at ON upload_session(status, updated_at);
+
+COMMENT ON COLUMN upload_session.chunk_started_at IS 'When the chunk being written was claimed (NULL: none)';
+COMMENT ON COLUMN upload_session.status IS 'Session status: OPEN, COMPLETED, ABORTED, EXPIRED';
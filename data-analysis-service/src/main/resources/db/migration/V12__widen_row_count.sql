@@ -0,0 +1,5 @@
+-- Row counts of stored CSVs can exceed the INTEGER range
+
+ALTER TABLE uploaded_file ALTER COLUMN row_count TYPE BIGINT;
+ALTER TABLE dataset ALTER COLUMN row_count TYPE BIGINT;
+ALTER TABLE stored_blob ALTER COLUMN row_count TYPE BIGINT;
@@ -0,0 +1,6 @@
+-- Profiling state cached with the blob profile, so datasets reusing a cached
+-- profile can still profile appended rows on their own
+
+ALTER TABLE stored_blob ADD COLUMN profile_state_json TEXT;
+
+COMMENT ON COLUMN stored_blob.profile_state_json IS 'Per-column profiling accumulators (JSON) behind profile_json; NULL for profiles cached before V13';
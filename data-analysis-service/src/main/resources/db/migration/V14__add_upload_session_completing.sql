@@ -0,0 +1,4 @@
+-- Completion of a chunked upload claims its session first (OPEN to COMPLETING),
+-- so that concurrent completion requests cannot create the file twice
+
+COMMENT ON COLUMN upload_session.status IS 'Session status: OPEN, COMPLETING, COMPLETED, ABORTED, EXPIRED';
@@ -0,0 +1,7 @@
+-- Content hash computed while the upload is streamed into storage
+
+ALTER TABLE uploaded_file ADD COLUMN content_hash VARCHAR(64);
+
+CREATE INDEX idx_uploaded_file_content_hash ON uploaded_file(content_hash);
+
+COMMENT ON COLUMN uploaded_file.content_hash IS 'SHA-256 of the stored CSV content (hex)';
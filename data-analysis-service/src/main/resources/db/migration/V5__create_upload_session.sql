@@ -0,0 +1,26 @@
+-- Resumable chunked uploads
+
+CREATE TABLE upload_session (
+    upload_id UUID NOT NULL PRIMARY KEY,
+    original_filename VARCHAR(500) NOT NULL,
+    original_format VARCHAR(10),
+    mime_type VARCHAR(100),
+    total_size BIGINT NOT NULL,
+    received_bytes BIGINT NOT NULL DEFAULT 0,
+    staged_filename VARCHAR(500),
+    status VARCHAR(20) DEFAULT 'OPEN',
+    file_id UUID,
+    job_id UUID,
+    created_by UUID,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP,
+    row_version BIGINT DEFAULT 0
+);
+
+CREATE INDEX idx_upload_session_created_by ON upload_session(created_by);
+CREATE INDEX idx_upload_session_status ON upload_session(status);
+
+COMMENT ON TABLE upload_session IS 'Resumable chunked uploads in progress or completed';
+COMMENT ON COLUMN upload_session.received_bytes IS 'Verified bytes received; offset of the next chunk';
+COMMENT ON COLUMN upload_session.staged_filename IS 'Part file in storage while the upload is open';
+COMMENT ON COLUMN upload_session.status IS 'Session status: OPEN, COMPLETED, ABORTED';
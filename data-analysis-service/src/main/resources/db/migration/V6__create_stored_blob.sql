@@ -0,0 +1,23 @@
+-- Content-addressed storage shared by uploads with identical content
+
+CREATE TABLE stored_blob (
+    content_hash VARCHAR(64) NOT NULL PRIMARY KEY,
+    source_hash VARCHAR(64),
+    stored_filename VARCHAR(500) NOT NULL,
+    storage_path VARCHAR(1000),
+    byte_size BIGINT,
+    row_count INTEGER,
+    column_count INTEGER,
+    ref_count INTEGER NOT NULL DEFAULT 1,
+    profile_json TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP
+);
+
+CREATE INDEX idx_stored_blob_source_hash ON stored_blob(source_hash);
+
+COMMENT ON TABLE stored_blob IS 'Stored CSV files shared by uploads with the same content';
+COMMENT ON COLUMN stored_blob.content_hash IS 'SHA-256 of the stored CSV content (hex)';
+COMMENT ON COLUMN stored_blob.source_hash IS 'SHA-256 of the workbook the CSV was converted from (hex)';
+COMMENT ON COLUMN stored_blob.ref_count IS 'Number of uploaded_file rows referencing this blob';
+COMMENT ON COLUMN stored_blob.profile_json IS 'Dataset profile computed once per content';
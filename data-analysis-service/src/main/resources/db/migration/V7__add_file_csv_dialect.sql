@@ -0,0 +1,11 @@
+-- CSV dialect detected at ingest, used by every reader of the stored file
+
+ALTER TABLE uploaded_file ADD COLUMN csv_delimiter CHAR(1);
+ALTER TABLE uploaded_file ADD COLUMN csv_quote CHAR(1);
+ALTER TABLE uploaded_file ADD COLUMN csv_charset VARCHAR(32);
+ALTER TABLE uploaded_file ADD COLUMN csv_line_ending VARCHAR(4);
+
+COMMENT ON COLUMN uploaded_file.csv_delimiter IS 'Field delimiter of the stored CSV (NULL = comma)';
+COMMENT ON COLUMN uploaded_file.csv_quote IS 'Quote character of the stored CSV (NULL = double quote)';
+COMMENT ON COLUMN uploaded_file.csv_charset IS 'Charset of the stored CSV (NULL = UTF-8)';
+COMMENT ON COLUMN uploaded_file.csv_line_ending IS 'Line ending of the stored CSV: LF, CRLF or CR';
@@ -0,0 +1,5 @@
+-- Job computing the dataset profile, reported while the dataset is PROFILING
+
+ALTER TABLE dataset ADD COLUMN profile_job_id UUID;
+
+COMMENT ON COLUMN dataset.profile_job_id IS 'Job computing the profile (see /api/jobs/{id})';
@@ -0,0 +1,5 @@
+-- Mergeable profiling state, so rows appended to a dataset are profiled on their own
+
+ALTER TABLE dataset ADD COLUMN profile_state_json TEXT;
+
+COMMENT ON COLUMN dataset.profile_state_json IS 'Per-column profiling accumulators (JSON) merged with the state of appended rows';
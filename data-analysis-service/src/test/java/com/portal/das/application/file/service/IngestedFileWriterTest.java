@@ -0,0 +1,114 @@
+package com.portal.das.application.file.service;
+
+import com.portal.das.domain.model.UploadedFile;
+import com.portal.das.domain.ports.out.file.FileBatchPort;
+import com.portal.das.service.ingest.StoredContentReleaser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for IngestedFileWriter
+ * The transaction is driven by hand: synchronization is active while
+ * saveAll runs, and the test then completes it as committed or rolled back.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Ingested File Writer Tests")
+class IngestedFileWriterTest {
+
+    @Mock
+    private FileBatchPort fileBatchPort;
+
+    @Mock
+    private StoredContentReleaser storedContentReleaser;
+
+    @InjectMocks
+    private IngestedFileWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    @DisplayName("Should keep stored content when the batch commits")
+    void shouldKeepContent_WhenCommitted() {
+        // Given
+        List<UploadedFile> files = List.of(file("a.csv"), file("b.csv"));
+        when(fileBatchPort.saveBatch(files)).thenReturn(files);
+
+        // When
+        List<UploadedFile> saved = writer.saveAll(files);
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        // Then
+        assertThat(saved).isEqualTo(files);
+        verify(storedContentReleaser, never()).releaseIngested(any());
+    }
+
+    @Test
+    @DisplayName("Should release stored content when the batch rolls back after saving")
+    void shouldReleaseContent_WhenRolledBack() {
+        // Given: the records are written, then the transaction fails to commit
+        List<UploadedFile> files = List.of(file("a.csv"), file("b.csv"));
+        when(fileBatchPort.saveBatch(files)).thenReturn(files);
+
+        // When
+        writer.saveAll(files);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // Then
+        verify(storedContentReleaser).releaseIngested(files);
+    }
+
+    @Test
+    @DisplayName("Should release stored content when saving the batch fails")
+    void shouldReleaseContent_WhenSaveFails() {
+        // Given
+        List<UploadedFile> files = List.of(file("a.csv"));
+        when(fileBatchPort.saveBatch(files)).thenThrow(new IllegalStateException("duplicate key"));
+
+        // When
+        assertThatThrownBy(() -> writer.saveAll(files)).isInstanceOf(IllegalStateException.class);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // Then
+        verify(storedContentReleaser).releaseIngested(files);
+    }
+
+    private static void complete(int status) {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(status);
+        }
+    }
+
+    private static UploadedFile file(String storedFilename) {
+        return UploadedFile.builder()
+                .fileId(UUID.randomUUID())
+                .storedFilename(storedFilename)
+                .status(UploadedFile.FileStatus.PROCESSED)
+                .build();
+    }
+}
@@ -0,0 +1,93 @@
+package com.portal.das.domain.model;
+
+import com.portal.das.domain.model.columnar.BlockMeta;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Range Filter Tests")
+class RangeFilterTest {
+
+    @Test
+    @DisplayName("Should prune blocks whose range lies outside the bounds")
+    void shouldPruneBlocksOutsideBounds() {
+        // Given
+        RangeFilter filter = RangeFilter.builder().column("price").min(10.0).max(20.0).build();
+
+        // Then
+        assertThat(filter.mayMatch(block(0, 9.99))).isFalse();
+        assertThat(filter.mayMatch(block(20.01, 30))).isFalse();
+        assertThat(filter.mayMatch(block(0, 10))).isTrue();
+        assertThat(filter.mayMatch(block(20, 30))).isTrue();
+        assertThat(filter.mayMatch(block(12, 15))).isTrue();
+        assertThat(filter.mayMatch(block(0, 30))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should treat a missing bound as unbounded")
+    void shouldHandleOpenBounds() {
+        // Given
+        RangeFilter atLeast = RangeFilter.builder().column("price").min(10.0).build();
+        RangeFilter atMost = RangeFilter.builder().column("price").max(10.0).build();
+
+        // Then
+        assertThat(atLeast.mayMatch(block(-5, 9))).isFalse();
+        assertThat(atLeast.mayMatch(block(-5, 1e300))).isTrue();
+        assertThat(atMost.mayMatch(block(11, 12))).isFalse();
+        assertThat(atMost.mayMatch(block(-1e300, 12))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should prune blocks holding only nulls")
+    void shouldPruneAllNullBlocks() {
+        // Given
+        RangeFilter unbounded = RangeFilter.builder().column("price").build();
+
+        // Then
+        assertThat(unbounded.mayMatch(block(Double.NaN, Double.NaN))).isFalse();
+        assertThat(unbounded.mayMatch(block(1, 1))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should never prune a block holding a matching value")
+    void shouldNeverPruneMatchingBlocks() {
+        // Given
+        SplittableRandom random = new SplittableRandom(13);
+        int pruned = 0;
+
+        for (int i = 0; i < 10_000; i++) {
+            RangeFilter filter = RangeFilter.builder()
+                    .column("x")
+                    .min(random.nextInt(4) == 0 ? null : (double) random.nextInt(-50, 50))
+                    .max(random.nextInt(4) == 0 ? null : (double) random.nextInt(-50, 50))
+                    .build();
+            double[] values = new double[random.nextInt(1, 16)];
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (int v = 0; v < values.length; v++) {
+                values[v] = random.nextInt(-60, 60) / 2.0;
+                min = Math.min(min, values[v]);
+                max = Math.max(max, values[v]);
+            }
+
+            // When
+            boolean mayMatch = filter.mayMatch(block(min, max));
+
+            // Then
+            if (!mayMatch) {
+                pruned++;
+                for (double value : values) {
+                    assertThat(filter.matches(value)).as("%s in pruned block [%s, %s]", value, min, max).isFalse();
+                }
+            }
+        }
+        assertThat(pruned).isPositive();
+    }
+
+    private static BlockMeta block(double min, double max) {
+        return BlockMeta.builder().firstRow(0).rowCount(8).nullCount(0).min(min).max(max).build();
+    }
+}
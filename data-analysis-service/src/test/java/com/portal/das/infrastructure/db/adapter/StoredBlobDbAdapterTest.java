@@ -0,0 +1,112 @@
+package com.portal.das.infrastructure.db.adapter;
+
+import com.portal.das.domain.model.StoredBlob;
+import com.portal.das.infrastructure.db.mappers.StoredBlobEntityMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Repository tests for StoredBlobDbAdapter
+ * Reference counting relies on PostgreSQL upserts, so these run against a
+ * PostgreSQL container and are skipped where Docker is not available.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import({StoredBlobDbAdapter.class, StoredBlobEntityMapper.class})
+@DisplayName("Stored Blob DB Adapter Tests")
+class StoredBlobDbAdapterTest {
+
+    private static final String CONTENT_HASH = "a".repeat(64);
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private StoredBlobDbAdapter adapter;
+
+    @Test
+    @DisplayName("Should register the first candidate and add references for later ones")
+    void shouldKeepFirstCandidate_WhenAcquiredAgain() {
+        // When
+        StoredBlob first = adapter.acquire(candidate("first.csv"));
+        StoredBlob second = adapter.acquire(candidate("second.csv"));
+
+        // Then
+        assertThat(first.getStoredFilename()).isEqualTo("first.csv");
+        assertThat(first.getRefCount()).isEqualTo(1);
+        assertThat(second.getStoredFilename()).isEqualTo("first.csv");
+        assertThat(second.getRefCount()).isEqualTo(2);
+        assertThat(second.getRowCount()).isEqualTo(10L);
+    }
+
+    @Test
+    @DisplayName("Should remove the blob only when its last reference is released")
+    void shouldRemoveBlob_WhenLastReferenceReleased() {
+        // Given
+        adapter.acquire(candidate("first.csv"));
+        adapter.acquire(candidate("second.csv"));
+
+        // When / Then
+        assertThat(adapter.release(CONTENT_HASH)).isFalse();
+        assertThat(adapter.findByContentHash(CONTENT_HASH))
+                .hasValueSatisfying(blob -> assertThat(blob.getRefCount()).isEqualTo(1));
+
+        assertThat(adapter.release(CONTENT_HASH)).isTrue();
+        assertThat(adapter.findByContentHash(CONTENT_HASH)).isEmpty();
+
+        // Releasing again is harmless
+        assertThat(adapter.release(CONTENT_HASH)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should add a reference to an existing blob only while it is referenced")
+    void shouldAcquireExisting_OnlyWhileReferenced() {
+        // Given
+        assertThat(adapter.acquireExisting(CONTENT_HASH)).isEmpty();
+        adapter.acquire(candidate("first.csv"));
+
+        // When
+        StoredBlob acquired = adapter.acquireExisting(CONTENT_HASH).orElseThrow();
+
+        // Then
+        assertThat(acquired.getRefCount()).isEqualTo(2);
+        assertThat(adapter.release(CONTENT_HASH)).isFalse();
+        assertThat(adapter.release(CONTENT_HASH)).isTrue();
+        assertThat(adapter.acquireExisting(CONTENT_HASH)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should not remove a referenced blob when sweeping")
+    void shouldKeepReferencedBlob_WhenRemovingUnreferenced() {
+        // Given
+        adapter.acquire(candidate("first.csv"));
+
+        // Then
+        assertThat(adapter.removeIfUnreferenced(CONTENT_HASH)).isFalse();
+        assertThat(adapter.findUnreferenced(10)).isEmpty();
+        assertThat(adapter.findByContentHash(CONTENT_HASH)).isPresent();
+    }
+
+    private static StoredBlob candidate(String storedFilename) {
+        return StoredBlob.builder()
+                .contentHash(CONTENT_HASH)
+                .storedFilename(storedFilename)
+                .storagePath("/data/" + storedFilename)
+                .byteSize(128L)
+                .rowCount(10L)
+                .columnCount(3)
+                .build();
+    }
+}
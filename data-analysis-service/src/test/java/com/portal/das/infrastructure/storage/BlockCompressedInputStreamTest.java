@@ -0,0 +1,206 @@
+package com.portal.das.infrastructure.storage;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Seek tests for block-compressed files
+ * A stream opened at any content offset must return exactly the content
+ * from that offset on, whichever blocks it starts in and crosses.
+ */
+@DisplayName("Block Compressed Input Stream Tests")
+class BlockCompressedInputStreamTest {
+
+    private static final int BLOCK_SIZE = 1000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should read the content from arbitrary offsets")
+    void shouldReadFromArbitraryOffsets() throws IOException {
+        // Given: compressible CSV text followed by random bytes, ending mid-block
+        SplittableRandom random = new SplittableRandom(14);
+        byte[] content = content(random, 7_654);
+        Path path = write(content);
+
+        // When / Then
+        for (long offset : offsets(random, content.length)) {
+            try (InputStream in = open(path, offset)) {
+                assertThat(in.readAllBytes()).as("offset %d", offset).isEqualTo(tail(content, offset));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should mix single byte reads, bulk reads and skips across blocks")
+    void shouldMixReadsAndSkips() throws IOException {
+        // Given
+        SplittableRandom random = new SplittableRandom(41);
+        byte[] content = content(random, 5 * BLOCK_SIZE);
+        Path path = write(content);
+
+        for (int run = 0; run < 50; run++) {
+            long start = random.nextInt(content.length);
+            ByteArrayOutputStream expected = new ByteArrayOutputStream();
+            ByteArrayOutputStream actual = new ByteArrayOutputStream();
+
+            // When
+            try (InputStream in = open(path, start)) {
+                long position = start;
+                while (true) {
+                    int action = random.nextInt(3);
+                    if (action == 0) {
+                        int value = in.read();
+                        if (value < 0) {
+                            break;
+                        }
+                        actual.write(value);
+                        expected.write(content[(int) position++]);
+                    } else if (action == 1) {
+                        byte[] buffer = new byte[random.nextInt(1, 2 * BLOCK_SIZE)];
+                        int read = in.read(buffer, 0, buffer.length);
+                        if (read < 0) {
+                            break;
+                        }
+                        assertThat(read).isPositive();
+                        actual.write(buffer, 0, read);
+                        expected.write(content, (int) position, read);
+                        position += read;
+                    } else {
+                        long skipped = in.skip(random.nextInt(3 * BLOCK_SIZE));
+                        assertThat(skipped).isLessThanOrEqualTo(content.length - position);
+                        position += skipped;
+                    }
+                }
+
+                // Then
+                assertThat(position).isEqualTo(content.length);
+            }
+            assertThat(actual.toByteArray()).as("run from %d", start).isEqualTo(expected.toByteArray());
+        }
+    }
+
+    @Test
+    @DisplayName("Should handle empty content and content of whole blocks")
+    void shouldHandleBlockAlignedLengths() throws IOException {
+        for (int length : new int[]{0, 1, BLOCK_SIZE - 1, BLOCK_SIZE, BLOCK_SIZE + 1, 3 * BLOCK_SIZE}) {
+            // Given
+            byte[] content = content(new SplittableRandom(length), length);
+            Path path = write(content);
+
+            // When / Then
+            for (long offset : new long[]{0, length / 2, length, length + 10L}) {
+                try (InputStream in = open(path, offset)) {
+                    assertThat(in.readAllBytes()).as("length %d, offset %d", length, offset)
+                            .isEqualTo(tail(content, offset));
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should recognize block-compressed files and reject corrupt blocks")
+    void shouldRejectCorruptFiles() throws IOException {
+        // Given
+        byte[] content = content(new SplittableRandom(7), 3 * BLOCK_SIZE);
+        Path path = write(content);
+        Path plain = tempDir.resolve("plain.csv");
+        Files.write(plain, content);
+
+        // Then
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            assertThat(BlockCompressedFormat.isBlockCompressed(channel)).isTrue();
+            assertThat(channel.position()).isZero();
+        }
+        try (FileChannel channel = FileChannel.open(plain, StandardOpenOption.READ)) {
+            assertThat(BlockCompressedFormat.isBlockCompressed(channel)).isFalse();
+        }
+        assertThatThrownBy(() -> open(plain, 0)).isInstanceOf(IOException.class);
+
+        // When: garble the second block
+        long start;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            start = BlockCompressedFormat.readIndex(channel).offsets[1];
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            byte[] garbage = new byte[16];
+            Arrays.fill(garbage, (byte) 0xFF);
+            channel.write(ByteBuffer.wrap(garbage), start);
+        }
+
+        // Then: the first block still reads, the second fails
+        try (InputStream in = open(path, 10)) {
+            assertThat(in.readNBytes(BLOCK_SIZE - 10)).isEqualTo(Arrays.copyOfRange(content, 10, BLOCK_SIZE));
+            assertThatThrownBy(in::read).isInstanceOf(IOException.class);
+        }
+    }
+
+    private Path write(byte[] content) throws IOException {
+        Path path = Files.createTempFile(tempDir, "content", ".dasb");
+        BlockCompressedWriter.write(new ByteArrayInputStream(content), path, BlockCodec.DEFLATE, BLOCK_SIZE);
+        return path;
+    }
+
+    private static InputStream open(Path path, long offset) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new BlockCompressedInputStream(channel, offset);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Offsets at and around every block boundary, random ones and past the end
+     */
+    private static long[] offsets(SplittableRandom random, int length) {
+        long[] offsets = new long[3 * (length / BLOCK_SIZE + 1) + 22];
+        int count = 0;
+        for (long boundary = 0; boundary <= length; boundary += BLOCK_SIZE) {
+            offsets[count++] = boundary;
+            offsets[count++] = Math.max(0, boundary - 1);
+            offsets[count++] = Math.min(length, boundary + 1);
+        }
+        for (int i = 0; i < 20; i++) {
+            offsets[count++] = random.nextInt(length);
+        }
+        offsets[count++] = length;
+        offsets[count++] = length + 100L;
+        return Arrays.copyOf(offsets, count);
+    }
+
+    private static byte[] content(SplittableRandom random, int length) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(length);
+        for (int row = 0; out.size() < length / 2; row++) {
+            out.writeBytes(("row-" + row + ",value " + random.nextInt(100) + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+        byte[] content = Arrays.copyOf(out.toByteArray(), length);
+        for (int i = out.size(); i < length; i++) {
+            content[i] = (byte) random.nextInt(256);
+        }
+        return content;
+    }
+
+    private static byte[] tail(byte[] content, long offset) {
+        return Arrays.copyOfRange(content, (int) Math.min(offset, content.length), content.length);
+    }
+}
@@ -0,0 +1,162 @@
+package com.portal.das.infrastructure.storage;
+
+import com.portal.das.domain.model.columnar.ColumnType;
+import com.portal.das.domain.model.columnar.ColumnarTable;
+import com.portal.das.domain.model.columnar.ColumnarTableWriter;
+import com.portal.das.domain.model.columnar.NumericColumn;
+import com.portal.das.domain.ports.out.file.FileStoragePort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ColumnarFileAdapter
+ * Readers memory map numeric columns, so deleting a columnar file that is
+ * open must wait until its last reader is closed and its mappings released.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Columnar File Adapter Tests")
+class ColumnarFileAdapterTest {
+
+    private static final String STORED_FILENAME = "data.csv";
+    private static final String COLUMNAR_NAME = STORED_FILENAME + ColumnarFileAdapter.EXTENSION;
+    private static final int ROWS = 20;
+
+    @Mock
+    private FileStoragePort fileStoragePort;
+
+    @Mock
+    private ObjectStoreMirror objectStoreMirror;
+
+    @TempDir
+    Path tempDir;
+
+    private ColumnarFileAdapter adapter;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        adapter = new ColumnarFileAdapter(fileStoragePort, objectStoreMirror, 8);
+        when(fileStoragePort.getPath(anyString())).thenAnswer(invocation -> tempDir.resolve(invocation.<String>getArgument(0)));
+        lenient().when(objectStoreMirror.localCopy(COLUMNAR_NAME)).thenReturn(Optional.of(tempDir.resolve(COLUMNAR_NAME)));
+        write();
+    }
+
+    @Test
+    @DisplayName("Should delete right away when no reader is open")
+    void shouldDeleteImmediately_WhenNoReaderIsOpen() throws IOException {
+        // When
+        adapter.delete(STORED_FILENAME);
+
+        // Then
+        verify(objectStoreMirror).delete(COLUMNAR_NAME);
+    }
+
+    @Test
+    @DisplayName("Should defer the delete of a mapped file until its reader is closed")
+    void shouldDeferDelete_UntilMappedReaderCloses() throws IOException {
+        // Given
+        ColumnarTable table = adapter.open(STORED_FILENAME).orElseThrow();
+        NumericColumn values = table.mapNumeric(0).orElseThrow();
+        assertThat(values.asLongBuffer().get(ROWS - 1)).isEqualTo(ROWS - 1L);
+
+        // When
+        adapter.delete(STORED_FILENAME);
+
+        // Then: hidden from callers, but still on disk for the open mapping
+        verify(objectStoreMirror, never()).delete(anyString());
+        assertThat(adapter.exists(STORED_FILENAME)).isFalse();
+        assertThat(adapter.open(STORED_FILENAME)).isEmpty();
+        assertThat(values.asLongBuffer().get(0)).isZero();
+
+        // When: closing twice still releases the reader once
+        table.close();
+        table.close();
+
+        // Then
+        verify(objectStoreMirror, times(1)).delete(COLUMNAR_NAME);
+    }
+
+    @Test
+    @DisplayName("Should delete only when the last of several readers closes")
+    void shouldDeleteWhenLastReaderCloses() throws IOException {
+        // Given
+        ColumnarTable first = adapter.open(STORED_FILENAME).orElseThrow();
+        ColumnarTable second = adapter.open(STORED_FILENAME).orElseThrow();
+        first.mapNumeric(0).orElseThrow();
+        second.mapNumeric(0).orElseThrow();
+        adapter.delete(STORED_FILENAME);
+
+        // When
+        first.close();
+
+        // Then
+        verify(objectStoreMirror, never()).delete(anyString());
+
+        // When
+        second.close();
+
+        // Then
+        verify(objectStoreMirror).delete(COLUMNAR_NAME);
+    }
+
+    @Test
+    @DisplayName("Should cancel a deferred delete when the file is written again")
+    void shouldCancelDeferredDelete_WhenRewritten() throws IOException {
+        // Given
+        ColumnarTable table = adapter.open(STORED_FILENAME).orElseThrow();
+        adapter.delete(STORED_FILENAME);
+
+        // When
+        write();
+        table.close();
+
+        // Then
+        verify(objectStoreMirror, never()).delete(anyString());
+        verify(objectStoreMirror, times(2)).publish(COLUMNAR_NAME);
+    }
+
+    @Test
+    @DisplayName("Should not count a reader whose file has no local copy")
+    void shouldReleaseReader_WhenNoLocalCopy() throws IOException {
+        // Given
+        when(objectStoreMirror.localCopy(COLUMNAR_NAME)).thenReturn(Optional.empty());
+
+        // When
+        Optional<ColumnarTable> table = adapter.open(STORED_FILENAME);
+        adapter.delete(STORED_FILENAME);
+
+        // Then
+        assertThat(table).isEmpty();
+        verify(objectStoreMirror).delete(COLUMNAR_NAME);
+    }
+
+    /**
+     * Write a LONG column holding the row numbers
+     */
+    private void write() throws IOException {
+        try (ColumnarTableWriter writer = adapter.create(STORED_FILENAME, List.of("n"), List.of(ColumnType.LONG))) {
+            for (int row = 0; row < ROWS; row++) {
+                writer.value(0, Integer.toString(row));
+                writer.endRow();
+            }
+            writer.commit();
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.portal.das.infrastructure.storage;
+
+import com.portal.das.domain.model.columnar.BlockMeta;
+import com.portal.das.domain.model.columnar.ColumnBlock;
+import com.portal.das.domain.model.columnar.ColumnMeta;
+import com.portal.das.domain.model.columnar.ColumnType;
+import com.portal.das.domain.model.columnar.ColumnTypeMismatchException;
+import com.portal.das.domain.model.columnar.NumericColumn;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.LongBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Round trip tests for the columnar file format
+ * Files are written with ColumnarFileWriter and read back with
+ * ColumnarFileReader, across several blocks and a shorter last block.
+ */
+@DisplayName("Columnar File Round Trip Tests")
+class ColumnarFileWriterTest {
+
+    private static final int BLOCK_ROWS = 8;
+    private static final int ROWS = 21;
+    private static final List<String> NAMES = List.of("id", "price", "city");
+    private static final List<ColumnType> TYPES = List.of(ColumnType.LONG, ColumnType.DOUBLE, ColumnType.STRING);
+    private static final String[] CITIES = {"Riyadh", "", "جدة", "Dammam"};
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should read back the values, nulls and metadata that were written")
+    void shouldRoundTripValues() throws IOException {
+        // Given
+        Path path = tempDir.resolve("data.csv.cols");
+        int[] commits = new int[1];
+
+        // When
+        try (ColumnarFileWriter writer = new ColumnarFileWriter(path, NAMES, TYPES, BLOCK_ROWS, () -> commits[0]++)) {
+            for (int row = 0; row < ROWS; row++) {
+                if (row != 13) { // row 13 sets nothing: every column is null
+                    writer.value(0, row == 5 ? "" : Long.toString(id(row)));
+                    writer.value(1, row == 7 ? "  " : price(row));
+                    writer.value(2, row == 9 ? null : CITIES[row % CITIES.length]);
+                }
+                writer.endRow();
+            }
+            writer.commit();
+        }
+
+        // Then
+        assertThat(commits[0]).isEqualTo(1);
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertThat(files).containsExactly(path); // no temporary or spill file left
+        }
+
+        try (ColumnarFileReader reader = new ColumnarFileReader(path, () -> { })) {
+            assertThat(reader.getRowCount()).isEqualTo(ROWS);
+            assertThat(reader.getBlockRows()).isEqualTo(BLOCK_ROWS);
+            assertThat(reader.getColumns()).extracting(ColumnMeta::getName).containsExactlyElementsOf(NAMES);
+            assertThat(reader.getColumns()).extracting(ColumnMeta::getType).containsExactlyElementsOf(TYPES);
+            assertThat(reader.getColumns().get(0).getBlocks()).extracting(BlockMeta::getRowCount)
+                    .containsExactly(8, 8, 5);
+            assertThat(reader.getColumns()).extracting(ColumnMeta::getNullCount).containsExactly(2L, 2L, 2L);
+
+            for (int block = 0; block < 3; block++) {
+                ColumnBlock ids = reader.readBlock(0, block);
+                ColumnBlock prices = reader.readBlock(1, block);
+                ColumnBlock cities = reader.readBlock(2, block);
+                for (int i = 0; i < ids.getRowCount(); i++) {
+                    int row = block * BLOCK_ROWS + i;
+                    assertThat(ids.isNull(i)).as("id null, row %d", row).isEqualTo(row == 5 || row == 13);
+                    assertThat(prices.isNull(i)).as("price null, row %d", row).isEqualTo(row == 7 || row == 13);
+                    assertThat(cities.isNull(i)).as("city null, row %d", row).isEqualTo(row == 9 || row == 13);
+                    if (!ids.isNull(i)) {
+                        assertThat(ids.getLong(i)).as("id, row %d", row).isEqualTo(id(row));
+                    }
+                    if (!prices.isNull(i)) {
+                        assertThat(prices.getDouble(i)).as("price, row %d", row).isEqualTo(Double.parseDouble(price(row)));
+                    }
+                    if (!cities.isNull(i)) {
+                        assertThat(cities.getString(i)).as("city, row %d", row).isEqualTo(CITIES[row % CITIES.length]);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep block bounds around values doubles cannot represent")
+    void shouldKeepSafeBlockBounds() throws IOException {
+        // Given: one block per value
+        Path path = tempDir.resolve("bounds.csv.cols");
+        long[] values = {9_007_199_254_740_993L, -9_007_199_254_740_993L, Long.MAX_VALUE, Long.MIN_VALUE + 1};
+
+        // When
+        try (ColumnarFileWriter writer = new ColumnarFileWriter(path, List.of("n", "x"),
+                List.of(ColumnType.LONG, ColumnType.DOUBLE), BLOCK_ROWS, () -> { })) {
+            for (long value : values) {
+                for (int i = 0; i < BLOCK_ROWS; i++) {
+                    writer.value(0, Long.toString(value));
+                    writer.value(1, i == 0 ? "1.50" : "-2e-3");
+                    writer.endRow();
+                }
+            }
+            writer.commit();
+        }
+
+        // Then
+        try (ColumnarFileReader reader = new ColumnarFileReader(path, () -> { })) {
+            List<BlockMeta> blocks = reader.getColumns().get(0).getBlocks();
+            for (int block = 0; block < values.length; block++) {
+                BigDecimal value = BigDecimal.valueOf(values[block]);
+                assertThat(new BigDecimal(blocks.get(block).getMin())).as("min of %d", values[block])
+                        .isLessThanOrEqualTo(value);
+                assertThat(new BigDecimal(blocks.get(block).getMax())).as("max of %d", values[block])
+                        .isGreaterThanOrEqualTo(value);
+                assertThat(reader.readBlock(0, block).getLong(3)).isEqualTo(values[block]);
+            }
+
+            ColumnBlock longs = reader.readBlock(0, 0);
+            ColumnBlock doubles = reader.readBlock(1, 0);
+            assertThat(longs.getString(0)).isEqualTo("9007199254740993");
+            assertThat(doubles.getString(0)).isEqualTo("1.5");
+            assertThat(doubles.getString(1)).isEqualTo("-0.002");
+        }
+    }
+
+    @Test
+    @DisplayName("Should map numeric columns only")
+    void shouldMapNumericColumns() throws IOException {
+        // Given
+        Path path = write("mapped.csv.cols");
+
+        try (ColumnarFileReader reader = new ColumnarFileReader(path, () -> { })) {
+            // When
+            NumericColumn ids = reader.mapNumeric(0).orElseThrow();
+            LongBuffer values = ids.asLongBuffer();
+
+            // Then
+            assertThat(ids.getRowCount()).isEqualTo(ROWS);
+            for (int row = 0; row < ROWS; row++) {
+                assertThat(values.get(row)).isEqualTo(id(row));
+            }
+            assertThat(reader.mapNumeric(2)).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject numeric text that would not read back as written")
+    void shouldRejectNonRoundTrippingNumbers() throws IOException {
+        // Given
+        Path path = tempDir.resolve("mismatch.csv.cols");
+
+        try (ColumnarFileWriter writer = new ColumnarFileWriter(path, List.of("n", "x"),
+                List.of(ColumnType.LONG, ColumnType.DOUBLE), BLOCK_ROWS, () -> { })) {
+            // When / Then: forms a LONG column would not reproduce
+            for (String text : new String[]{"007", "+5", "-0", "1.0", "1e3", "9223372036854775808", "12abc"}) {
+                assertThatThrownBy(() -> writer.value(0, text))
+                        .as(text)
+                        .isInstanceOf(ColumnTypeMismatchException.class)
+                        .extracting(e -> ((ColumnTypeMismatchException) e).getColumn())
+                        .isEqualTo(0);
+            }
+            // Texts Double.parseDouble accepts but that are not plain decimal numbers
+            for (String text : new String[]{"NaN", "Infinity", "0x1p3", "1.5f", "2d", "1,5"}) {
+                assertThatThrownBy(() -> writer.value(1, text))
+                        .as(text)
+                        .isInstanceOf(ColumnTypeMismatchException.class)
+                        .extracting(e -> ((ColumnTypeMismatchException) e).getColumn())
+                        .isEqualTo(1);
+            }
+            writer.value(0, " 42 ");
+            writer.value(1, "-1.5e-3");
+            writer.endRow();
+            // Closed without commit
+        }
+
+        // Then
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    private Path write(String name) throws IOException {
+        Path path = tempDir.resolve(name);
+        try (ColumnarFileWriter writer = new ColumnarFileWriter(path, NAMES, TYPES, BLOCK_ROWS, () -> { })) {
+            for (int row = 0; row < ROWS; row++) {
+                writer.value(0, Long.toString(id(row)));
+                writer.value(1, price(row));
+                writer.value(2, CITIES[row % CITIES.length]);
+                writer.endRow();
+            }
+            writer.commit();
+        }
+        return path;
+    }
+
+    private static long id(int row) {
+        return row * 3L - 10;
+    }
+
+    private static String price(int row) {
+        return Double.toString(row * 0.25 - 1);
+    }
+}
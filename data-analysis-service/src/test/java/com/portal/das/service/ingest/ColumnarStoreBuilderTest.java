@@ -0,0 +1,129 @@
+package com.portal.das.service.ingest;
+
+import com.portal.das.domain.model.UploadedFile;
+import com.portal.das.domain.model.columnar.ColumnBlock;
+import com.portal.das.domain.model.columnar.ColumnMeta;
+import com.portal.das.domain.model.columnar.ColumnType;
+import com.portal.das.domain.model.columnar.ColumnarTable;
+import com.portal.das.domain.model.profile.DatasetProfile;
+import com.portal.das.domain.ports.out.file.FileStoragePort;
+import com.portal.das.domain.ports.out.file.StoredContentPort;
+import com.portal.das.infrastructure.storage.ColumnarFileAdapter;
+import com.portal.das.infrastructure.storage.ObjectStoreMirror;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ColumnarStoreBuilder
+ * The columnar copy is written to a temporary directory through the real
+ * file adapter, so the stored column types and values can be read back.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Columnar Store Builder Tests")
+class ColumnarStoreBuilderTest {
+
+    private static final String STORED_FILENAME = "data.csv";
+    private static final String CSV = "code,amount,ratio\n"
+            + "10,5,0.5\n"
+            + "007,6,1.25\n"
+            + "12,7,NaN\n";
+
+    @Mock
+    private StoredContentPort storedContentPort;
+
+    @Mock
+    private FileStoragePort fileStoragePort;
+
+    @Mock
+    private ObjectStoreMirror objectStoreMirror;
+
+    @TempDir
+    Path tempDir;
+
+    private ColumnarFileAdapter columnarFileAdapter;
+    private ColumnarStoreBuilder columnarStoreBuilder;
+
+    @BeforeEach
+    void setUp() {
+        columnarFileAdapter = new ColumnarFileAdapter(fileStoragePort, objectStoreMirror, 8);
+        columnarStoreBuilder = new ColumnarStoreBuilder(columnarFileAdapter, new StoredCsvOpener(storedContentPort));
+    }
+
+    @Test
+    @DisplayName("Should store numeric columns whose values do not round-trip as text")
+    void shouldDemoteNonRoundTrippingColumns() throws IOException {
+        // Given: profiled as INTEGER, INTEGER and DECIMAL
+        UploadedFile file = UploadedFile.builder().storedFilename(STORED_FILENAME).build();
+        DatasetProfile profile = DatasetProfile.builder()
+                .columns(List.of(column("INTEGER"), column("INTEGER"), column("DECIMAL")))
+                .build();
+        when(storedContentPort.retrieve(STORED_FILENAME)).thenAnswer(invocation ->
+                new ByteArrayInputStream(CSV.getBytes(StandardCharsets.UTF_8)));
+        when(fileStoragePort.getPath(anyString())).thenAnswer(invocation -> tempDir.resolve(invocation.<String>getArgument(0)));
+        when(objectStoreMirror.localCopy(anyString())).thenAnswer(invocation ->
+                Optional.of(tempDir.resolve(invocation.<String>getArgument(0))));
+
+        // When
+        columnarStoreBuilder.build(file, profile);
+
+        // Then: "007" and "NaN" each cost one more pass
+        verify(storedContentPort, times(4)).retrieve(STORED_FILENAME);
+        try (ColumnarTable table = columnarFileAdapter.open(STORED_FILENAME).orElseThrow()) {
+            assertThat(table.getColumns()).extracting(ColumnMeta::getType)
+                    .containsExactly(ColumnType.STRING, ColumnType.LONG, ColumnType.STRING);
+
+            ColumnBlock codes = table.readBlock(0, 0);
+            ColumnBlock amounts = table.readBlock(1, 0);
+            ColumnBlock ratios = table.readBlock(2, 0);
+            assertThat(codes.getString(1)).isEqualTo("007");
+            assertThat(amounts.getLong(2)).isEqualTo(7L);
+            assertThat(ratios.getString(2)).isEqualTo("NaN");
+        }
+    }
+
+    @Test
+    @DisplayName("Should store columns with values of another type as text from the start")
+    void shouldStoreMixedColumnsAsText() throws IOException {
+        // Given
+        UploadedFile file = UploadedFile.builder().storedFilename(STORED_FILENAME).build();
+        DatasetProfile.ColumnProfile mixed = column("INTEGER");
+        mixed.setInvalidTypeCount(1L);
+        DatasetProfile profile = DatasetProfile.builder()
+                .columns(List.of(mixed, column("INTEGER"), column("STRING")))
+                .build();
+        when(storedContentPort.retrieve(STORED_FILENAME)).thenAnswer(invocation ->
+                new ByteArrayInputStream(CSV.getBytes(StandardCharsets.UTF_8)));
+        when(fileStoragePort.getPath(anyString())).thenAnswer(invocation -> tempDir.resolve(invocation.<String>getArgument(0)));
+
+        // When
+        columnarStoreBuilder.build(file, profile);
+
+        // Then: header read plus a single write pass
+        verify(storedContentPort, times(2)).retrieve(STORED_FILENAME);
+    }
+
+    private static DatasetProfile.ColumnProfile column(String dominantType) {
+        return DatasetProfile.ColumnProfile.builder()
+                .dominantType(dominantType)
+                .invalidTypeCount(0L)
+                .build();
+    }
+}
@@ -0,0 +1,149 @@
+package com.portal.das.service.ingest;
+
+import com.portal.das.domain.model.CsvDialect;
+import com.portal.das.domain.model.RowOffsetIndex;
+import com.portal.das.util.CsvTokenizer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Consistency tests between CsvIngestInspector and CsvTokenizer
+ * The row offset index is only usable if every indexed offset is the start of
+ * the record the tokenizer reads as that data row, so the files generated here
+ * mix every record boundary case both scanners have to agree on.
+ */
+@DisplayName("CSV Ingest Inspector Tests")
+class CsvIngestInspectorTest {
+
+    private static final int ROWS = 5_000;
+    private static final int INTERVAL = 64;
+
+    @Test
+    @DisplayName("Should index the offsets where the tokenizer starts each indexed row")
+    void shouldMatchTokenizerRecordStarts() throws IOException {
+        verifyAgainstTokenizer(CsvDialect.DEFAULT, 1);
+    }
+
+    @Test
+    @DisplayName("Should match the tokenizer with a custom delimiter and quote character")
+    void shouldMatchTokenizerRecordStarts_WithCustomDialect() throws IOException {
+        CsvDialect dialect = CsvDialect.builder().delimiter(';').quote('\'').build();
+        verifyAgainstTokenizer(dialect, 2);
+    }
+
+    @Test
+    @DisplayName("Should report content ending inside a quoted field")
+    void shouldReportUnterminatedQuote() {
+        // Given
+        CsvIngestInspector closed = inspect(CsvDialect.DEFAULT, "a,b\n1,\"x\ny\"\n", 3);
+        CsvIngestInspector escapedAtEnd = inspect(CsvDialect.DEFAULT, "a,b\n1,\"x\"\"", 3);
+        CsvIngestInspector open = inspect(CsvDialect.DEFAULT, "a,b\n1,\"x\n2,y\n", 3);
+
+        // Then
+        assertThat(closed.endsInQuotedField()).isFalse();
+        assertThat(escapedAtEnd.endsInQuotedField()).isTrue();
+        assertThat(open.endsInQuotedField()).isTrue();
+    }
+
+    private void verifyAgainstTokenizer(CsvDialect dialect, long seed) throws IOException {
+        // Given
+        SplittableRandom random = new SplittableRandom(seed);
+        byte[] content = generate(random, dialect).getBytes(StandardCharsets.UTF_8);
+        List<String[]> records = tokenize(content, 0, dialect);
+
+        // When: fed in random chunks, so state carries across buffer boundaries
+        CsvIngestInspector inspector = new CsvIngestInspector(dialect, INTERVAL);
+        for (int offset = 0; offset < content.length; ) {
+            int length = Math.min(random.nextInt(1, 300), content.length - offset);
+            inspector.update(content, offset, length);
+            offset += length;
+        }
+        IngestStats stats = inspector.finish();
+
+        // Then
+        RowOffsetIndex index = stats.getRowIndex();
+        assertThat(stats.getRowCount()).isEqualTo(ROWS).isEqualTo(records.size() - 1);
+        assertThat(stats.getHeader()).containsExactly(records.get(0));
+        assertThat(index.getOffsets()).hasSize((ROWS + INTERVAL - 1) / INTERVAL);
+
+        for (long row = 0; row < ROWS; row += INTERVAL) {
+            long offset = index.seekOffset(row);
+            List<String[]> fromOffset = tokenize(content, (int) offset, dialect);
+            assertThat(fromOffset).as("records from offset of row %d", row).hasSize((int) (ROWS - row));
+            assertThat(fromOffset.get(0)).as("row %d", row).containsExactly(records.get((int) row + 1));
+        }
+    }
+
+    /**
+     * Header and ROWS data rows mixing quoted delimiters, quoted CR/LF/CRLF,
+     * escaped quotes, literal quotes, multi-byte characters, all three record
+     * terminators, empty lines and a final record without terminator
+     */
+    private static String generate(SplittableRandom random, CsvDialect dialect) {
+        char d = dialect.getDelimiter();
+        char q = dialect.getQuote();
+        String[] terminators = {"\n", "\r\n", "\r"};
+
+        StringBuilder csv = new StringBuilder("\uFEFFid").append(d).append("note").append(d).append("city\n");
+        for (int row = 0; row < ROWS; row++) {
+            if (random.nextInt(20) == 0) {
+                csv.append(terminators[random.nextInt(terminators.length)]);
+            }
+            csv.append(row).append(d).append(field(random, d, q)).append(d).append(field(random, d, q));
+            if (row < ROWS - 1 || random.nextBoolean()) {
+                csv.append(terminators[random.nextInt(terminators.length)]);
+            }
+        }
+        return csv.toString();
+    }
+
+    private static String field(SplittableRandom random, char d, char q) {
+        switch (random.nextInt(8)) {
+            case 0:
+                return "";
+            case 1:
+                return "" + q + "a" + d + "b" + q;
+            case 2:
+                return "" + q + "line 1\nline 2\r\nline 3\rend" + q;
+            case 3:
+                return "" + q + "say " + q + q + "hi" + q + q + q;
+            case 4:
+                return "5" + q + " tall";
+            case 5:
+                return "" + q + q;
+            case 6:
+                return "مدينة " + random.nextInt(100);
+            default:
+                return "value" + random.nextInt(1000);
+        }
+    }
+
+    private static List<String[]> tokenize(byte[] content, int offset, CsvDialect dialect) throws IOException {
+        List<String[]> records = new ArrayList<>();
+        ByteArrayInputStream input = new ByteArrayInputStream(content, offset, content.length - offset);
+        try (CsvTokenizer tokenizer = new CsvTokenizer(
+                new InputStreamReader(input, StandardCharsets.UTF_8), dialect.getDelimiter(), dialect.getQuote())) {
+            while (tokenizer.next()) {
+                records.add(tokenizer.copyFields());
+            }
+        }
+        return records;
+    }
+
+    private static CsvIngestInspector inspect(CsvDialect dialect, String csv, int interval) {
+        CsvIngestInspector inspector = new CsvIngestInspector(dialect, interval);
+        byte[] content = csv.getBytes(StandardCharsets.UTF_8);
+        inspector.update(content, 0, content.length);
+        return inspector;
+    }
+}
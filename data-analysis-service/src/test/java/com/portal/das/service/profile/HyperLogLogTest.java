@@ -0,0 +1,120 @@
+package com.portal.das.service.profile;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Accuracy and merge tests for the HyperLogLog sketch
+ * Inputs are deterministic, so the error bounds checked here are fixed
+ * outcomes rather than probabilistic ones; they are set at four standard
+ * errors so a change of hash or estimator that keeps the documented accuracy
+ * still passes.
+ */
+@DisplayName("HyperLogLog Tests")
+class HyperLogLogTest {
+
+    private static final double TOLERANCE = 4 * HyperLogLog.RELATIVE_ERROR;
+
+    @Test
+    @DisplayName("Should estimate zero for an empty sketch and close counts for few values")
+    void shouldEstimateSmallCounts() {
+        // Given
+        HyperLogLog sketch = new HyperLogLog();
+
+        // Then
+        assertThat(sketch.estimate()).isZero();
+        for (int n = 1; n <= 200; n++) {
+            // Linear counting is exact until registers collide, then within the same relative bound
+            sketch.add("value-" + n);
+            assertThat((double) Math.abs(sketch.estimate() - n)).as("n = %d", n)
+                    .isLessThanOrEqualTo(Math.max(1, TOLERANCE * n));
+        }
+    }
+
+    @Test
+    @DisplayName("Should ignore repeated values")
+    void shouldIgnoreDuplicates() {
+        // Given
+        HyperLogLog once = new HyperLogLog();
+        HyperLogLog repeated = new HyperLogLog();
+
+        // When
+        for (int i = 0; i < 5_000; i++) {
+            once.add("v" + i);
+            for (int r = 0; r < 3; r++) {
+                repeated.add("v" + i);
+            }
+        }
+
+        // Then
+        assertThat(repeated.toBytes()).isEqualTo(once.toBytes());
+    }
+
+    @Test
+    @DisplayName("Should stay within the error bound from thousands to millions of values")
+    void shouldStayWithinErrorBound() {
+        for (int n : new int[]{1_000, 10_000, 100_000, 1_000_000, 3_000_000}) {
+            // Given
+            HyperLogLog sketch = new HyperLogLog();
+
+            // When
+            for (int i = 0; i < n; i++) {
+                sketch.add(Integer.toString(i));
+            }
+
+            // Then
+            double error = Math.abs(sketch.estimate() - n) / (double) n;
+            assertThat(error).as("relative error for n = %d", n).isLessThanOrEqualTo(TOLERANCE);
+        }
+    }
+
+    @Test
+    @DisplayName("Should merge overlapping parts into the sketch of the whole")
+    void shouldMergeParts() {
+        // Given: four parts of 0..199_999 overlapping by 10_000 values
+        HyperLogLog whole = new HyperLogLog();
+        HyperLogLog[] parts = new HyperLogLog[4];
+        for (int p = 0; p < parts.length; p++) {
+            parts[p] = new HyperLogLog();
+            for (int i = p * 50_000; i < Math.min(200_000, (p + 1) * 50_000 + 10_000); i++) {
+                parts[p].add("row" + i);
+            }
+        }
+        for (int i = 0; i < 200_000; i++) {
+            whole.add("row" + i);
+        }
+
+        // When
+        HyperLogLog merged = new HyperLogLog();
+        for (int p = parts.length - 1; p >= 0; p--) {
+            merged.merge(parts[p]);
+        }
+        merged.merge(parts[0]);
+
+        // Then: registers are the same whatever the order or repetition of merges
+        assertThat(merged.toBytes()).isEqualTo(whole.toBytes());
+        assertThat(Math.abs(merged.estimate() - 200_000) / 200_000.0).isLessThanOrEqualTo(TOLERANCE);
+    }
+
+    @Test
+    @DisplayName("Should restore a sketch from its saved registers")
+    void shouldRestoreFromBytes() {
+        // Given
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = 0; i < 10_000; i++) {
+            sketch.add("k" + i);
+        }
+
+        // When
+        HyperLogLog restored = HyperLogLog.fromBytes(sketch.toBytes());
+        restored.add("extra");
+        sketch.add("extra");
+
+        // Then
+        assertThat(restored.estimate()).isEqualTo(sketch.estimate());
+        assertThat(HyperLogLog.fromBytes(null)).isNull();
+        assertThat(HyperLogLog.fromBytes(new byte[16])).isNull();
+    }
+}
@@ -0,0 +1,140 @@
+package com.portal.das.service.profile;
+
+import com.portal.das.domain.model.profile.DatasetProfile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Error bound tests for the SpaceSaving sketch
+ * Every reported count must lie between the true count and the true count
+ * plus its reported error, which is at most N / CAPACITY; values more
+ * frequent than that must be reported.
+ */
+@DisplayName("Space Saving Tests")
+class SpaceSavingTest {
+
+    @Test
+    @DisplayName("Should count exactly while values fit in the counters")
+    void shouldCountExactly_WhenValuesFit() {
+        // Given
+        SpaceSaving sketch = new SpaceSaving();
+        Map<String, Long> truth = new HashMap<>();
+
+        // When
+        for (int i = 0; i < 10_000; i++) {
+            String value = "v" + (i * 7 % SpaceSaving.CAPACITY);
+            sketch.add(value);
+            truth.merge(value, 1L, Long::sum);
+        }
+
+        // Then
+        List<DatasetProfile.ValueCount> top = sketch.top(SpaceSaving.CAPACITY);
+        assertThat(top).hasSize(SpaceSaving.CAPACITY);
+        for (DatasetProfile.ValueCount counter : top) {
+            assertThat(counter.getCount()).isEqualTo(truth.get(counter.getValue()));
+            assertThat(counter.getCountError()).isZero();
+        }
+        assertThat(sketch.total()).isEqualTo(10_000);
+    }
+
+    @Test
+    @DisplayName("Should bound counts by N / CAPACITY on a skewed stream with many values")
+    void shouldBoundCounts_OnSkewedStream() {
+        // Given
+        SpaceSaving sketch = new SpaceSaving();
+        Map<String, Long> truth = new HashMap<>();
+
+        // When
+        feed(sketch, truth, new SplittableRandom(25), 200_000, 20_000);
+
+        // Then
+        assertWithinBounds(sketch, truth);
+    }
+
+    @Test
+    @DisplayName("Should keep the bounds when merging sketches of different parts")
+    void shouldBoundCounts_AfterMerge() {
+        // Given: parts with different value ranges, so each misses values of the others
+        SplittableRandom random = new SplittableRandom(52);
+        Map<String, Long> truth = new HashMap<>();
+        SpaceSaving merged = new SpaceSaving();
+
+        // When
+        for (int part = 0; part < 4; part++) {
+            SpaceSaving sketch = new SpaceSaving();
+            feed(sketch, truth, random, 50_000, 5_000 + part * 3_000);
+            merged.merge(sketch);
+        }
+
+        // Then
+        assertThat(merged.total()).isEqualTo(200_000);
+        assertWithinBounds(merged, truth);
+    }
+
+    @Test
+    @DisplayName("Should continue from saved counters")
+    void shouldRestoreFromCounters() {
+        // Given
+        SpaceSaving sketch = new SpaceSaving();
+        Map<String, Long> truth = new HashMap<>();
+        SplittableRandom random = new SplittableRandom(3);
+        feed(sketch, truth, random, 50_000, 2_000);
+
+        // When
+        SpaceSaving restored = SpaceSaving.fromCounters(sketch.toCounters(), sketch.total());
+        feed(restored, truth, random, 50_000, 2_000);
+
+        // Then
+        assertThat(restored.total()).isEqualTo(100_000);
+        assertWithinBounds(restored, truth);
+        assertThat(SpaceSaving.fromCounters(null, 0)).isNull();
+    }
+
+    /**
+     * Add values drawn from a Zipf-like distribution over {@code distinct} values
+     */
+    private static void feed(SpaceSaving sketch, Map<String, Long> truth, SplittableRandom random,
+                             int count, int distinct) {
+        for (int i = 0; i < count; i++) {
+            // Rank r is drawn with probability roughly proportional to 1 / r
+            int rank = (int) Math.floor(Math.pow(distinct + 1, random.nextDouble())) - 1;
+            String value = "value-" + rank;
+            sketch.add(value);
+            truth.merge(value, 1L, Long::sum);
+        }
+    }
+
+    private static void assertWithinBounds(SpaceSaving sketch, Map<String, Long> truth) {
+        long bound = sketch.total() / SpaceSaving.CAPACITY;
+        List<DatasetProfile.ValueCount> counters = sketch.toCounters();
+
+        for (DatasetProfile.ValueCount counter : counters) {
+            long actual = truth.getOrDefault(counter.getValue(), 0L);
+            assertThat(counter.getCount()).as("count of %s", counter.getValue()).isGreaterThanOrEqualTo(actual);
+            assertThat(counter.getCount() - counter.getCountError()).as("count of %s less error", counter.getValue())
+                    .isLessThanOrEqualTo(actual);
+            assertThat(counter.getCountError()).as("error of %s", counter.getValue()).isLessThanOrEqualTo(bound);
+        }
+
+        for (Map.Entry<String, Long> entry : truth.entrySet()) {
+            if (entry.getValue() > bound) {
+                assertThat(counters).as("frequent value %s", entry.getKey())
+                        .anyMatch(counter -> counter.getValue().equals(entry.getKey()));
+            }
+        }
+
+        // Reported highest count first
+        List<DatasetProfile.ValueCount> top = sketch.top(10);
+        assertThat(top).hasSize(10);
+        for (int i = 1; i < top.size(); i++) {
+            assertThat(top.get(i).getCount()).isLessThanOrEqualTo(top.get(i - 1).getCount());
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.portal.das.service.profile;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Equivalence tests for ValueScanner
+ * isInteger and isDecimal must accept exactly what Long.parseLong and
+ * Double.parseDouble accept. Values reach the scanners trimmed, so inputs
+ * carry no leading or trailing whitespace (which parseDouble would ignore).
+ */
+@DisplayName("Value Scanner Tests")
+class ValueScannerTest {
+
+    private static final String[] EDGE_CASES = {
+            "", "+", "-", "0", "+0", "-0", "007", "--1", "+-1", "1-", "1_000", "12a", "abc",
+            "9223372036854775807", "9223372036854775808", "-9223372036854775808", "-9223372036854775809",
+            "99999999999999999999", "١٢٣", "-٥",
+            ".", "1.", ".5", "-.5", "1.5", "1..2", "1.2.3", "e5", "1e5", "1E-5", "1e+5", "1e", "1e+", "1e5.5",
+            ".e1", "1.5f", "1.5F", "2d", "2D", "1e5f", "1.5fd", "f", "NaN", "-NaN", "+Infinity", "-Infinity",
+            "NaNd", "Infinityf", "nan", "infinity", "Inf", "0x10", "0x1p3", "-0x1.8p1", "0X1P-2", "0x1p", "0xp3",
+            "0x1.8p1f", "١.٥", "1e٥"
+    };
+
+    /**
+     * Characters that make up numbers, hexadecimal floats and NaN/Infinity, plus a non-ASCII digit
+     */
+    private static final String ALPHABET = "0123456789+-.eEfFdDxXpPNaIinty١";
+
+    @Test
+    @DisplayName("Should accept exactly what Long.parseLong accepts on edge cases")
+    void shouldMatchParseLong_OnEdgeCases() {
+        for (String value : EDGE_CASES) {
+            assertThat(ValueScanner.isInteger(value)).as(value).isEqualTo(parsesAsLong(value));
+        }
+    }
+
+    @Test
+    @DisplayName("Should accept exactly what Double.parseDouble accepts on edge cases")
+    void shouldMatchParseDouble_OnEdgeCases() {
+        for (String value : EDGE_CASES) {
+            assertThat(ValueScanner.isDecimal(value)).as(value).isEqualTo(parsesAsDouble(value));
+        }
+    }
+
+    @Test
+    @DisplayName("Should agree with the parsers on random number-like strings")
+    void shouldMatchParsers_OnRandomStrings() {
+        // Given
+        SplittableRandom random = new SplittableRandom(20);
+        List<String> mismatches = new ArrayList<>();
+
+        // When
+        for (int n = 0; n < 500_000; n++) {
+            StringBuilder value = new StringBuilder();
+            int length = 1 + random.nextInt(10);
+            for (int i = 0; i < length; i++) {
+                value.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            }
+            collectMismatch(value.toString(), mismatches);
+        }
+
+        // Then
+        assertThat(mismatches).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should agree with the parsers on formatted longs and doubles")
+    void shouldMatchParsers_OnFormattedNumbers() {
+        // Given
+        SplittableRandom random = new SplittableRandom(21);
+        List<String> mismatches = new ArrayList<>();
+
+        // When
+        for (int n = 0; n < 100_000; n++) {
+            long integer = random.nextLong();
+            collectMismatch(Long.toString(integer), mismatches);
+            // One digit more than the value: out of range for the larger magnitudes
+            collectMismatch(integer + Integer.toString(random.nextInt(10)), mismatches);
+
+            double decimal = Double.longBitsToDouble(random.nextLong());
+            collectMismatch(Double.toString(decimal), mismatches);
+            collectMismatch(Double.toHexString(decimal), mismatches);
+            collectMismatch(String.format(Locale.ROOT, "%.6f", random.nextDouble() * 1000), mismatches);
+        }
+
+        // Then
+        assertThat(mismatches).isEmpty();
+    }
+
+    private static void collectMismatch(String value, List<String> mismatches) {
+        if (ValueScanner.isInteger(value) != parsesAsLong(value)) {
+            mismatches.add("integer: " + value);
+        }
+        if (ValueScanner.isDecimal(value) != parsesAsDouble(value)) {
+            mismatches.add("decimal: " + value);
+        }
+    }
+
+    private static boolean parsesAsLong(String value) {
+        try {
+            Long.parseLong(value);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static boolean parsesAsDouble(String value) {
+        try {
+            Double.parseDouble(value);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
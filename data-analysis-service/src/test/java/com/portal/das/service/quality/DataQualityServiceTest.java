@@ -0,0 +1,128 @@
+package com.portal.das.service.quality;
+
+import com.portal.das.domain.model.DataQualityRule;
+import com.portal.das.domain.model.columnar.BlockMeta;
+import com.portal.das.domain.model.columnar.ColumnMeta;
+import com.portal.das.domain.model.columnar.ColumnType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Zone map pruning tests for DataQualityService
+ * A block may only be skipped when checkValue would pass every value in it.
+ */
+@DisplayName("Data Quality Zone Map Tests")
+class DataQualityServiceTest {
+
+    private static final ColumnMeta NUMERIC = column(ColumnType.DOUBLE);
+    private static final ColumnMeta TEXT = column(ColumnType.STRING);
+
+    @Test
+    @DisplayName("Should skip numeric blocks whose range lies within the rule bounds")
+    void shouldSkipBlocksWithinRange() {
+        // Given
+        DataQualityRule rule = DataQualityRule.builder().column("x").min(0.0).max(100.0).build();
+
+        // Then
+        assertThat(DataQualityService.mayViolate(rule, NUMERIC, block(8, 0, 0, 100))).isFalse();
+        assertThat(DataQualityService.mayViolate(rule, NUMERIC, block(8, 3, 10, 20))).isFalse();
+        assertThat(DataQualityService.mayViolate(rule, NUMERIC, block(8, 0, -0.5, 20))).isTrue();
+        assertThat(DataQualityService.mayViolate(rule, NUMERIC, block(8, 0, 50, 100.5))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should scan blocks with nulls only for required rules")
+    void shouldScanNullsOnlyWhenRequired() {
+        // Given
+        DataQualityRule required = DataQualityRule.builder().column("x").required(true).build();
+        DataQualityRule optional = DataQualityRule.builder().column("x").min(0.0).build();
+
+        // Then
+        assertThat(DataQualityService.mayViolate(required, NUMERIC, block(8, 1, 1, 2))).isTrue();
+        assertThat(DataQualityService.mayViolate(required, NUMERIC, block(8, 0, 1, 2))).isFalse();
+        assertThat(DataQualityService.mayViolate(required, TEXT, block(8, 8, Double.NaN, Double.NaN))).isTrue();
+        assertThat(DataQualityService.mayViolate(optional, NUMERIC, block(8, 8, Double.NaN, Double.NaN))).isFalse();
+        assertThat(DataQualityService.mayViolate(optional, TEXT, block(8, 8, Double.NaN, Double.NaN))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should scan text blocks whenever the rule checks values")
+    void shouldScanTextBlocks() {
+        // Given: text blocks carry no bounds, and blank text is not null
+        DataQualityRule required = DataQualityRule.builder().column("x").required(true).build();
+        DataQualityRule range = DataQualityRule.builder().column("x").max(5.0).build();
+        DataQualityRule pattern = DataQualityRule.builder().column("x").regex("[a-z]+").build();
+        DataQualityRule allowed = DataQualityRule.builder().column("x").allowedValues(List.of("a")).build();
+        DataQualityRule length = DataQualityRule.builder().column("x").maxLength(3).build();
+        DataQualityRule unique = DataQualityRule.builder().column("x").unique(true).build();
+        BlockMeta block = block(8, 0, Double.NaN, Double.NaN);
+
+        // Then
+        assertThat(DataQualityService.mayViolate(required, TEXT, block)).isTrue();
+        assertThat(DataQualityService.mayViolate(range, TEXT, block)).isTrue();
+        assertThat(DataQualityService.mayViolate(pattern, TEXT, block)).isTrue();
+        assertThat(DataQualityService.mayViolate(allowed, TEXT, block)).isTrue();
+        assertThat(DataQualityService.mayViolate(length, TEXT, block)).isTrue();
+        assertThat(DataQualityService.mayViolate(unique, TEXT, block)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should never skip a numeric block holding a violating value")
+    void shouldNeverSkipViolatingBlocks() {
+        // Given
+        SplittableRandom random = new SplittableRandom(13);
+        int skipped = 0;
+        int scanned = 0;
+
+        for (int i = 0; i < 10_000; i++) {
+            DataQualityRule rule = DataQualityRule.builder()
+                    .column("x")
+                    .required(random.nextBoolean())
+                    .min(random.nextInt(3) == 0 ? null : (double) random.nextInt(-20, 20))
+                    .max(random.nextInt(3) == 0 ? null : (double) random.nextInt(0, 40))
+                    .build();
+            Double[] values = new Double[random.nextInt(1, 9)];
+            int nulls = 0;
+            double min = Double.NaN;
+            double max = Double.NaN;
+            for (int v = 0; v < values.length; v++) {
+                if (random.nextInt(10) == 0) {
+                    nulls++;
+                    continue;
+                }
+                values[v] = random.nextInt(-40, 80) / 4.0;
+                min = Double.isNaN(min) ? values[v] : Math.min(min, values[v]);
+                max = Double.isNaN(max) ? values[v] : Math.max(max, values[v]);
+            }
+
+            // When
+            boolean mayViolate = DataQualityService.mayViolate(rule, NUMERIC, block(values.length, nulls, min, max));
+
+            // Then
+            if (mayViolate) {
+                scanned++;
+                continue;
+            }
+            skipped++;
+            for (Double value : values) {
+                String text = value != null ? value.toString() : null;
+                assertThat(DataQualityService.checkValue(text, rule)).as("%s in skipped block", text).isEmpty();
+            }
+        }
+        assertThat(skipped).isPositive();
+        assertThat(scanned).isPositive();
+    }
+
+    private static ColumnMeta column(ColumnType type) {
+        return ColumnMeta.builder().name("x").index(0).type(type).blocks(List.of()).build();
+    }
+
+    private static BlockMeta block(int rows, int nulls, double min, double max) {
+        return BlockMeta.builder().firstRow(0).rowCount(rows).nullCount(nulls).min(min).max(max).build();
+    }
+}
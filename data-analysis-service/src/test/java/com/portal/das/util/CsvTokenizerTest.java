@@ -0,0 +1,143 @@
+package com.portal.das.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("CSV Tokenizer Tests")
+class CsvTokenizerTest {
+
+    @Test
+    @DisplayName("Should keep newlines and delimiters inside quoted fields")
+    void shouldKeepNewlines_InsideQuotedFields() throws IOException {
+        // Given
+        String csv = "id,comment\n1,\"first line\nsecond, line\"\n2,plain\n";
+
+        // When
+        List<String[]> records = readAll(csv);
+
+        // Then
+        assertThat(records).containsExactly(
+                new String[]{"id", "comment"},
+                new String[]{"1", "first line\nsecond, line"},
+                new String[]{"2", "plain"});
+    }
+
+    @Test
+    @DisplayName("Should unescape doubled quotes and keep stray quotes literally")
+    void shouldUnescapeDoubledQuotes() throws IOException {
+        // Given
+        String csv = "\"say \"\"hi\"\"\",\"\"\"\",5\" tall,\"a\"b\n";
+
+        // When
+        List<String[]> records = readAll(csv);
+
+        // Then
+        assertThat(records).containsExactly(new String[]{"say \"hi\"", "\"", "5\" tall", "ab"});
+    }
+
+    @Test
+    @DisplayName("Should accept LF, CRLF and CR terminators and skip empty lines")
+    void shouldAcceptAllLineTerminators() throws IOException {
+        // Given
+        String csv = "a,b\r\n1,2\r3,4\n\r\n\n5,6";
+
+        // When
+        List<String[]> records = readAll(csv);
+
+        // Then
+        assertThat(records).containsExactly(
+                new String[]{"a", "b"},
+                new String[]{"1", "2"},
+                new String[]{"3", "4"},
+                new String[]{"5", "6"});
+    }
+
+    @Test
+    @DisplayName("Should strip a leading UTF-8 byte order mark")
+    void shouldStripByteOrderMark() throws IOException {
+        // Given
+        byte[] content = "\uFEFFname,value\nx,1\n".getBytes(StandardCharsets.UTF_8);
+
+        // When
+        try (CsvTokenizer tokenizer = CsvTokenizer.forStream(new ByteArrayInputStream(content))) {
+            // Then
+            assertThat(tokenizer.next()).isTrue();
+            assertThat(tokenizer.indexOf("name")).isZero();
+            assertThat(tokenizer.next()).isTrue();
+            assertThat(tokenizer.copyFields()).containsExactly("x", "1");
+            assertThat(tokenizer.next()).isFalse();
+        }
+    }
+
+    @Test
+    @DisplayName("Should split on a custom delimiter and quote character")
+    void shouldUseCustomDialect() throws IOException {
+        // Given
+        String csv = "a;'b;c';'it''s'\n";
+
+        // When
+        try (CsvTokenizer tokenizer = new CsvTokenizer(new StringReader(csv), ';', '\'')) {
+            // Then
+            assertThat(tokenizer.next()).isTrue();
+            assertThat(tokenizer.copyFields()).containsExactly("a", "b;c", "it's");
+            assertThat(tokenizer.recordNumber()).isEqualTo(1);
+            assertThat(tokenizer.next()).isFalse();
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep empty fields, including a trailing one")
+    void shouldKeepEmptyFields() throws IOException {
+        // When
+        List<String[]> records = readAll(",x,,\n");
+
+        // Then
+        assertThat(records).containsExactly(new String[]{"", "x", "", ""});
+    }
+
+    @Test
+    @DisplayName("Should reject input ending inside a quoted field")
+    void shouldReject_UnterminatedQuote() throws IOException {
+        // Given
+        String csv = "id,comment\n1,ok\n2,\"never closed\n3,lost\n";
+
+        try (CsvTokenizer tokenizer = new CsvTokenizer(new StringReader(csv))) {
+            assertThat(tokenizer.next()).isTrue();
+            assertThat(tokenizer.next()).isTrue();
+
+            // When / Then
+            assertThatThrownBy(tokenizer::next)
+                    .isInstanceOf(IOException.class)
+                    .hasMessageContaining("record 3")
+                    .hasMessageContaining("unterminated");
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject an escaped quote at the end of input")
+    void shouldReject_EscapedQuoteAtEnd() {
+        assertThatThrownBy(() -> readAll("a,\"b\"\""))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("unterminated");
+    }
+
+    private static List<String[]> readAll(String csv) throws IOException {
+        List<String[]> records = new ArrayList<>();
+        try (CsvTokenizer tokenizer = new CsvTokenizer(new StringReader(csv))) {
+            while (tokenizer.next()) {
+                records.add(tokenizer.copyFields());
+            }
+        }
+        return records;
+    }
+}